@@ -0,0 +1,80 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인증서 만료 색인 조회 및 갱신 비용 (호스트 수별)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CertificateExpiryIndexBenchmark {
+
+    private static final String[] ISSUERS = {
+        "CN=R3, O=Let's Encrypt, C=US",
+        "CN=DigiCert TLS RSA SHA256 2020 CA1, O=DigiCert Inc, C=US",
+        "CN=GTS CA 1C3, O=Google Trust Services LLC, C=US",
+        "CN=Sectigo RSA Domain Validation Secure Server CA, O=Sectigo Limited, C=GB"
+    };
+
+    @Param({"10000", "100000"})
+    public int hosts;
+
+    private CertificateExpiryIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        index = new CertificateExpiryIndex(new ScanHistoryStore(new TlsCheckerProperties()));
+        Random random = new Random(42);
+        for (int i = 0; i < hosts; i++) {
+            index.onScan("host" + i + ".example.com", results(random, i));
+        }
+    }
+
+    /**
+     * 14일 이내 만료 (최대 100개)
+     */
+    @Benchmark
+    public List<CertificateExpiryIndex.Entry> expiringWithin() {
+        return index.expiringWithin(14, 100);
+    }
+
+    /**
+     * 발급자 O 값으로 조회 (최대 100개)
+     */
+    @Benchmark
+    public List<CertificateExpiryIndex.Entry> issuedBy() {
+        return index.issuedBy("Let's Encrypt", 100);
+    }
+
+    /**
+     * 재스캔으로 기존 호스트 항목 교체
+     */
+    @Benchmark
+    public int rescan() {
+        int i = next++ % hosts;
+        index.onScan("host" + i + ".example.com", results(new Random(i), i));
+        return index.size();
+    }
+
+    private static Map<String, TlsCheckerService.TlsInfo> results(Random random, int i) {
+        TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+        certInfo.setSubject("CN=host" + i + ".example.com");
+        certInfo.setIssuer(ISSUERS[i % ISSUERS.length]);
+        certInfo.setValidTo(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(random.nextInt(365))));
+        certInfo.setSignatureAlgorithm("SHA256withRSA");
+
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo("TLSv1.3");
+        tlsInfo.setSupported(true);
+        tlsInfo.setCertificateInfo(certInfo);
+        return Collections.singletonMap("TLSv1.3", tlsInfo);
+    }
+}
@@ -0,0 +1,61 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.openjdk.jmh.annotations.*;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸드셰이크가 끝난 세션에서 인증서 체인 정보를 수집하는 비용 (지문 캐시 사용 여부)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CertificateInfoBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private EmbeddedTlsServer server;
+    private SSLSocket socket;
+    private SSLSession session;
+    private CertificateCache certificateCache;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = new EmbeddedTlsServer();
+
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        if (!cached) {
+            properties.getCertificate().setCacheMaxEntries(0);
+        }
+        certificateCache = new CertificateCache(properties);
+
+        SslContextRegistry registry = new SslContextRegistry(properties);
+        SslContextRegistry.ProbeContext probeContext = registry.get("TLSv1.2", SslContextRegistry.ProbeProfile.DEFAULT);
+        socket = (SSLSocket) probeContext.getSocketFactory().createSocket();
+        probeContext.configure(socket, "localhost");
+        socket.connect(new InetSocketAddress(server.getAddress(), server.getPort()));
+        socket.startHandshake();
+        session = socket.getSession();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        socket.close();
+        server.close();
+    }
+
+    @Benchmark
+    public TlsCheckerService.TlsInfo collect() {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo("TLSv1.2");
+        certificateCache.collect(session, tlsInfo);
+        return tlsInfo;
+    }
+}
@@ -0,0 +1,84 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.util.NamedThreadFactory;
+
+import javax.net.ssl.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 벤치마크용 로컬 TLS 서버
+ *
+ * 미리 생성한 키 저장소(benchmark-keystore.p12, CN=localhost)를 사용하며 임의의 포트에서 대기합니다.
+ * 연결마다 핸드셰이크만 수행한 뒤 종료하므로 네트워크 없이 프로브 경로를 측정할 수 있습니다.
+ */
+public class EmbeddedTlsServer implements AutoCloseable {
+
+    private static final String KEYSTORE = "/benchmark-keystore.p12";
+    private static final char[] PASSWORD = "benchmark".toCharArray();
+
+    private final SSLServerSocket serverSocket;
+    private final ExecutorService workers = Executors.newCachedThreadPool(new NamedThreadFactory("bench-tls-server"));
+    private final Thread acceptor;
+
+    public EmbeddedTlsServer() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = EmbeddedTlsServer.class.getResourceAsStream(KEYSTORE)) {
+            if (in == null) {
+                throw new IOException("Keystore not found: " + KEYSTORE);
+            }
+            keyStore.load(in, PASSWORD);
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, PASSWORD);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        serverSocket = (SSLServerSocket) sslContext.getServerSocketFactory()
+            .createServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        acceptor = new NamedThreadFactory("bench-tls-acceptor").newThread(this::acceptLoop);
+        acceptor.start();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                workers.execute(() -> handshake((SSLSocket) socket));
+            } catch (IOException e) {
+                // 종료 중이면 루프 종료
+            }
+        }
+    }
+
+    private static void handshake(SSLSocket socket) {
+        try (SSLSocket s = socket) {
+            s.startHandshake();
+            // 클라이언트가 먼저 닫을 때까지 대기
+            s.getInputStream().read();
+        } catch (IOException e) {
+            // 지원하지 않는 버전이나 빠른 프로브의 연결 종료는 정상 동작
+        }
+    }
+
+    public InetAddress getAddress() {
+        return serverSocket.getInetAddress();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,64 @@
+package ksd.std.tlschecker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 TLS 서버에 대한 버전별 프로브 한 번의 처리량
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProbeBenchmark {
+
+    @Param({"TLSv1.2", "TLSv1.3"})
+    public String tlsVersion;
+
+    @Param({"FULL", "FAST"})
+    public TlsCheckerProperties.Mode mode;
+
+    private EmbeddedTlsServer server;
+    private TlsCheckerService service;
+
+    @Setup
+    public void setUp() throws Exception {
+        server = new EmbeddedTlsServer();
+
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        properties.getProbe().setMode(mode);
+        // 같은 주소로 반복 연결하므로 속도 제한 없이 측정
+        properties.getGovernor().setEnabled(false);
+        ClientHelloProbe clientHelloProbe = new ClientHelloProbe();
+        CertificateCache certificateCache = new CertificateCache(properties);
+        ProbeMetrics probeMetrics = new ProbeMetrics(new SimpleMeterRegistry());
+        ProbeGovernor probeGovernor = new ProbeGovernor(properties, probeMetrics);
+        SslContextRegistry sslContextRegistry = new SslContextRegistry(properties);
+        service = new TlsCheckerService(properties, new HostResolver(properties), new ResultCache(properties),
+            probeMetrics, sslContextRegistry,
+            new NioHandshakeEngine(properties, certificateCache), clientHelloProbe,
+            new CipherSuiteEnumerator(clientHelloProbe, probeGovernor), certificateCache, probeGovernor,
+            new ProbePlanner(properties, sslContextRegistry, probeMetrics), Collections.<ScanListener>emptyList());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        service.destroy();
+        server.close();
+    }
+
+    @Benchmark
+    public TlsCheckerService.TlsInfo checkTlsVersion() {
+        TlsCheckerService.TlsInfo tlsInfo = service.checkTlsVersion("localhost", server.getAddress(), server.getPort(), tlsVersion);
+        if (!tlsInfo.isSupported()) {
+            throw new IllegalStateException("Probe failed: " + tlsInfo.getErrorMessage());
+        }
+        return tlsInfo;
+    }
+}
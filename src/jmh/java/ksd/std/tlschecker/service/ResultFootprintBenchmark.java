@@ -0,0 +1,175 @@
+package ksd.std.tlschecker.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트 수백만 개의 결과를 보관할 때의 힙 사용량과 조회 비용
+ *
+ * 준비 단계에서 합성 결과를 만들어 보관한 뒤 GC 후 늘어난 힙을 호스트 수로 나누어 출력합니다.
+ * tlsinfo는 프로브가 만든 TlsInfo 맵을 그대로 보관하는 경우, compact는 {@link CompactResult}로 보관하는 경우이며
+ * 벤치마크 본문은 보관된 결과 하나를 TlsInfo 맵으로 꺼내는 비용입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class ResultFootprintBenchmark {
+
+    private static final String[] ISSUERS = new String[20];
+    private static final TlsCheckerService.CertificateInfo[] INTERMEDIATES = new TlsCheckerService.CertificateInfo[ISSUERS.length];
+    private static final String[] TLS12_SUITES = {
+        "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384", "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256",
+        "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305_SHA256", "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
+        "TLS_ECDHE_RSA_WITH_CHACHA20_POLY1305_SHA256", "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256",
+        "TLS_DHE_RSA_WITH_AES_256_GCM_SHA384", "TLS_DHE_RSA_WITH_CHACHA20_POLY1305_SHA256",
+        "TLS_DHE_RSA_WITH_AES_128_GCM_SHA256", "TLS_ECDHE_ECDSA_WITH_AES_256_CBC_SHA384",
+        "TLS_ECDHE_RSA_WITH_AES_256_CBC_SHA384", "TLS_ECDHE_ECDSA_WITH_AES_128_CBC_SHA256",
+        "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA256", "TLS_DHE_RSA_WITH_AES_256_CBC_SHA256",
+        "TLS_DHE_RSA_WITH_AES_128_CBC_SHA256", "TLS_ECDHE_ECDSA_WITH_AES_256_CBC_SHA",
+        "TLS_ECDHE_RSA_WITH_AES_256_CBC_SHA", "TLS_ECDHE_ECDSA_WITH_AES_128_CBC_SHA",
+        "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA", "TLS_RSA_WITH_AES_256_GCM_SHA384",
+        "TLS_RSA_WITH_AES_128_GCM_SHA256", "TLS_RSA_WITH_AES_256_CBC_SHA256",
+        "TLS_RSA_WITH_AES_128_CBC_SHA256", "TLS_RSA_WITH_AES_256_CBC_SHA", "TLS_RSA_WITH_AES_128_CBC_SHA",
+        "TLS_EMPTY_RENEGOTIATION_INFO_SCSV"
+    };
+    private static final String[] TLS13_SUITES = {
+        "TLS_AES_256_GCM_SHA384", "TLS_AES_128_GCM_SHA256", "TLS_CHACHA20_POLY1305_SHA256"
+    };
+
+    static {
+        for (int i = 0; i < ISSUERS.length; i++) {
+            ISSUERS[i] = "CN=Example Issuing CA " + i + ", O=Example Trust Services " + (i % 5) + ", C=US";
+            TlsCheckerService.CertificateInfo intermediate = new TlsCheckerService.CertificateInfo();
+            intermediate.setFingerprint(fingerprint(-1 - i));
+            intermediate.setSubject(ISSUERS[i]);
+            intermediate.setIssuer("CN=Example Root CA, O=Example Trust Services, C=US");
+            intermediate.setValidFrom(new Date(1600000000000L));
+            intermediate.setValidTo(new Date(1900000000000L));
+            intermediate.setSignatureAlgorithm("SHA256withRSA");
+            INTERMEDIATES[i] = intermediate;
+        }
+    }
+
+    @Param({"1000000"})
+    public int hosts;
+
+    @Param({"tlsinfo", "compact"})
+    public String form;
+
+    private Object[] retained;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeap(memory);
+        boolean compact = "compact".equals(form);
+        retained = new Object[hosts];
+        for (int i = 0; i < hosts; i++) {
+            Map<String, TlsCheckerService.TlsInfo> results = results(i, compact);
+            retained[i] = compact ? CompactResult.of(results) : results;
+        }
+        long after = usedHeap(memory);
+        System.out.printf("%n%s: %d hosts retain %.1f MB (%d bytes/host)%n",
+            form, hosts, (after - before) / 1048576.0, (after - before) / hosts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        retained = null;
+    }
+
+    /**
+     * 보관된 결과 하나를 TlsInfo 맵으로 꺼냄
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, TlsCheckerService.TlsInfo> lookup() {
+        Object result = retained[next++ % hosts];
+        return result instanceof CompactResult
+            ? ((CompactResult) result).toResults()
+            : (Map<String, TlsCheckerService.TlsInfo>) result;
+    }
+
+    /**
+     * 프로브가 만드는 것과 같은 형태의 결과를 만듭니다.
+     * 호스트 10개 중 6개는 TLS 1.2/1.3, 2개는 TLS 1.1~1.3 지원, 1개는 DNS 실패, 1개는 연결 시간 초과입니다.
+     * 인증서 캐시가 공유하는 중간 인증서 외에 서버 인증서, 주소, 스위트 배열은 프로브처럼 호스트마다 새로 만들며,
+     * compact에서는 인증서 캐시처럼 발급자를 공유 인스턴스로 바꿉니다.
+     */
+    private static Map<String, TlsCheckerService.TlsInfo> results(int i, boolean compact) {
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        String address = "10." + ((i >> 16) & 0xFF) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF);
+        int kind = i % 10;
+        if (kind >= 8) {
+            FailureType failureType = kind == 8 ? FailureType.DNS : FailureType.TIMEOUT;
+            for (String version : TlsCheckerService.TLS_VERSIONS) {
+                TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+                tlsInfo.setFailureType(failureType);
+                tlsInfo.setErrorMessage(kind == 8 ? "Unknown host: host" + i + ".example.com" : "TCP pre-check failed: connect timed out");
+                tlsInfo.getTimings().setDnsNanos(1000000 + i % 50000);
+                results.put(version, tlsInfo);
+            }
+            return results;
+        }
+
+        TlsCheckerService.CertificateInfo leaf = new TlsCheckerService.CertificateInfo();
+        leaf.setFingerprint(fingerprint(i));
+        leaf.setSubject("CN=host" + i + ".example.com");
+        String issuer = new String(ISSUERS[i % ISSUERS.length]);
+        leaf.setIssuer(compact ? NameRegistry.intern(issuer) : issuer);
+        leaf.setValidFrom(new Date(1700000000000L + i * 1000L));
+        leaf.setValidTo(new Date(1730000000000L + i * 1000L));
+        leaf.setSignatureAlgorithm(compact ? NameRegistry.intern(new String("SHA256withRSA")) : new String("SHA256withRSA"));
+        List<TlsCheckerService.CertificateInfo> chain = Arrays.asList(leaf, INTERMEDIATES[i % INTERMEDIATES.length]);
+
+        for (String version : TlsCheckerService.TLS_VERSIONS) {
+            TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+            tlsInfo.setAddress(new String(address));
+            tlsInfo.getTimings().setDnsNanos(1000000 + i % 50000);
+            tlsInfo.getTimings().setConnectNanos(2000000 + i % 70000);
+            boolean supported = "TLSv1.2".equals(version) || "TLSv1.3".equals(version)
+                || (kind >= 6 && "TLSv1.1".equals(version));
+            if (supported) {
+                String[] suites = "TLSv1.3".equals(version) ? TLS13_SUITES : TLS12_SUITES;
+                tlsInfo.setSupported(true);
+                tlsInfo.setCipherSuites(Arrays.asList(suites.clone()));
+                tlsInfo.setSupportedProtocols(Arrays.asList(new String[]{version}));
+                tlsInfo.setNegotiatedProtocol(version);
+                tlsInfo.setNegotiatedCipherSuite(suites[i % 3]);
+                tlsInfo.setCertificateChain(Collections.unmodifiableList(new ArrayList<>(chain)));
+                tlsInfo.getTimings().setHandshakeNanos(8000000 + i % 90000);
+                tlsInfo.getTimings().setCertificateNanos(30000 + i % 1000);
+            } else {
+                tlsInfo.setFailureType(FailureType.PROTOCOL_VERSION);
+                tlsInfo.setErrorMessage("Received fatal alert: protocol_version");
+            }
+            results.put(version, tlsInfo);
+        }
+        return results;
+    }
+
+    private static String fingerprint(int seed) {
+        StringBuilder hex = new StringBuilder(64);
+        Random random = new Random(seed);
+        for (int i = 0; i < 8; i++) {
+            // 최상위 비트를 켜서 항상 8자리
+            hex.append(Long.toHexString(0x100000000L | (random.nextInt() & 0xFFFFFFFFL)).substring(1));
+        }
+        return hex.toString();
+    }
+
+    private static long usedHeap(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
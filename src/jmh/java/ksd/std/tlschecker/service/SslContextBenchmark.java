@@ -0,0 +1,36 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로브 하나를 준비하는 비용: 컨텍스트를 매번 생성하는 경우와 미리 초기화한 컨텍스트를 재사용하는 경우
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SslContextBenchmark {
+
+    @Param({"true", "false"})
+    public boolean reuseContexts;
+
+    private SslContextRegistry registry;
+
+    @Setup
+    public void setUp() {
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        properties.getProbe().setReuseContexts(reuseContexts);
+        registry = new SslContextRegistry(properties);
+    }
+
+    @Benchmark
+    public SslContextRegistry.ProbeContext contextSetup() throws GeneralSecurityException {
+        return registry.get("TLSv1.2", SslContextRegistry.ProbeProfile.DEFAULT);
+    }
+}
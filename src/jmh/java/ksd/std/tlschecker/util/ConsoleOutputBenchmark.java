@@ -0,0 +1,49 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.TlsCheckerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 결과 보고서 하나를 출력하는 비용 (출력은 버림)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleOutputBenchmark {
+
+    @Param({"true", "false"})
+    private boolean color;
+
+    private ConsoleOutputUtil consoleOutputUtil;
+    private Map<String, TlsCheckerService.TlsInfo> results;
+
+    @Setup
+    public void setUp() {
+        results = SampleResults.create();
+
+        consoleOutputUtil = new ConsoleOutputUtil(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // 버림
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // 버림
+            }
+        }), color);
+    }
+
+    @Benchmark
+    public void printTlsResults() {
+        consoleOutputUtil.printTlsResults("www.example.org", results);
+    }
+}
@@ -0,0 +1,45 @@
+package ksd.std.tlschecker.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도메인 정규화, 유효성 검사 및 대상 해석 비용
+ *
+ * parseTarget은 대량 입력에서처럼 파서 하나를 재사용하여 문자 배열을 바로 해석하는 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DomainUtilBenchmark {
+
+    @Param({"example.com", "https://www.example.co.kr:8443/path?q=1", "sub.domain.example.org", "[2001:db8::1]:993"})
+    public String input;
+
+    private final ScanTarget.Parser parser = new ScanTarget.Parser();
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        chars = input.toCharArray();
+    }
+
+    @Benchmark
+    public String normalizeDomain() {
+        return DomainUtil.normalizeDomain(input);
+    }
+
+    @Benchmark
+    public boolean isValidDomain() {
+        return DomainUtil.isValidDomain(input);
+    }
+
+    @Benchmark
+    public ScanTarget parseTarget() {
+        return parser.parse(chars, 0, chars.length);
+    }
+}
@@ -0,0 +1,52 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.TlsCheckerService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트 하나의 결과를 JSON Lines/CSV 레코드로 출력하는 비용 (UTF-8 인코딩 포함, 출력은 버림)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultWriterBenchmark {
+
+    @Param({"jsonl", "csv"})
+    private String format;
+
+    private ResultWriter resultWriter;
+    private Map<String, TlsCheckerService.TlsInfo> results;
+
+    @Setup
+    public void setUp() throws IOException {
+        results = SampleResults.create();
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // 버림
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // 버림
+            }
+        }, StandardCharsets.UTF_8), 64 * 1024);
+        resultWriter = "csv".equals(format)
+            ? new CsvResultWriter(out, false)
+            : new JsonLinesResultWriter(out, false);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        resultWriter.write("www.example.org", results);
+    }
+}
@@ -0,0 +1,43 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.util.*;
+
+/**
+ * 출력 벤치마크에 사용하는 일반적인 호스트 하나의 결과 (구버전 실패 2개, 지원 2개)
+ */
+final class SampleResults {
+
+    private SampleResults() {
+    }
+
+    static Map<String, TlsCheckerService.TlsInfo> create() {
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        for (String version : new String[]{"TLSv1", "TLSv1.1"}) {
+            TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+            tlsInfo.setErrorMessage("No appropriate protocol (protocol is disabled or cipher suites are inappropriate)");
+            results.put(version, tlsInfo);
+        }
+        for (String version : new String[]{"TLSv1.2", "TLSv1.3"}) {
+            TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+            tlsInfo.setSupported(true);
+            tlsInfo.setAddress("93.184.216.34");
+            tlsInfo.setSupportedProtocols(Collections.singletonList(version));
+            tlsInfo.setCipherSuites(Arrays.asList(
+                "TLS_AES_256_GCM_SHA384", "TLS_AES_128_GCM_SHA256", "TLS_CHACHA20_POLY1305_SHA256",
+                "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384", "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384",
+                "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305_SHA256", "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA",
+                "TLS_RSA_WITH_AES_256_GCM_SHA384", "TLS_RSA_WITH_AES_128_CBC_SHA"));
+            TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+            certInfo.setSubject("CN=www.example.org, O=Internet Corporation for Assigned Names and Numbers, L=Los Angeles, C=US");
+            certInfo.setIssuer("CN=DigiCert Global G2 TLS RSA SHA256 2020 CA1, O=DigiCert Inc, C=US");
+            certInfo.setValidFrom(new Date(1705276800000L));
+            certInfo.setValidTo(new Date(1739491199000L));
+            certInfo.setSignatureAlgorithm("SHA256withRSA");
+            tlsInfo.setCertificateInfo(certInfo);
+            results.put(version, tlsInfo);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,79 @@
+package ksd.std.tlschecker.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대상 목록 파일을 읽어 해석하는 비용 (점수와 -prof gc 할당량은 한 줄 기준)
+ *
+ * readLine은 줄마다 문자열을 만들고 앞뒤 공백을 제거한 뒤 해석하는 경우, targetReader는 {@link TargetReader}로
+ * 읽기 버퍼 위에서 바로 해석하는 경우입니다. 입력은 기본 포트 도메인, 포트 지정, URL, IP 주소, 주석과 빈 줄을 섞은 목록입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(TargetReaderBenchmark.LINES)
+public class TargetReaderBenchmark {
+
+    static final int LINES = 100000;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(LINES * 24);
+        for (int i = 0; i < LINES; i++) {
+            switch (i % 10) {
+                case 0:
+                    builder.append("# group ").append(i / 10);
+                    break;
+                case 1:
+                    builder.append("  mail").append(i).append(".example.org:993  ");
+                    break;
+                case 2:
+                    builder.append("https://www").append(i).append(".Example.com/index.html");
+                    break;
+                case 3:
+                    builder.append("10.").append((i >> 8) & 0xFF).append('.').append(i & 0xFF).append(".1:8443");
+                    break;
+                case 4:
+                    builder.append("");
+                    break;
+                default:
+                    builder.append("host").append(i).append(".example.com");
+                    break;
+            }
+            builder.append('\n');
+        }
+        input = builder.toString();
+    }
+
+    @Benchmark
+    public void readLine(Blackhole blackhole) throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(input));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String target = line.trim();
+            if (!target.isEmpty() && !target.startsWith("#")) {
+                blackhole.consume(ScanTarget.parse(target));
+            }
+        }
+    }
+
+    @Benchmark
+    public void targetReader(Blackhole blackhole) throws IOException {
+        TargetReader reader = new TargetReader(new StringReader(input));
+        ScanTarget target;
+        while ((target = reader.next()) != null) {
+            blackhole.consume(target);
+        }
+    }
+}
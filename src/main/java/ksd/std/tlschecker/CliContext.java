@@ -0,0 +1,346 @@
+package ksd.std.tlschecker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.service.*;
+import ksd.std.tlschecker.util.ConsoleOutputUtil;
+import ksd.std.tlschecker.util.ResultWriterFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Spring 컨텍스트 없이 CLI 명령에 필요한 객체를 직접 생성하여 연결하는 클래스
+ *
+ * 한 번 실행하고 끝나는 명령은 컴포넌트 스캔, 자동 구성, 웹 서버 준비에 드는 시간이 TLS 확인보다 길어지므로
+ * 서비스 객체를 생성자 순서대로 직접 만듭니다. Spring Boot의 Binder는 초기화에 드는 시간이 커서
+ * 설정 클래스의 getter/setter를 따라가는 간단한 바인딩을 사용하며, 설정 값은 Spring 실행과 같은 위치에서 같은 우선순위로 읽습니다.
+ * (낮은 순서부터 application.properties, application-{프로필}.properties, {@code TLS_CHECKER_*} 환경 변수,
+ * {@code -Dtls-checker.*} 시스템 속성, {@code --tls-checker.*} 명령행 인수)
+ * 설정 파일은 클래스패스와 현재 디렉터리의 기본 위치({@code /}, {@code /config/})에서 properties 형식만 읽습니다.
+ * 측정 값은 Prometheus 대신 메모리 레지스트리에 기록합니다.
+ */
+final class CliContext implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CliContext.class);
+
+    private static final String PREFIX = "tls-checker.";
+    private static final String PROFILES = "spring.profiles.active";
+    /** 설정 파일을 찾는 위치 (뒤에 있는 위치가 우선) */
+    private static final String[] CONFIG_LOCATIONS = {"", "config/"};
+    /** 설정으로 읽는 환경 변수 이름의 접두어 (Spring과 같이 하이픈을 밑줄로 바꾸거나 생략한 형식) */
+    private static final String[] ENV_PREFIXES = {"TLS_CHECKER_", "TLSCHECKER_"};
+
+    private final TlsCheckerProperties properties;
+    private final ProbeMetrics probeMetrics;
+    private final ProbePlanner probePlanner;
+    private final SslContextRegistry sslContextRegistry;
+    private final CertificateCache certificateCache;
+    private final ScanHistoryStore scanHistoryStore;
+    private final CertificateExpiryIndex certificateExpiryIndex;
+    private final TlsCheckerService tlsCheckerService;
+    private final BatchScanService batchScanService;
+    private final HandshakeBenchmark handshakeBenchmark;
+    private final ConsoleOutputUtil consoleOutputUtil;
+    private final ResultWriterFactory resultWriterFactory;
+    /** 생성한 순서의 종료 대상 (역순으로 종료) */
+    private final List<DisposableBean> disposables = new ArrayList<>();
+    private boolean closed;
+
+    private CliContext(TlsCheckerProperties properties) {
+        this.properties = properties;
+        this.probeMetrics = new ProbeMetrics(new SimpleMeterRegistry());
+        HostResolver hostResolver = new HostResolver(properties);
+        this.sslContextRegistry = new SslContextRegistry(properties);
+        this.certificateCache = new CertificateCache(properties);
+        NioHandshakeEngine nioHandshakeEngine = register(new NioHandshakeEngine(properties, certificateCache));
+        ClientHelloProbe clientHelloProbe = new ClientHelloProbe();
+        ProbeGovernor probeGovernor = register(new ProbeGovernor(properties, probeMetrics));
+        CipherSuiteEnumerator cipherSuiteEnumerator = new CipherSuiteEnumerator(clientHelloProbe, probeGovernor);
+        this.probePlanner = new ProbePlanner(properties, sslContextRegistry, probeMetrics);
+        this.scanHistoryStore = register(new ScanHistoryStore(properties));
+        this.certificateExpiryIndex = new CertificateExpiryIndex(scanHistoryStore);
+        this.tlsCheckerService = register(new TlsCheckerService(properties, hostResolver, new ResultCache(properties),
+            probeMetrics, sslContextRegistry, nioHandshakeEngine, clientHelloProbe, cipherSuiteEnumerator,
+            certificateCache, probeGovernor, probePlanner, Arrays.<ScanListener>asList(certificateExpiryIndex, scanHistoryStore)));
+        this.batchScanService = new BatchScanService(tlsCheckerService, properties);
+        this.handshakeBenchmark = new HandshakeBenchmark(properties, hostResolver, sslContextRegistry);
+        this.consoleOutputUtil = new ConsoleOutputUtil(properties);
+        this.resultWriterFactory = new ResultWriterFactory(properties, consoleOutputUtil);
+    }
+
+    /**
+     * 설정 값을 읽고 객체를 생성합니다.
+     *
+     * @param args 명령행 인수 ("--tls-checker."으로 시작하는 인수만 설정으로 사용)
+     * @return CLI 컨텍스트
+     * @throws IllegalArgumentException 설정 이름이나 값이 잘못되었거나 설정 파일을 읽을 수 없는 경우
+     */
+    static CliContext create(String[] args) {
+        return new CliContext(bindProperties(args, System.getenv(), System.getProperties(), Paths.get("")));
+    }
+
+    /**
+     * 설정 파일, 환경 변수, 시스템 속성, 명령행 인수를 우선순위가 낮은 순서로 적용하여 설정 값을 만듭니다.
+     * 환경 변수는 이름을 공유하므로 설정 클래스에 없는 이름은 Spring과 같이 무시합니다.
+     *
+     * @param args 명령행 인수
+     * @param environment 환경 변수
+     * @param systemProperties 시스템 속성
+     * @param baseDirectory 설정 파일을 찾을 디렉터리 (실행 시에는 현재 디렉터리)
+     * @return 설정 값
+     */
+    static TlsCheckerProperties bindProperties(String[] args, Map<String, String> environment,
+                                               Properties systemProperties, Path baseDirectory) {
+        Map<String, String> commandLine = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                commandLine.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        List<Properties> files = new ArrayList<>();
+        loadConfigFiles(files, "application", baseDirectory);
+        String profiles = commandLine.get(PROFILES);
+        if (profiles == null) {
+            profiles = systemProperties.getProperty(PROFILES);
+        }
+        if (profiles == null) {
+            profiles = environment.get("SPRING_PROFILES_ACTIVE");
+        }
+        for (int i = files.size() - 1; profiles == null && i >= 0; i--) {
+            profiles = files.get(i).getProperty(PROFILES);
+        }
+        if (profiles != null) {
+            for (String profile : profiles.split(",")) {
+                if (!profile.trim().isEmpty()) {
+                    loadConfigFiles(files, "application-" + profile.trim(), baseDirectory);
+                }
+            }
+        }
+
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        for (Properties file : files) {
+            bindAll(properties, file);
+        }
+        for (Map.Entry<String, String> variable : environment.entrySet()) {
+            String name = environmentName(variable.getKey());
+            if (name != null) {
+                bind(properties, name, variable.getValue());
+            }
+        }
+        bindAll(properties, systemProperties);
+        for (Map.Entry<String, String> arg : commandLine.entrySet()) {
+            if (arg.getKey().startsWith(PREFIX)) {
+                bind(properties, arg.getKey(), arg.getValue());
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * 클래스패스와 디렉터리의 기본 위치에서 설정 파일을 찾아 우선순위가 낮은 순서로 추가합니다.
+     */
+    private static void loadConfigFiles(List<Properties> files, String baseName, Path baseDirectory) {
+        ClassLoader classLoader = CliContext.class.getClassLoader();
+        for (String location : CONFIG_LOCATIONS) {
+            String name = location + baseName + ".properties";
+            try (InputStream in = classLoader.getResourceAsStream(name)) {
+                if (in != null) {
+                    files.add(load(in));
+                }
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read classpath:" + name + ": " + e.getMessage(), e);
+            }
+        }
+        for (String location : CONFIG_LOCATIONS) {
+            Path file = baseDirectory.resolve(location + baseName + ".properties");
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    files.add(load(in));
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot read " + file + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static Properties load(InputStream in) throws IOException {
+        // Spring과 같이 ISO-8859-1로 읽음 (다른 문자는 유니코드 이스케이프로 지정)
+        Properties properties = new Properties();
+        properties.load(in);
+        return properties;
+    }
+
+    private static void bindAll(TlsCheckerProperties properties, Properties source) {
+        for (String name : source.stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                bind(properties, name, source.getProperty(name));
+            }
+        }
+    }
+
+    /**
+     * 환경 변수 이름을 설정 이름으로 바꿉니다.
+     * 밑줄로 나눈 단어를 설정 클래스의 속성과 차례로 맞춰 보므로 TLS_CHECKER_NIO_CALLBACK_THREADS와
+     * TLSCHECKER_NIO_CALLBACKTHREADS 모두 tls-checker.nio.callback-threads가 됩니다.
+     *
+     * @return 설정 이름 (설정 클래스에 없는 이름이면 null)
+     */
+    static String environmentName(String variable) {
+        String upper = variable.toUpperCase(Locale.ROOT);
+        for (String prefix : ENV_PREFIXES) {
+            if (upper.startsWith(prefix) && upper.length() > prefix.length()) {
+                String path = resolvePath(TlsCheckerProperties.class, upper.substring(prefix.length()).split("_"), 0);
+                return path != null ? PREFIX + path : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * words[from]부터의 단어를 type의 속성 경로로 맞춥니다. 이어진 단어는 하나의 속성 이름이 될 수 있습니다.
+     */
+    private static String resolvePath(Class<?> type, String[] words, int from) {
+        StringBuilder property = new StringBuilder();
+        for (int end = from; end < words.length; end++) {
+            property.append(words[end]);
+            String name = property.toString();
+            if (end == words.length - 1) {
+                return findMethod(type, "set", name, 1) != null ? name.toLowerCase(Locale.ROOT) : null;
+            }
+            Method getter = findMethod(type, "get", name, 0);
+            if (getter != null && getter.getDeclaringClass() != Object.class) {
+                String rest = resolvePath(getter.getReturnType(), words, end + 1);
+                if (rest != null) {
+                    return name.toLowerCase(Locale.ROOT) + "." + rest;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 설정 값 하나를 바인딩합니다.
+     * 이름의 각 부분은 하이픈과 밑줄을 무시하고 대소문자 구분 없이 속성과 비교하며 (connect-timeout-millis = connectTimeoutMillis),
+     * 값은 문자열, 숫자, boolean, 열거형(대소문자 무시, 하이픈 허용), 쉼표로 구분한 문자열 목록을 지원합니다.
+     */
+    static void bind(Object target, String name, String value) {
+        String[] path = name.substring(PREFIX.length()).split("\\.");
+        Object bean = target;
+        try {
+            for (int i = 0; i < path.length - 1; i++) {
+                Method getter = findMethod(bean.getClass(), "get", path[i], 0);
+                if (getter == null) {
+                    throw new IllegalArgumentException("Unknown property: " + name);
+                }
+                bean = getter.invoke(bean);
+            }
+            Method setter = findMethod(bean.getClass(), "set", path[path.length - 1], 1);
+            if (setter == null) {
+                throw new IllegalArgumentException("Unknown property: " + name);
+            }
+            setter.invoke(bean, convert(setter.getParameterTypes()[0], value.trim()));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new IllegalArgumentException(e instanceof IllegalArgumentException && e.getMessage().startsWith("Unknown")
+                ? e.getMessage() : "Invalid value for " + name + ": " + value, e);
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String prefix, String property, int parameterCount) {
+        String wanted = prefix + property.replace("-", "").replace("_", "");
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == parameterCount && method.getName().equalsIgnoreCase(wanted)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object convert(Class<?> type, String value) {
+        if (type == String.class) {
+            return value;
+        }
+        if (type == int.class) {
+            return Integer.valueOf(value);
+        }
+        if (type == long.class) {
+            return Long.valueOf(value);
+        }
+        if (type == double.class) {
+            return Double.valueOf(value);
+        }
+        if (type == boolean.class) {
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                throw new IllegalArgumentException(value);
+            }
+            return Boolean.valueOf(value);
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, value.replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+        if (type == List.class) {
+            List<String> values = new ArrayList<>();
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    values.add(item.trim());
+                }
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Unsupported property type: " + type.getName());
+    }
+
+    private <T extends DisposableBean> T register(T bean) {
+        disposables.add(bean);
+        return bean;
+    }
+
+    /**
+     * 생성한 역순으로 스레드와 파일을 정리합니다. 여러 번 호출해도 한 번만 정리합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = disposables.size() - 1; i >= 0; i--) {
+            try {
+                disposables.get(i).destroy();
+            } catch (Exception e) {
+                log.warn("Shutdown failed: {}", disposables.get(i).getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // Getters
+    TlsCheckerProperties getProperties() { return properties; }
+    ProbeMetrics getProbeMetrics() { return probeMetrics; }
+    ProbePlanner getProbePlanner() { return probePlanner; }
+    SslContextRegistry getSslContextRegistry() { return sslContextRegistry; }
+    CertificateCache getCertificateCache() { return certificateCache; }
+    ScanHistoryStore getScanHistoryStore() { return scanHistoryStore; }
+    CertificateExpiryIndex getCertificateExpiryIndex() { return certificateExpiryIndex; }
+    TlsCheckerService getTlsCheckerService() { return tlsCheckerService; }
+    BatchScanService getBatchScanService() { return batchScanService; }
+    HandshakeBenchmark getHandshakeBenchmark() { return handshakeBenchmark; }
+    ConsoleOutputUtil getConsoleOutputUtil() { return consoleOutputUtil; }
+    ResultWriterFactory getResultWriterFactory() { return resultWriterFactory; }
+}
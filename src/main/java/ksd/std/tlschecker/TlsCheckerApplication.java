@@ -1,13 +1,47 @@
 package ksd.std.tlschecker;
 
+import ksd.std.tlschecker.service.BatchScanService;
+import ksd.std.tlschecker.service.CertificateCache;
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.ProbeMetrics;
+import ksd.std.tlschecker.service.ProbePlanner;
+import ksd.std.tlschecker.service.ScanHistoryStore;
+import ksd.std.tlschecker.service.SslContextRegistry;
 import ksd.std.tlschecker.service.TlsCheckerService;
 import ksd.std.tlschecker.util.ConsoleOutputUtil;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.DomainUtil;
+import ksd.std.tlschecker.util.ResultWriter;
+import ksd.std.tlschecker.util.ResultWriterFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import ksd.std.tlschecker.util.TargetReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.concurrent.*;
@@ -24,12 +58,96 @@ public class TlsCheckerApplication implements CommandLineRunner {
     @Autowired
     private TlsCheckerService tlsCheckerService;
 
+    @Autowired
+    private BatchScanService batchScanService;
+
+    @Autowired
+    private MonitorService monitorService;
+
+    @Autowired
+    private ScanHistoryStore scanHistoryStore;
+
+    @Autowired
+    private CertificateExpiryIndex certificateExpiryIndex;
+
+    @Autowired
+    private HandshakeBenchmark handshakeBenchmark;
+
+    @Autowired
+    private SslContextRegistry sslContextRegistry;
+
+    @Autowired
+    private CertificateCache certificateCache;
+
+    @Autowired
+    private ProbeMetrics probeMetrics;
+
+    @Autowired
+    private ProbePlanner probePlanner;
+
     @Autowired
     private ConsoleOutputUtil consoleOutputUtil;
 
-    public static void main(String[] args) {
-        // 웹 서버 비활성화
-        System.setProperty("spring.main.web-application-type", "none");
+    @Autowired
+    private ResultWriterFactory resultWriterFactory;
+
+    @Autowired
+    private TlsCheckerProperties tlsCheckerProperties;
+
+    private ResultWriter resultWriter;
+
+    @Value("${tls-checker.dns.all-addresses:false}")
+    private boolean allAddresses;
+
+    public TlsCheckerApplication() {
+        // Spring이 필드를 주입
+    }
+
+    /**
+     * Spring 컨텍스트 없이 직접 생성한 객체로 CLI 명령을 실행하기 위한 생성자
+     */
+    TlsCheckerApplication(CliContext context) {
+        this.tlsCheckerService = context.getTlsCheckerService();
+        this.batchScanService = context.getBatchScanService();
+        this.scanHistoryStore = context.getScanHistoryStore();
+        this.certificateExpiryIndex = context.getCertificateExpiryIndex();
+        this.handshakeBenchmark = context.getHandshakeBenchmark();
+        this.sslContextRegistry = context.getSslContextRegistry();
+        this.certificateCache = context.getCertificateCache();
+        this.probeMetrics = context.getProbeMetrics();
+        this.probePlanner = context.getProbePlanner();
+        this.consoleOutputUtil = context.getConsoleOutputUtil();
+        this.resultWriterFactory = context.getResultWriterFactory();
+        this.tlsCheckerProperties = context.getProperties();
+        this.allAddresses = context.getProperties().getDns().isAllAddresses();
+    }
+
+    public static void main(String[] args) throws Exception {
+        // server, monitor 모드가 아니면 Spring 컨텍스트 없이 바로 실행
+        if (!requiresSpring(args)) {
+            CliContext context;
+            try {
+                context = CliContext.create(args);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Invalid argument: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(context::close));
+            new TlsCheckerApplication(context).run(args);
+            return;
+        }
+
+        // server 모드가 아니면 웹 서버 비활성화
+        if (!isServerMode(args)) {
+            System.setProperty("spring.main.web-application-type", "none");
+        }
+
+        // JSON Lines/CSV 출력이면 배너와 콘솔 로그를 끄고 표준 출력에는 결과만 출력
+        if (isMachineOutput(args)) {
+            System.setProperty("spring.main.banner-mode", "off");
+            System.setProperty("logging.pattern.console", "");
+        }
         
         ConfigurableApplicationContext context = SpringApplication.run(TlsCheckerApplication.class, args);
         
@@ -37,17 +155,121 @@ public class TlsCheckerApplication implements CommandLineRunner {
         Runtime.getRuntime().addShutdownHook(new Thread(context::close));
     }
 
+    /**
+     * Spring 컨텍스트가 필요한 실행인지 확인합니다.
+     * 내장 웹 서버를 쓰는 server 모드와 계속 실행되는 monitor 모드, 빠른 시작을 끈 경우에만 컨텍스트를 만듭니다.
+     */
+    private static boolean requiresSpring(String[] args) {
+        for (String arg : args) {
+            if ("--tls-checker.fast-start=false".equalsIgnoreCase(arg)) {
+                return true;
+            }
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                return "server".equalsIgnoreCase(arg) || "monitor".equalsIgnoreCase(arg);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 첫 번째 위치 인수가 server인지 확인합니다.
+     */
+    private static boolean isServerMode(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                return "server".equalsIgnoreCase(arg);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 출력 형식 인수가 기계 판독용 형식(jsonl, csv)인지 확인합니다.
+     */
+    private static boolean isMachineOutput(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--tls-checker.output.format=")) {
+                String format = arg.substring("--tls-checker.output.format=".length());
+                return "jsonl".equalsIgnoreCase(format) || "csv".equalsIgnoreCase(format);
+            }
+        }
+        return false;
+    }
+
     @Override
     public void run(String... args) throws Exception {
-        // 명령행 인수가 있는 경우
-        if (args.length > 0) {
-            String domain = args[0];
-            processDomain(domain);
+        // 서버 모드: 내장 웹 서버가 요청을 처리하므로 바로 반환
+        if (isServerMode(args)) {
+            System.out.println("TLS Checker HTTP API is running. (GET /api/tls/{domain}, POST /api/tls/batch, POST /api/tls/stream, GET /api/certificates/expiring?days=N)");
             return;
         }
 
-        // 대화형 모드
-        runInteractiveMode();
+        // "--"로 시작하는 인수는 Spring 설정 값이므로 제외
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+            }
+        }
+
+        // 배치 모드: batch <파일|->
+        boolean batch = positional.size() > 1 && "batch".equalsIgnoreCase(positional.get(0));
+        try (ResultWriter writer = resultWriterFactory.create(System.out, !batch)) {
+            resultWriter = writer;
+            if (batch) {
+                runBatchMode(positional.get(1));
+                return;
+            }
+
+            // 모니터 모드: monitor <파일|->
+            if (positional.size() > 1 && "monitor".equalsIgnoreCase(positional.get(0))) {
+                runMonitorMode(positional.get(1));
+                return;
+            }
+
+            // 이력 조회: history <도메인> [시각], latest <파일|->
+            if (positional.size() > 1 && "history".equalsIgnoreCase(positional.get(0))) {
+                runHistoryMode(positional.get(1), positional.size() > 2 ? positional.get(2) : null);
+                return;
+            }
+            if (positional.size() > 1 && "latest".equalsIgnoreCase(positional.get(0))) {
+                runLatestMode(positional.get(1));
+                return;
+            }
+
+            // 인증서 조회: expiring <일수> [파일|-], issuer <발급자> [파일|-]
+            if (positional.size() > 1 && ("expiring".equalsIgnoreCase(positional.get(0))
+                    || "issuer".equalsIgnoreCase(positional.get(0)))) {
+                runCertificateQuery(positional.get(0).toLowerCase(), positional.get(1),
+                    positional.size() > 2 ? positional.get(2) : null);
+                return;
+            }
+
+            // 핸드셰이크 성능 측정: bench <도메인>
+            if (positional.size() > 1 && "bench".equalsIgnoreCase(positional.get(0))) {
+                runBenchmarkMode(positional.get(1));
+                return;
+            }
+
+            // 명령행 인수가 있는 경우
+            if (!positional.isEmpty()) {
+                String domain = positional.get(0);
+                processDomain(domain, false);
+                return;
+            }
+
+            // 대화형 모드
+            runInteractiveMode();
+        }
+    }
+
+    /**
+     * 결과를 테이블로 출력하는지 확인합니다. (JSON Lines/CSV 출력에는 안내 문구를 섞지 않음)
+     */
+    private boolean isTableOutput() {
+        return resultWriterFactory.getFormat() == TlsCheckerProperties.OutputFormat.TABLE;
     }
 
     /**
@@ -79,7 +301,12 @@ public class TlsCheckerApplication implements CommandLineRunner {
                     continue;
                 }
 
-                processDomain(input);
+                // refresh <도메인>: 캐시된 결과를 무시하고 다시 확인
+                if (input.toLowerCase().startsWith("refresh ")) {
+                    processDomain(input.substring("refresh ".length()).trim(), true);
+                } else {
+                    processDomain(input, false);
+                }
                 System.out.println();
             } catch (Exception e) {
                 System.out.println("\nInput error occurred. Exiting program.");
@@ -88,6 +315,294 @@ public class TlsCheckerApplication implements CommandLineRunner {
         }
     }
 
+    /**
+     * 배치 모드를 실행합니다.
+     *
+     * @param source 도메인 목록 파일 경로 ("-"이면 표준 입력)
+     */
+    private void runBatchMode(String source) throws IOException, InterruptedException {
+        try (BufferedReader input = openSource(source)) {
+            BatchScanService.BatchSummary summary = batchScanService.scan(input, new BatchScanService.ScanResultHandler() {
+                @Override
+                public void onResult(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
+                    // 레코드 하나가 한 번에 출력되므로 별도 동기화가 필요 없음
+                    try {
+                        resultWriter.write(domain, results);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public void onError(String target, Exception e) {
+                    try {
+                        resultWriter.writeError(target, e.getMessage());
+                    } catch (IOException ioe) {
+                        System.err.println("Skipped " + target + ": " + e.getMessage());
+                    }
+                }
+            });
+            resultWriter.flush();
+
+            if (isTableOutput()) {
+                consoleOutputUtil.printBatchSummary(summary, sslContextRegistry.getSetupStats(), certificateCache,
+                    probePlanner.getStats());
+                consoleOutputUtil.printProbeMetrics(probeMetrics.summarize());
+            } else {
+                // 기계 판독용 출력을 유지하기 위해 요약은 표준 오류로 출력
+                ProbePlanner.Stats plannerStats = probePlanner.getStats();
+                System.err.println("Scanned " + summary.getScanned() + " domains (" + summary.getWithTls() + " with TLS, "
+                    + summary.getInvalid() + " invalid, " + summary.getFailed() + " failed) in "
+                    + summary.getElapsedMillis() + " ms"
+                    + (plannerStats.getHosts() > 0 ? String.format(Locale.ROOT, ", %d connections (%d exhaustive)",
+                        plannerStats.getConnections(), plannerStats.getExhaustiveConnections()) : "")
+                    + (plannerStats.getVerifiedHosts() > 0 ? ", " + plannerStats.getMismatchedHosts() + " of "
+                        + plannerStats.getVerifiedHosts() + " hosts differ from adaptive plan" : ""));
+            }
+        }
+    }
+
+    /**
+     * 모니터 모드를 실행합니다. 종료할 때까지 대상을 주기적으로 다시 스캔하고 변경 사항만 출력합니다.
+     *
+     * @param source 도메인 목록 파일 경로 ("-"이면 표준 입력)
+     */
+    private void runMonitorMode(String source) throws IOException, InterruptedException {
+        if (resultWriterFactory.getFormat() == TlsCheckerProperties.OutputFormat.CSV) {
+            System.err.println("Monitor mode supports table and jsonl output only.");
+            return;
+        }
+
+        List<String> domains = readDomains(source);
+        monitorService.start(domains, event -> {
+            try {
+                resultWriter.writeEvent(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        TlsCheckerProperties.Monitor monitor = tlsCheckerProperties.getMonitor();
+        System.err.println("Monitoring " + monitorService.getHostCount() + " targets every "
+            + monitor.getIntervalSeconds() + "s (jitter " + Math.round(monitor.getJitter() * 100)
+            + "%). Press Ctrl+C to stop.");
+
+        // 종료 신호를 받을 때까지 대기 (종료 훅에서 컨텍스트를 닫으면 모니터도 중지됨)
+        new CountDownLatch(1).await();
+    }
+
+    /**
+     * 저장된 스캔 이력을 출력합니다.
+     * 시각을 지정하면 그 시점의 결과를, 지정하지 않으면 최근 결과부터 최대 100개를 출력합니다.
+     *
+     * @param target 도메인
+     * @param time 조회 시각 (ISO-8601 또는 yyyy-MM-dd, null이면 전체 이력)
+     */
+    private void runHistoryMode(String target, String time) throws IOException {
+        if (!checkHistoryStore()) {
+            return;
+        }
+
+        String domain;
+        Instant asOf;
+        try {
+            domain = DomainUtil.normalizeDomain(target);
+            asOf = time != null ? parseTime(time) : null;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return;
+        }
+
+        List<ScanHistoryStore.HistoryRecord> records = new ArrayList<>();
+        if (asOf != null) {
+            ScanHistoryStore.HistoryRecord record = scanHistoryStore.asOf(domain, asOf);
+            if (record != null) {
+                records.add(record);
+            }
+        } else {
+            records.addAll(scanHistoryStore.history(domain, null, 100));
+        }
+
+        if (records.isEmpty()) {
+            resultWriter.writeError(domain, "No history" + (asOf != null ? " as of " + asOf : ""));
+        }
+        for (ScanHistoryStore.HistoryRecord record : records) {
+            resultWriter.write(domain + " @ " + record.getTime(), record.getResults());
+        }
+        resultWriter.flush();
+    }
+
+    /**
+     * 목록의 각 도메인에 대해 마지막으로 저장된 결과를 출력합니다.
+     *
+     * @param source 도메인 목록 파일 경로 ("-"이면 표준 입력)
+     */
+    private void runLatestMode(String source) throws IOException {
+        if (!checkHistoryStore()) {
+            return;
+        }
+
+        for (String domain : readDomains(source)) {
+            ScanHistoryStore.HistoryRecord record = scanHistoryStore.latest(domain);
+            if (record == null) {
+                resultWriter.writeError(domain, "No history");
+            } else {
+                resultWriter.write(domain + " @ " + record.getTime(), record.getResults());
+            }
+        }
+        resultWriter.flush();
+    }
+
+    /**
+     * 인증서 만료 색인을 조회합니다.
+     * 목록을 지정하면 먼저 스캔하여 색인에 반영하고, 이력 저장소가 켜져 있으면 저장된 결과도 함께 조회합니다.
+     *
+     * @param query expiring 또는 issuer
+     * @param argument 일수 또는 발급자
+     * @param source 먼저 스캔할 도메인 목록 파일 경로 ("-"이면 표준 입력, null이면 스캔하지 않음)
+     */
+    private void runCertificateQuery(String query, String argument, String source) throws IOException, InterruptedException {
+        if (resultWriterFactory.getFormat() == TlsCheckerProperties.OutputFormat.CSV) {
+            System.err.println("Certificate queries support table and jsonl output only.");
+            return;
+        }
+
+        int days = 0;
+        if ("expiring".equals(query)) {
+            try {
+                days = Integer.parseInt(argument);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid number of days: " + argument);
+                return;
+            }
+        }
+
+        if (source != null) {
+            try (BufferedReader input = openSource(source)) {
+                batchScanService.scan(input, new BatchScanService.ScanResultHandler() {
+                    @Override
+                    public void onResult(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
+                        // 스캔 결과는 색인에 반영되므로 출력하지 않음
+                    }
+
+                    @Override
+                    public void onError(String target, Exception e) {
+                        System.err.println("Skipped " + target + ": " + e.getMessage());
+                    }
+                });
+            }
+        }
+
+        if (certificateExpiryIndex.size() == 0) {
+            System.err.println("No certificates indexed. Pass a domain list to scan or run with --tls-checker.store.enabled=true");
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<CertificateExpiryIndex.Entry> entries = "expiring".equals(query)
+            ? certificateExpiryIndex.expiringWithin(days, Integer.MAX_VALUE)
+            : certificateExpiryIndex.issuedBy(argument, Integer.MAX_VALUE);
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        for (CertificateExpiryIndex.Entry entry : entries) {
+            resultWriter.writeCertificate(entry);
+        }
+        resultWriter.flush();
+        System.err.println(entries.size() + " of " + certificateExpiryIndex.size() + " certificates matched in "
+            + elapsedMicros + " us");
+    }
+
+    /**
+     * 대상의 핸드셰이크 성능을 측정합니다.
+     * 버전마다 전체 핸드셰이크와 세션 재개 핸드셰이크를 tls-checker.bench.handshakes회씩 수행합니다.
+     *
+     * @param target 도메인
+     */
+    private void runBenchmarkMode(String target) throws IOException, InterruptedException {
+        if (resultWriterFactory.getFormat() == TlsCheckerProperties.OutputFormat.CSV) {
+            System.err.println("Benchmark mode supports table and jsonl output only.");
+            return;
+        }
+
+        ScanTarget scanTarget;
+        try {
+            scanTarget = ScanTarget.parse(target);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return;
+        }
+
+        String domain = scanTarget.getLabel();
+        TlsCheckerProperties.Bench bench = tlsCheckerProperties.getBench();
+        System.err.println("Benchmarking " + domain + ": " + bench.getHandshakes() + " full and "
+            + bench.getHandshakes() + " resumed handshakes per version, concurrency " + bench.getConcurrency());
+        HandshakeBenchmark.Report report;
+        try {
+            report = handshakeBenchmark.run(scanTarget);
+        } catch (UnknownHostException e) {
+            resultWriter.writeError(domain, "Unknown host: " + e.getMessage());
+            return;
+        }
+        resultWriter.writeBenchmark(report);
+        resultWriter.flush();
+    }
+
+    private boolean checkHistoryStore() {
+        if (!scanHistoryStore.isEnabled()) {
+            System.err.println("Scan history store is disabled. Run with --tls-checker.store.enabled=true");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 조회 시각을 해석합니다. 날짜만 지정하면 그 날의 마지막 시각(시스템 시간대)으로 간주합니다.
+     */
+    private static Instant parseTime(String value) {
+        if (value.endsWith("Z") || value.matches(".*[+-]\\d{2}:\\d{2}$")) {
+            return OffsetDateTime.parse(value).toInstant();
+        }
+        if (value.indexOf('T') > 0) {
+            return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant();
+        }
+        return LocalDate.parse(value).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().minusMillis(1);
+    }
+
+    /**
+     * 도메인 목록을 읽어 정규화합니다. 빈 줄과 #으로 시작하는 줄은 건너뜁니다.
+     *
+     * @param source 도메인 목록 파일 경로 ("-"이면 표준 입력)
+     * @return 정규화된 도메인 목록
+     */
+    private static List<String> readDomains(String source) throws IOException {
+        List<String> domains = new ArrayList<>();
+        try (BufferedReader reader = openSource(source)) {
+            TargetReader targets = new TargetReader(reader);
+            while (true) {
+                try {
+                    ScanTarget target = targets.next();
+                    if (target == null) {
+                        break;
+                    }
+                    domains.add(target.getLabel());
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipped " + targets.line() + ": " + e.getMessage());
+                }
+            }
+        }
+        return domains;
+    }
+
+    /**
+     * 도메인 목록 입력을 엽니다.
+     *
+     * @param source 파일 경로 ("-"이면 표준 입력)
+     */
+    private static BufferedReader openSource(String source) throws IOException {
+        return "-".equals(source)
+            ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+            : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+    }
+
     /**
      * 타임아웃이 있는 입력을 받습니다.
      *
@@ -131,78 +646,39 @@ public class TlsCheckerApplication implements CommandLineRunner {
      * 도메인을 처리합니다.
      *
      * @param domain 처리할 도메인
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 확인
      */
-    private void processDomain(String domain) {
+    private void processDomain(String domain, boolean refresh) {
         try {
-            // 도메인 정규화 (https:// 제거)
-            String normalizedDomain = normalizeDomain(domain);
+            // 대상 해석 (스킴, 경로 제거)
+            ScanTarget target = ScanTarget.parse(domain);
+            String normalizedDomain = target.getLabel();
             
-            System.out.println("Checking TLS support status...");
-            System.out.println("Domain: " + normalizedDomain);
-            System.out.println();
+            if (isTableOutput()) {
+                System.out.println("Checking TLS support status...");
+                System.out.println("Domain: " + normalizedDomain);
+                System.out.println();
+            }
+
+            // 모든 주소 확인 모드: A/AAAA 레코드마다 결과 출력
+            if (allAddresses) {
+                for (Map.Entry<InetAddress, Map<String, TlsCheckerService.TlsInfo>> entry
+                        : tlsCheckerService.checkTlsSupportAllAddresses(target, refresh).entrySet()) {
+                    resultWriter.write(
+                        normalizedDomain + " (" + entry.getKey().getHostAddress() + ")", entry.getValue());
+                }
+                return;
+            }
 
             // TLS 체크 실행
-            Map<String, TlsCheckerService.TlsInfo> results = tlsCheckerService.checkTlsSupport(normalizedDomain);
+            Map<String, TlsCheckerService.TlsInfo> results = tlsCheckerService.checkTlsSupport(target, refresh);
 
             // 결과 출력
-            consoleOutputUtil.printTlsResults(normalizedDomain, results);
+            resultWriter.write(normalizedDomain, results);
 
         } catch (Exception e) {
             System.err.println("An error occurred: " + e.getMessage());
             e.printStackTrace();
         }
     }
-
-    /**
-     * 도메인을 정규화합니다.
-     *
-     * @param domain 원본 도메인
-     * @return 정규화된 도메인
-     */
-    private String normalizeDomain(String domain) {
-        if (domain == null || domain.trim().isEmpty()) {
-            throw new IllegalArgumentException("Domain is empty.");
-        }
-
-        String normalized = domain.trim().toLowerCase();
-
-        // 프로토콜 제거
-        if (normalized.startsWith("https://")) {
-            normalized = normalized.substring(8);
-        } else if (normalized.startsWith("http://")) {
-            normalized = normalized.substring(7);
-        }
-
-        // 포트 번호 제거
-        if (normalized.contains(":")) {
-            normalized = normalized.substring(0, normalized.indexOf(":"));
-        }
-
-        // 경로 제거
-        if (normalized.contains("/")) {
-            normalized = normalized.substring(0, normalized.indexOf("/"));
-        }
-
-        // 도메인 유효성 검사
-        if (normalized.isEmpty() || !isValidDomain(normalized)) {
-            throw new IllegalArgumentException("Invalid domain: " + domain);
-        }
-
-        return normalized;
-    }
-
-    /**
-     * 도메인 유효성을 검사합니다.
-     *
-     * @param domain 검사할 도메인
-     * @return 유효한 도메인인지 여부
-     */
-    private boolean isValidDomain(String domain) {
-        if (domain == null || domain.isEmpty()) {
-            return false;
-        }
-
-        // 기본적인 도메인 형식 검사
-        return domain.matches("^[a-zA-Z0-9]([a-zA-Z0-9\\-]{0,61}[a-zA-Z0-9])?(\\.([a-zA-Z0-9]([a-zA-Z0-9\\-]{0,61}[a-zA-Z0-9])?))*$");
-    }
 }
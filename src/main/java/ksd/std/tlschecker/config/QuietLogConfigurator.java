@@ -0,0 +1,44 @@
+package ksd.std.tlschecker.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.Configurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import ch.qos.logback.core.spi.ContextAwareBase;
+
+/**
+ * 설정 파일이 없을 때 logback이 사용하는 기본 구성 (META-INF/services로 등록)
+ *
+ * logback의 기본 구성은 DEBUG 로그를 표준 출력에 기록하므로, Spring 없이 실행하는 CLI 명령에서
+ * 라이브러리 로그가 결과에 섞이지 않도록 모든 로그를 끕니다.
+ * 이 애플리케이션의 WARN 이상 로그만 표준 오류에 기록합니다.
+ * Spring 컨텍스트를 만드는 server, monitor 모드에서는 Spring Boot가 로깅을 다시 구성합니다.
+ */
+public class QuietLogConfigurator extends ContextAwareBase implements Configurator {
+
+    private static final String APPLICATION_LOGGER = "ksd.std.tlschecker";
+
+    @Override
+    public void configure(LoggerContext loggerContext) {
+        loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%level %logger{0} - %msg%n");
+        encoder.start();
+
+        ConsoleAppender<ILoggingEvent> appender = new ConsoleAppender<>();
+        appender.setContext(loggerContext);
+        appender.setTarget("System.err");
+        appender.setEncoder(encoder);
+        appender.start();
+
+        Logger application = loggerContext.getLogger(APPLICATION_LOGGER);
+        application.setLevel(Level.WARN);
+        application.setAdditive(false);
+        application.addAppender(appender);
+    }
+}
@@ -0,0 +1,422 @@
+package ksd.std.tlschecker.config;
+
+import ksd.std.tlschecker.service.SslContextRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TLS Checker 설정 값
+ *
+ * 명령행에서 {@code --tls-checker.probe.threads=8} 과 같이 지정할 수 있습니다.
+ */
+@Component
+@ConfigurationProperties(prefix = "tls-checker")
+public class TlsCheckerProperties {
+
+    private final Probe probe = new Probe();
+    private final Nio nio = new Nio();
+    private final Dns dns = new Dns();
+    private final Batch batch = new Batch();
+    private final Cache cache = new Cache();
+    private final Certificate certificate = new Certificate();
+    private final Http http = new Http();
+    private final Output output = new Output();
+    private final Monitor monitor = new Monitor();
+    private final Store store = new Store();
+    private final Governor governor = new Governor();
+    private final Bench bench = new Bench();
+    /** server, monitor 외의 명령을 Spring 컨텍스트 없이 실행할지 여부 (명령행 인수로만 지정) */
+    private boolean fastStart = true;
+
+    public Probe getProbe() { return probe; }
+    public Nio getNio() { return nio; }
+    public Dns getDns() { return dns; }
+    public Batch getBatch() { return batch; }
+    public Cache getCache() { return cache; }
+    public Certificate getCertificate() { return certificate; }
+    public Http getHttp() { return http; }
+    public Output getOutput() { return output; }
+    public Monitor getMonitor() { return monitor; }
+    public Store getStore() { return store; }
+    public Governor getGovernor() { return governor; }
+    public Bench getBench() { return bench; }
+    public boolean isFastStart() { return fastStart; }
+    public void setFastStart(boolean fastStart) { this.fastStart = fastStart; }
+
+    /**
+     * 결과 출력 형식
+     */
+    public enum OutputFormat {
+        /** 색상이 있는 ASCII 테이블 */
+        TABLE,
+        /** 호스트마다 JSON 객체 한 줄 (JSON Lines) */
+        JSONL,
+        /** 호스트마다 한 행 (헤더 포함 CSV) */
+        CSV
+    }
+
+    /**
+     * 콘솔 출력 색상 사용 방식
+     */
+    public enum ColorMode {
+        /** 콘솔(TTY)에 출력할 때만 색상 사용 */
+        AUTO,
+        /** 항상 색상 사용 */
+        ALWAYS,
+        /** 색상 사용 안 함 */
+        NEVER
+    }
+
+    /**
+     * 핸드셰이크 엔진 종류
+     */
+    public enum Engine {
+        /** 프로브마다 블로킹 SSLSocket 사용 */
+        SOCKET,
+        /** SSLEngine + NIO Selector 기반 논블로킹 처리 */
+        NIO
+    }
+
+    /**
+     * 프로브 방식
+     */
+    public enum Mode {
+        /** 전체 핸드셰이크 수행 (인증서 정보 포함) */
+        FULL,
+        /** ClientHello/ServerHello만 교환한 뒤 연결 종료 (인증서 정보 없음) */
+        FAST
+    }
+
+    /**
+     * 버전별 프로브 계획 방식
+     */
+    public enum Planner {
+        /** 앞선 응답으로 확인할 버전의 순서와 생략 여부를 결정 */
+        ADAPTIVE,
+        /** 모든 버전을 확인 */
+        EXHAUSTIVE,
+        /** 모든 버전을 확인하고 적응형 계획의 결과와 비교 */
+        VERIFY
+    }
+
+    /**
+     * TLS 버전 프로브 설정
+     */
+    public static class Probe {
+        /** 프로브 방식 */
+        private Mode mode = Mode.FULL;
+        /** 핸드셰이크 엔진 (FULL 방식에서만 사용) */
+        private Engine engine = Engine.SOCKET;
+        /** 프로브 프로필 */
+        private SslContextRegistry.ProbeProfile profile = SslContextRegistry.ProbeProfile.DEFAULT;
+        /** SSL 컨텍스트를 미리 초기화하여 재사용할지 여부 (false이면 프로브마다 새로 생성) */
+        private boolean reuseContexts = true;
+        /** 지원되는 버전마다 서버가 수락하는 암호화 스위트를 열거할지 여부 */
+        private boolean enumerateCiphers = false;
+        /** 한 호스트의 TLS 버전들을 동시에 확인할지 여부 */
+        private boolean concurrent = true;
+        /** 프로브 실행 스레드 수 */
+        private int threads = 16;
+        /** 프로브 작업 대기 큐 크기 (가득 차면 호출 스레드에서 직접 실행) */
+        private int queueCapacity = 256;
+        /** TCP 연결 제한 시간 (밀리초) */
+        private int connectTimeoutMillis = 5000;
+        /** 연결 후 핸드셰이크 응답 대기 제한 시간 (밀리초) */
+        private int handshakeTimeoutMillis = 10000;
+        /** 프로브 하나의 연결부터 핸드셰이크 완료까지 최대 수행 시간 (밀리초) */
+        private long deadlineMillis = 15000;
+        /** 버전별 프로브 전에 TCP 연결을 한 번 확인하여 연결할 수 없는 호스트를 바로 건너뛸지 여부 */
+        private boolean preflight = true;
+        /** 버전별 프로브 계획 방식 */
+        private Planner planner = Planner.ADAPTIVE;
+
+        // Getters and Setters
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+        public Engine getEngine() { return engine; }
+        public void setEngine(Engine engine) { this.engine = engine; }
+        public SslContextRegistry.ProbeProfile getProfile() { return profile; }
+        public void setProfile(SslContextRegistry.ProbeProfile profile) { this.profile = profile; }
+        public boolean isReuseContexts() { return reuseContexts; }
+        public void setReuseContexts(boolean reuseContexts) { this.reuseContexts = reuseContexts; }
+        public boolean isEnumerateCiphers() { return enumerateCiphers; }
+        public void setEnumerateCiphers(boolean enumerateCiphers) { this.enumerateCiphers = enumerateCiphers; }
+        public boolean isConcurrent() { return concurrent; }
+        public void setConcurrent(boolean concurrent) { this.concurrent = concurrent; }
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public long getDeadlineMillis() { return deadlineMillis; }
+        public void setDeadlineMillis(long deadlineMillis) { this.deadlineMillis = deadlineMillis; }
+        public int getConnectTimeoutMillis() { return connectTimeoutMillis; }
+        public void setConnectTimeoutMillis(int connectTimeoutMillis) { this.connectTimeoutMillis = connectTimeoutMillis; }
+        public int getHandshakeTimeoutMillis() { return handshakeTimeoutMillis; }
+        public void setHandshakeTimeoutMillis(int handshakeTimeoutMillis) { this.handshakeTimeoutMillis = handshakeTimeoutMillis; }
+        public boolean isPreflight() { return preflight; }
+        public void setPreflight(boolean preflight) { this.preflight = preflight; }
+        public Planner getPlanner() { return planner; }
+        public void setPlanner(Planner planner) { this.planner = planner; }
+    }
+
+    /**
+     * NIO 핸드셰이크 엔진 설정
+     */
+    public static class Nio {
+        /** Selector 스레드 수 */
+        private int selectorThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        /** 핸드셰이크 결과를 전달하고 후속 작업(캐시, 이력 기록, 결과 출력)을 실행하는 스레드 수 */
+        private int callbackThreads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+        // Getters and Setters
+        public int getSelectorThreads() { return selectorThreads; }
+        public void setSelectorThreads(int selectorThreads) { this.selectorThreads = selectorThreads; }
+        public int getCallbackThreads() { return callbackThreads; }
+        public void setCallbackThreads(int callbackThreads) { this.callbackThreads = callbackThreads; }
+    }
+
+    /**
+     * 이름 해석 설정
+     */
+    public static class Dns {
+        /** 해석 결과 캐시 유지 시간 (초, 음수이면 networkaddress.cache.ttl 또는 30초) */
+        private long cacheTtlSeconds = -1;
+        /** 해석 실패 캐시 유지 시간 (초, 음수이면 networkaddress.cache.negative.ttl 또는 10초) */
+        private long negativeCacheTtlSeconds = -1;
+        /** 캐시 최대 항목 수 */
+        private int maxEntries = 100000;
+        /** 모든 A/AAAA 주소를 각각 확인할지 여부 */
+        private boolean allAddresses = false;
+
+        // Getters and Setters
+        public long getCacheTtlSeconds() { return cacheTtlSeconds; }
+        public void setCacheTtlSeconds(long cacheTtlSeconds) { this.cacheTtlSeconds = cacheTtlSeconds; }
+        public long getNegativeCacheTtlSeconds() { return negativeCacheTtlSeconds; }
+        public void setNegativeCacheTtlSeconds(long negativeCacheTtlSeconds) { this.negativeCacheTtlSeconds = negativeCacheTtlSeconds; }
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+        public boolean isAllAddresses() { return allAddresses; }
+        public void setAllAddresses(boolean allAddresses) { this.allAddresses = allAddresses; }
+    }
+
+    /**
+     * 배치 스캔 설정
+     */
+    public static class Batch {
+        /** 동시에 스캔할 도메인 수 (NIO 엔진에서는 동시에 진행 중인 도메인 수) */
+        private int workers = 32;
+        /** 스캔 대기 큐 크기 (가득 차면 입력 읽기를 멈춤) */
+        private int queueCapacity = 64;
+
+        // Getters and Setters
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    }
+
+    /**
+     * 결과 캐시 설정
+     */
+    public static class Cache {
+        /** 결과 캐시 사용 여부 (false이면 항상 새로 스캔) */
+        private boolean enabled = true;
+        /** 지원 버전이 있는 결과 유지 시간 (초) */
+        private long ttlSeconds = 300;
+        /** 지원 버전이 없는 결과(연결 실패 포함) 유지 시간 (초) */
+        private long negativeTtlSeconds = 30;
+        /** 캐시 최대 항목 수 (초과 시 가장 오래 사용되지 않은 항목 제거) */
+        private int maxEntries = 10000;
+
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+        public long getNegativeTtlSeconds() { return negativeTtlSeconds; }
+        public void setNegativeTtlSeconds(long negativeTtlSeconds) { this.negativeTtlSeconds = negativeTtlSeconds; }
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    }
+
+    /**
+     * 인증서 해석 결과 캐시 설정
+     */
+    public static class Certificate {
+        /** SHA-256 지문별로 보관할 최대 인증서 수 (0이면 캐시하지 않음) */
+        private int cacheMaxEntries = 50000;
+
+        // Getters and Setters
+        public int getCacheMaxEntries() { return cacheMaxEntries; }
+        public void setCacheMaxEntries(int cacheMaxEntries) { this.cacheMaxEntries = cacheMaxEntries; }
+    }
+
+    /**
+     * HTTP API 서버 설정 (server 모드에서만 사용)
+     */
+    public static class Http {
+        /** 소켓 엔진 스캔 스레드 수 */
+        private int workers = 32;
+        /** 스캔 대기 큐 크기 (가득 차면 503 응답) */
+        private int queueCapacity = 256;
+        /** 배치/스트림 요청 하나의 최대 도메인 수 */
+        private int maxBatchSize = 1000;
+        /** 비동기 요청 제한 시간 (밀리초) */
+        private long requestTimeoutMillis = 300000;
+
+        // Getters and Setters
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+        public int getMaxBatchSize() { return maxBatchSize; }
+        public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+        public long getRequestTimeoutMillis() { return requestTimeoutMillis; }
+        public void setRequestTimeoutMillis(long requestTimeoutMillis) { this.requestTimeoutMillis = requestTimeoutMillis; }
+    }
+
+    /**
+     * 콘솔 출력 설정
+     */
+    public static class Output {
+        /** 결과 출력 형식 */
+        private OutputFormat format = OutputFormat.TABLE;
+        /** ANSI 색상 사용 방식 */
+        private ColorMode color = ColorMode.AUTO;
+
+        // Getters and Setters
+        public OutputFormat getFormat() { return format; }
+        public void setFormat(OutputFormat format) { this.format = format; }
+        public ColorMode getColor() { return color; }
+        public void setColor(ColorMode color) { this.color = color; }
+    }
+
+    /**
+     * 모니터 모드 설정
+     */
+    public static class Monitor {
+        /** 호스트별 재스캔 주기 (초) */
+        private long intervalSeconds = 3600;
+        /** 재스캔 주기에 더하거나 빼는 무작위 지터 비율 (0.1이면 ±10%) */
+        private double jitter = 0.1;
+        /** 동시에 스캔할 호스트 수 */
+        private int workers = 8;
+        /** 인증서 만료가 이 일수 이내로 남으면 이벤트 발생 */
+        private int expiryWarningDays = 14;
+
+        // Getters and Setters
+        public long getIntervalSeconds() { return intervalSeconds; }
+        public void setIntervalSeconds(long intervalSeconds) { this.intervalSeconds = intervalSeconds; }
+        public double getJitter() { return jitter; }
+        public void setJitter(double jitter) { this.jitter = jitter; }
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+        public int getExpiryWarningDays() { return expiryWarningDays; }
+        public void setExpiryWarningDays(int expiryWarningDays) { this.expiryWarningDays = expiryWarningDays; }
+    }
+
+    /**
+     * 스캔 이력 저장소 설정
+     */
+    public static class Store {
+        /** 스캔 결과를 디스크에 기록할지 여부 */
+        private boolean enabled = false;
+        /** 세그먼트 파일을 저장할 디렉터리 */
+        private String directory = "tls-history";
+        /** 세그먼트 하나의 최대 크기 (바이트, 넘으면 새 세그먼트로 교체) */
+        private long maxSegmentBytes = 64L * 1024 * 1024;
+        /** 세그먼트 하나의 최대 사용 시간 (시간, 넘으면 새 세그먼트로 교체) */
+        private long maxSegmentAgeHours = 24;
+        /** 마지막 기록 후 이 일수가 지난 세그먼트는 삭제 */
+        private long retentionDays = 30;
+        /** 기록할 때마다 디스크에 동기화할지 여부 */
+        private boolean fsync = false;
+
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+        public long getMaxSegmentBytes() { return maxSegmentBytes; }
+        public void setMaxSegmentBytes(long maxSegmentBytes) { this.maxSegmentBytes = maxSegmentBytes; }
+        public long getMaxSegmentAgeHours() { return maxSegmentAgeHours; }
+        public void setMaxSegmentAgeHours(long maxSegmentAgeHours) { this.maxSegmentAgeHours = maxSegmentAgeHours; }
+        public long getRetentionDays() { return retentionDays; }
+        public void setRetentionDays(long retentionDays) { this.retentionDays = retentionDays; }
+        public boolean isFsync() { return fsync; }
+        public void setFsync(boolean fsync) { this.fsync = fsync; }
+    }
+
+    /**
+     * 프로브 동시 실행 및 속도 제한 설정
+     *
+     * 속도는 초당 연결 수이며 0이면 제한하지 않습니다.
+     */
+    public static class Governor {
+        /** 동시 실행 및 속도 제한을 적용할지 여부 */
+        private boolean enabled = true;
+        /** 전체 동시 연결 수 */
+        private int maxInFlight = 256;
+        /** 주소 하나에 대한 동시 연결 수 */
+        private int hostMaxConcurrency = 8;
+        /** 주소 하나에 대한 초당 연결 수 */
+        private double hostRate = 20;
+        /** 주소 하나에 대해 한꺼번에 허용하는 연결 수 */
+        private int hostBurst = 10;
+        /** 서브넷 하나에 대한 초당 연결 수 */
+        private double subnetRate = 100;
+        /** 서브넷 하나에 대해 한꺼번에 허용하는 연결 수 */
+        private int subnetBurst = 50;
+        /** IPv4 서브넷 접두사 길이 */
+        private int ipv4Prefix = 24;
+        /** IPv6 서브넷 접두사 길이 (최대 64) */
+        private int ipv6Prefix = 64;
+        /** 시간 초과나 연결 재설정이 발생한 주소의 동시 연결 수와 속도를 낮출지 여부 */
+        private boolean adaptive = true;
+
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxInFlight() { return maxInFlight; }
+        public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+        public int getHostMaxConcurrency() { return hostMaxConcurrency; }
+        public void setHostMaxConcurrency(int hostMaxConcurrency) { this.hostMaxConcurrency = hostMaxConcurrency; }
+        public double getHostRate() { return hostRate; }
+        public void setHostRate(double hostRate) { this.hostRate = hostRate; }
+        public int getHostBurst() { return hostBurst; }
+        public void setHostBurst(int hostBurst) { this.hostBurst = hostBurst; }
+        public double getSubnetRate() { return subnetRate; }
+        public void setSubnetRate(double subnetRate) { this.subnetRate = subnetRate; }
+        public int getSubnetBurst() { return subnetBurst; }
+        public void setSubnetBurst(int subnetBurst) { this.subnetBurst = subnetBurst; }
+        public int getIpv4Prefix() { return ipv4Prefix; }
+        public void setIpv4Prefix(int ipv4Prefix) { this.ipv4Prefix = ipv4Prefix; }
+        public int getIpv6Prefix() { return ipv6Prefix; }
+        public void setIpv6Prefix(int ipv6Prefix) { this.ipv6Prefix = ipv6Prefix; }
+        public boolean isAdaptive() { return adaptive; }
+        public void setAdaptive(boolean adaptive) { this.adaptive = adaptive; }
+    }
+
+    /**
+     * 핸드셰이크 성능 측정 설정
+     */
+    public static class Bench {
+        /** 버전마다 수행할 전체 핸드셰이크 수 (세션 재개 핸드셰이크도 같은 수만큼 수행) */
+        private int handshakes = 100;
+        /** 동시에 핸드셰이크하는 연결 수 */
+        private int concurrency = 4;
+        /** 측정할 TLS 버전 (비어 있으면 모든 버전) */
+        private List<String> versions = new ArrayList<>();
+
+        // Getters and Setters
+        public int getHandshakes() { return handshakes; }
+        public void setHandshakes(int handshakes) { this.handshakes = handshakes; }
+        public int getConcurrency() { return concurrency; }
+        public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+        public List<String> getVersions() { return versions; }
+        public void setVersions(List<String> versions) { this.versions = versions; }
+    }
+}
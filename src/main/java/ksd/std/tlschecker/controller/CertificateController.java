@@ -0,0 +1,78 @@
+package ksd.std.tlschecker.controller;
+
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.util.DomainUtil;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인증서 만료 색인 조회 HTTP API
+ *
+ * 스캔이 끝날 때마다 갱신되는 색인을 조회하므로 스캔을 기다리지 않고 바로 응답합니다.
+ */
+@RestController
+@RequestMapping("/api/certificates")
+public class CertificateController {
+
+    private static final int MAX_LIMIT = 10000;
+
+    private final CertificateExpiryIndex certificateExpiryIndex;
+
+    public CertificateController(CertificateExpiryIndex certificateExpiryIndex) {
+        this.certificateExpiryIndex = certificateExpiryIndex;
+    }
+
+    /**
+     * 지정한 기간 안에 만료되는 인증서를 만료가 빠른 순으로 반환합니다. 이미 만료된 인증서도 포함합니다.
+     *
+     * @param days 오늘부터의 일수
+     * @param limit 최대 항목 수
+     * @return 만료 순 항목 목록
+     */
+    @GetMapping("/expiring")
+    public List<CertificateExpiryIndex.Entry> expiring(@RequestParam(defaultValue = "30") int days,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        return certificateExpiryIndex.expiringWithin(days, checkLimit(limit));
+    }
+
+    /**
+     * 발급자의 인증서를 만료가 빠른 순으로 반환합니다.
+     *
+     * @param issuer 발급자 DN 전체 또는 CN, O 값 (대소문자 무시)
+     * @param limit 최대 항목 수
+     * @return 만료 순 항목 목록
+     */
+    @GetMapping(params = "issuer")
+    public List<CertificateExpiryIndex.Entry> issuedBy(@RequestParam String issuer,
+                                                      @RequestParam(defaultValue = "100") int limit) {
+        return certificateExpiryIndex.issuedBy(issuer, checkLimit(limit));
+    }
+
+    /**
+     * 호스트의 색인 항목을 반환합니다.
+     *
+     * @param domain 도메인
+     * @return 색인 항목 (스캔한 적이 없으면 404)
+     */
+    @GetMapping("/{domain:.+}")
+    public ResponseEntity<CertificateExpiryIndex.Entry> get(@PathVariable String domain) {
+        CertificateExpiryIndex.Entry entry = certificateExpiryIndex.get(DomainUtil.normalizeDomain(domain));
+        return entry != null ? ResponseEntity.ok(entry) : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+    }
+
+    private static int checkLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
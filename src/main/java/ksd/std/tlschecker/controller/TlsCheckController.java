@@ -0,0 +1,223 @@
+package ksd.std.tlschecker.controller;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.service.ProbeMetrics;
+import ksd.std.tlschecker.service.TlsCheckerService;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * TLS 확인 HTTP API
+ *
+ * 모든 요청은 비동기로 처리되어 핸드셰이크가 진행되는 동안 서블릿 스레드를 점유하지 않습니다.
+ * 소켓 엔진에서는 별도의 스캔 스레드 풀에서, NIO 엔진에서는 Selector 스레드에서 스캔합니다.
+ */
+@RestController
+@RequestMapping("/api/tls")
+public class TlsCheckController implements DisposableBean {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TlsCheckerService tlsCheckerService;
+    private final TlsCheckerProperties.Http httpProperties;
+    private final ExecutorService scanExecutor;
+
+    public TlsCheckController(TlsCheckerService tlsCheckerService, TlsCheckerProperties properties,
+                              ProbeMetrics probeMetrics) {
+        this.tlsCheckerService = tlsCheckerService;
+        this.httpProperties = properties.getHttp();
+        // 큐가 가득 차면 요청 스레드에서 실행하지 않고 거절하여 서블릿 스레드를 보호
+        BlockingQueue<Runnable> scanQueue = new ArrayBlockingQueue<>(httpProperties.getQueueCapacity());
+        this.scanExecutor = new ThreadPoolExecutor(
+            httpProperties.getWorkers(), httpProperties.getWorkers(),
+            60L, TimeUnit.SECONDS,
+            scanQueue,
+            new NamedThreadFactory("tls-http"),
+            new ThreadPoolExecutor.AbortPolicy());
+        probeMetrics.monitorQueue("tls-http", scanQueue);
+    }
+
+    /**
+     * 도메인 하나의 TLS 지원 정보를 반환합니다.
+     *
+     * @param domain 확인할 도메인 (포트, 고정 주소 지정 가능, 형식은 {@link ScanTarget} 참고)
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 확인
+     * @return TLS 버전별 지원 정보
+     */
+    @GetMapping("/{domain:.+}")
+    public DeferredResult<ResponseEntity<Map<String, TlsCheckerService.TlsInfo>>> check(
+            @PathVariable String domain, @RequestParam(defaultValue = "false") boolean refresh) {
+        ScanTarget target = ScanTarget.parse(domain);
+        DeferredResult<ResponseEntity<Map<String, TlsCheckerService.TlsInfo>>> deferred =
+            new DeferredResult<>(httpProperties.getRequestTimeoutMillis());
+
+        tlsCheckerService.checkTlsSupportAsync(target, refresh, scanExecutor)
+            .whenComplete((results, error) -> {
+                if (error == null) {
+                    deferred.setResult(ResponseEntity.ok(results));
+                } else {
+                    deferred.setErrorResult(unwrap(error));
+                }
+            });
+        return deferred;
+    }
+
+    /**
+     * 여러 도메인을 동시에 확인하고 모든 결과를 요청 순서대로 한 번에 반환합니다.
+     *
+     * @param domains 확인할 도메인 목록
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 확인
+     * @return 도메인별 결과 목록
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<List<ScanResult>> checkBatch(@RequestBody List<String> domains,
+                                                       @RequestParam(defaultValue = "false") boolean refresh) {
+        validateBatchSize(domains);
+        DeferredResult<List<ScanResult>> deferred = new DeferredResult<>(httpProperties.getRequestTimeoutMillis());
+
+        List<CompletableFuture<ScanResult>> futures = new ArrayList<>(domains.size());
+        for (String domain : domains) {
+            futures.add(scan(domain, refresh));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            List<ScanResult> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<ScanResult> future : futures) {
+                results.add(future.join());
+            }
+            deferred.setResult(results);
+        });
+        return deferred;
+    }
+
+    /**
+     * 여러 도메인을 동시에 확인하고 결과가 나오는 대로 한 줄에 하나씩 NDJSON으로 전송합니다.
+     *
+     * @param domains 확인할 도메인 목록
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 확인
+     * @return 응답 스트림
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_JSON_VALUE, produces = "application/x-ndjson")
+    public ResponseBodyEmitter checkStream(@RequestBody List<String> domains,
+                                           @RequestParam(defaultValue = "false") boolean refresh) {
+        validateBatchSize(domains);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(httpProperties.getRequestTimeoutMillis());
+
+        List<CompletableFuture<Void>> sent = new ArrayList<>(domains.size());
+        for (String domain : domains) {
+            sent.add(scan(domain, refresh).thenAccept(result -> send(emitter, result)));
+        }
+        CompletableFuture.allOf(sent.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((ignored, error) -> emitter.complete());
+        return emitter;
+    }
+
+    /**
+     * 도메인 하나를 스캔합니다. 실패해도 오류 메시지를 담아 정상 완료됩니다.
+     */
+    private CompletableFuture<ScanResult> scan(String input, boolean refresh) {
+        ScanTarget target;
+        try {
+            target = ScanTarget.parse(input);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ScanResult.failed(input, e.getMessage()));
+        }
+
+        String domain = target.getLabel();
+        CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> scan;
+        try {
+            scan = tlsCheckerService.checkTlsSupportAsync(target, refresh, scanExecutor);
+        } catch (RejectedExecutionException e) {
+            // 캐시를 사용하지 않으면 제출 실패가 바로 던져지므로, 요청 전체가 아닌 이 도메인만 실패로 응답
+            return CompletableFuture.completedFuture(ScanResult.failed(domain, describe(e)));
+        }
+        return scan.handle((results, error) -> error == null
+                ? new ScanResult(domain, results, null)
+                : ScanResult.failed(domain, describe(unwrap(error))));
+    }
+
+    /**
+     * 결과 한 줄을 전송합니다. 여러 스캔이 동시에 끝나도 줄이 섞이지 않도록 동기화합니다.
+     */
+    private static void send(ResponseBodyEmitter emitter, ScanResult result) {
+        synchronized (emitter) {
+            try {
+                emitter.send(result, MediaType.APPLICATION_JSON);
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결이 끊긴 경우 나머지 결과는 버림
+            }
+        }
+    }
+
+    private void validateBatchSize(List<String> domains) {
+        if (domains == null || domains.isEmpty()) {
+            throw new IllegalArgumentException("At least one domain is required.");
+        }
+        if (domains.size() > httpProperties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("Too many domains: " + domains.size()
+                + " (max " + httpProperties.getMaxBatchSize() + ")");
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static String describe(Throwable error) {
+        return error instanceof RejectedExecutionException ? "Server is busy. Try again later." : error.getMessage();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(Collections.singletonMap("error", describe(e)));
+    }
+
+    @Override
+    public void destroy() {
+        scanExecutor.shutdownNow();
+    }
+
+    /**
+     * 도메인 하나의 스캔 결과
+     */
+    public static class ScanResult {
+        private final String domain;
+        private final Map<String, TlsCheckerService.TlsInfo> results;
+        private final String error;
+
+        public ScanResult(String domain, Map<String, TlsCheckerService.TlsInfo> results, String error) {
+            this.domain = domain;
+            this.results = results;
+            this.error = error;
+        }
+
+        static ScanResult failed(String domain, String error) {
+            return new ScanResult(domain, null, error);
+        }
+
+        // Getters
+        public String getDomain() { return domain; }
+        /** TLS 버전별 지원 정보 (스캔하지 못했으면 null) */
+        public Map<String, TlsCheckerService.TlsInfo> getResults() { return results; }
+        /** 스캔하지 못한 이유 */
+        public String getError() { return error; }
+    }
+}
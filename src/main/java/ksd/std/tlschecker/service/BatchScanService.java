@@ -0,0 +1,195 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import ksd.std.tlschecker.util.TargetReader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량의 도메인 목록을 스트리밍 방식으로 스캔하는 서비스
+ *
+ * 입력은 한 줄씩 읽어 작업 큐로 넘기며, 큐가 가득 차면 읽기를 멈추고 기다립니다.
+ * 줄은 {@link TargetReader}가 읽기 버퍼 위에서 바로 해석하므로 줄마다 중간 문자열을 만들지 않습니다.
+ * 결과는 끝나는 즉시 핸들러로 전달되므로 입력 크기와 관계없이 메모리 사용량이 일정합니다.
+ * NIO 엔진을 사용하면 작업 스레드 없이 허용된 수만큼의 도메인을 동시에 진행합니다.
+ */
+@Service
+public class BatchScanService {
+
+    private final TlsCheckerService tlsCheckerService;
+    private final TlsCheckerProperties.Batch batchProperties;
+    private final boolean allAddresses;
+
+    public BatchScanService(TlsCheckerService tlsCheckerService, TlsCheckerProperties properties) {
+        this.tlsCheckerService = tlsCheckerService;
+        this.batchProperties = properties.getBatch();
+        this.allAddresses = properties.getDns().isAllAddresses();
+    }
+
+    /**
+     * 입력의 모든 대상을 스캔합니다.
+     * 빈 줄과 '#'으로 시작하는 줄은 무시합니다.
+     *
+     * @param reader 대상 목록 (한 줄에 하나, 형식은 {@link ScanTarget} 참고)
+     * @param handler 결과 핸들러 (여러 작업 스레드에서 동시에 호출됨)
+     * @return 스캔 요약
+     * @throws IOException 입력을 읽을 수 없는 경우
+     * @throws InterruptedException 스캔 도중 인터럽트된 경우
+     */
+    public BatchSummary scan(Reader reader, ScanResultHandler handler) throws IOException, InterruptedException {
+        int workers = batchProperties.getWorkers();
+        int queueCapacity = batchProperties.getQueueCapacity();
+
+        // 실행 중 + 대기 중 작업 수를 제한하여 입력 읽기에 배압을 적용
+        // 허가는 작업 스레드가 풀로 돌아가기 전에 반납되고, NIO 경로는 대상 하나에 작업을 두 번 제출하므로
+        // 큐 크기는 제한하지 않고 세마포어로만 제한함 (큐가 가득 차 자신의 작업을 거부하지 않도록)
+        Semaphore permits = new Semaphore(workers + queueCapacity);
+        ExecutorService executor = new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new NamedThreadFactory("tls-batch"));
+
+        BatchSummary summary = new BatchSummary();
+        long startTime = System.nanoTime();
+
+        try {
+            TargetReader targets = new TargetReader(reader);
+            while (true) {
+                ScanTarget target;
+                try {
+                    target = targets.next();
+                } catch (IllegalArgumentException e) {
+                    summary.invalid.incrementAndGet();
+                    handler.onError(targets.line(), e);
+                    continue;
+                }
+                if (target == null) {
+                    break;
+                }
+
+                String domain = target.getLabel();
+                permits.acquire();
+                CompletableFuture<Map<String, Map<String, TlsCheckerService.TlsInfo>>> scan;
+                try {
+                    scan = scanTarget(target, executor);
+                } catch (RuntimeException e) {
+                    // 캐시를 사용하지 않으면 제출 실패가 바로 던져지므로 대상 하나의 실패로 기록
+                    summary.failed.incrementAndGet();
+                    handler.onError(domain, e);
+                    permits.release();
+                    continue;
+                }
+                scan.whenComplete((labeledResults, error) -> {
+                    try {
+                        if (error == null) {
+                            for (Map.Entry<String, Map<String, TlsCheckerService.TlsInfo>> entry : labeledResults.entrySet()) {
+                                summary.record(entry.getValue());
+                                handler.onResult(entry.getKey(), entry.getValue());
+                            }
+                        } else {
+                            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                            summary.failed.incrementAndGet();
+                            handler.onError(domain, cause instanceof Exception ? (Exception) cause : new Exception(cause));
+                        }
+                    } catch (Exception e) {
+                        handler.onError(domain, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            // 진행 중인 모든 스캔이 끝날 때까지 대기
+            permits.acquire(workers + queueCapacity);
+        } finally {
+            executor.shutdown();
+            summary.elapsedNanos = System.nanoTime() - startTime;
+        }
+
+        return summary;
+    }
+
+    /**
+     * 대상 하나를 스캔합니다.
+     * 모든 주소 확인 모드에서는 "대상 (주소)" 이름으로 주소별 결과를 반환합니다.
+     *
+     * @param target 대상
+     * @param executor 블로킹 스캔 실행기
+     * @return 이름별 TLS 지원 정보
+     */
+    private CompletableFuture<Map<String, Map<String, TlsCheckerService.TlsInfo>>> scanTarget(ScanTarget target, Executor executor) {
+        String domain = target.getLabel();
+        if (!allAddresses) {
+            return tlsCheckerService.checkTlsSupportAsync(target, executor)
+                .thenApply(results -> Collections.singletonMap(domain, results));
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Map<String, Map<String, TlsCheckerService.TlsInfo>> labeled = new LinkedHashMap<>();
+                for (Map.Entry<InetAddress, Map<String, TlsCheckerService.TlsInfo>> entry
+                        : tlsCheckerService.checkTlsSupportAllAddresses(target).entrySet()) {
+                    labeled.put(domain + " (" + entry.getKey().getHostAddress() + ")", entry.getValue());
+                }
+                return labeled;
+            } catch (UnknownHostException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * 스캔 결과를 전달받는 핸들러
+     */
+    public interface ScanResultHandler {
+        /**
+         * 도메인 하나의 스캔이 끝났을 때 호출됩니다.
+         */
+        void onResult(String domain, Map<String, TlsCheckerService.TlsInfo> results);
+
+        /**
+         * 도메인이 잘못되었거나 스캔 중 오류가 발생했을 때 호출됩니다.
+         */
+        void onError(String target, Exception e);
+    }
+
+    /**
+     * 배치 스캔 요약 정보
+     */
+    public static class BatchSummary {
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong withTls = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile long elapsedNanos;
+
+        private void record(Map<String, TlsCheckerService.TlsInfo> results) {
+            scanned.incrementAndGet();
+            for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+                if (tlsInfo.isSupported()) {
+                    withTls.incrementAndGet();
+                    break;
+                }
+            }
+        }
+
+        // Getters
+        public long getScanned() { return scanned.get(); }
+        public long getWithTls() { return withTls.get(); }
+        public long getInvalid() { return invalid.get(); }
+        public long getFailed() { return failed.get(); }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+    }
+}
@@ -0,0 +1,167 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 서버 인증서 체인을 SHA-256 지문으로 식별하여 해석 결과를 공유하는 LRU 캐시
+ *
+ * 같은 호스트의 버전별 프로브와, 중간 인증서나 와일드카드 인증서를 공유하는 여러 호스트가
+ * 같은 CertificateInfo 인스턴스를 참조하므로 주체, 발급자 등의 문자열을 한 번만 만들고 한 번만 보관합니다.
+ * 최대 항목 수가 0이면 캐시하지 않고 매번 해석합니다.
+ */
+@Component
+public class CertificateCache {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, TlsCheckerService.CertificateInfo> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CertificateCache(TlsCheckerProperties properties) {
+        int maxEntries = properties.getCertificate().getCacheMaxEntries();
+        this.maxEntries = maxEntries;
+        // 접근 순서로 정렬하여 가장 오래 사용되지 않은 항목부터 제거
+        this.entries = new LinkedHashMap<ByteBuffer, TlsCheckerService.CertificateInfo>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, TlsCheckerService.CertificateInfo> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 세션의 인증서 체인을 TLS 정보에 설정합니다.
+     * 인증서를 가져올 수 없으면 오류 메시지만 담은 인증서 정보를 설정합니다.
+     *
+     * @param session 핸드셰이크가 끝난 SSL 세션
+     * @param tlsInfo 결과를 설정할 TLS 정보
+     */
+    public void collect(SSLSession session, TlsCheckerService.TlsInfo tlsInfo) {
+        try {
+            Certificate[] peerCertificates = session.getPeerCertificates();
+            List<TlsCheckerService.CertificateInfo> chain = new ArrayList<>(peerCertificates.length);
+            for (Certificate certificate : peerCertificates) {
+                chain.add(get((X509Certificate) certificate));
+            }
+            tlsInfo.setCertificateChain(Collections.unmodifiableList(chain));
+            tlsInfo.setChainProblems(findChainProblems(chain, System.currentTimeMillis()));
+        } catch (Exception e) {
+            TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+            certInfo.setErrorMessage("인증서 정보를 가져올 수 없습니다: " + e.getMessage());
+            tlsInfo.setCertificateChain(Collections.singletonList(certInfo));
+        }
+    }
+
+    /**
+     * 인증서의 해석 결과를 반환합니다. 캐시에 없으면 해석하여 보관합니다.
+     *
+     * @param certificate X.509 인증서
+     * @return 공유되는 인증서 정보 (변경하지 않아야 함)
+     */
+    public TlsCheckerService.CertificateInfo get(X509Certificate certificate) throws CertificateEncodingException {
+        byte[] digest = SHA256.get().digest(certificate.getEncoded());
+        if (maxEntries <= 0) {
+            misses.increment();
+            return parse(certificate, digest);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(digest);
+        TlsCheckerService.CertificateInfo certInfo;
+        synchronized (this) {
+            certInfo = entries.get(key);
+        }
+        if (certInfo != null) {
+            hits.increment();
+            return certInfo;
+        }
+
+        misses.increment();
+        certInfo = parse(certificate, digest);
+        synchronized (this) {
+            // 동시에 해석한 경우 먼저 보관된 인스턴스를 공유
+            TlsCheckerService.CertificateInfo existing = entries.putIfAbsent(key, certInfo);
+            return existing != null ? existing : certInfo;
+        }
+    }
+
+    /**
+     * 캐시된 인증서 수를 반환합니다.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Getters
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    private static TlsCheckerService.CertificateInfo parse(X509Certificate certificate, byte[] digest) {
+        TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+        certInfo.setFingerprint(hex(digest));
+        certInfo.setSubject(certificate.getSubjectDN().toString());
+        // 발급자와 서명 알고리즘은 많은 인증서가 같은 값을 가지므로 공유 인스턴스 사용
+        certInfo.setIssuer(NameRegistry.intern(certificate.getIssuerDN().toString()));
+        certInfo.setValidFrom(certificate.getNotBefore());
+        certInfo.setValidTo(certificate.getNotAfter());
+        certInfo.setSignatureAlgorithm(NameRegistry.intern(certificate.getSigAlgName()));
+        return certInfo;
+    }
+
+    /**
+     * 서버가 보낸 체인의 문제를 찾습니다.
+     * 서버는 인증서에서 루트 방향으로 순서대로 보내야 하며, 루트는 생략할 수 있습니다.
+     * 번호는 서버 인증서를 #1로 하는 체인 내 위치입니다.
+     */
+    static List<String> findChainProblems(List<TlsCheckerService.CertificateInfo> chain, long now) {
+        List<String> problems = null;
+        TlsCheckerService.CertificateInfo leaf = chain.get(0);
+        if (chain.size() == 1 && leaf.getIssuer() != null && !leaf.getIssuer().equals(leaf.getSubject())) {
+            problems = add(problems, "Leaf certificate only; intermediates are missing");
+        }
+        for (int i = 1; i < chain.size(); i++) {
+            TlsCheckerService.CertificateInfo issuer = chain.get(i);
+            if (!Objects.equals(chain.get(i - 1).getIssuer(), issuer.getSubject())) {
+                problems = add(problems, "#" + (i + 1) + " did not issue #" + i + " (out of order or unrelated)");
+            }
+            if (issuer.getValidTo() != null && issuer.getValidTo().getTime() < now) {
+                problems = add(problems, "Intermediate #" + (i + 1) + " expired on " + issuer.getValidTo().toInstant());
+            }
+        }
+        return problems != null ? problems : Collections.<String>emptyList();
+    }
+
+    private static List<String> add(List<String> problems, String problem) {
+        List<String> list = problems != null ? problems : new ArrayList<>(2);
+        list.add(problem);
+        return list;
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
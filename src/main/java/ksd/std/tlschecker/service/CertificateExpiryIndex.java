@@ -0,0 +1,215 @@
+package ksd.std.tlschecker.service;
+
+import org.springframework.stereotype.Component;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스캔한 모든 호스트의 인증서를 만료 시각과 발급자로 색인하는 클래스
+ *
+ * 스캔이 끝날 때마다 호스트의 항목을 교체하므로 조회 시 전체 결과를 훑지 않습니다.
+ * 만료 시각 순으로 정렬된 집합에서 앞부분만 읽어 "N일 이내 만료" 조회를 처리하고,
+ * 발급자 DN 전체와 그 CN, O 값으로 같은 정렬 집합을 따로 두어 발급자별 조회를 처리합니다.
+ * 이력 저장소가 켜져 있으면 시작할 때 저장된 최신 결과로 색인을 채웁니다.
+ */
+@Component
+public class CertificateExpiryIndex implements ScanListener {
+
+    // 만료 시각이 같으면 도메인 순으로 정렬하여 호스트마다 고유한 위치를 가짐
+    private static final Comparator<Entry> EXPIRY_ORDER =
+        Comparator.comparingLong((Entry entry) -> entry.validTo).thenComparing(entry -> entry.domain);
+
+    private final Map<String, Entry> byHost = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> byExpiry = new ConcurrentSkipListSet<>(EXPIRY_ORDER);
+    private final Map<String, NavigableSet<Entry>> byIssuer = new ConcurrentHashMap<>();
+
+    public CertificateExpiryIndex(ScanHistoryStore scanHistoryStore) {
+        if (scanHistoryStore.isEnabled()) {
+            try {
+                scanHistoryStore.forEachLatest(record ->
+                    index(record.getDomain(), record.getResults(), record.getTime().toEpochMilli()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load certificates from scan history", e);
+            }
+        }
+    }
+
+    /**
+     * 스캔 결과로 호스트의 항목을 교체합니다.
+     * 지원되는 가장 높은 버전의 인증서를 사용하며, 네트워크 문제로 확인하지 못한 경우 이전 항목을 유지합니다.
+     */
+    @Override
+    public void onScan(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
+        index(domain, results, System.currentTimeMillis());
+    }
+
+    private void index(String domain, Map<String, TlsCheckerService.TlsInfo> results, long scannedAt) {
+        TlsCheckerService.CertificateInfo certInfo = null;
+        boolean responded = false;
+        for (String version : TlsCheckerService.TLS_VERSIONS) {
+            TlsCheckerService.TlsInfo tlsInfo = results.get(version);
+            if (tlsInfo == null) {
+                continue;
+            }
+            if (tlsInfo.isSupported() || tlsInfo.getFailureType() == null || !tlsInfo.getFailureType().isNetworkFailure()) {
+                responded = true;
+            }
+            TlsCheckerService.CertificateInfo candidate = tlsInfo.isSupported() ? tlsInfo.getCertificateInfo() : null;
+            if (candidate != null && candidate.getErrorMessage() == null && candidate.getValidTo() != null) {
+                certInfo = candidate;
+            }
+        }
+
+        String key = domain.toLowerCase(Locale.ROOT);
+        if (certInfo != null) {
+            update(key, new Entry(key, certInfo, scannedAt));
+        } else if (responded) {
+            // 서버가 응답했지만 인증서가 없으면 더 이상 TLS를 제공하지 않는 것으로 간주
+            update(key, null);
+        }
+    }
+
+    /**
+     * 지정한 기간 안에 만료되는 인증서를 만료가 빠른 순으로 반환합니다. 이미 만료된 인증서도 포함합니다.
+     *
+     * @param days 오늘부터의 일수
+     * @param limit 최대 항목 수
+     * @return 만료 순 항목 목록
+     */
+    public List<Entry> expiringWithin(int days, int limit) {
+        long until = System.currentTimeMillis() + TimeUnit.DAYS.toMillis(days);
+        List<Entry> entries = new ArrayList<>();
+        for (Entry entry : byExpiry) {
+            if (entry.validTo > until || entries.size() >= limit) {
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * 발급자의 인증서를 만료가 빠른 순으로 반환합니다.
+     *
+     * @param issuer 발급자 DN 전체 또는 CN, O 값 (대소문자 무시)
+     * @param limit 최대 항목 수
+     * @return 만료 순 항목 목록
+     */
+    public List<Entry> issuedBy(String issuer, int limit) {
+        NavigableSet<Entry> entries = byIssuer.get(issuer.trim().toLowerCase(Locale.ROOT));
+        List<Entry> result = new ArrayList<>();
+        if (entries != null) {
+            for (Entry entry : entries) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 호스트의 항목을 반환합니다.
+     *
+     * @param domain 도메인
+     * @return 항목 (없으면 null)
+     */
+    public Entry get(String domain) {
+        return byHost.get(domain.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 색인된 호스트 수를 반환합니다.
+     */
+    public int size() {
+        return byHost.size();
+    }
+
+    /**
+     * 세 색인을 함께 갱신합니다. 조회는 잠금 없이 수행되므로 갱신 중에는 이전 또는 새 항목 중 하나가 보일 수 있습니다.
+     */
+    private synchronized void update(String key, Entry entry) {
+        Entry previous = entry != null ? byHost.put(key, entry) : byHost.remove(key);
+        if (previous != null) {
+            byExpiry.remove(previous);
+            for (String issuerKey : previous.issuerKeys) {
+                NavigableSet<Entry> entries = byIssuer.get(issuerKey);
+                if (entries != null) {
+                    entries.remove(previous);
+                    if (entries.isEmpty()) {
+                        byIssuer.remove(issuerKey);
+                    }
+                }
+            }
+        }
+        if (entry != null) {
+            byExpiry.add(entry);
+            for (String issuerKey : entry.issuerKeys) {
+                byIssuer.computeIfAbsent(issuerKey, k -> new ConcurrentSkipListSet<>(EXPIRY_ORDER)).add(entry);
+            }
+        }
+    }
+
+    /**
+     * 발급자 DN 전체와 CN, O 값을 색인 키로 만듭니다.
+     */
+    private static Set<String> issuerKeys(String issuer) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (issuer == null) {
+            return keys;
+        }
+        keys.add(issuer.trim().toLowerCase(Locale.ROOT));
+        try {
+            for (Rdn rdn : new LdapName(issuer).getRdns()) {
+                if ("CN".equalsIgnoreCase(rdn.getType()) || "O".equalsIgnoreCase(rdn.getType())) {
+                    keys.add(rdn.getValue().toString().trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        } catch (InvalidNameException | IllegalArgumentException e) {
+            // DN으로 해석할 수 없으면 전체 문자열로만 조회 가능
+        }
+        return keys;
+    }
+
+    /**
+     * 호스트 하나의 인증서 색인 항목
+     */
+    public static class Entry {
+        private final String domain;
+        private final String subject;
+        private final String issuer;
+        private final long validTo;
+        private final String signatureAlgorithm;
+        private final long scannedAt;
+        private final Set<String> issuerKeys;
+
+        Entry(String domain, TlsCheckerService.CertificateInfo certInfo, long scannedAt) {
+            this.domain = domain;
+            this.subject = certInfo.getSubject();
+            this.issuer = certInfo.getIssuer();
+            this.validTo = certInfo.getValidTo().getTime();
+            this.signatureAlgorithm = certInfo.getSignatureAlgorithm();
+            this.scannedAt = scannedAt;
+            this.issuerKeys = issuerKeys(issuer);
+        }
+
+        // Getters
+        public String getDomain() { return domain; }
+        public String getSubject() { return subject; }
+        public String getIssuer() { return issuer; }
+        public Date getValidTo() { return new Date(validTo); }
+        public String getSignatureAlgorithm() { return signatureAlgorithm; }
+        public Date getScannedAt() { return new Date(scannedAt); }
+        /** 만료까지 남은 일수 (이미 만료되었으면 음수) */
+        public long getDaysLeft() { return Math.floorDiv(validTo - System.currentTimeMillis(), TimeUnit.DAYS.toMillis(1)); }
+    }
+}
@@ -0,0 +1,138 @@
+package ksd.std.tlschecker.service;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 서버가 실제로 수락하는 암호화 스위트를 열거하는 클래스
+ *
+ * 제시 목록에서 서버가 선택한 스위트를 하나씩 제거하며 ClientHello를 반복하므로
+ * 수락되는 스위트가 N개일 때 N+1번의 핸드셰이크(선호 순서 확인 시 +1)로 끝납니다.
+ */
+@Component
+public class CipherSuiteEnumerator {
+
+    private final ClientHelloProbe clientHelloProbe;
+    private final ProbeGovernor probeGovernor;
+
+    public CipherSuiteEnumerator(ClientHelloProbe clientHelloProbe, ProbeGovernor probeGovernor) {
+        this.clientHelloProbe = clientHelloProbe;
+        this.probeGovernor = probeGovernor;
+    }
+
+    /**
+     * 해당 TLS 버전에서 서버가 수락하는 암호화 스위트를 열거합니다.
+     *
+     * @param host 호스트 (SNI에 사용)
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param tlsVersion TLS 버전
+     * @param timeouts 핸드셰이크별 연결 및 응답 제한 시간
+     * @return 열거 결과
+     * @throws IOException 첫 핸드셰이크부터 연결에 실패한 경우
+     */
+    public Enumeration enumerate(String host, InetAddress address, int port, String tlsVersion, ProbeTimeouts timeouts) throws IOException {
+        List<Integer> remaining = CipherSuites.offeredFor(tlsVersion);
+        List<Integer> accepted = new ArrayList<>();
+        int handshakes = 0;
+
+        while (!remaining.isEmpty()) {
+            ClientHelloProbe.ServerHello serverHello;
+            try {
+                handshakes++;
+                serverHello = exchange(host, address, port, tlsVersion, remaining, timeouts);
+            } catch (ClientHelloProbe.AlertException e) {
+                // 남은 스위트 중 수락 가능한 것이 없음
+                break;
+            } catch (IOException e) {
+                if (accepted.isEmpty()) {
+                    throw e;
+                }
+                break;
+            }
+
+            Integer selected = serverHello.getCipherSuite();
+            if (!tlsVersion.equals(CipherSuites.versionName(serverHello.getVersion())) || !remaining.remove(selected)) {
+                // 다른 버전으로 협상했거나 제시하지 않은 스위트를 선택한 경우 중단
+                break;
+            }
+            accepted.add(selected);
+        }
+
+        boolean serverPreference = false;
+        if (accepted.size() >= 2) {
+            // 상위 두 스위트를 반대 순서로 제시하여 서버가 자신의 순서를 따르는지 확인
+            handshakes++;
+            serverPreference = prefersFirst(host, address, port, tlsVersion, accepted.get(0), accepted.get(1), timeouts);
+        }
+
+        List<String> names = new ArrayList<>(accepted.size());
+        for (int code : accepted) {
+            names.add(CipherSuites.nameOf(code));
+        }
+        return new Enumeration(tlsVersion, names, serverPreference, handshakes);
+    }
+
+    private boolean prefersFirst(String host, InetAddress address, int port, String tlsVersion, int first, int second, ProbeTimeouts timeouts) {
+        try {
+            ClientHelloProbe.ServerHello serverHello =
+                exchange(host, address, port, tlsVersion, Arrays.asList(second, first), timeouts);
+            return serverHello.getCipherSuite() == first;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 동시 실행 제한기의 허가를 받아 ClientHello를 한 번 교환합니다.
+     */
+    private ClientHelloProbe.ServerHello exchange(String host, InetAddress address, int port, String tlsVersion,
+                                                  List<Integer> cipherSuites, ProbeTimeouts timeouts) throws IOException {
+        ProbeGovernor.Permit permit;
+        try {
+            permit = probeGovernor.acquire(address);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Probe interrupted");
+        }
+        FailureType failureType = null;
+        try {
+            return clientHelloProbe.exchange(host, address, port, tlsVersion, cipherSuites, timeouts);
+        } catch (IOException e) {
+            failureType = FailureType.classify(e);
+            throw e;
+        } finally {
+            permit.release(failureType);
+        }
+    }
+
+    /**
+     * 암호화 스위트 열거 결과
+     */
+    public static class Enumeration {
+        private final String tlsVersion;
+        private final List<String> cipherSuites;
+        private final boolean serverPreference;
+        private final int handshakes;
+
+        Enumeration(String tlsVersion, List<String> cipherSuites, boolean serverPreference, int handshakes) {
+            this.tlsVersion = tlsVersion;
+            this.cipherSuites = cipherSuites;
+            this.serverPreference = serverPreference;
+            this.handshakes = handshakes;
+        }
+
+        // Getters
+        public String getTlsVersion() { return tlsVersion; }
+        /** 수락된 스위트 목록 (서버 선호 순서 사용 시 서버 선호 순서) */
+        public List<String> getCipherSuites() { return cipherSuites; }
+        public boolean isServerPreference() { return serverPreference; }
+        public int getHandshakes() { return handshakes; }
+    }
+}
@@ -0,0 +1,271 @@
+package ksd.std.tlschecker.service;
+
+import java.util.*;
+
+/**
+ * TLS 암호화 스위트 및 프로토콜 버전 코드 표
+ *
+ * ClientHello를 직접 구성하고 ServerHello를 해석할 때 사용합니다.
+ * 이름은 IANA 표준 이름을 따릅니다.
+ */
+public final class CipherSuites {
+
+    private static final Map<Integer, String> NAMES_BY_CODE = new LinkedHashMap<>();
+    private static final Map<String, Integer> CODES_BY_NAME = new HashMap<>();
+    private static final Map<String, Integer> VERSION_CODES = new LinkedHashMap<>();
+    private static final Map<Integer, String> ALERT_NAMES = new HashMap<>();
+
+    static {
+        // TLS 1.3
+        add(0x1301, "TLS_AES_128_GCM_SHA256");
+        add(0x1302, "TLS_AES_256_GCM_SHA384");
+        add(0x1303, "TLS_CHACHA20_POLY1305_SHA256");
+        add(0x1304, "TLS_AES_128_CCM_SHA256");
+        add(0x1305, "TLS_AES_128_CCM_8_SHA256");
+
+        // ECDHE-ECDSA
+        add(0xC02C, "TLS_ECDHE_ECDSA_WITH_AES_256_GCM_SHA384");
+        add(0xC02B, "TLS_ECDHE_ECDSA_WITH_AES_128_GCM_SHA256");
+        add(0xCCA9, "TLS_ECDHE_ECDSA_WITH_CHACHA20_POLY1305_SHA256");
+        add(0xC0AD, "TLS_ECDHE_ECDSA_WITH_AES_256_CCM");
+        add(0xC0AC, "TLS_ECDHE_ECDSA_WITH_AES_128_CCM");
+        add(0xC0AF, "TLS_ECDHE_ECDSA_WITH_AES_256_CCM_8");
+        add(0xC0AE, "TLS_ECDHE_ECDSA_WITH_AES_128_CCM_8");
+        add(0xC05D, "TLS_ECDHE_ECDSA_WITH_ARIA_256_GCM_SHA384");
+        add(0xC05C, "TLS_ECDHE_ECDSA_WITH_ARIA_128_GCM_SHA256");
+        add(0xC024, "TLS_ECDHE_ECDSA_WITH_AES_256_CBC_SHA384");
+        add(0xC023, "TLS_ECDHE_ECDSA_WITH_AES_128_CBC_SHA256");
+        add(0xC073, "TLS_ECDHE_ECDSA_WITH_CAMELLIA_256_CBC_SHA384");
+        add(0xC072, "TLS_ECDHE_ECDSA_WITH_CAMELLIA_128_CBC_SHA256");
+        add(0xC00A, "TLS_ECDHE_ECDSA_WITH_AES_256_CBC_SHA");
+        add(0xC009, "TLS_ECDHE_ECDSA_WITH_AES_128_CBC_SHA");
+        add(0xC008, "TLS_ECDHE_ECDSA_WITH_3DES_EDE_CBC_SHA");
+        add(0xC007, "TLS_ECDHE_ECDSA_WITH_RC4_128_SHA");
+        add(0xC006, "TLS_ECDHE_ECDSA_WITH_NULL_SHA");
+
+        // ECDHE-RSA
+        add(0xC030, "TLS_ECDHE_RSA_WITH_AES_256_GCM_SHA384");
+        add(0xC02F, "TLS_ECDHE_RSA_WITH_AES_128_GCM_SHA256");
+        add(0xCCA8, "TLS_ECDHE_RSA_WITH_CHACHA20_POLY1305_SHA256");
+        add(0xC061, "TLS_ECDHE_RSA_WITH_ARIA_256_GCM_SHA384");
+        add(0xC060, "TLS_ECDHE_RSA_WITH_ARIA_128_GCM_SHA256");
+        add(0xC028, "TLS_ECDHE_RSA_WITH_AES_256_CBC_SHA384");
+        add(0xC027, "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA256");
+        add(0xC077, "TLS_ECDHE_RSA_WITH_CAMELLIA_256_CBC_SHA384");
+        add(0xC076, "TLS_ECDHE_RSA_WITH_CAMELLIA_128_CBC_SHA256");
+        add(0xC014, "TLS_ECDHE_RSA_WITH_AES_256_CBC_SHA");
+        add(0xC013, "TLS_ECDHE_RSA_WITH_AES_128_CBC_SHA");
+        add(0xC012, "TLS_ECDHE_RSA_WITH_3DES_EDE_CBC_SHA");
+        add(0xC011, "TLS_ECDHE_RSA_WITH_RC4_128_SHA");
+        add(0xC010, "TLS_ECDHE_RSA_WITH_NULL_SHA");
+
+        // DHE-RSA
+        add(0x009F, "TLS_DHE_RSA_WITH_AES_256_GCM_SHA384");
+        add(0x009E, "TLS_DHE_RSA_WITH_AES_128_GCM_SHA256");
+        add(0xCCAA, "TLS_DHE_RSA_WITH_CHACHA20_POLY1305_SHA256");
+        add(0xC09F, "TLS_DHE_RSA_WITH_AES_256_CCM");
+        add(0xC09E, "TLS_DHE_RSA_WITH_AES_128_CCM");
+        add(0xC053, "TLS_DHE_RSA_WITH_ARIA_256_GCM_SHA384");
+        add(0xC052, "TLS_DHE_RSA_WITH_ARIA_128_GCM_SHA256");
+        add(0x006B, "TLS_DHE_RSA_WITH_AES_256_CBC_SHA256");
+        add(0x0067, "TLS_DHE_RSA_WITH_AES_128_CBC_SHA256");
+        add(0x00C4, "TLS_DHE_RSA_WITH_CAMELLIA_256_CBC_SHA256");
+        add(0x00BE, "TLS_DHE_RSA_WITH_CAMELLIA_128_CBC_SHA256");
+        add(0x0039, "TLS_DHE_RSA_WITH_AES_256_CBC_SHA");
+        add(0x0033, "TLS_DHE_RSA_WITH_AES_128_CBC_SHA");
+        add(0x0088, "TLS_DHE_RSA_WITH_CAMELLIA_256_CBC_SHA");
+        add(0x0045, "TLS_DHE_RSA_WITH_CAMELLIA_128_CBC_SHA");
+        add(0x009A, "TLS_DHE_RSA_WITH_SEED_CBC_SHA");
+        add(0x0016, "TLS_DHE_RSA_WITH_3DES_EDE_CBC_SHA");
+        add(0x0015, "TLS_DHE_RSA_WITH_DES_CBC_SHA");
+        add(0x0014, "TLS_DHE_RSA_EXPORT_WITH_DES40_CBC_SHA");
+
+        // DHE-DSS
+        add(0x00A3, "TLS_DHE_DSS_WITH_AES_256_GCM_SHA384");
+        add(0x00A2, "TLS_DHE_DSS_WITH_AES_128_GCM_SHA256");
+        add(0x006A, "TLS_DHE_DSS_WITH_AES_256_CBC_SHA256");
+        add(0x0040, "TLS_DHE_DSS_WITH_AES_128_CBC_SHA256");
+        add(0x0038, "TLS_DHE_DSS_WITH_AES_256_CBC_SHA");
+        add(0x0032, "TLS_DHE_DSS_WITH_AES_128_CBC_SHA");
+        add(0x0013, "TLS_DHE_DSS_WITH_3DES_EDE_CBC_SHA");
+        add(0x0012, "TLS_DHE_DSS_WITH_DES_CBC_SHA");
+
+        // ECDH (정적 키 교환)
+        add(0xC032, "TLS_ECDH_RSA_WITH_AES_256_GCM_SHA384");
+        add(0xC031, "TLS_ECDH_RSA_WITH_AES_128_GCM_SHA256");
+        add(0xC02E, "TLS_ECDH_ECDSA_WITH_AES_256_GCM_SHA384");
+        add(0xC02D, "TLS_ECDH_ECDSA_WITH_AES_128_GCM_SHA256");
+        add(0xC02A, "TLS_ECDH_RSA_WITH_AES_256_CBC_SHA384");
+        add(0xC029, "TLS_ECDH_RSA_WITH_AES_128_CBC_SHA256");
+        add(0xC026, "TLS_ECDH_ECDSA_WITH_AES_256_CBC_SHA384");
+        add(0xC025, "TLS_ECDH_ECDSA_WITH_AES_128_CBC_SHA256");
+        add(0xC00F, "TLS_ECDH_RSA_WITH_AES_256_CBC_SHA");
+        add(0xC00E, "TLS_ECDH_RSA_WITH_AES_128_CBC_SHA");
+        add(0xC005, "TLS_ECDH_ECDSA_WITH_AES_256_CBC_SHA");
+        add(0xC004, "TLS_ECDH_ECDSA_WITH_AES_128_CBC_SHA");
+        add(0xC00D, "TLS_ECDH_RSA_WITH_3DES_EDE_CBC_SHA");
+        add(0xC003, "TLS_ECDH_ECDSA_WITH_3DES_EDE_CBC_SHA");
+
+        // RSA 키 교환
+        add(0x009D, "TLS_RSA_WITH_AES_256_GCM_SHA384");
+        add(0x009C, "TLS_RSA_WITH_AES_128_GCM_SHA256");
+        add(0xC09D, "TLS_RSA_WITH_AES_256_CCM");
+        add(0xC09C, "TLS_RSA_WITH_AES_128_CCM");
+        add(0xC051, "TLS_RSA_WITH_ARIA_256_GCM_SHA384");
+        add(0xC050, "TLS_RSA_WITH_ARIA_128_GCM_SHA256");
+        add(0x003D, "TLS_RSA_WITH_AES_256_CBC_SHA256");
+        add(0x003C, "TLS_RSA_WITH_AES_128_CBC_SHA256");
+        add(0x00C0, "TLS_RSA_WITH_CAMELLIA_256_CBC_SHA256");
+        add(0x00BA, "TLS_RSA_WITH_CAMELLIA_128_CBC_SHA256");
+        add(0x0035, "TLS_RSA_WITH_AES_256_CBC_SHA");
+        add(0x002F, "TLS_RSA_WITH_AES_128_CBC_SHA");
+        add(0x0084, "TLS_RSA_WITH_CAMELLIA_256_CBC_SHA");
+        add(0x0041, "TLS_RSA_WITH_CAMELLIA_128_CBC_SHA");
+        add(0x0096, "TLS_RSA_WITH_SEED_CBC_SHA");
+        add(0x0007, "TLS_RSA_WITH_IDEA_CBC_SHA");
+        add(0x000A, "TLS_RSA_WITH_3DES_EDE_CBC_SHA");
+        add(0x0005, "TLS_RSA_WITH_RC4_128_SHA");
+        add(0x0004, "TLS_RSA_WITH_RC4_128_MD5");
+        add(0x0009, "TLS_RSA_WITH_DES_CBC_SHA");
+        add(0x0008, "TLS_RSA_EXPORT_WITH_DES40_CBC_SHA");
+        add(0x0003, "TLS_RSA_EXPORT_WITH_RC4_40_MD5");
+        add(0x003B, "TLS_RSA_WITH_NULL_SHA256");
+        add(0x0002, "TLS_RSA_WITH_NULL_SHA");
+        add(0x0001, "TLS_RSA_WITH_NULL_MD5");
+
+        // 익명 키 교환
+        add(0x00A7, "TLS_DH_anon_WITH_AES_256_GCM_SHA384");
+        add(0x00A6, "TLS_DH_anon_WITH_AES_128_GCM_SHA256");
+        add(0x003A, "TLS_DH_anon_WITH_AES_256_CBC_SHA");
+        add(0x0034, "TLS_DH_anon_WITH_AES_128_CBC_SHA");
+        add(0x001B, "TLS_DH_anon_WITH_3DES_EDE_CBC_SHA");
+        add(0x0018, "TLS_DH_anon_WITH_RC4_128_MD5");
+        add(0xC019, "TLS_ECDH_anon_WITH_AES_256_CBC_SHA");
+        add(0xC018, "TLS_ECDH_anon_WITH_AES_128_CBC_SHA");
+
+        VERSION_CODES.put("SSLv3", 0x0300);
+        VERSION_CODES.put("TLSv1", 0x0301);
+        VERSION_CODES.put("TLSv1.1", 0x0302);
+        VERSION_CODES.put("TLSv1.2", 0x0303);
+        VERSION_CODES.put("TLSv1.3", 0x0304);
+
+        ALERT_NAMES.put(0, "close_notify");
+        ALERT_NAMES.put(10, "unexpected_message");
+        ALERT_NAMES.put(20, "bad_record_mac");
+        ALERT_NAMES.put(40, "handshake_failure");
+        ALERT_NAMES.put(42, "bad_certificate");
+        ALERT_NAMES.put(47, "illegal_parameter");
+        ALERT_NAMES.put(50, "decode_error");
+        ALERT_NAMES.put(51, "decrypt_error");
+        ALERT_NAMES.put(70, "protocol_version");
+        ALERT_NAMES.put(71, "insufficient_security");
+        ALERT_NAMES.put(80, "internal_error");
+        ALERT_NAMES.put(86, "inappropriate_fallback");
+        ALERT_NAMES.put(90, "user_canceled");
+        ALERT_NAMES.put(109, "missing_extension");
+        ALERT_NAMES.put(110, "unsupported_extension");
+        ALERT_NAMES.put(112, "unrecognized_name");
+    }
+
+    private CipherSuites() {
+    }
+
+    private static void add(int code, String name) {
+        NAMES_BY_CODE.put(code, name);
+        CODES_BY_NAME.put(name, code);
+    }
+
+    /**
+     * 암호화 스위트 코드의 이름을 반환합니다.
+     *
+     * @param code 암호화 스위트 코드
+     * @return 이름 (알 수 없으면 16진수 표기)
+     */
+    public static String nameOf(int code) {
+        String name = NAMES_BY_CODE.get(code);
+        return name != null ? name : String.format("UNKNOWN_0x%04X", code);
+    }
+
+    /**
+     * 표에 있는 모든 암호화 스위트 이름을 표 순서대로 반환합니다.
+     */
+    static Collection<String> names() {
+        return Collections.unmodifiableCollection(NAMES_BY_CODE.values());
+    }
+
+    /**
+     * 암호화 스위트 이름의 코드를 반환합니다.
+     * JSSE의 "SSL_" 접두사 별칭도 인식합니다.
+     *
+     * @param name 암호화 스위트 이름
+     * @return 코드 (알 수 없으면 -1)
+     */
+    public static int codeOf(String name) {
+        Integer code = CODES_BY_NAME.get(name);
+        if (code == null && name.startsWith("SSL_")) {
+            code = CODES_BY_NAME.get("TLS_" + name.substring(4));
+        }
+        return code != null ? code : -1;
+    }
+
+    /**
+     * 해당 TLS 버전의 ClientHello에서 제시할 암호화 스위트 코드 목록을 반환합니다.
+     *
+     * @param tlsVersion TLS 버전
+     * @return 암호화 스위트 코드 목록 (선호 순서)
+     */
+    public static List<Integer> offeredFor(String tlsVersion) {
+        boolean tls13 = "TLSv1.3".equals(tlsVersion);
+        List<Integer> codes = new ArrayList<>();
+        for (Integer code : NAMES_BY_CODE.keySet()) {
+            if (isTls13Suite(code) == tls13) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * TLS 1.3 전용 암호화 스위트인지 확인합니다.
+     */
+    public static boolean isTls13Suite(int code) {
+        return (code & 0xFF00) == 0x1300;
+    }
+
+    /**
+     * TLS 버전 이름의 프로토콜 코드를 반환합니다.
+     *
+     * @param tlsVersion TLS 버전 (예: TLSv1.2)
+     * @return 프로토콜 코드 (알 수 없으면 -1)
+     */
+    public static int versionCode(String tlsVersion) {
+        Integer code = VERSION_CODES.get(tlsVersion);
+        return code != null ? code : -1;
+    }
+
+    /**
+     * 프로토콜 코드의 TLS 버전 이름을 반환합니다.
+     *
+     * @param code 프로토콜 코드
+     * @return TLS 버전 이름 (알 수 없으면 16진수 표기)
+     */
+    public static String versionName(int code) {
+        for (Map.Entry<String, Integer> entry : VERSION_CODES.entrySet()) {
+            if (entry.getValue() == code) {
+                return entry.getKey();
+            }
+        }
+        return String.format("0x%04X", code);
+    }
+
+    /**
+     * TLS 경고(alert) 코드의 이름을 반환합니다.
+     *
+     * @param description 경고 코드
+     * @return 경고 이름
+     */
+    public static String alertName(int description) {
+        String name = ALERT_NAMES.get(description);
+        return name != null ? name : "alert_" + description;
+    }
+}
@@ -0,0 +1,421 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.util.DomainUtil;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLException;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 직접 구성한 ClientHello를 보내고 ServerHello(또는 경고)만 읽는 경량 프로브
+ *
+ * 키 교환과 인증서 전송을 포함한 전체 핸드셰이크 없이 버전 지원 여부와
+ * 서버가 선택한 버전/암호화 스위트를 확인한 뒤 즉시 연결을 끊습니다.
+ */
+@Component
+public class ClientHelloProbe {
+
+    private static final int CONTENT_TYPE_ALERT = 21;
+    private static final int CONTENT_TYPE_HANDSHAKE = 22;
+    private static final int HANDSHAKE_CLIENT_HELLO = 1;
+    private static final int HANDSHAKE_SERVER_HELLO = 2;
+    private static final int ALERT_LEVEL_WARNING = 1;
+    /** 레코드 조각의 최대 길이 (TLSCiphertext 기준 2^14 + 2048) */
+    private static final int MAX_RECORD_LENGTH = 16384 + 2048;
+    /** ServerHello 메시지의 최대 길이 (버전, 난수, 최대 세션 ID, 암호화 스위트, 압축 방식, 16비트 길이의 확장 목록) */
+    private static final int MAX_SERVER_HELLO_LENGTH = 2 + 32 + 1 + 32 + 2 + 1 + 2 + 0xFFFF;
+
+    private static final int EXT_SERVER_NAME = 0x0000;
+    private static final int EXT_SUPPORTED_GROUPS = 0x000a;
+    private static final int EXT_EC_POINT_FORMATS = 0x000b;
+    private static final int EXT_SIGNATURE_ALGORITHMS = 0x000d;
+    private static final int EXT_SUPPORTED_VERSIONS = 0x002b;
+    private static final int EXT_PSK_KEY_EXCHANGE_MODES = 0x002d;
+    private static final int EXT_KEY_SHARE = 0x0033;
+    private static final int EXT_RENEGOTIATION_INFO = 0xff01;
+
+    private static final int GROUP_X25519 = 0x001d;
+    private static final int[] SUPPORTED_GROUPS = {GROUP_X25519, 0x0017, 0x0018, 0x0019, 0x0100, 0x0101};
+    private static final int[] SIGNATURE_ALGORITHMS = {
+        0x0403, 0x0503, 0x0603, 0x0804, 0x0805, 0x0806, 0x0401, 0x0501, 0x0601, 0x0203, 0x0201
+    };
+
+    /** HelloRetryRequest를 나타내는 ServerHello.random 값 (RFC 8446 4.1.3) */
+    private static final byte[] HELLO_RETRY_REQUEST_RANDOM = {
+        (byte) 0xCF, 0x21, (byte) 0xAD, 0x74, (byte) 0xE5, (byte) 0x9A, 0x61, 0x11,
+        (byte) 0xBE, 0x1D, (byte) 0x8C, 0x02, 0x1E, 0x65, (byte) 0xB8, (byte) 0x91,
+        (byte) 0xC2, (byte) 0xA2, 0x11, 0x16, 0x7A, (byte) 0xBB, (byte) 0x8C, 0x5E,
+        0x07, (byte) 0x9E, 0x09, (byte) 0xE2, (byte) 0xC8, (byte) 0xA8, 0x33, (byte) 0x9C
+    };
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 기본 암호화 스위트 목록으로 해당 TLS 버전의 지원 여부를 확인합니다.
+     *
+     * @param host 호스트 (SNI에 사용)
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param tlsVersion TLS 버전
+     * @param timeouts 연결 및 응답 제한 시간
+     * @return TLS 정보 (인증서 정보 없음)
+     */
+    public TlsCheckerService.TlsInfo probe(String host, InetAddress address, int port, String tlsVersion, ProbeTimeouts timeouts) {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(tlsVersion);
+
+        try {
+            ServerHello serverHello = exchange(host, address, port, tlsVersion, CipherSuites.offeredFor(tlsVersion), timeouts,
+                tlsInfo.getTimings());
+            String negotiatedVersion = CipherSuites.versionName(serverHello.getVersion());
+
+            if (!tlsVersion.equals(negotiatedVersion)) {
+                tlsInfo.setSupported(false);
+                tlsInfo.setFailureType(FailureType.PROTOCOL_VERSION);
+                tlsInfo.setErrorMessage("Server negotiated " + negotiatedVersion + " instead of " + tlsVersion);
+                return tlsInfo;
+            }
+
+            String cipherSuite = CipherSuites.nameOf(serverHello.getCipherSuite());
+            tlsInfo.setSupported(true);
+            tlsInfo.setNegotiatedProtocol(negotiatedVersion);
+            tlsInfo.setNegotiatedCipherSuite(cipherSuite);
+            tlsInfo.setCipherSuites(Collections.singletonList(cipherSuite));
+            tlsInfo.setSupportedProtocols(Collections.singletonList(tlsVersion));
+        } catch (Exception e) {
+            tlsInfo.setSupported(false);
+            tlsInfo.setFailureType(FailureType.classify(e));
+            tlsInfo.setErrorMessage(e.getMessage());
+        }
+
+        return tlsInfo;
+    }
+
+    /**
+     * ClientHello를 보내고 ServerHello를 읽은 뒤 연결을 끊습니다.
+     *
+     * @param host 호스트 (IP 주소가 아니면 SNI로 전송)
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param tlsVersion 제시할 최고 TLS 버전
+     * @param cipherSuites 제시할 암호화 스위트 코드 목록
+     * @param timeouts 연결 및 응답 제한 시간
+     * @return 서버 응답
+     * @throws AlertException 서버가 경고로 응답한 경우
+     * @throws IOException 연결 또는 응답 해석에 실패한 경우
+     */
+    public ServerHello exchange(String host, InetAddress address, int port, String tlsVersion, List<Integer> cipherSuites,
+                                ProbeTimeouts timeouts) throws IOException {
+        return exchange(host, address, port, tlsVersion, cipherSuites, timeouts, null);
+    }
+
+    /**
+     * ClientHello를 보내고 ServerHello를 읽은 뒤 연결을 끊으며 단계별 소요 시간을 기록합니다.
+     *
+     * @param timings 연결 및 ClientHello/ServerHello 교환 시간을 기록할 대상 (null이면 기록하지 않음)
+     * @see #exchange(String, InetAddress, int, String, List, ProbeTimeouts)
+     */
+    ServerHello exchange(String host, InetAddress address, int port, String tlsVersion, List<Integer> cipherSuites,
+                         ProbeTimeouts timeouts, TlsCheckerService.PhaseTimings timings) throws IOException {
+        int versionCode = CipherSuites.versionCode(tlsVersion);
+        if (versionCode < 0) {
+            throw new IllegalArgumentException("Unknown TLS version: " + tlsVersion);
+        }
+
+        byte[] clientHello = buildClientHello(host, versionCode, cipherSuites);
+
+        try (Socket socket = new Socket()) {
+            // 응답을 받은 즉시 RST로 끊어 서버와 클라이언트 모두 자원을 바로 반환
+            socket.setSoLinger(true, 0);
+            socket.setTcpNoDelay(true);
+            long connectStart = System.nanoTime();
+            socket.connect(new InetSocketAddress(address, port), timeouts.getConnectMillis());
+            socket.setSoTimeout(timeouts.getHandshakeMillis());
+            long helloStart = System.nanoTime();
+            if (timings != null) {
+                timings.setConnectNanos(helloStart - connectStart);
+            }
+
+            OutputStream out = socket.getOutputStream();
+            out.write(clientHello);
+            out.flush();
+
+            ServerHello serverHello = readServerHello(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+            if (timings != null) {
+                timings.setHandshakeNanos(System.nanoTime() - helloStart);
+            }
+            return serverHello;
+        }
+    }
+
+    /**
+     * ClientHello 레코드를 구성합니다.
+     *
+     * @param host 호스트
+     * @param versionCode 제시할 최고 프로토콜 코드
+     * @param cipherSuites 제시할 암호화 스위트 코드 목록
+     * @return TLS 레코드 바이트
+     */
+    static byte[] buildClientHello(String host, int versionCode, List<Integer> cipherSuites) throws IOException {
+        boolean tls13 = versionCode >= 0x0304;
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(512);
+        DataOutputStream body = new DataOutputStream(bodyBytes);
+
+        // TLS 1.3은 legacy_version을 TLS 1.2로 두고 supported_versions 확장으로 협상
+        body.writeShort(tls13 ? 0x0303 : versionCode);
+        body.write(randomBytes(32));
+
+        // TLS 1.3은 미들박스 호환을 위해 임의의 세션 ID 사용
+        byte[] sessionId = tls13 ? randomBytes(32) : new byte[0];
+        body.writeByte(sessionId.length);
+        body.write(sessionId);
+
+        body.writeShort(cipherSuites.size() * 2);
+        for (int code : cipherSuites) {
+            body.writeShort(code);
+        }
+
+        // 압축 방식: null
+        body.writeByte(1);
+        body.writeByte(0);
+
+        byte[] extensions = buildExtensions(host, tls13);
+        body.writeShort(extensions.length);
+        body.write(extensions);
+        body.flush();
+
+        byte[] handshakeBody = bodyBytes.toByteArray();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(handshakeBody.length + 9);
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        record.writeByte(CONTENT_TYPE_HANDSHAKE);
+        // 레코드 버전은 호환성을 위해 TLS 1.0 사용
+        record.writeShort(0x0301);
+        record.writeShort(handshakeBody.length + 4);
+        record.writeByte(HANDSHAKE_CLIENT_HELLO);
+        writeUint24(record, handshakeBody.length);
+        record.write(handshakeBody);
+        record.flush();
+
+        return recordBytes.toByteArray();
+    }
+
+    private static byte[] buildExtensions(String host, boolean tls13) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream ext = new DataOutputStream(bytes);
+
+        if (!DomainUtil.isIpLiteral(host)) {
+            byte[] name = host.getBytes(StandardCharsets.US_ASCII);
+            ext.writeShort(EXT_SERVER_NAME);
+            ext.writeShort(name.length + 5);
+            ext.writeShort(name.length + 3);
+            ext.writeByte(0); // host_name
+            ext.writeShort(name.length);
+            ext.write(name);
+        }
+
+        ext.writeShort(EXT_SUPPORTED_GROUPS);
+        ext.writeShort(SUPPORTED_GROUPS.length * 2 + 2);
+        ext.writeShort(SUPPORTED_GROUPS.length * 2);
+        for (int group : SUPPORTED_GROUPS) {
+            ext.writeShort(group);
+        }
+
+        ext.writeShort(EXT_EC_POINT_FORMATS);
+        ext.writeShort(2);
+        ext.writeByte(1);
+        ext.writeByte(0); // uncompressed
+
+        ext.writeShort(EXT_SIGNATURE_ALGORITHMS);
+        ext.writeShort(SIGNATURE_ALGORITHMS.length * 2 + 2);
+        ext.writeShort(SIGNATURE_ALGORITHMS.length * 2);
+        for (int algorithm : SIGNATURE_ALGORITHMS) {
+            ext.writeShort(algorithm);
+        }
+
+        ext.writeShort(EXT_RENEGOTIATION_INFO);
+        ext.writeShort(1);
+        ext.writeByte(0);
+
+        if (tls13) {
+            ext.writeShort(EXT_SUPPORTED_VERSIONS);
+            ext.writeShort(3);
+            ext.writeByte(2);
+            ext.writeShort(0x0304);
+
+            ext.writeShort(EXT_PSK_KEY_EXCHANGE_MODES);
+            ext.writeShort(2);
+            ext.writeByte(1);
+            ext.writeByte(1); // psk_dhe_ke
+
+            // 키 교환을 끝까지 진행하지 않으므로 임의의 X25519 공개키로 충분
+            ext.writeShort(EXT_KEY_SHARE);
+            ext.writeShort(2 + 4 + 32);
+            ext.writeShort(4 + 32);
+            ext.writeShort(GROUP_X25519);
+            ext.writeShort(32);
+            ext.write(randomBytes(32));
+        }
+
+        ext.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 서버 응답에서 ServerHello를 읽습니다.
+     * 핸드셰이크 메시지가 여러 레코드로 나뉘어 와도 처리하며, 레코드 조각을 모으지 않고 메시지 헤더와 본문에 바로 읽습니다.
+     * 첫 메시지가 ServerHello가 아니거나 길이가 제한을 넘으면 본문을 받기 전에 실패합니다.
+     * 경고 수준의 알림은 건너뛰고, 치명적 알림이면 {@link AlertException}을 던집니다.
+     */
+    static ServerHello readServerHello(DataInputStream in) throws IOException {
+        byte[] header = new byte[4];
+        int headerLength = 0;
+        byte[] body = null;
+        int bodyLength = 0;
+
+        while (true) {
+            int contentType;
+            int length;
+            try {
+                contentType = in.readUnsignedByte();
+                in.readUnsignedShort(); // 레코드 버전
+                length = in.readUnsignedShort();
+            } catch (EOFException e) {
+                throw new SSLException("Remote host terminated the handshake");
+            }
+            if (length > MAX_RECORD_LENGTH) {
+                throw new SSLException("Record too long: " + length);
+            }
+
+            if (contentType == CONTENT_TYPE_ALERT && length >= 2) {
+                int level = in.readUnsignedByte();
+                int description = in.readUnsignedByte();
+                if (level != ALERT_LEVEL_WARNING) {
+                    throw new AlertException(level, description);
+                }
+                // ServerHello 앞의 경고(unrecognized_name 등)는 건너뜀
+                in.readFully(new byte[length - 2]);
+                continue;
+            }
+            if (contentType != CONTENT_TYPE_HANDSHAKE) {
+                throw new SSLException("Unexpected record type: " + contentType);
+            }
+
+            while (length > 0) {
+                if (headerLength < header.length) {
+                    header[headerLength++] = in.readByte();
+                    length--;
+                    if (headerLength == header.length) {
+                        if ((header[0] & 0xFF) != HANDSHAKE_SERVER_HELLO) {
+                            throw new SSLException("Unexpected handshake message: " + (header[0] & 0xFF));
+                        }
+                        int messageLength = ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+                        if (messageLength > MAX_SERVER_HELLO_LENGTH) {
+                            throw new SSLException("ServerHello too long: " + messageLength);
+                        }
+                        body = new byte[messageLength];
+                    }
+                } else {
+                    int read = Math.min(length, body.length - bodyLength);
+                    in.readFully(body, bodyLength, read);
+                    bodyLength += read;
+                    length -= read;
+                }
+                // 뒤따르는 메시지(Certificate 등)는 읽지 않음
+                if (body != null && bodyLength == body.length) {
+                    return parseServerHello(body);
+                }
+            }
+        }
+    }
+
+    /**
+     * ServerHello 본문을 해석합니다.
+     */
+    static ServerHello parseServerHello(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+
+        int version = in.readUnsignedShort();
+        byte[] random = new byte[32];
+        in.readFully(random);
+        in.skipBytes(in.readUnsignedByte()); // 세션 ID
+        int cipherSuite = in.readUnsignedShort();
+        in.readUnsignedByte(); // 압축 방식
+
+        // 확장이 있으면 supported_versions에서 실제 협상 버전을 확인
+        if (in.available() >= 2) {
+            int remaining = in.readUnsignedShort();
+            while (remaining >= 4) {
+                int type = in.readUnsignedShort();
+                int length = in.readUnsignedShort();
+                remaining -= 4 + length;
+                if (type == EXT_SUPPORTED_VERSIONS && length == 2) {
+                    version = in.readUnsignedShort();
+                } else {
+                    in.skipBytes(length);
+                }
+            }
+        }
+
+        return new ServerHello(version, cipherSuite, Arrays.equals(random, HELLO_RETRY_REQUEST_RANDOM));
+    }
+
+    private static void writeUint24(DataOutputStream out, int value) throws IOException {
+        out.writeByte((value >>> 16) & 0xFF);
+        out.writeByte((value >>> 8) & 0xFF);
+        out.writeByte(value & 0xFF);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * 서버가 보낸 ServerHello의 주요 값
+     */
+    public static class ServerHello {
+        private final int version;
+        private final int cipherSuite;
+        private final boolean helloRetryRequest;
+
+        ServerHello(int version, int cipherSuite, boolean helloRetryRequest) {
+            this.version = version;
+            this.cipherSuite = cipherSuite;
+            this.helloRetryRequest = helloRetryRequest;
+        }
+
+        // Getters
+        public int getVersion() { return version; }
+        public int getCipherSuite() { return cipherSuite; }
+        public boolean isHelloRetryRequest() { return helloRetryRequest; }
+    }
+
+    /**
+     * 서버가 ServerHello 대신 경고로 응답한 경우의 예외
+     */
+    public static class AlertException extends SSLException {
+        private static final long serialVersionUID = 1L;
+
+        private final int level;
+        private final int description;
+
+        public AlertException(int level, int description) {
+            super("Received " + (level == 2 ? "fatal" : "warning") + " alert: " + CipherSuites.alertName(description));
+            this.level = level;
+            this.description = description;
+        }
+
+        // Getters
+        public int getLevel() { return level; }
+        public int getDescription() { return description; }
+    }
+}
@@ -0,0 +1,226 @@
+package ksd.std.tlschecker.service;
+
+import java.util.*;
+
+/**
+ * 호스트 하나의 스캔 결과를 적은 메모리로 보관하는 불변 표현
+ *
+ * 많은 호스트의 결과를 메모리에 둘 때 대부분을 차지하는 중복 문자열과 목록을 공유 인스턴스로 바꿉니다.
+ * <ul>
+ *   <li>버전별 활성 프로토콜 목록은 {@link NameRegistry}의 프로토콜 ID 비트마스크로 보관</li>
+ *   <li>암호화 스위트 목록은 스위트 ID 비트셋과 순서를 담은 공유 인스턴스로 보관 (같은 목록은 모든 호스트가 공유)</li>
+ *   <li>협상 결과, 오류 메시지 등 반복되는 문자열과 호스트 안에서 같은 주소, 인증서 체인은 하나의 인스턴스를 참조</li>
+ *   <li>단계별 소요 시간은 마이크로초 단위 int로 보관</li>
+ * </ul>
+ * 출력과 API는 {@link #toResults()}가 만드는 TlsInfo 맵을 그대로 사용합니다.
+ */
+public final class CompactResult {
+
+    private static final int SUPPORTED = 1;
+    private static final int SERVER_CIPHER_SUITES = 2;
+    private static final int PREFERENCE_KNOWN = 4;
+    private static final int SERVER_PREFERENCE = 8;
+    /** 체인 없이 서버 인증서만 설정된 결과 (이력 저장소에서 읽은 결과 등) */
+    private static final int LEAF_ONLY = 16;
+
+    private static final FailureType[] FAILURE_TYPES = FailureType.values();
+
+    private final VersionResult[] versions;
+
+    private CompactResult(VersionResult[] versions) {
+        this.versions = versions;
+    }
+
+    /**
+     * 스캔 결과를 압축합니다. 원래 결과는 변경하지 않습니다.
+     *
+     * @param results 버전별 TLS 정보
+     * @return 압축된 결과
+     */
+    public static CompactResult of(Map<String, TlsCheckerService.TlsInfo> results) {
+        VersionResult[] versions = new VersionResult[results.size()];
+        int i = 0;
+        for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+            versions[i] = new VersionResult(tlsInfo, i > 0 ? versions[i - 1] : null);
+            i++;
+        }
+        return new CompactResult(versions);
+    }
+
+    /**
+     * 기존 TLS 정보 맵으로 펼칩니다. 호출할 때마다 새 인스턴스를 만들며 목록과 인증서 정보는 공유합니다.
+     *
+     * @return 버전별 TLS 정보 (저장된 순서)
+     */
+    public Map<String, TlsCheckerService.TlsInfo> toResults() {
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        for (VersionResult version : versions) {
+            results.put(version.version, version.toTlsInfo());
+        }
+        return results;
+    }
+
+    /**
+     * 지원되는 버전이 하나라도 있는지 확인합니다.
+     */
+    public boolean hasSupportedVersion() {
+        for (VersionResult version : versions) {
+            if ((version.flags & SUPPORTED) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 버전이 지원되는지 확인합니다.
+     *
+     * @param tlsVersion TLS 버전
+     */
+    public boolean isSupported(String tlsVersion) {
+        VersionResult version = find(tlsVersion);
+        return version != null && (version.flags & SUPPORTED) != 0;
+    }
+
+    /**
+     * 지원되는 버전 중 하나라도 암호화 스위트 목록에 해당 스위트를 포함하는지 확인합니다.
+     *
+     * @param cipherSuite 암호화 스위트 이름
+     */
+    public boolean hasCipherSuite(String cipherSuite) {
+        for (VersionResult version : versions) {
+            if ((version.flags & SUPPORTED) != 0 && version.cipherSuites.contains(cipherSuite)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private VersionResult find(String tlsVersion) {
+        for (VersionResult version : versions) {
+            if (version.version.equals(tlsVersion)) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    private static int toMicros(long nanos) {
+        return nanos < 0 ? -1 : (int) Math.min(Integer.MAX_VALUE, nanos / 1000);
+    }
+
+    private static long toNanos(int micros) {
+        return micros < 0 ? -1 : micros * 1000L;
+    }
+
+    /**
+     * 버전 하나의 결과
+     */
+    private static final class VersionResult {
+        private final String version;
+        private final String address;
+        private final byte flags;
+        /** 실패 유형 순번 + 1 (실패하지 않았으면 0) */
+        private final byte failureType;
+        private final long supportedProtocols;
+        private final NameRegistry.SuiteList cipherSuites;
+        private final String negotiatedProtocol;
+        private final String negotiatedCipherSuite;
+        private final String errorMessage;
+        private final List<TlsCheckerService.CertificateInfo> certificateChain;
+        private final List<String> chainProblems;
+        private final int dnsMicros;
+        private final int connectMicros;
+        private final int handshakeMicros;
+        private final int certificateMicros;
+
+        /**
+         * @param previous 같은 호스트의 앞 버전 결과 (주소와 체인이 같으면 그 인스턴스를 공유)
+         */
+        VersionResult(TlsCheckerService.TlsInfo tlsInfo, VersionResult previous) {
+            this.version = NameRegistry.intern(tlsInfo.getVersion());
+            this.address = previous != null && Objects.equals(previous.address, tlsInfo.getAddress())
+                ? previous.address : tlsInfo.getAddress();
+
+            List<TlsCheckerService.CertificateInfo> chain = tlsInfo.getCertificateChain();
+            boolean leafOnly = chain.isEmpty() && tlsInfo.getCertificateInfo() != null;
+            if (leafOnly) {
+                chain = Collections.singletonList(tlsInfo.getCertificateInfo());
+            }
+            this.certificateChain = previous != null && sameChain(previous.certificateChain, chain)
+                ? previous.certificateChain : chain;
+
+            Boolean serverPreference = tlsInfo.getServerCipherPreference();
+            this.flags = (byte) ((tlsInfo.isSupported() ? SUPPORTED : 0)
+                | (tlsInfo.isServerCipherSuites() ? SERVER_CIPHER_SUITES : 0)
+                | (serverPreference != null ? PREFERENCE_KNOWN : 0)
+                | (Boolean.TRUE.equals(serverPreference) ? SERVER_PREFERENCE : 0)
+                | (leafOnly ? LEAF_ONLY : 0));
+            this.failureType = (byte) (tlsInfo.getFailureType() != null ? tlsInfo.getFailureType().ordinal() + 1 : 0);
+            this.supportedProtocols = NameRegistry.protocolMask(tlsInfo.getSupportedProtocols());
+            this.cipherSuites = NameRegistry.suites(tlsInfo.getCipherSuites());
+            this.negotiatedProtocol = NameRegistry.intern(tlsInfo.getNegotiatedProtocol());
+            this.negotiatedCipherSuite = NameRegistry.intern(tlsInfo.getNegotiatedCipherSuite());
+            this.errorMessage = NameRegistry.intern(tlsInfo.getErrorMessage());
+            this.chainProblems = internAll(tlsInfo.getChainProblems());
+
+            TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+            this.dnsMicros = toMicros(timings.getDnsNanos());
+            this.connectMicros = toMicros(timings.getConnectNanos());
+            this.handshakeMicros = toMicros(timings.getHandshakeNanos());
+            this.certificateMicros = toMicros(timings.getCertificateNanos());
+        }
+
+        TlsCheckerService.TlsInfo toTlsInfo() {
+            TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+            tlsInfo.setAddress(address);
+            tlsInfo.setSupported((flags & SUPPORTED) != 0);
+            tlsInfo.setCipherSuites(cipherSuites.names());
+            tlsInfo.setServerCipherSuites((flags & SERVER_CIPHER_SUITES) != 0);
+            if ((flags & PREFERENCE_KNOWN) != 0) {
+                tlsInfo.setServerCipherPreference((flags & SERVER_PREFERENCE) != 0);
+            }
+            tlsInfo.setSupportedProtocols(NameRegistry.protocols(supportedProtocols));
+            tlsInfo.setNegotiatedProtocol(negotiatedProtocol);
+            tlsInfo.setNegotiatedCipherSuite(negotiatedCipherSuite);
+            if ((flags & LEAF_ONLY) != 0) {
+                tlsInfo.setCertificateInfo(certificateChain.get(0));
+            } else {
+                tlsInfo.setCertificateChain(certificateChain);
+            }
+            tlsInfo.setChainProblems(chainProblems);
+            tlsInfo.setFailureType(failureType != 0 ? FAILURE_TYPES[failureType - 1] : null);
+            tlsInfo.setErrorMessage(errorMessage);
+            TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+            timings.setDnsNanos(toNanos(dnsMicros));
+            timings.setConnectNanos(toNanos(connectMicros));
+            timings.setHandshakeNanos(toNanos(handshakeMicros));
+            timings.setCertificateNanos(toNanos(certificateMicros));
+            return tlsInfo;
+        }
+
+        private static boolean sameChain(List<TlsCheckerService.CertificateInfo> a, List<TlsCheckerService.CertificateInfo> b) {
+            if (a.size() != b.size()) {
+                return false;
+            }
+            // 인증서 캐시가 같은 인증서에 같은 인스턴스를 돌려주므로 참조로 비교
+            for (int i = 0; i < a.size(); i++) {
+                if (a.get(i) != b.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static List<String> internAll(List<String> values) {
+            if (values == null || values.isEmpty()) {
+                return Collections.emptyList();
+            }
+            String[] interned = new String[values.size()];
+            for (int i = 0; i < interned.length; i++) {
+                interned[i] = NameRegistry.intern(values.get(i));
+            }
+            return Collections.unmodifiableList(Arrays.asList(interned));
+        }
+    }
+}
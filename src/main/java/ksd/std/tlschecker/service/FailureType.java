@@ -0,0 +1,107 @@
+package ksd.std.tlschecker.service;
+
+import javax.net.ssl.SSLException;
+import java.io.EOFException;
+import java.net.*;
+
+/**
+ * 프로브 실패 유형
+ */
+public enum FailureType {
+    /** 이름 해석 실패 */
+    DNS,
+    /** 연결 거부 (포트 닫힘) */
+    REFUSED,
+    /** 연결 또는 응답 시간 초과 */
+    TIMEOUT,
+    /** 네트워크 또는 호스트에 도달할 수 없음 */
+    UNREACHABLE,
+    /** 연결이 재설정됨 */
+    RESET,
+    /** 서버가 핸드셰이크 도중 연결을 닫음 */
+    CONNECTION_CLOSED,
+    /** 서버가 해당 프로토콜 버전을 지원하지 않음 (protocol_version 경고 또는 다른 버전 협상) */
+    PROTOCOL_VERSION,
+    /** 서버가 제시된 파라미터를 수락하지 않음 (handshake_failure 경고) */
+    HANDSHAKE_FAILURE,
+    /** 그 밖의 TLS 경고 */
+    TLS_ALERT,
+    /** 로컬 JVM에서 해당 프로토콜이 비활성화됨 */
+    PROTOCOL_DISABLED,
+    /** 분류되지 않은 오류 */
+    OTHER;
+
+    /**
+     * 서버에 도달하지 못해 TLS 지원 여부를 판단할 수 없는 실패인지 확인합니다.
+     */
+    public boolean isNetworkFailure() {
+        return this == DNS || this == REFUSED || this == TIMEOUT || this == UNREACHABLE;
+    }
+
+    /**
+     * 예외를 실패 유형으로 분류합니다.
+     *
+     * @param error 프로브 중 발생한 예외
+     * @return 실패 유형
+     */
+    public static FailureType classify(Throwable error) {
+        if (error instanceof UnknownHostException) {
+            return DNS;
+        }
+        if (error instanceof ConnectException) {
+            return REFUSED;
+        }
+        if (error instanceof SocketTimeoutException) {
+            return TIMEOUT;
+        }
+        if (error instanceof NoRouteToHostException || error instanceof PortUnreachableException) {
+            return UNREACHABLE;
+        }
+        if (error instanceof ClientHelloProbe.AlertException) {
+            return fromAlert(((ClientHelloProbe.AlertException) error).getDescription());
+        }
+        if (error instanceof EOFException) {
+            return CONNECTION_CLOSED;
+        }
+
+        String message = error.getMessage() != null ? error.getMessage() : "";
+        if (error instanceof SSLException) {
+            if (message.contains("protocol_version")) {
+                return PROTOCOL_VERSION;
+            }
+            if (message.contains("handshake_failure")) {
+                return HANDSHAKE_FAILURE;
+            }
+            if (message.contains("alert")) {
+                return TLS_ALERT;
+            }
+            if (message.contains("No appropriate protocol")) {
+                return PROTOCOL_DISABLED;
+            }
+            if (message.contains("terminated the handshake") || message.contains("closed")) {
+                return CONNECTION_CLOSED;
+            }
+        }
+        if (error instanceof SocketException && message.contains("reset")) {
+            return RESET;
+        }
+        if (error.getCause() != null && error.getCause() != error) {
+            return classify(error.getCause());
+        }
+        return OTHER;
+    }
+
+    /**
+     * TLS 경고 코드를 실패 유형으로 분류합니다.
+     */
+    static FailureType fromAlert(int description) {
+        switch (description) {
+            case 70:
+                return PROTOCOL_VERSION;
+            case 40:
+                return HANDSHAKE_FAILURE;
+            default:
+                return TLS_ALERT;
+        }
+    }
+}
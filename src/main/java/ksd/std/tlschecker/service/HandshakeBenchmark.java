@@ -0,0 +1,476 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.cert.Certificate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 대상 호스트의 핸드셰이크 성능을 측정하는 클래스
+ *
+ * 버전마다 전체 핸드셰이크 N회와 세션 재개 핸드셰이크 N회를 설정된 동시 연결 수로 수행하고,
+ * 처리량과 핸드셰이크 소요 시간 백분위수, 세션 재개가 실제로 이루어졌는지를 보고합니다.
+ * 프로브와 같은 SSLSocketFactory 경로를 사용하되, 세션 캐시가 프로브와 섞이지 않도록
+ * 작업 스레드마다 공유하지 않는 컨텍스트를 만듭니다.
+ * <ul>
+ *   <li>전체 핸드셰이크: 매번 세션을 무효화하여 재개하지 않음</li>
+ *   <li>세션 재개: 스레드마다 한 번 핸드셰이크하여 세션을 받은 뒤(측정 제외), 같은 컨텍스트로 다시 연결
+ *       (TLS 1.2 이하는 세션 ID/티켓, TLS 1.3은 NewSessionTicket의 PSK)</li>
+ * </ul>
+ * JSSE는 세션이 재개되었는지 알려주지 않으므로, 서버가 보낸 핸드셰이크 바이트 수가 인증서 체인 크기만큼
+ * 줄었는지(재개하면 서버가 인증서를 보내지 않음)와 TLS 1.2 이하의 세션 ID로 판단합니다.
+ * 자신의 서버를 측정하는 용도이므로 동시 실행 및 속도 제한({@link ProbeGovernor})은 적용하지 않습니다.
+ */
+@Component
+public class HandshakeBenchmark {
+
+    /** TLS 1.3 연결을 닫을 때 서버의 NewSessionTicket과 close_notify를 기다리는 최대 시간 */
+    private static final int DRAIN_TIMEOUT_MILLIS = 500;
+    private static final String TLS13 = "TLSv1.3";
+
+    private final TlsCheckerProperties.Bench properties;
+    private final SslContextRegistry.ProbeProfile profile;
+    private final ProbeTimeouts timeouts;
+    private final HostResolver hostResolver;
+    private final SslContextRegistry sslContextRegistry;
+
+    public HandshakeBenchmark(TlsCheckerProperties properties, HostResolver hostResolver,
+                              SslContextRegistry sslContextRegistry) {
+        this.properties = properties.getBench();
+        this.profile = properties.getProbe().getProfile();
+        this.timeouts = ProbeTimeouts.from(properties.getProbe());
+        this.hostResolver = hostResolver;
+        this.sslContextRegistry = sslContextRegistry;
+    }
+
+    /**
+     * 설정된 버전마다 전체 핸드셰이크와 세션 재개 핸드셰이크를 측정합니다.
+     *
+     * @param target 측정할 대상 (호스트는 SNI에 사용)
+     * @return 측정 결과
+     * @throws UnknownHostException 이름을 해석할 수 없는 경우
+     * @throws InterruptedException 측정 중 인터럽트된 경우
+     */
+    public Report run(ScanTarget target) throws UnknownHostException, InterruptedException {
+        InetAddress address = target.getAddress() != null ? target.getAddress() : hostResolver.resolve(target.getHost()).get(0);
+        int handshakes = Math.max(1, properties.getHandshakes());
+        int concurrency = Math.max(1, Math.min(properties.getConcurrency(), handshakes));
+        List<String> versions = properties.getVersions().isEmpty()
+            ? Arrays.asList(TlsCheckerService.TLS_VERSIONS) : properties.getVersions();
+
+        Report report = new Report(target.getLabel(), address.getHostAddress(), target.getPort(), handshakes, concurrency);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, new NamedThreadFactory("tls-bench"));
+        try {
+            for (String tlsVersion : versions) {
+                report.versions.add(runVersion(target, address, tlsVersion, handshakes, concurrency, executor));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    /**
+     * 버전 하나를 측정합니다. 첫 핸드셰이크가 실패하면 지원되지 않는 것으로 보고 측정하지 않습니다.
+     */
+    private VersionReport runVersion(ScanTarget target, InetAddress address, String tlsVersion, int handshakes,
+                                     int concurrency, ExecutorService executor) throws InterruptedException {
+        VersionReport report = new VersionReport(tlsVersion);
+        Handshake reference;
+        try {
+            reference = handshake(sslContextRegistry.create(tlsVersion, profile), target, address, null, null, true);
+        } catch (GeneralSecurityException | IOException e) {
+            report.failureType = FailureType.classify(e);
+            report.errorMessage = e.getMessage();
+            return report;
+        }
+        report.negotiatedProtocol = reference.protocol;
+        report.negotiatedCipherSuite = reference.cipherSuite;
+
+        report.full = runPhase(target, address, tlsVersion, false, reference, handshakes, concurrency, executor);
+        report.resumed = runPhase(target, address, tlsVersion, true, reference, handshakes, concurrency, executor);
+        return report;
+    }
+
+    /**
+     * 핸드셰이크를 작업 스레드에 나누어 수행합니다. 각 스레드는 자신의 컨텍스트를 사용합니다.
+     *
+     * @param resume true이면 세션을 재개하는 핸드셰이크, false이면 전체 핸드셰이크
+     * @param reference 재개 여부 판단 기준이 되는 전체 핸드셰이크
+     */
+    private Phase runPhase(ScanTarget target, InetAddress address, String tlsVersion, boolean resume, Handshake reference,
+                           int handshakes, int concurrency, ExecutorService executor) throws InterruptedException {
+        long[] connectNanos = new long[handshakes];
+        long[] handshakeNanos = new long[handshakes];
+        long[] serverBytes = new long[handshakes];
+        boolean[] resumed = new boolean[handshakes];
+        Arrays.fill(handshakeNanos, -1);
+        AtomicInteger next = new AtomicInteger();
+        Map<FailureType, String> errors = new ConcurrentHashMap<>();
+        Map<FailureType, Integer> failures = new ConcurrentHashMap<>();
+
+        List<Callable<Void>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(() -> {
+                SslContextRegistry.ProbeContext probeContext = sslContextRegistry.create(tlsVersion, profile);
+                Handshake primer = null;
+                int index;
+                while ((index = next.getAndIncrement()) < handshakes && !Thread.currentThread().isInterrupted()) {
+                    try {
+                        if (resume && primer == null) {
+                            // 재개할 세션을 받기 위한 핸드셰이크는 측정하지 않음
+                            primer = handshake(probeContext, target, address, null, null, true);
+                        }
+                        Handshake handshake = handshake(probeContext, target, address, primer, reference, resume);
+                        connectNanos[index] = handshake.connectNanos;
+                        handshakeNanos[index] = handshake.handshakeNanos;
+                        serverBytes[index] = handshake.serverBytes;
+                        resumed[index] = handshake.resumed;
+                    } catch (IOException e) {
+                        FailureType failureType = FailureType.classify(e);
+                        failures.merge(failureType, 1, Integer::sum);
+                        errors.putIfAbsent(failureType, String.valueOf(e.getMessage()));
+                    }
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Future<Void> worker : executor.invokeAll(workers)) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                FailureType failureType = FailureType.classify(e.getCause());
+                failures.merge(failureType, 1, Integer::sum);
+                errors.putIfAbsent(failureType, String.valueOf(e.getCause().getMessage()));
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Phase(handshakes, elapsedNanos, connectNanos, handshakeNanos, serverBytes, resumed, failures, errors);
+    }
+
+    /**
+     * 핸드셰이크 한 번을 수행하고 연결을 닫습니다.
+     *
+     * @param primer 재개할 세션을 받은 핸드셰이크 (전체 핸드셰이크 측정이면 null)
+     * @param reference 재개 여부 판단 기준 (null이면 판단하지 않음)
+     * @param keepSession true이면 세션을 캐시에 남기고, TLS 1.3이면 다음 재개에 쓸 티켓을 받은 뒤 닫음
+     */
+    private Handshake handshake(SslContextRegistry.ProbeContext probeContext, ScanTarget target, InetAddress address,
+                                Handshake primer, Handshake reference, boolean keepSession) throws IOException {
+        CountingSocket plain = new CountingSocket();
+        SSLSocket socket = null;
+        try {
+            long connectStart = System.nanoTime();
+            plain.connect(new InetSocketAddress(address, target.getPort()), timeouts.getConnectMillis());
+            long handshakeStart = System.nanoTime();
+
+            // 세션 캐시가 호스트와 포트로 세션을 찾도록 호스트 이름으로 계층 소켓 생성
+            socket = (SSLSocket) probeContext.getSocketFactory().createSocket(plain, target.getHost(), target.getPort(), true);
+            probeContext.configure(socket, target.getHost());
+            socket.setSoTimeout(timeouts.getHandshakeMillis());
+            socket.startHandshake();
+            long handshakeEnd = System.nanoTime();
+
+            SSLSession session = socket.getSession();
+            Handshake handshake = new Handshake(session, handshakeStart - connectStart, handshakeEnd - handshakeStart,
+                plain.bytesRead);
+            if (reference != null && primer != null) {
+                handshake.resumed = isResumed(handshake, primer, reference);
+            }
+            if (!keepSession) {
+                session.invalidate();
+            } else if (TLS13.equals(handshake.protocol)) {
+                drain(socket);
+            }
+            return handshake;
+        } finally {
+            closeQuietly(socket != null ? socket : plain);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 닫는 중 오류는 무시
+        }
+    }
+
+    /**
+     * 세션이 재개되었는지 판단합니다.
+     * 재개하면 서버가 인증서를 보내지 않으므로 받은 바이트 수가 인증서 체인 크기만큼 줄어듭니다.
+     * TLS 1.2 이하는 서버가 재개한 세션의 ID를 그대로 돌려주므로 세션 ID로도 확인합니다.
+     * (TLS 1.3의 세션 ID는 호환용 임의 값)
+     */
+    private static boolean isResumed(Handshake handshake, Handshake primer, Handshake reference) {
+        if (reference.certificateBytes > 0
+                && handshake.serverBytes < reference.serverBytes - reference.certificateBytes / 2) {
+            return true;
+        }
+        return !TLS13.equals(handshake.protocol)
+            && primer.sessionId.length > 0 && Arrays.equals(handshake.sessionId, primer.sessionId);
+    }
+
+    /**
+     * close_notify를 보내고 서버가 연결을 닫을 때까지 읽습니다.
+     * TLS 1.3 서버는 핸드셰이크 뒤에 NewSessionTicket을 보내므로 읽어야 다음 연결에서 재개할 수 있습니다.
+     */
+    private static void drain(SSLSocket socket) {
+        try {
+            socket.setSoTimeout(DRAIN_TIMEOUT_MILLIS);
+            socket.shutdownOutput();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[512];
+            while (in.read(buffer) >= 0) {
+                // 응용 데이터는 버림
+            }
+        } catch (IOException e) {
+            // 시간 안에 닫지 않는 서버도 있으므로 무시
+        }
+    }
+
+    /**
+     * 받은 바이트 수를 세는 소켓. 계층 SSL 소켓은 이 소켓의 입력 스트림으로 TLS 레코드를 읽습니다.
+     */
+    private static final class CountingSocket extends Socket {
+        private InputStream in;
+        private long bytesRead;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (in == null) {
+                in = new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            bytesRead++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int n = super.read(b, off, len);
+                        if (n > 0) {
+                            bytesRead += n;
+                        }
+                        return n;
+                    }
+                };
+            }
+            return in;
+        }
+    }
+
+    /**
+     * 핸드셰이크 한 번의 측정 값
+     */
+    private static final class Handshake {
+        private final String protocol;
+        private final String cipherSuite;
+        private final byte[] sessionId;
+        private final long connectNanos;
+        private final long handshakeNanos;
+        /** 핸드셰이크가 끝날 때까지 서버에서 받은 바이트 수 */
+        private final long serverBytes;
+        private final long certificateBytes;
+        private boolean resumed;
+
+        Handshake(SSLSession session, long connectNanos, long handshakeNanos, long serverBytes) {
+            this.protocol = session.getProtocol();
+            this.cipherSuite = session.getCipherSuite();
+            this.sessionId = session.getId();
+            this.connectNanos = connectNanos;
+            this.handshakeNanos = handshakeNanos;
+            this.serverBytes = serverBytes;
+            long certificateBytes = 0;
+            try {
+                for (Certificate certificate : session.getPeerCertificates()) {
+                    certificateBytes += certificate.getEncoded().length;
+                }
+            } catch (Exception e) {
+                // 인증서를 알 수 없으면 TLS 1.3 재개 여부를 판단하지 않음
+                certificateBytes = 0;
+            }
+            this.certificateBytes = certificateBytes;
+        }
+    }
+
+    /**
+     * 대상 하나의 측정 결과
+     */
+    public static class Report {
+        private final String domain;
+        private final String address;
+        private final int port;
+        private final int handshakes;
+        private final int concurrency;
+        private final List<VersionReport> versions = new ArrayList<>();
+
+        Report(String domain, String address, int port, int handshakes, int concurrency) {
+            this.domain = domain;
+            this.address = address;
+            this.port = port;
+            this.handshakes = handshakes;
+            this.concurrency = concurrency;
+        }
+
+        // Getters
+        public String getDomain() { return domain; }
+        public String getAddress() { return address; }
+        public int getPort() { return port; }
+        public int getHandshakes() { return handshakes; }
+        public int getConcurrency() { return concurrency; }
+        public List<VersionReport> getVersions() { return versions; }
+    }
+
+    /**
+     * 버전 하나의 측정 결과 (지원되지 않으면 단계 결과 없이 오류만 설정)
+     */
+    public static class VersionReport {
+        private final String version;
+        private String negotiatedProtocol;
+        private String negotiatedCipherSuite;
+        private FailureType failureType;
+        private String errorMessage;
+        private Phase full;
+        private Phase resumed;
+
+        VersionReport(String version) {
+            this.version = version;
+        }
+
+        /**
+         * 세션 재개 핸드셰이크가 전체 핸드셰이크보다 몇 배 빠른지 중앙값으로 비교합니다.
+         *
+         * @return 배율 (측정 값이 없으면 NaN)
+         */
+        public double getResumptionSpeedup() {
+            if (full == null || resumed == null || full.getSucceeded() == 0 || resumed.getSucceeded() == 0) {
+                return Double.NaN;
+            }
+            return full.getPercentileMillis(0.5) / resumed.getPercentileMillis(0.5);
+        }
+
+        // Getters
+        public String getVersion() { return version; }
+        public boolean isSupported() { return full != null; }
+        public String getNegotiatedProtocol() { return negotiatedProtocol; }
+        public String getNegotiatedCipherSuite() { return negotiatedCipherSuite; }
+        public FailureType getFailureType() { return failureType; }
+        public String getErrorMessage() { return errorMessage; }
+        public Phase getFull() { return full; }
+        public Phase getResumed() { return resumed; }
+    }
+
+    /**
+     * 전체 또는 세션 재개 핸드셰이크 N회의 측정 결과
+     *
+     * 소요 시간은 TCP 연결 이후 핸드셰이크 완료까지이며, 처리량은 연결과 종료를 포함한 경과 시간 기준입니다.
+     */
+    public static class Phase {
+        private final int attempted;
+        private final int succeeded;
+        private final int resumed;
+        private final long elapsedNanos;
+        private final long[] sortedNanos;
+        private final double meanConnectMillis;
+        private final double meanServerBytes;
+        private final Map<FailureType, Integer> failures;
+        private final Map<FailureType, String> errors;
+
+        Phase(int attempted, long elapsedNanos, long[] connectNanos, long[] handshakeNanos, long[] serverBytes,
+              boolean[] resumedFlags, Map<FailureType, Integer> failures, Map<FailureType, String> errors) {
+            int succeeded = 0;
+            int resumed = 0;
+            long totalConnect = 0;
+            long totalBytes = 0;
+            long[] latencies = new long[handshakeNanos.length];
+            for (int i = 0; i < handshakeNanos.length; i++) {
+                if (handshakeNanos[i] < 0) {
+                    continue;
+                }
+                latencies[succeeded++] = handshakeNanos[i];
+                totalConnect += connectNanos[i];
+                totalBytes += serverBytes[i];
+                if (resumedFlags[i]) {
+                    resumed++;
+                }
+            }
+            this.attempted = attempted;
+            this.succeeded = succeeded;
+            this.resumed = resumed;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedNanos = Arrays.copyOf(latencies, succeeded);
+            Arrays.sort(sortedNanos);
+            this.meanConnectMillis = succeeded == 0 ? 0.0 : totalConnect / 1_000_000.0 / succeeded;
+            this.meanServerBytes = succeeded == 0 ? 0.0 : (double) totalBytes / succeeded;
+            this.failures = new EnumMap<>(FailureType.class);
+            this.failures.putAll(failures);
+            this.errors = new EnumMap<>(FailureType.class);
+            this.errors.putAll(errors);
+        }
+
+        /**
+         * 핸드셰이크 소요 시간의 백분위수를 반환합니다. (nearest-rank)
+         *
+         * @param percentile 0과 1 사이의 백분위
+         * @return 밀리초 (성공한 핸드셰이크가 없으면 NaN)
+         */
+        public double getPercentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int rank = (int) Math.ceil(percentile * sortedNanos.length);
+            return sortedNanos[Math.max(0, Math.min(sortedNanos.length, rank) - 1)] / 1_000_000.0;
+        }
+
+        /**
+         * 핸드셰이크 소요 시간의 평균을 반환합니다.
+         */
+        public double getMeanMillis() {
+            long total = 0;
+            for (long nanos : sortedNanos) {
+                total += nanos;
+            }
+            return sortedNanos.length == 0 ? Double.NaN : total / 1_000_000.0 / sortedNanos.length;
+        }
+
+        /**
+         * 초당 완료한 핸드셰이크 수를 반환합니다.
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0.0 : succeeded * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        // Getters
+        public int getAttempted() { return attempted; }
+        public int getSucceeded() { return succeeded; }
+        public int getFailed() { return attempted - succeeded; }
+        public int getResumed() { return resumed; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+        public double getMaxMillis() { return sortedNanos.length == 0 ? Double.NaN : sortedNanos[sortedNanos.length - 1] / 1_000_000.0; }
+        public double getMeanConnectMillis() { return meanConnectMillis; }
+        public double getMeanServerBytes() { return meanServerBytes; }
+        public Map<FailureType, Integer> getFailures() { return failures; }
+        public Map<FailureType, String> getErrors() { return errors; }
+    }
+}
@@ -0,0 +1,189 @@
+package ksd.std.tlschecker.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 스캔 이력 저장소의 세그먼트 파일 하나
+ *
+ * 활성 세그먼트는 파일 끝에만 추가하고 위치 지정 읽기로 조회합니다.
+ * 교체되어 더 이상 쓰지 않는 세그먼트는 메모리 매핑하여 힙을 사용하지 않고 읽습니다.
+ */
+final class HistorySegment {
+
+    private static final int MAGIC = 0x544C5348; // "TLSH"
+    private static final int FORMAT_VERSION = 1;
+    /** 파일 헤더(매직, 형식 버전) 크기 */
+    static final int FILE_HEADER_BYTES = 8;
+
+    private final int id;
+    private final Path path;
+    private final FileChannel channel;
+    private volatile long size;
+    private volatile long firstTimestamp = -1;
+    private volatile long lastTimestamp = -1;
+    private volatile MappedByteBuffer mapped;
+
+    private HistorySegment(int id, Path path, FileChannel channel, long size) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * 새 세그먼트 파일을 만듭니다.
+     */
+    static HistorySegment create(Path directory, int id) throws IOException {
+        Path path = directory.resolve(fileName(id));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        return new HistorySegment(id, path, channel, FILE_HEADER_BYTES);
+    }
+
+    /**
+     * 기존 세그먼트 파일을 엽니다.
+     *
+     * @throws IOException 세그먼트 파일 형식이 아닌 경우
+     */
+    static HistorySegment open(Path path, int id) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // 헤더를 끝까지 읽음
+        }
+        if (header.position() < FILE_HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            channel.close();
+            throw new IOException("Not a scan history segment: " + path);
+        }
+        return new HistorySegment(id, path, channel, channel.size());
+    }
+
+    static String fileName(int id) {
+        return String.format("segment-%08d.log", id);
+    }
+
+    /**
+     * 파일 이름에서 세그먼트 번호를 읽습니다. 세그먼트 파일이 아니면 -1을 반환합니다.
+     */
+    static int parseId(String fileName) {
+        if (!fileName.startsWith("segment-") || !fileName.endsWith(".log")) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(fileName.substring("segment-".length(), fileName.length() - ".log".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 레코드를 파일 끝에 추가합니다. (저장소가 동기화하여 호출)
+     *
+     * @return 레코드 시작 위치
+     */
+    long append(ByteBuffer record, long timestamp) throws IOException {
+        long offset = size;
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        size = position;
+        if (firstTimestamp < 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        return offset;
+    }
+
+    /**
+     * 지정한 위치에서 길이만큼 읽습니다. 반환된 버퍼의 위치 0이 offset입니다.
+     */
+    ByteBuffer read(long offset, int length) throws IOException {
+        MappedByteBuffer map = mapped;
+        if (map != null) {
+            ByteBuffer slice = map.duplicate();
+            slice.position((int) offset);
+            slice.limit((int) offset + length);
+            return slice.slice();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * 전체 파일을 읽기 전용으로 매핑합니다. (복구 시 순차 읽기용)
+     */
+    ByteBuffer mapAll() throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * 잘못 기록된 꼬리를 잘라냅니다. (복구 시 사용)
+     */
+    void truncate(long newSize) throws IOException {
+        channel.truncate(newSize);
+        size = newSize;
+    }
+
+    /**
+     * 복구 시 읽은 레코드의 시각을 반영합니다.
+     */
+    void recordTimestamp(long timestamp) {
+        if (firstTimestamp < 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+    }
+
+    /**
+     * 더 이상 쓰지 않는 세그먼트로 전환하고 읽기 전용으로 매핑합니다.
+     */
+    void seal() throws IOException {
+        channel.force(false);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 세그먼트 파일을 삭제합니다. 매핑된 영역은 참조가 사라지면 해제됩니다.
+     */
+    void delete() throws IOException {
+        mapped = null;
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+
+    // Getters
+    int getId() { return id; }
+    long getSize() { return size; }
+    long getFirstTimestamp() { return firstTimestamp; }
+    long getLastTimestamp() { return lastTimestamp; }
+    boolean isSealed() { return mapped != null; }
+}
@@ -0,0 +1,116 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.security.Security;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트 이름을 한 번만 해석하여 TTL 동안 재사용하는 이름 해석기
+ *
+ * 한 호스트의 모든 프로브가 같은 해석 결과를 공유하며, A/AAAA 레코드를 모두 반환합니다.
+ * JDK는 레코드별 TTL을 제공하지 않으므로 설정 값(기본값은 networkaddress.cache.ttl)을 TTL로 사용합니다.
+ */
+@Component
+public class HostResolver {
+
+    private static final long DEFAULT_TTL_SECONDS = 30;
+    private static final long DEFAULT_NEGATIVE_TTL_SECONDS = 10;
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final int maxEntries;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public HostResolver(TlsCheckerProperties properties) {
+        TlsCheckerProperties.Dns dns = properties.getDns();
+        long ttl = dns.getCacheTtlSeconds() >= 0 ? dns.getCacheTtlSeconds()
+            : securityTtl("networkaddress.cache.ttl", DEFAULT_TTL_SECONDS);
+        long negativeTtl = dns.getNegativeCacheTtlSeconds() >= 0 ? dns.getNegativeCacheTtlSeconds()
+            : securityTtl("networkaddress.cache.negative.ttl", DEFAULT_NEGATIVE_TTL_SECONDS);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttl);
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(negativeTtl);
+        this.maxEntries = dns.getMaxEntries();
+    }
+
+    /**
+     * 호스트의 모든 주소를 반환합니다.
+     * IPv4 주소가 먼저 오도록 정렬합니다.
+     *
+     * @param host 호스트 이름 또는 IP 주소
+     * @return 주소 목록 (비어 있지 않음)
+     * @throws UnknownHostException 이름을 해석할 수 없는 경우
+     */
+    public List<InetAddress> resolve(String host) throws UnknownHostException {
+        long now = System.nanoTime();
+        Entry entry = cache.get(host);
+        if (entry == null || now - entry.expiresAt > 0) {
+            entry = lookup(host, now);
+            if (cache.size() >= maxEntries) {
+                evictExpired(now);
+            }
+            if (cache.size() < maxEntries) {
+                cache.put(host, entry);
+            }
+        }
+
+        if (entry.addresses == null) {
+            throw new UnknownHostException("Unknown host: " + host);
+        }
+        return entry.addresses;
+    }
+
+    /**
+     * 캐시된 항목 수를 반환합니다.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    private Entry lookup(String host, long now) {
+        try {
+            List<InetAddress> addresses = new ArrayList<>(Arrays.asList(InetAddress.getAllByName(host)));
+            // 동일한 결과에서 항상 같은 주소가 첫 번째가 되도록 IPv4 우선 정렬 (안정 정렬)
+            addresses.sort(Comparator.comparingInt(address -> address.getAddress().length));
+            return new Entry(Collections.unmodifiableList(addresses), now + ttlNanos);
+        } catch (UnknownHostException e) {
+            return new Entry(null, now + negativeTtlNanos);
+        }
+    }
+
+    private void evictExpired(long now) {
+        cache.values().removeIf(entry -> now - entry.expiresAt > 0);
+    }
+
+    private static long securityTtl(String property, long defaultValue) {
+        try {
+            String value = Security.getProperty(property);
+            if (value != null) {
+                long ttl = Long.parseLong(value.trim());
+                // -1(영구 캐시)은 기본값으로 대체
+                return ttl >= 0 ? ttl : defaultValue;
+            }
+        } catch (NumberFormatException e) {
+            // 잘못된 값은 기본값 사용
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 캐시 항목 (해석 실패 시 addresses가 null)
+     */
+    private static class Entry {
+        private final List<InetAddress> addresses;
+        private final long expiresAt;
+
+        Entry(List<InetAddress> addresses, long expiresAt) {
+            this.addresses = addresses;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 대상 목록을 주기적으로 다시 스캔하고 변경 사항만 이벤트로 알리는 모니터 서비스
+ *
+ * 첫 스캔 시각을 주기 전체에 고르게 나누고, 이후 호스트마다 지터가 적용된 주기로 다시 예약하므로
+ * 스캔 부하가 한꺼번에 몰리지 않고 대상 수에 비례하여 일정하게 유지됩니다.
+ * 호스트별로 마지막 상태(버전별 지원 여부, 인증서 식별 정보)만 보관합니다.
+ */
+@Service
+public class MonitorService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorService.class);
+
+    private final TlsCheckerService tlsCheckerService;
+    private final ProbeMetrics probeMetrics;
+    private final TlsCheckerProperties.Monitor monitorProperties;
+    private final Map<String, HostState> hosts = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService scanExecutor;
+    private volatile EventListener listener;
+    private volatile boolean running;
+
+    public MonitorService(TlsCheckerService tlsCheckerService, ProbeMetrics probeMetrics, TlsCheckerProperties properties) {
+        this.tlsCheckerService = tlsCheckerService;
+        this.probeMetrics = probeMetrics;
+        this.monitorProperties = properties.getMonitor();
+    }
+
+    /**
+     * 모니터링을 시작합니다. 첫 스캔은 재스캔 주기 안에 고르게 나누어 실행됩니다.
+     *
+     * @param domains 정규화된 대상 표기 목록 ({@link ScanTarget#getLabel()}, 중복은 한 번만 스캔)
+     * @param listener 변경 이벤트 리스너 (모니터 스레드에서 호출됨)
+     * @throws IllegalArgumentException 대상 표기가 잘못된 경우 (아무 대상도 예약하지 않음)
+     */
+    public synchronized void start(Collection<String> domains, EventListener listener) {
+        if (running) {
+            throw new IllegalStateException("Monitor is already running");
+        }
+        // 일부만 예약된 채로 실행 상태가 되지 않도록 모든 대상을 먼저 해석
+        Map<String, HostState> states = new LinkedHashMap<>();
+        for (String domain : domains) {
+            if (!states.containsKey(domain)) {
+                states.put(domain, new HostState(domain));
+            }
+        }
+        this.listener = listener;
+        this.running = true;
+
+        int workers = monitorProperties.getWorkers();
+        LinkedBlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+        scanExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            queue, new NamedThreadFactory("tls-monitor-scan"));
+        probeMetrics.monitorQueue("tls-monitor", queue);
+        scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("tls-monitor"));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(monitorProperties.getIntervalSeconds());
+        long spacingNanos = states.isEmpty() ? 0 : intervalNanos / states.size();
+        long delayNanos = 0;
+        hosts.putAll(states);
+        for (HostState state : states.values()) {
+            schedule(state, delayNanos);
+            delayNanos += spacingNanos;
+        }
+    }
+
+    /**
+     * 모니터링 중인 호스트 수를 반환합니다.
+     */
+    public int getHostCount() {
+        return hosts.size();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scanExecutor.shutdownNow();
+        }
+    }
+
+    private void schedule(HostState state, long delayNanos) {
+        if (!running) {
+            return;
+        }
+        try {
+            // 이름 해석 등 블로킹 작업은 checkTlsSupportAsync가 스캔 실행기에서 수행하므로 예약 스레드에서 바로 시작
+            scheduler.schedule(() -> scan(state), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void scan(HostState state) {
+        CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> scan;
+        try {
+            scan = tlsCheckerService.checkTlsSupportAsync(state.target, true, scanExecutor);
+        } catch (RuntimeException e) {
+            // 캐시를 사용하지 않으면 제출 실패가 바로 던져지므로 같은 방식으로 처리
+            scan = new CompletableFuture<>();
+            scan.completeExceptionally(e);
+        }
+        scan.whenComplete((results, error) -> {
+            try {
+                if (error == null) {
+                    List<ChangeEvent> events;
+                    synchronized (state) {
+                        events = state.update(results, Instant.now(), monitorProperties.getExpiryWarningDays());
+                    }
+                    for (ChangeEvent event : events) {
+                        publish(event);
+                    }
+                } else if (running) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    log.warn("Monitor scan failed for {}: {}", state.domain, cause.toString());
+                }
+            } finally {
+                schedule(state, nextDelayNanos());
+            }
+        });
+    }
+
+    private void publish(ChangeEvent event) {
+        try {
+            listener.onEvent(event);
+        } catch (RuntimeException e) {
+            // 리스너 오류가 예약을 멈추지 않도록 무시
+        }
+    }
+
+    /**
+     * 재스캔 주기에 ±지터를 적용한 다음 스캔까지의 시간을 반환합니다.
+     */
+    private long nextDelayNanos() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(monitorProperties.getIntervalSeconds());
+        double jitter = Math.max(0.0, Math.min(1.0, monitorProperties.getJitter()));
+        double factor = 1.0 + jitter * (2.0 * ThreadLocalRandom.current().nextDouble() - 1.0);
+        return (long) (intervalNanos * factor);
+    }
+
+    /**
+     * 호스트별 마지막 상태
+     */
+    private static class HostState {
+        private final String domain;
+        private final ScanTarget target;
+        // 버전별 지원 여부 (네트워크 오류로 판단하지 못한 버전은 이전 값 유지)
+        private final Map<String, Boolean> versions = new LinkedHashMap<>();
+        private Boolean reachable;
+        private String certificateId;
+        private Date certificateValidTo;
+        private boolean expiryWarned;
+
+        HostState(String domain) {
+            this.domain = domain;
+            this.target = ScanTarget.parse(domain);
+        }
+
+        /**
+         * 새 스캔 결과를 반영하고 이전 상태와 달라진 점을 이벤트로 반환합니다.
+         * 첫 스캔에서는 기준 상태만 기록하며, 만료 임박과 연결 불가만 알립니다.
+         */
+        List<ChangeEvent> update(Map<String, TlsCheckerService.TlsInfo> results, Instant now, int expiryWarningDays) {
+            List<ChangeEvent> events = new ArrayList<>();
+            boolean firstScan = reachable == null;
+
+            boolean responded = false;
+            TlsCheckerService.TlsInfo best = null;
+            for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+                if (tlsInfo.isSupported() || !isNetworkFailure(tlsInfo)) {
+                    responded = true;
+                }
+                if (tlsInfo.isSupported()) {
+                    best = tlsInfo;
+                }
+            }
+
+            if (!responded) {
+                if (!Boolean.FALSE.equals(reachable)) {
+                    events.add(new ChangeEvent(now, domain, ChangeEvent.Type.UNREACHABLE, describeFailure(results)));
+                }
+                reachable = false;
+                return events;
+            }
+            if (Boolean.FALSE.equals(reachable)) {
+                events.add(new ChangeEvent(now, domain, ChangeEvent.Type.REACHABLE, "Host is reachable again"));
+            }
+            reachable = true;
+
+            // 버전별 지원 여부 변경
+            for (Map.Entry<String, TlsCheckerService.TlsInfo> entry : results.entrySet()) {
+                TlsCheckerService.TlsInfo tlsInfo = entry.getValue();
+                // 네트워크 문제로 실패한 버전은 서버의 TLS 설정과 무관하므로 판단하지 않음
+                if (!tlsInfo.isSupported() && isNetworkFailure(tlsInfo)) {
+                    continue;
+                }
+                Boolean previous = versions.put(entry.getKey(), tlsInfo.isSupported());
+                if (previous != null && previous != tlsInfo.isSupported()) {
+                    events.add(tlsInfo.isSupported()
+                        ? new ChangeEvent(now, domain, ChangeEvent.Type.PROTOCOL_ENABLED, entry.getKey() + " is now supported")
+                        : new ChangeEvent(now, domain, ChangeEvent.Type.PROTOCOL_DISABLED, entry.getKey() + " is no longer supported"));
+                }
+            }
+
+            // 인증서 변경 (지원되는 가장 높은 버전의 인증서 기준)
+            TlsCheckerService.CertificateInfo certInfo = best != null ? best.getCertificateInfo() : null;
+            if (certInfo != null && certInfo.getErrorMessage() == null) {
+                String id = certificateId(certInfo);
+                if (!id.equals(certificateId)) {
+                    if (certificateId != null && !firstScan) {
+                        events.add(new ChangeEvent(now, domain, ChangeEvent.Type.CERTIFICATE_CHANGED,
+                            "Issuer " + certInfo.getIssuer() + ", valid until " + certInfo.getValidTo().toInstant()));
+                    }
+                    certificateId = id;
+                    certificateValidTo = certInfo.getValidTo();
+                    expiryWarned = false;
+                }
+            }
+
+            // 인증서 만료 임박 (인증서마다 한 번만 알림)
+            if (certificateValidTo != null && !expiryWarned) {
+                long daysLeft = TimeUnit.MILLISECONDS.toDays(certificateValidTo.getTime() - now.toEpochMilli());
+                if (certificateValidTo.getTime() - now.toEpochMilli() <= TimeUnit.DAYS.toMillis(expiryWarningDays)) {
+                    String detail = certificateValidTo.getTime() < now.toEpochMilli()
+                        ? "Certificate expired on " + certificateValidTo.toInstant()
+                        : "Certificate expires in " + daysLeft + " days (" + certificateValidTo.toInstant() + ")";
+                    events.add(new ChangeEvent(now, domain, ChangeEvent.Type.CERTIFICATE_EXPIRING, detail));
+                    expiryWarned = true;
+                }
+            }
+            return events;
+        }
+
+        private static boolean isNetworkFailure(TlsCheckerService.TlsInfo tlsInfo) {
+            return tlsInfo.getFailureType() != null && tlsInfo.getFailureType().isNetworkFailure();
+        }
+
+        private static String certificateId(TlsCheckerService.CertificateInfo certInfo) {
+            return certInfo.getSubject() + "|" + certInfo.getIssuer() + "|"
+                + (certInfo.getValidFrom() != null ? certInfo.getValidFrom().getTime() : 0) + "|"
+                + (certInfo.getValidTo() != null ? certInfo.getValidTo().getTime() : 0);
+        }
+
+        private static String describeFailure(Map<String, TlsCheckerService.TlsInfo> results) {
+            for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+                if (tlsInfo.getErrorMessage() != null) {
+                    return tlsInfo.getErrorMessage();
+                }
+            }
+            return "Host is unreachable";
+        }
+    }
+
+    /**
+     * 변경 이벤트 리스너
+     */
+    public interface EventListener {
+        /**
+         * 호스트의 상태가 바뀌었을 때 호출됩니다.
+         */
+        void onEvent(ChangeEvent event);
+    }
+
+    /**
+     * 호스트 상태 변경 이벤트
+     */
+    public static class ChangeEvent {
+
+        /**
+         * 이벤트 종류
+         */
+        public enum Type {
+            /** 지원하지 않던 TLS 버전을 지원함 */
+            PROTOCOL_ENABLED,
+            /** 지원하던 TLS 버전을 더 이상 지원하지 않음 */
+            PROTOCOL_DISABLED,
+            /** 인증서가 바뀜 */
+            CERTIFICATE_CHANGED,
+            /** 인증서 만료가 가까워졌거나 만료됨 */
+            CERTIFICATE_EXPIRING,
+            /** 네트워크 오류로 스캔할 수 없음 */
+            UNREACHABLE,
+            /** 다시 스캔할 수 있음 */
+            REACHABLE
+        }
+
+        private final Instant time;
+        private final String domain;
+        private final Type type;
+        private final String detail;
+
+        public ChangeEvent(Instant time, String domain, Type type, String detail) {
+            this.time = time;
+            this.domain = domain;
+            this.type = type;
+            this.detail = detail;
+        }
+
+        // Getters
+        public Instant getTime() { return time; }
+        public String getDomain() { return domain; }
+        public Type getType() { return type; }
+        public String getDetail() { return detail; }
+    }
+}
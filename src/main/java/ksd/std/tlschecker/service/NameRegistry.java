@@ -0,0 +1,234 @@
+package ksd.std.tlschecker.service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스캔 결과에 반복해서 나타나는 이름을 작은 정수 ID와 공유 인스턴스로 바꾸는 전역 등록부
+ *
+ * 암호화 스위트와 프로토콜 이름은 처음 등록된 순서대로 ID를 받으며, 코드 표에 있는 스위트와
+ * 알려진 프로토콜은 미리 등록되어 있어 실행마다 같은 ID를 가집니다.
+ * 같은 순서의 스위트 목록, 같은 프로토콜 조합, 발급자 같은 문자열은 하나의 인스턴스를 공유합니다.
+ * 등록부는 커지기만 하므로 고유 값이 많을 수 있는 목록과 문자열은 상한까지만 공유합니다.
+ */
+final class NameRegistry {
+
+    /** 프로토콜 집합을 long 비트마스크로 표현하므로 최대 64개 */
+    private static final int MAX_PROTOCOLS = 64;
+    private static final int MAX_SUITE_LISTS = 65536;
+    private static final int MAX_STRINGS = 100000;
+    private static final String[] KNOWN_PROTOCOLS = {"TLSv1.3", "TLSv1.2", "TLSv1.1", "TLSv1", "SSLv3", "SSLv2Hello"};
+
+    private static final Map<String, Integer> SUITE_IDS = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> PROTOCOL_IDS = new ConcurrentHashMap<>();
+    private static final Map<SuiteList, SuiteList> SUITE_LISTS = new ConcurrentHashMap<>();
+    private static final Map<Long, List<String>> PROTOCOL_LISTS = new ConcurrentHashMap<>();
+    private static final Map<String, String> STRINGS = new ConcurrentHashMap<>();
+    // 쓰기는 클래스 잠금 안에서 배열을 교체하여 읽기는 잠금 없이 수행
+    private static volatile String[] suiteNames = new String[0];
+    private static volatile String[] protocolNames = new String[0];
+
+    static final SuiteList EMPTY_SUITES = new SuiteList(new int[0]);
+
+    static {
+        for (String protocol : KNOWN_PROTOCOLS) {
+            protocolId(protocol);
+        }
+        for (String name : CipherSuites.names()) {
+            suiteId(name);
+        }
+    }
+
+    private NameRegistry() {
+    }
+
+    /**
+     * 암호화 스위트 이름의 ID를 반환합니다. 처음 보는 이름이면 새 ID를 부여합니다.
+     */
+    static int suiteId(String name) {
+        Integer id = SUITE_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NameRegistry.class) {
+            id = SUITE_IDS.get(name);
+            if (id == null) {
+                String[] names = Arrays.copyOf(suiteNames, suiteNames.length + 1);
+                id = suiteNames.length;
+                names[id] = name;
+                suiteNames = names;
+                SUITE_IDS.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    static String suiteName(int id) {
+        return suiteNames[id];
+    }
+
+    /**
+     * 프로토콜 이름의 ID를 반환합니다. 처음 보는 이름이면 새 ID를 부여합니다.
+     *
+     * @throws IllegalStateException 서로 다른 프로토콜 이름이 64개를 넘은 경우
+     */
+    static int protocolId(String name) {
+        Integer id = PROTOCOL_IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (NameRegistry.class) {
+            id = PROTOCOL_IDS.get(name);
+            if (id == null) {
+                if (protocolNames.length >= MAX_PROTOCOLS) {
+                    throw new IllegalStateException("Too many protocol names: " + name);
+                }
+                String[] names = Arrays.copyOf(protocolNames, protocolNames.length + 1);
+                id = protocolNames.length;
+                names[id] = name;
+                protocolNames = names;
+                PROTOCOL_IDS.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * 프로토콜 이름 목록을 비트마스크로 바꿉니다. 순서는 보존되지 않으며 {@link #protocols}는 ID 순서로 돌려줍니다.
+     */
+    static long protocolMask(List<String> protocols) {
+        long mask = 0;
+        if (protocols != null) {
+            for (String protocol : protocols) {
+                mask |= 1L << protocolId(protocol);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 비트마스크의 프로토콜 이름 목록을 반환합니다. 같은 마스크는 같은 목록 인스턴스를 공유합니다.
+     */
+    static List<String> protocols(long mask) {
+        if (mask == 0) {
+            return Collections.emptyList();
+        }
+        List<String> protocols = PROTOCOL_LISTS.get(mask);
+        if (protocols == null) {
+            List<String> names = new ArrayList<>(Long.bitCount(mask));
+            for (long bits = mask; bits != 0; bits &= bits - 1) {
+                names.add(protocolNames[Long.numberOfTrailingZeros(bits)]);
+            }
+            protocols = Collections.unmodifiableList(names);
+            List<String> existing = PROTOCOL_LISTS.putIfAbsent(mask, protocols);
+            if (existing != null) {
+                protocols = existing;
+            }
+        }
+        return protocols;
+    }
+
+    /**
+     * 암호화 스위트 목록의 공유 인스턴스를 반환합니다.
+     */
+    static SuiteList suites(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EMPTY_SUITES;
+        }
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = suiteId(names.get(i));
+        }
+        SuiteList suites = new SuiteList(ids);
+        SuiteList existing = SUITE_LISTS.get(suites);
+        if (existing != null) {
+            return existing;
+        }
+        if (SUITE_LISTS.size() >= MAX_SUITE_LISTS) {
+            return suites;
+        }
+        existing = SUITE_LISTS.putIfAbsent(suites, suites);
+        return existing != null ? existing : suites;
+    }
+
+    /**
+     * 문자열의 공유 인스턴스를 반환합니다. 상한을 넘으면 주어진 문자열을 그대로 반환합니다.
+     */
+    static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = STRINGS.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (STRINGS.size() >= MAX_STRINGS) {
+            return value;
+        }
+        existing = STRINGS.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * 순서가 있는 암호화 스위트 목록
+     *
+     * 서버 선호 순서를 보존하기 위해 ID 순서를 보관하고, 포함 여부 확인을 위해 ID 비트셋을 함께 보관합니다.
+     */
+    static final class SuiteList {
+        private final int[] ids;
+        private final long[] bits;
+        private final int hash;
+        private volatile List<String> names;
+
+        SuiteList(int[] ids) {
+            this.ids = ids;
+            int max = -1;
+            for (int id : ids) {
+                max = Math.max(max, id);
+            }
+            this.bits = new long[(max >> 6) + 1];
+            for (int id : ids) {
+                bits[id >> 6] |= 1L << id;
+            }
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        /**
+         * 스위트가 목록에 있는지 확인합니다.
+         */
+        boolean contains(String name) {
+            Integer id = SUITE_IDS.get(name);
+            return id != null && (id >> 6) < bits.length && (bits[id >> 6] & (1L << id)) != 0;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * 스위트 이름 목록을 반환합니다. 처음 호출할 때 한 번 만들어 공유합니다.
+         */
+        List<String> names() {
+            List<String> result = names;
+            if (result == null) {
+                String[] array = new String[ids.length];
+                for (int i = 0; i < ids.length; i++) {
+                    array[i] = suiteName(ids[i]);
+                }
+                result = Collections.unmodifiableList(Arrays.asList(array));
+                names = result;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SuiteList && Arrays.equals(ids, ((SuiteList) o).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSLEngine과 NIO Selector를 사용하는 논블로킹 TLS 핸드셰이크 엔진
+ *
+ * 소수의 Selector 스레드가 모든 연결을 처리하므로 핸드셰이크마다 스레드를 점유하지 않습니다.
+ * 결과는 소켓 방식과 동일한 {@link TlsCheckerService.TlsInfo} 형태로 반환되며, 결과를 기다리는 후속 작업
+ * (허가 반납, 캐시 저장, 이력 기록, 결과 출력)이 Selector 스레드를 막지 않도록 별도의 콜백 스레드에서 완료합니다.
+ */
+@Component
+public class NioHandshakeEngine implements DisposableBean {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+    private static final long SELECT_INTERVAL_MILLIS = 50;
+    private static final String STOPPED_MESSAGE = "Handshake engine stopped";
+
+    private final TlsCheckerProperties.Nio nioProperties;
+    private final CertificateCache certificateCache;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private volatile SelectorLoop[] loops;
+    private volatile ExecutorService callbacks;
+
+    public NioHandshakeEngine(TlsCheckerProperties properties, CertificateCache certificateCache) {
+        this.nioProperties = properties.getNio();
+        this.certificateCache = certificateCache;
+    }
+
+    /**
+     * 비동기 핸드셰이크를 시작합니다.
+     * 이미 해석된 주소로 연결하므로 Selector 스레드가 이름 해석으로 블로킹되지 않습니다.
+     *
+     * @param probeContext 사용할 프로브 컨텍스트 (TLS 버전 포함)
+     * @param host 호스트 (SNI에 사용)
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param timeouts 연결, 핸드셰이크 및 전체 제한 시간
+     * @return TLS 정보 (핸드셰이크 실패 시에도 정상 완료되며 supported=false)
+     */
+    public CompletableFuture<TlsCheckerService.TlsInfo> probe(SslContextRegistry.ProbeContext probeContext,
+                                                              String host, InetAddress address, int port,
+                                                              ProbeTimeouts timeouts) {
+        CompletableFuture<TlsCheckerService.TlsInfo> future = new CompletableFuture<>();
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(probeContext.getTlsVersion());
+
+        try {
+            SSLEngine engine = probeContext.createEngine(host, port);
+
+            SelectorLoop loop = nextLoop();
+            loop.register(new Handshake(engine, new InetSocketAddress(address, port), tlsInfo, future, timeouts,
+                certificateCache, callbacks));
+        } catch (Exception e) {
+            tlsInfo.setSupported(false);
+            tlsInfo.setFailureType(FailureType.classify(e));
+            tlsInfo.setErrorMessage(e.getMessage());
+            future.complete(tlsInfo);
+        }
+
+        return future;
+    }
+
+    /**
+     * TLS 없이 TCP 연결만 확인합니다.
+     * 연결에 성공하면 supported=true, 실패하면 분류된 실패 유형과 함께 supported=false로 완료됩니다.
+     *
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param timeouts 연결 제한 시간
+     * @return 연결 결과
+     */
+    public CompletableFuture<TlsCheckerService.TlsInfo> checkReachable(InetAddress address, int port, ProbeTimeouts timeouts) {
+        CompletableFuture<TlsCheckerService.TlsInfo> future = new CompletableFuture<>();
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo("TCP");
+
+        try {
+            SelectorLoop loop = nextLoop();
+            loop.register(new Handshake(null, new InetSocketAddress(address, port), tlsInfo, future, timeouts,
+                certificateCache, callbacks));
+        } catch (Exception e) {
+            tlsInfo.setSupported(false);
+            tlsInfo.setFailureType(FailureType.classify(e));
+            tlsInfo.setErrorMessage(e.getMessage());
+            future.complete(tlsInfo);
+        }
+
+        return future;
+    }
+
+    /**
+     * 다음 Selector 루프를 선택합니다. 최초 사용 시 루프 스레드와 콜백 스레드를 시작합니다.
+     */
+    private SelectorLoop nextLoop() throws IOException {
+        SelectorLoop[] current = loops;
+        if (current == null) {
+            synchronized (this) {
+                current = loops;
+                if (current == null) {
+                    callbacks = Executors.newFixedThreadPool(Math.max(1, nioProperties.getCallbackThreads()),
+                        new NamedThreadFactory("tls-callback"));
+                    current = startLoops(Math.max(1, nioProperties.getSelectorThreads()));
+                    loops = current;
+                }
+            }
+        }
+        return current[Math.abs(nextLoop.getAndIncrement() % current.length)];
+    }
+
+    private SelectorLoop[] startLoops(int count) throws IOException {
+        NamedThreadFactory threadFactory = new NamedThreadFactory("tls-selector");
+        SelectorLoop[] started = new SelectorLoop[count];
+        for (int i = 0; i < count; i++) {
+            started[i] = new SelectorLoop(Selector.open());
+            threadFactory.newThread(started[i]).start();
+        }
+        return started;
+    }
+
+    @Override
+    public void destroy() {
+        SelectorLoop[] current = loops;
+        if (current != null) {
+            for (SelectorLoop loop : current) {
+                loop.close();
+            }
+            // 이미 넘겨받은 결과는 전달하고 종료
+            callbacks.shutdown();
+        }
+    }
+
+    /**
+     * 하나의 Selector와 그에 등록된 핸드셰이크들을 처리하는 루프
+     */
+    private static class SelectorLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Handshake> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        SelectorLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * 핸드셰이크를 등록합니다. 루프가 종료되었으면 바로 실패로 완료합니다.
+         */
+        void register(Handshake handshake) {
+            if (!running) {
+                handshake.fail(FailureType.OTHER, STOPPED_MESSAGE);
+                return;
+            }
+            pending.add(handshake);
+            if (!running) {
+                // 추가하는 동안 종료된 경우 루프가 이미 대기열을 비웠을 수 있으므로 직접 비움
+                failPending();
+                return;
+            }
+            selector.wakeup();
+        }
+
+        void close() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select(SELECT_INTERVAL_MILLIS);
+                    registerPending();
+                    processSelectedKeys();
+                    expireTimedOut();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                // Selector 오류 시 루프 종료
+            } finally {
+                running = false;
+                for (SelectionKey key : selector.keys()) {
+                    ((Handshake) key.attachment()).fail(FailureType.OTHER, STOPPED_MESSAGE);
+                }
+                failPending();
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                    // 종료 중 오류 무시
+                }
+            }
+        }
+
+        /**
+         * 아직 Selector에 등록하지 않은 핸드셰이크를 모두 실패로 완료합니다.
+         */
+        private void failPending() {
+            Handshake handshake;
+            while ((handshake = pending.poll()) != null) {
+                handshake.fail(FailureType.OTHER, STOPPED_MESSAGE);
+            }
+        }
+
+        private void registerPending() {
+            Handshake handshake;
+            while ((handshake = pending.poll()) != null) {
+                handshake.start(selector);
+            }
+        }
+
+        private void processSelectedKeys() {
+            Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                if (key.isValid()) {
+                    ((Handshake) key.attachment()).onReady(key);
+                }
+            }
+        }
+
+        private void expireTimedOut() {
+            long now = System.nanoTime();
+            for (SelectionKey key : selector.keys()) {
+                ((Handshake) key.attachment()).expireIfDue(now);
+            }
+        }
+    }
+
+    /**
+     * 연결 하나의 핸드셰이크 상태 (engine이 null이면 TCP 연결만 확인)
+     */
+    private static class Handshake {
+        private final SSLEngine engine;
+        private final InetSocketAddress address;
+        private final TlsCheckerService.TlsInfo tlsInfo;
+        private final CompletableFuture<TlsCheckerService.TlsInfo> future;
+        private final CertificateCache certificateCache;
+        private final Executor callbacks;
+        private final long handshakeTimeoutNanos;
+        private final long totalDeadline;
+        // 연결 중에는 연결 제한 시간, 연결 후에는 핸드셰이크 제한 시간
+        private long phaseDeadline;
+        private boolean connected;
+        /** 결과를 콜백 실행기에 넘겼으면 true (이후의 실패 처리는 무시) */
+        private boolean completed;
+        private long connectStart;
+        private long handshakeStart;
+
+        private SocketChannel channel;
+        private SelectionKey key;
+        private ByteBuffer netIn;
+        private ByteBuffer netOut;
+        private ByteBuffer appIn;
+
+        Handshake(SSLEngine engine, InetSocketAddress address, TlsCheckerService.TlsInfo tlsInfo,
+                  CompletableFuture<TlsCheckerService.TlsInfo> future, ProbeTimeouts timeouts,
+                  CertificateCache certificateCache, Executor callbacks) {
+            long now = System.nanoTime();
+            this.engine = engine;
+            this.address = address;
+            this.tlsInfo = tlsInfo;
+            this.future = future;
+            this.certificateCache = certificateCache;
+            this.callbacks = callbacks;
+            this.handshakeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeouts.getHandshakeMillis());
+            this.totalDeadline = now + TimeUnit.MILLISECONDS.toNanos(timeouts.getTotalMillis());
+            this.phaseDeadline = now + TimeUnit.MILLISECONDS.toNanos(timeouts.getConnectMillis());
+        }
+
+        /**
+         * 현재 단계 또는 전체 제한 시간이 지났으면 실패로 완료합니다.
+         */
+        void expireIfDue(long now) {
+            if (now - totalDeadline > 0) {
+                fail(FailureType.TIMEOUT, "Probe deadline exceeded");
+            } else if (now - phaseDeadline > 0) {
+                fail(FailureType.TIMEOUT, connected ? "Handshake timed out" : "Connect timed out");
+            }
+        }
+
+        /**
+         * 논블로킹 연결을 시작하고 Selector에 등록합니다.
+         */
+        void start(Selector selector) {
+            try {
+                if (engine != null) {
+                    int packetSize = engine.getSession().getPacketBufferSize();
+                    netIn = ByteBuffer.allocate(packetSize);
+                    netOut = ByteBuffer.allocate(packetSize);
+                    netOut.flip();
+                    appIn = ByteBuffer.allocate(engine.getSession().getApplicationBufferSize());
+                }
+
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                connectStart = System.nanoTime();
+                if (channel.connect(address)) {
+                    key = channel.register(selector, 0, this);
+                    beginHandshake();
+                } else {
+                    key = channel.register(selector, SelectionKey.OP_CONNECT, this);
+                }
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        void onReady(SelectionKey readyKey) {
+            try {
+                if (readyKey.isConnectable()) {
+                    channel.finishConnect();
+                    beginHandshake();
+                } else {
+                    advance();
+                }
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private void beginHandshake() throws IOException {
+            connected = true;
+            handshakeStart = System.nanoTime();
+            tlsInfo.getTimings().setConnectNanos(handshakeStart - connectStart);
+            if (engine == null) {
+                closeQuietly();
+                tlsInfo.setSupported(true);
+                complete();
+                return;
+            }
+            phaseDeadline = handshakeStart + handshakeTimeoutNanos;
+            engine.beginHandshake();
+            advance();
+        }
+
+        /**
+         * 더 이상 진행할 수 없을 때까지 핸드셰이크를 진행하고 필요한 I/O 관심사를 등록합니다.
+         */
+        private void advance() throws IOException {
+            while (true) {
+                // 보내지 못한 데이터가 남아 있으면 먼저 전송
+                if (netOut.hasRemaining()) {
+                    channel.write(netOut);
+                    if (netOut.hasRemaining()) {
+                        key.interestOps(SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+
+                SSLEngineResult.HandshakeStatus status = engine.getHandshakeStatus();
+                switch (status) {
+                    case NEED_WRAP:
+                        netOut.clear();
+                        SSLEngineResult wrapResult = engine.wrap(EMPTY, netOut);
+                        netOut.flip();
+                        if (wrapResult.getStatus() == SSLEngineResult.Status.CLOSED && !netOut.hasRemaining()) {
+                            throw new SSLException("Connection closed during handshake");
+                        }
+                        if (isFinished(wrapResult)) {
+                            flushAndComplete();
+                            return;
+                        }
+                        break;
+                    case NEED_TASK:
+                        // 인증서 검증, 키 교환 등 위임 작업은 Selector 스레드에서 직접 실행
+                        Runnable task;
+                        while ((task = engine.getDelegatedTask()) != null) {
+                            task.run();
+                        }
+                        break;
+                    case FINISHED:
+                    case NOT_HANDSHAKING:
+                        flushAndComplete();
+                        return;
+                    default:
+                        if (!unwrap()) {
+                            key.interestOps(SelectionKey.OP_READ);
+                            return;
+                        }
+                        if (engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING) {
+                            flushAndComplete();
+                            return;
+                        }
+                        break;
+                }
+            }
+        }
+
+        /**
+         * 수신 버퍼의 데이터를 처리합니다.
+         *
+         * @return 진행했으면 true, 더 읽을 데이터가 필요하면 false
+         */
+        private boolean unwrap() throws IOException {
+            while (true) {
+                netIn.flip();
+                SSLEngineResult result = engine.unwrap(netIn, appIn);
+                netIn.compact();
+
+                switch (result.getStatus()) {
+                    case OK:
+                        return true;
+                    case BUFFER_OVERFLOW:
+                        // 핸드셰이크 중 애플리케이션 데이터는 사용하지 않으므로 버리고 다시 시도
+                        appIn = ByteBuffer.allocate(Math.max(appIn.capacity() * 2,
+                            engine.getSession().getApplicationBufferSize()));
+                        break;
+                    case BUFFER_UNDERFLOW:
+                        if (netIn.remaining() == 0) {
+                            ByteBuffer larger = ByteBuffer.allocate(netIn.capacity() * 2);
+                            netIn.flip();
+                            larger.put(netIn);
+                            netIn = larger;
+                        }
+                        int read = channel.read(netIn);
+                        if (read < 0) {
+                            throw new SSLException("Remote host terminated the handshake");
+                        }
+                        if (read == 0) {
+                            return false;
+                        }
+                        break;
+                    case CLOSED:
+                    default:
+                        throw new SSLException("Connection closed during handshake");
+                }
+            }
+        }
+
+        private boolean isFinished(SSLEngineResult result) {
+            return result.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.FINISHED;
+        }
+
+        /**
+         * 남은 핸드셰이크 데이터를 전송하고 결과를 완료합니다.
+         */
+        private void flushAndComplete() throws IOException {
+            if (netOut.hasRemaining()) {
+                channel.write(netOut);
+            }
+
+            long certificateStart = System.nanoTime();
+            tlsInfo.getTimings().setHandshakeNanos(certificateStart - handshakeStart);
+
+            tlsInfo.setSupported(true);
+            tlsInfo.setCipherSuites(Arrays.asList(engine.getEnabledCipherSuites()));
+            tlsInfo.setSupportedProtocols(Arrays.asList(engine.getEnabledProtocols()));
+            tlsInfo.setNegotiatedProtocol(engine.getSession().getProtocol());
+            tlsInfo.setNegotiatedCipherSuite(engine.getSession().getCipherSuite());
+            certificateCache.collect(engine.getSession(), tlsInfo);
+            tlsInfo.getTimings().setCertificateNanos(System.nanoTime() - certificateStart);
+            // 공유 컨텍스트에서 다음 프로브가 세션을 재개하지 않도록 무효화
+            engine.getSession().invalidate();
+
+            closeQuietly();
+            complete();
+        }
+
+        void fail(Exception error) {
+            fail(FailureType.classify(error), error.getMessage());
+        }
+
+        void fail(FailureType failureType, String errorMessage) {
+            closeQuietly();
+            if (!completed) {
+                tlsInfo.setSupported(false);
+                tlsInfo.setFailureType(failureType);
+                tlsInfo.setErrorMessage(errorMessage);
+                complete();
+            }
+        }
+
+        /**
+         * 결과를 콜백 스레드에서 전달합니다.
+         * 미래 객체에 연결된 후속 작업은 완료한 스레드에서 실행되므로 Selector 스레드에서 직접 완료하지 않습니다.
+         */
+        private void complete() {
+            completed = true;
+            try {
+                callbacks.execute(() -> future.complete(tlsInfo));
+            } catch (RejectedExecutionException e) {
+                // 엔진 종료 중에는 현재 스레드에서 전달
+                future.complete(tlsInfo);
+            }
+        }
+
+        private void closeQuietly() {
+            if (key != null) {
+                key.cancel();
+            }
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // 종료 중 오류 무시
+                }
+            }
+        }
+    }
+}
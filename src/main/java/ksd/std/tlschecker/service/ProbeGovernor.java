@@ -0,0 +1,446 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 모든 프로브 연결 앞에서 동시 실행 수와 연결 속도를 제한하는 클래스
+ *
+ * 연결 하나를 열기 전에 허가를 받고, 연결이 끝나면 결과와 함께 반납합니다.
+ * 다음 조건을 모두 만족해야 허가하며, 하나라도 넘으면 조건이 풀릴 때까지 기다립니다.
+ * <ul>
+ *   <li>전체 동시 연결 수</li>
+ *   <li>주소별 동시 연결 수와 토큰 버킷 속도</li>
+ *   <li>서브넷(IPv4 /24, IPv6 /64)별 토큰 버킷 속도 - 같은 로드 밸런서 뒤의 여러 주소를 함께 제한</li>
+ * </ul>
+ * 주소에서 시간 초과나 연결 재설정이 발생하면 그 주소의 동시 연결 수와 속도를 절반으로 낮추고,
+ * 정상 응답이 이어지면 조금씩 되돌립니다 (AIMD).
+ * 제한은 주소 단위이므로 다른 호스트는 계속 최대 속도로 스캔됩니다.
+ */
+@Component
+public class ProbeGovernor implements DisposableBean {
+
+    /** 허가를 기다리는 스레드가 조건을 다시 확인하는 최대 간격 */
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    /** 이 시간 동안 사용되지 않은 주소와 서브넷 상태는 제거 */
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final double MIN_FACTOR = 1.0 / 16;
+    private static final double RECOVERY_STEP = 0.05;
+
+    private static final Permit NO_PERMIT = new Permit(null, null, 0);
+    private static final CompletableFuture<Permit> NO_PERMIT_FUTURE = CompletableFuture.completedFuture(NO_PERMIT);
+
+    private final TlsCheckerProperties.Governor properties;
+    private final ProbeMetrics probeMetrics;
+    private final Map<InetAddress, HostState> hosts = new HashMap<>();
+    private final Map<Object, TokenBucket> subnets = new HashMap<>();
+    private final List<Waiter> pending = new ArrayList<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    /** 토큰 버킷과 유휴 상태 판단에 사용하는 시계 (나노초) */
+    private final LongSupplier clock;
+    private int inFlight;
+    private int waiting;
+    private int backedOffHosts;
+    private long drainAt = Long.MAX_VALUE;
+    /** 마지막으로 허가하지 않은 이유 (잠금 안에서만 사용) */
+    private String rejectReason;
+
+    @Autowired
+    public ProbeGovernor(TlsCheckerProperties properties, ProbeMetrics probeMetrics) {
+        this(properties, probeMetrics, System::nanoTime);
+    }
+
+    /**
+     * 시계를 지정하여 생성합니다. (테스트에서 시간을 직접 진행할 때 사용)
+     */
+    ProbeGovernor(TlsCheckerProperties properties, ProbeMetrics probeMetrics, LongSupplier clock) {
+        this.properties = properties.getGovernor();
+        this.probeMetrics = probeMetrics;
+        this.clock = clock;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("tls-governor"));
+        if (this.properties.isEnabled()) {
+            scheduler.scheduleWithFixedDelay(this::sweep, IDLE_NANOS, IDLE_NANOS, TimeUnit.NANOSECONDS);
+            probeMetrics.monitorGovernor(this);
+        }
+    }
+
+    /**
+     * 주소에 연결할 수 있을 때까지 기다린 뒤 허가를 반환합니다.
+     *
+     * @param address 연결할 주소
+     * @return 연결이 끝나면 반납할 허가
+     * @throws InterruptedException 기다리는 동안 인터럽트된 경우
+     */
+    public Permit acquire(InetAddress address) throws InterruptedException {
+        if (!properties.isEnabled()) {
+            return NO_PERMIT;
+        }
+        synchronized (this) {
+            long waitNanos = tryAcquire(address, clock.getAsLong());
+            if (waitNanos == 0) {
+                return newPermit(address);
+            }
+            probeMetrics.governorThrottled(rejectReason);
+            waiting++;
+            try {
+                while (waitNanos > 0) {
+                    // 반납 시 깨어나며, 토큰이 채워질 시각이 지나도 다시 확인
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.min(waitNanos, MAX_WAIT_NANOS));
+                    waitNanos = tryAcquire(address, clock.getAsLong());
+                }
+            } finally {
+                waiting--;
+            }
+            return newPermit(address);
+        }
+    }
+
+    /**
+     * 주소에 연결할 수 있게 되면 완료되는 허가를 반환합니다. 호출 스레드를 점유하지 않습니다.
+     * 허가를 기다리는 동안에는 tls-governor 스레드가 조건을 확인하며, 이 스레드에서 완료될 수 있습니다.
+     *
+     * @param address 연결할 주소
+     * @return 허가
+     */
+    public CompletableFuture<Permit> acquireAsync(InetAddress address) {
+        if (!properties.isEnabled()) {
+            return NO_PERMIT_FUTURE;
+        }
+        CompletableFuture<Permit> future = new CompletableFuture<>();
+        synchronized (this) {
+            long waitNanos = tryAcquire(address, clock.getAsLong());
+            if (waitNanos == 0) {
+                return CompletableFuture.completedFuture(newPermit(address));
+            }
+            probeMetrics.governorThrottled(rejectReason);
+            pending.add(new Waiter(address, future));
+            waiting++;
+            scheduleDrain(waitNanos);
+        }
+        return future;
+    }
+
+    /**
+     * 모든 조건을 확인하고 허가할 수 있으면 상태에 반영합니다.
+     *
+     * @return 허가했으면 0, 아니면 다시 확인할 때까지의 시간 (나노초, 반납을 기다려야 하면 Long.MAX_VALUE)
+     */
+    private long tryAcquire(InetAddress address, long now) {
+        if (inFlight >= properties.getMaxInFlight()) {
+            rejectReason = "global";
+            return Long.MAX_VALUE;
+        }
+        HostState host = hosts.get(address);
+        if (host == null) {
+            host = new HostState(properties.getHostBurst(), now);
+            hosts.put(address, host);
+        }
+        host.lastUsed = now;
+        if (host.inFlight >= host.concurrencyLimit(properties.getHostMaxConcurrency())) {
+            rejectReason = "concurrency";
+            return Long.MAX_VALUE;
+        }
+        double hostRate = properties.getHostRate() * host.factor;
+        long hostWait = host.bucket.refill(now, hostRate, properties.getHostBurst());
+        if (hostWait > 0) {
+            rejectReason = "host";
+            return hostWait;
+        }
+        Object subnetKey = subnetKey(address);
+        TokenBucket subnet = subnets.get(subnetKey);
+        if (subnet == null) {
+            subnet = new TokenBucket(properties.getSubnetBurst(), now);
+            subnets.put(subnetKey, subnet);
+        }
+        long subnetWait = subnet.refill(now, properties.getSubnetRate(), properties.getSubnetBurst());
+        if (subnetWait > 0) {
+            rejectReason = "subnet";
+            return subnetWait;
+        }
+
+        host.bucket.take(hostRate);
+        subnet.take(properties.getSubnetRate());
+        host.inFlight++;
+        inFlight++;
+        return 0;
+    }
+
+    private Permit newPermit(InetAddress address) {
+        HostState host = hosts.get(address);
+        return new Permit(this, host, host.generation);
+    }
+
+    /**
+     * 허가를 반납하고 결과에 따라 주소의 제한을 조정합니다.
+     */
+    private void release(HostState host, long generation, FailureType failureType) {
+        List<Waiter> admitted;
+        synchronized (this) {
+            host.inFlight--;
+            inFlight--;
+            host.lastUsed = clock.getAsLong();
+            if (properties.isAdaptive()) {
+                adjust(host, generation, failureType);
+            }
+            notifyAll();
+            admitted = admitPending();
+        }
+        complete(admitted);
+    }
+
+    /**
+     * 시간 초과나 연결 재설정이면 배율을 절반으로 낮추고, 그 밖의 결과면 조금씩 되돌립니다.
+     * 마지막으로 낮춘 뒤에 허가된 연결의 실패만 반영하여, 동시에 진행 중이던 연결이 함께 실패해도 한 번만 낮춥니다.
+     */
+    private void adjust(HostState host, long generation, FailureType failureType) {
+        boolean wasBackedOff = host.factor < 1.0;
+        if (failureType == FailureType.TIMEOUT || failureType == FailureType.RESET) {
+            if (generation == host.generation && host.factor > MIN_FACTOR) {
+                host.factor = Math.max(MIN_FACTOR, host.factor / 2);
+                host.generation++;
+                probeMetrics.governorBackedOff();
+            }
+        } else if (wasBackedOff) {
+            host.factor = Math.min(1.0, host.factor + RECOVERY_STEP);
+        }
+        boolean backedOff = host.factor < 1.0;
+        if (backedOff != wasBackedOff) {
+            backedOffHosts += backedOff ? 1 : -1;
+        }
+    }
+
+    /**
+     * 대기 중인 비동기 요청 중 지금 허가할 수 있는 요청을 꺼냅니다.
+     * 남은 요청이 있으면 가장 빨리 허가될 수 있는 시각에 다시 확인하도록 예약합니다.
+     */
+    private List<Waiter> admitPending() {
+        if (pending.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Waiter> admitted = new ArrayList<>();
+        long now = clock.getAsLong();
+        long nextWait = Long.MAX_VALUE;
+        for (Iterator<Waiter> it = pending.iterator(); it.hasNext(); ) {
+            Waiter waiter = it.next();
+            long waitNanos = tryAcquire(waiter.address, now);
+            if (waitNanos == 0) {
+                it.remove();
+                waiting--;
+                waiter.permit = newPermit(waiter.address);
+                admitted.add(waiter);
+            } else {
+                nextWait = Math.min(nextWait, waitNanos);
+            }
+        }
+        if (!pending.isEmpty() && nextWait != Long.MAX_VALUE) {
+            scheduleDrain(nextWait);
+        }
+        return admitted;
+    }
+
+    private void scheduleDrain(long delayNanos) {
+        if (delayNanos == Long.MAX_VALUE) {
+            // 반납 시 확인
+            return;
+        }
+        long at = clock.getAsLong() + delayNanos;
+        if (drainAt == Long.MAX_VALUE || at - drainAt < 0) {
+            drainAt = at;
+            scheduler.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void drain() {
+        List<Waiter> admitted;
+        synchronized (this) {
+            drainAt = Long.MAX_VALUE;
+            admitted = admitPending();
+        }
+        complete(admitted);
+    }
+
+    /**
+     * 허가된 비동기 요청을 잠금 밖에서 완료합니다. 후속 작업이 이 스레드에서 실행될 수 있기 때문입니다.
+     */
+    private static void complete(List<Waiter> admitted) {
+        for (Waiter waiter : admitted) {
+            if (!waiter.future.complete(waiter.permit)) {
+                // 이미 취소된 요청의 허가는 바로 반납
+                waiter.permit.release((FailureType) null);
+            }
+        }
+    }
+
+    /**
+     * 오래 사용되지 않은 주소와 서브넷 상태를 제거합니다.
+     */
+    private synchronized void sweep() {
+        long now = clock.getAsLong();
+        for (Iterator<HostState> it = hosts.values().iterator(); it.hasNext(); ) {
+            HostState host = it.next();
+            if (host.inFlight == 0 && now - host.lastUsed > IDLE_NANOS) {
+                if (host.factor < 1.0) {
+                    backedOffHosts--;
+                }
+                it.remove();
+            }
+        }
+        // 오래 사용되지 않은 버킷은 가득 찬 상태이므로 제거해도 결과가 같음
+        subnets.values().removeIf(bucket -> now - bucket.updated > IDLE_NANOS);
+    }
+
+    /**
+     * 주소가 속한 서브넷의 키를 만듭니다. IPv4는 Integer, IPv6는 앞 64비트의 Long입니다.
+     */
+    private Object subnetKey(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int bits = ((bytes[0] & 0xFF) << 24) | ((bytes[1] & 0xFF) << 16) | ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF);
+            int prefix = Math.max(0, Math.min(32, properties.getIpv4Prefix()));
+            return prefix == 0 ? 0 : bits & (-1 << (32 - prefix));
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (bytes[i] & 0xFF);
+        }
+        int prefix = Math.max(0, Math.min(64, properties.getIpv6Prefix()));
+        return prefix == 0 ? 0L : bits & (-1L << (64 - prefix));
+    }
+
+    // Getters
+    /** 현재 허가되어 진행 중인 연결 수 */
+    public synchronized int getInFlight() { return inFlight; }
+    /** 허가를 기다리는 연결 수 */
+    public synchronized int getWaiting() { return waiting; }
+    /** 제한이 낮춰진 주소 수 */
+    public synchronized int getBackedOffHosts() { return backedOffHosts; }
+    public int getMaxInFlight() { return properties.getMaxInFlight(); }
+    public boolean isEnabled() { return properties.isEnabled(); }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 연결 하나에 대한 허가
+     *
+     * 여러 번 반납해도 한 번만 반영되므로 제한 시간 초과와 작업 완료가 겹쳐도 안전합니다.
+     */
+    public static class Permit {
+        private final ProbeGovernor governor;
+        private final HostState host;
+        private final long generation;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(ProbeGovernor governor, HostState host, long generation) {
+            this.governor = governor;
+            this.host = host;
+            this.generation = generation;
+        }
+
+        /**
+         * 허가를 반납합니다.
+         *
+         * @param failureType 연결 실패 유형 (성공했거나 알 수 없으면 null)
+         */
+        public void release(FailureType failureType) {
+            if (governor != null && released.compareAndSet(false, true)) {
+                governor.release(host, generation, failureType);
+            }
+        }
+
+        /**
+         * 프로브 결과와 함께 허가를 반납합니다.
+         *
+         * @param tlsInfo 프로브 결과 (없으면 null)
+         */
+        public void release(TlsCheckerService.TlsInfo tlsInfo) {
+            release(tlsInfo != null && !tlsInfo.isSupported() ? tlsInfo.getFailureType() : null);
+        }
+    }
+
+    /**
+     * 주소 하나의 동시 연결 수, 속도, 조정 배율
+     */
+    static class HostState {
+        private final TokenBucket bucket;
+        private int inFlight;
+        /** 동시 연결 수와 속도에 곱하는 배율 (1이면 설정 값 그대로) */
+        private double factor = 1.0;
+        /** 배율을 낮출 때마다 증가 */
+        private long generation;
+        private long lastUsed;
+
+        HostState(int burst, long now) {
+            this.bucket = new TokenBucket(burst, now);
+            this.lastUsed = now;
+        }
+
+        int concurrencyLimit(int maxConcurrency) {
+            return Math.max(1, (int) (maxConcurrency * factor));
+        }
+    }
+
+    /**
+     * 토큰 버킷 (잠금 안에서만 사용)
+     */
+    static class TokenBucket {
+        private double tokens;
+        private long updated;
+
+        TokenBucket(int burst, long now) {
+            this.tokens = burst;
+            this.updated = now;
+        }
+
+        /**
+         * 경과 시간만큼 토큰을 채웁니다.
+         *
+         * @return 토큰이 있으면 0, 없으면 토큰 하나가 채워질 때까지의 시간 (나노초)
+         */
+        long refill(long now, double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0) {
+                return 0;
+            }
+            tokens = Math.min(Math.max(1, burst), tokens + (now - updated) * ratePerSecond / 1e9);
+            updated = now;
+            if (tokens >= 1) {
+                return 0;
+            }
+            return Math.max(1L, (long) Math.ceil((1 - tokens) * 1e9 / ratePerSecond));
+        }
+
+        void take(double ratePerSecond) {
+            if (ratePerSecond > 0) {
+                tokens -= 1;
+            }
+        }
+    }
+
+    /**
+     * 허가를 기다리는 비동기 요청
+     */
+    private static class Waiter {
+        private final InetAddress address;
+        private final CompletableFuture<Permit> future;
+        private Permit permit;
+
+        Waiter(InetAddress address, CompletableFuture<Permit> future) {
+            this.address = address;
+            this.future = future;
+        }
+    }
+}
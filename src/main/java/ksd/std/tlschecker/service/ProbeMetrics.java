@@ -0,0 +1,295 @@
+package ksd.std.tlschecker.service;
+
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 프로브 경로의 Micrometer 측정 값
+ *
+ * <ul>
+ *   <li>{@code tls.probe.handshake} - 버전/결과별 핸드셰이크 소요 시간 (히스토그램)</li>
+ *   <li>{@code tls.probe.phase} - 단계(dns, connect, handshake, certificate)별 소요 시간 (히스토그램)</li>
+ *   <li>{@code tls.probe.failures} - 버전/실패 유형별 실패 수</li>
+ *   <li>{@code tls.host.failures} - DNS 또는 사전 연결 확인 실패로 프로브를 생략한 호스트 수</li>
+ *   <li>{@code tls.probe.skipped} - 프로브 계획기가 이유(negotiated, rejected, disabled, unreachable)별로 생략한 버전 프로브 수</li>
+ *   <li>{@code tls.probe.in.flight}, {@code tls.probe.queue.depth} - 진행 중인 프로브 수와 대기 작업 수</li>
+ *   <li>{@code tls.governor.in.flight}, {@code tls.governor.waiting}, {@code tls.governor.limit} - 허가된 연결 수, 허가를 기다리는 연결 수, 전체 동시 연결 제한</li>
+ *   <li>{@code tls.governor.throttled} - 제한 이유(global, concurrency, host, subnet)별 대기한 연결 수</li>
+ *   <li>{@code tls.governor.backoffs}, {@code tls.governor.backed.off.hosts} - 제한을 낮춘 횟수와 제한이 낮춰진 주소 수</li>
+ * </ul>
+ */
+@Component
+public class ProbeMetrics {
+
+    static final String HANDSHAKE_TIMER = "tls.probe.handshake";
+    static final String PHASE_TIMER = "tls.probe.phase";
+    static final String PROBE_FAILURES = "tls.probe.failures";
+    static final String HOST_FAILURES = "tls.host.failures";
+    static final String PROBES_SKIPPED = "tls.probe.skipped";
+    static final String GOVERNOR_THROTTLED = "tls.governor.throttled";
+    static final String GOVERNOR_BACKOFFS = "tls.governor.backoffs";
+
+    private final MeterRegistry registry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private static final String[] PHASES = {"dns", "connect", "handshake", "certificate"};
+
+    public ProbeMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("tls.probe.in.flight", inFlight, AtomicInteger::get)
+            .description("Probes currently in progress")
+            .register(registry);
+    }
+
+    /**
+     * 작업 큐의 대기 작업 수를 게이지로 등록합니다.
+     *
+     * @param name 실행기 이름 (executor 태그)
+     * @param queue 작업 큐
+     */
+    public void monitorQueue(String name, BlockingQueue<?> queue) {
+        Gauge.builder("tls.probe.queue.depth", queue, BlockingQueue::size)
+            .description("Tasks waiting for a probe thread")
+            .tag("executor", name)
+            .register(registry);
+    }
+
+    /**
+     * 동시 실행 제한기의 상태를 게이지로 등록합니다.
+     *
+     * @param governor 동시 실행 제한기
+     */
+    public void monitorGovernor(ProbeGovernor governor) {
+        Gauge.builder("tls.governor.in.flight", governor, ProbeGovernor::getInFlight)
+            .description("Connections holding a governor permit")
+            .register(registry);
+        Gauge.builder("tls.governor.waiting", governor, ProbeGovernor::getWaiting)
+            .description("Connections waiting for a governor permit")
+            .register(registry);
+        Gauge.builder("tls.governor.limit", governor, ProbeGovernor::getMaxInFlight)
+            .description("Global limit on concurrent connections")
+            .register(registry);
+        Gauge.builder("tls.governor.backed.off.hosts", governor, ProbeGovernor::getBackedOffHosts)
+            .description("Addresses whose limits were lowered after timeouts or resets")
+            .register(registry);
+    }
+
+    /**
+     * 동시 실행 제한기가 연결을 바로 허가하지 않은 경우를 기록합니다.
+     *
+     * @param reason 제한 이유 (global, concurrency, host, subnet)
+     */
+    public void governorThrottled(String reason) {
+        registry.counter(GOVERNOR_THROTTLED, "reason", reason).increment();
+    }
+
+    /**
+     * 동시 실행 제한기가 주소의 제한을 낮춘 경우를 기록합니다.
+     */
+    public void governorBackedOff() {
+        registry.counter(GOVERNOR_BACKOFFS).increment();
+    }
+
+    /**
+     * 프로브 시작을 기록합니다.
+     *
+     * @return 시작 시각 (나노초), {@link #probeFinished}에 전달
+     */
+    public long probeStarted() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * 프로브 결과와 소요 시간을 기록합니다.
+     *
+     * @param tlsInfo 프로브 결과
+     * @param startNanos {@link #probeStarted}가 반환한 시작 시각
+     */
+    public void probeFinished(TlsCheckerService.TlsInfo tlsInfo, long startNanos) {
+        inFlight.decrementAndGet();
+        String outcome = tlsInfo.isSupported() ? "success" : "failure";
+        handshakeTimer(tlsInfo.getVersion(), outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+        recordPhase("connect", timings.getConnectNanos());
+        recordPhase("handshake", timings.getHandshakeNanos());
+        recordPhase("certificate", timings.getCertificateNanos());
+        if (!tlsInfo.isSupported()) {
+            registry.counter(PROBE_FAILURES, "version", tlsInfo.getVersion(), "type", typeTag(tlsInfo.getFailureType()))
+                .increment();
+        }
+    }
+
+    /**
+     * 호스트 하나의 이름 해석 소요 시간을 기록합니다.
+     *
+     * @param nanos 소요 시간 (나노초)
+     */
+    public void dnsResolved(long nanos) {
+        recordPhase("dns", nanos);
+    }
+
+    /**
+     * 버전별 프로브 없이 호스트 전체가 실패한 경우를 기록합니다.
+     *
+     * @param failureType 실패 유형
+     */
+    public void hostFailed(FailureType failureType) {
+        registry.counter(HOST_FAILURES, "type", typeTag(failureType)).increment();
+    }
+
+    /**
+     * 프로브 계획기가 연결하지 않고 결과를 정한 버전 프로브를 기록합니다.
+     *
+     * @param reason 생략 이유 (negotiated, rejected, disabled, unreachable)
+     * @param count 생략한 프로브 수
+     */
+    public void probesSkipped(String reason, int count) {
+        registry.counter(PROBES_SKIPPED, "reason", reason).increment(count);
+    }
+
+    /**
+     * 현재까지 기록된 측정 값을 요약합니다.
+     *
+     * @return 요약
+     */
+    public Summary summarize() {
+        List<TimerStats> timers = new ArrayList<>();
+        for (Timer timer : registry.find(HANDSHAKE_TIMER).timers()) {
+            if (timer.count() > 0) {
+                timers.add(new TimerStats(timer.getId().getTag("version") + " " + timer.getId().getTag("outcome"), timer));
+            }
+        }
+        timers.sort(Comparator.comparing(TimerStats::getLabel));
+
+        List<TimerStats> phases = new ArrayList<>();
+        for (String phase : PHASES) {
+            Timer timer = registry.find(PHASE_TIMER).tag("phase", phase).timer();
+            if (timer != null && timer.count() > 0) {
+                phases.add(new TimerStats(phase, timer));
+            }
+        }
+
+        Map<String, Long> failures = new TreeMap<>();
+        for (Counter counter : registry.find(PROBE_FAILURES).counters()) {
+            failures.merge(counter.getId().getTag("type"), (long) counter.count(), Long::sum);
+        }
+        for (Counter counter : registry.find(HOST_FAILURES).counters()) {
+            failures.merge("host:" + counter.getId().getTag("type"), (long) counter.count(), Long::sum);
+        }
+
+        Map<String, Long> throttled = new TreeMap<>();
+        for (Counter counter : registry.find(GOVERNOR_THROTTLED).counters()) {
+            throttled.merge(counter.getId().getTag("reason"), (long) counter.count(), Long::sum);
+        }
+        Counter backoffs = registry.find(GOVERNOR_BACKOFFS).counter();
+        if (backoffs != null && backoffs.count() > 0) {
+            throttled.put("backoff", (long) backoffs.count());
+        }
+
+        Map<String, Long> skipped = new TreeMap<>();
+        for (Counter counter : registry.find(PROBES_SKIPPED).counters()) {
+            skipped.merge(counter.getId().getTag("reason"), (long) counter.count(), Long::sum);
+        }
+        return new Summary(timers, phases, failures, throttled, skipped);
+    }
+
+    private void recordPhase(String phase, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        Timer.builder(PHASE_TIMER)
+            .description("Probe latency per phase")
+            .tag("phase", phase)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer handshakeTimer(String version, String outcome) {
+        return Timer.builder(HANDSHAKE_TIMER)
+            .description("TLS handshake latency per protocol version")
+            .tags("version", version, "outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static String typeTag(FailureType failureType) {
+        return (failureType != null ? failureType : FailureType.OTHER).name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 측정 값 요약
+     */
+    public static class Summary {
+        private final List<TimerStats> timers;
+        private final List<TimerStats> phases;
+        private final Map<String, Long> failures;
+        private final Map<String, Long> throttled;
+        private final Map<String, Long> skipped;
+
+        Summary(List<TimerStats> timers, List<TimerStats> phases, Map<String, Long> failures, Map<String, Long> throttled,
+                Map<String, Long> skipped) {
+            this.timers = timers;
+            this.phases = phases;
+            this.failures = failures;
+            this.throttled = throttled;
+            this.skipped = skipped;
+        }
+
+        // Getters
+        /** 버전/결과별 핸드셰이크 소요 시간 */
+        public List<TimerStats> getTimers() { return timers; }
+        /** 단계별 소요 시간 (dns, connect, handshake, certificate 순) */
+        public List<TimerStats> getPhases() { return phases; }
+        /** 실패 유형별 횟수 (호스트 단위 실패는 "host:" 접두사) */
+        public Map<String, Long> getFailures() { return failures; }
+        /** 동시 실행 제한 이유별 대기 횟수 (제한을 낮춘 횟수는 "backoff") */
+        public Map<String, Long> getThrottled() { return throttled; }
+        /** 프로브 계획기의 생략 이유별 생략한 프로브 수 */
+        public Map<String, Long> getSkipped() { return skipped; }
+    }
+
+    /**
+     * 타이머 하나의 소요 시간 통계
+     */
+    public static class TimerStats {
+        private final String label;
+        private final long count;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final Map<Double, Double> percentileMillis = new LinkedHashMap<>();
+
+        TimerStats(String label, Timer timer) {
+            this.label = label;
+            this.count = timer.count();
+            this.meanMillis = timer.mean(TimeUnit.MILLISECONDS);
+            this.maxMillis = timer.max(TimeUnit.MILLISECONDS);
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                percentileMillis.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+            }
+        }
+
+        // Getters
+        public String getLabel() { return label; }
+        public long getCount() { return count; }
+        public double getMeanMillis() { return meanMillis; }
+        public double getMaxMillis() { return maxMillis; }
+        /** 백분위수별 소요 시간 (최근 구간 기준) */
+        public Map<Double, Double> getPercentileMillis() { return percentileMillis; }
+    }
+}
@@ -0,0 +1,449 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLException;
+import java.security.GeneralSecurityException;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 앞선 프로브의 응답을 바탕으로 호스트 하나의 버전별 프로브 순서와 생략 여부를 정하는 계획기
+ *
+ * ADAPTIVE 방식은 다음 규칙으로 연결 수를 줄입니다.
+ * <ol>
+ *   <li>모든 버전을 제시하는 탐색 핸드셰이크로 서버의 최고 버전을 확인하여 그 버전의 결과로 사용하고,
+ *       더 높은 버전은 지원하지 않는 것으로 기록 (FULL 방식만)</li>
+ *   <li>탐색 핸드셰이크가 연결 단계에서 실패하면 사전 연결 확인처럼 모든 버전을 같은 실패로 기록</li>
+ *   <li>로컬 JVM에서 비활성화된 버전은 연결하지 않고 프로브와 같은 실패로 기록 (FULL 방식만)</li>
+ *   <li>나머지 버전은 높은 버전부터 확인하며, 지원되는 버전보다 낮은 버전이 protocol_version 또는
+ *       handshake_failure 경고로 거부되면 서버가 연속된 범위의 버전만 지원한다고 보고 더 낮은 버전을 생략</li>
+ * </ol>
+ * VERIFY 방식은 모든 버전을 확인한 결과를 그대로 반환하면서, 같은 응답으로 ADAPTIVE 계획을 재현하여
+ * 생략된 버전의 지원 여부가 달라지는 호스트를 집계합니다.
+ */
+@Component
+public class ProbePlanner {
+
+    /** 모든 버전을 제시하는 탐색 핸드셰이크의 단계 이름 (SSLContext 프로토콜 이름) */
+    public static final String DISCOVERY = "TLS";
+
+    private static final int MAX_MISMATCH_EXAMPLES = 10;
+
+    private final TlsCheckerProperties.Planner mode;
+    private final boolean discovery;
+    private final int preflightConnections;
+    private final TlsCheckerProperties.Probe probeProperties;
+    private final SslContextRegistry sslContextRegistry;
+    private final ProbeMetrics probeMetrics;
+    /** 버전별로 프로브가 보고하는 클라이언트 제시 목록과 로컬 비활성화 결과 (처음 사용할 때 생성) */
+    private volatile Map<String, VersionProfile> versionProfiles;
+
+    private final LongAdder hosts = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder exhaustiveConnections = new LongAdder();
+    private final LongAdder verifiedHosts = new LongAdder();
+    private final LongAdder mismatchedHosts = new LongAdder();
+    private final List<String> mismatchExamples = new ArrayList<>();
+
+    public ProbePlanner(TlsCheckerProperties properties, SslContextRegistry sslContextRegistry, ProbeMetrics probeMetrics) {
+        this.probeProperties = properties.getProbe();
+        this.mode = probeProperties.getPlanner();
+        this.discovery = probeProperties.getMode() == TlsCheckerProperties.Mode.FULL;
+        this.preflightConnections = probeProperties.isPreflight() ? 1 : 0;
+        this.sslContextRegistry = sslContextRegistry;
+        this.probeMetrics = probeMetrics;
+    }
+
+    /**
+     * 적응형 계획으로 프로브하는지 확인합니다.
+     */
+    public boolean isAdaptive() {
+        return mode == TlsCheckerProperties.Planner.ADAPTIVE;
+    }
+
+    /**
+     * 모든 버전을 확인한 결과를 적응형 계획과 비교하는지 확인합니다.
+     */
+    public boolean isVerify() {
+        return mode == TlsCheckerProperties.Planner.VERIFY;
+    }
+
+    /**
+     * 탐색 핸드셰이크를 사용하는지 확인합니다. 사용하면 탐색 핸드셰이크가 사전 연결 확인을 대신합니다.
+     */
+    public boolean usesDiscovery() {
+        return discovery;
+    }
+
+    /**
+     * 호스트 하나의 새 계획을 생성합니다.
+     */
+    public Plan newPlan() {
+        return new Plan(discovery, discovery ? versionProfiles() : Collections.<String, VersionProfile>emptyMap());
+    }
+
+    /**
+     * 탐색 핸드셰이크 결과를 협상된 버전의 결과로 바꿉니다.
+     * 클라이언트 제시 목록은 그 버전만 확인했을 때와 같도록 해당 버전의 목록으로 설정합니다.
+     * 탐색 결과가 아니거나 실패한 경우에는 그대로 반환합니다.
+     *
+     * @param tlsInfo 프로브 결과
+     * @return 협상된 버전의 TLS 정보
+     */
+    public TlsCheckerService.TlsInfo resolveDiscovery(TlsCheckerService.TlsInfo tlsInfo) {
+        if (!DISCOVERY.equals(tlsInfo.getVersion()) || !tlsInfo.isSupported()
+                || indexOf(tlsInfo.getNegotiatedProtocol()) < 0) {
+            return tlsInfo;
+        }
+        String version = tlsInfo.getNegotiatedProtocol();
+        TlsCheckerService.TlsInfo resolved = new TlsCheckerService.TlsInfo(version);
+        resolved.setAddress(tlsInfo.getAddress());
+        resolved.setSupported(true);
+        VersionProfile profile = versionProfiles().get(version);
+        resolved.setCipherSuites(profile != null ? profile.cipherSuites : tlsInfo.getCipherSuites());
+        resolved.setSupportedProtocols(profile != null ? profile.protocols : tlsInfo.getSupportedProtocols());
+        resolved.setNegotiatedProtocol(version);
+        resolved.setNegotiatedCipherSuite(tlsInfo.getNegotiatedCipherSuite());
+        resolved.setCertificateChain(tlsInfo.getCertificateChain());
+        resolved.setCertificateInfo(tlsInfo.getCertificateInfo());
+        resolved.setChainProblems(tlsInfo.getChainProblems());
+        TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+        resolved.getTimings().setDnsNanos(timings.getDnsNanos());
+        resolved.getTimings().setConnectNanos(timings.getConnectNanos());
+        resolved.getTimings().setHandshakeNanos(timings.getHandshakeNanos());
+        resolved.getTimings().setCertificateNanos(timings.getCertificateNanos());
+        return resolved;
+    }
+
+    /**
+     * 실행이 끝난 계획의 생략 수와 연결 수를 기록하고 TLS_VERSIONS 순서의 결과를 반환합니다.
+     *
+     * @param plan 모든 단계를 실행한 계획
+     * @param preflight 계획 전에 사전 연결 확인을 했으면 true
+     * @return 버전별 결과
+     */
+    public Map<String, TlsCheckerService.TlsInfo> finish(Plan plan, boolean preflight) {
+        record(plan, preflight ? 1 : 0);
+        for (Map.Entry<String, Integer> skipped : plan.skipped.entrySet()) {
+            probeMetrics.probesSkipped(skipped.getKey(), skipped.getValue());
+        }
+        if (plan.hostFailure != null) {
+            probeMetrics.hostFailed(plan.hostFailure);
+        }
+        return plan.getResults();
+    }
+
+    /**
+     * 모든 버전을 확인한 결과로 적응형 계획을 재현하여 결과가 같은지 비교합니다.
+     * 연결 단계 실패가 있는 호스트는 일시적인 실패와 구분할 수 없으므로 비교하지 않습니다. ({@link #isComparable})
+     *
+     * @param domain 도메인
+     * @param results 모든 버전을 확인한 결과
+     * @param discoveryResult 탐색 핸드셰이크 결과 (탐색을 사용하지 않으면 null)
+     */
+    public void verify(String domain, Map<String, TlsCheckerService.TlsInfo> results,
+                       TlsCheckerService.TlsInfo discoveryResult) {
+        if (!isComparable(results)) {
+            return;
+        }
+        Plan plan = newPlan();
+        String step;
+        while ((step = plan.next()) != null) {
+            plan.record(step, DISCOVERY.equals(step) ? discoveryResult : results.get(step));
+        }
+        // 탐색 핸드셰이크가 사전 연결 확인을 대신하지 않으면 적응형 계획도 사전 연결 확인을 함
+        record(plan, plan.usesDiscovery() ? 0 : preflightConnections);
+
+        verifiedHosts.increment();
+        Map<String, TlsCheckerService.TlsInfo> planned = plan.getResults();
+        StringBuilder mismatch = null;
+        for (String version : TlsCheckerService.TLS_VERSIONS) {
+            boolean expected = results.get(version).isSupported();
+            if (planned.get(version).isSupported() != expected) {
+                mismatch = mismatch == null ? new StringBuilder(domain).append(':') : mismatch.append(',');
+                mismatch.append(' ').append(version).append(expected ? " supported" : " not supported");
+            }
+        }
+        if (mismatch != null) {
+            mismatchedHosts.increment();
+            synchronized (mismatchExamples) {
+                if (mismatchExamples.size() < MAX_MISMATCH_EXAMPLES) {
+                    mismatchExamples.add(mismatch.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * 적응형 계획과 비교할 수 있는 결과인지 확인합니다. 연결 단계 실패가 있으면 비교하지 않습니다.
+     *
+     * @param results 모든 버전을 확인한 결과
+     * @return 비교할 수 있으면 true
+     */
+    public static boolean isComparable(Map<String, TlsCheckerService.TlsInfo> results) {
+        for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+            if (tlsInfo.getFailureType() != null && tlsInfo.getFailureType().isNetworkFailure()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 계획 통계를 반환합니다.
+     */
+    public Stats getStats() {
+        List<String> examples;
+        synchronized (mismatchExamples) {
+            examples = new ArrayList<>(mismatchExamples);
+        }
+        return new Stats(mode, hosts.sum(), connections.sum(), exhaustiveConnections.sum(),
+            verifiedHosts.sum(), mismatchedHosts.sum(), examples);
+    }
+
+    /**
+     * 계획 하나의 연결 수와, 같은 호스트를 모든 버전 확인으로 처리했을 때의 연결 수를 누적합니다.
+     * 모든 버전 확인은 사전 연결 확인 한 번과 버전마다 한 번 연결하며, 사전 연결 확인에 실패하면 한 번만 연결합니다.
+     */
+    private void record(Plan plan, int preflight) {
+        hosts.increment();
+        connections.add(plan.connections + preflight);
+        exhaustiveConnections.add(plan.hostFailure != null && preflightConnections > 0
+            ? 1 : TlsCheckerService.TLS_VERSIONS.length + preflightConnections);
+    }
+
+    private Map<String, VersionProfile> versionProfiles() {
+        Map<String, VersionProfile> profiles = versionProfiles;
+        if (profiles == null) {
+            profiles = new HashMap<>();
+            for (String version : TlsCheckerService.TLS_VERSIONS) {
+                try {
+                    profiles.put(version, new VersionProfile(
+                        sslContextRegistry.create(version, probeProperties.getProfile())));
+                } catch (GeneralSecurityException e) {
+                    // JVM이 지원하지 않는 버전은 프로브에서 오류로 보고
+                }
+            }
+            versionProfiles = profiles;
+        }
+        return profiles;
+    }
+
+    private static int indexOf(String version) {
+        for (int i = 0; i < TlsCheckerService.TLS_VERSIONS.length; i++) {
+            if (TlsCheckerService.TLS_VERSIONS[i].equals(version)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 서버가 해당 버전을 거부한 응답인지 확인합니다.
+     * 연결 재설정, 시간 초과처럼 일시적일 수 있는 실패는 거부로 보지 않습니다.
+     */
+    private static boolean isVersionRejection(FailureType failureType) {
+        return failureType == FailureType.PROTOCOL_VERSION || failureType == FailureType.HANDSHAKE_FAILURE;
+    }
+
+    private static TlsCheckerService.TlsInfo skipped(String version, FailureType failureType, String errorMessage) {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+        tlsInfo.setSupported(false);
+        tlsInfo.setFailureType(failureType);
+        tlsInfo.setErrorMessage(errorMessage);
+        return tlsInfo;
+    }
+
+    /**
+     * 호스트 하나의 프로브 계획
+     *
+     * {@link #next()}가 반환한 단계를 프로브하고 결과를 {@link #record}로 전달하기를 null이 반환될 때까지 반복합니다.
+     * 한 스레드에서 순서대로 사용해야 합니다.
+     */
+    public static class Plan {
+        private final Map<String, VersionProfile> versionProfiles;
+        private final Map<String, TlsCheckerService.TlsInfo> results = new HashMap<>();
+        /** 생략 이유별 생략한 버전 수 */
+        private final Map<String, Integer> skipped = new TreeMap<>();
+        private final boolean usesDiscovery;
+        private boolean discoveryPending;
+        private boolean supportedFound;
+        /** 지원되는 버전보다 낮은 버전을 거부한 응답 */
+        private TlsCheckerService.TlsInfo rejection;
+        private FailureType hostFailure;
+        private int connections;
+
+        Plan(boolean discovery, Map<String, VersionProfile> versionProfiles) {
+            this.usesDiscovery = discovery;
+            this.discoveryPending = discovery;
+            this.versionProfiles = versionProfiles;
+        }
+
+        /**
+         * 다음에 프로브할 단계를 반환합니다. 더 확인할 버전이 없으면 null을 반환합니다.
+         *
+         * @return TLS 버전, {@link #DISCOVERY} 또는 null
+         */
+        public String next() {
+            if (discoveryPending) {
+                return DISCOVERY;
+            }
+            for (int i = TlsCheckerService.TLS_VERSIONS.length - 1; i >= 0; i--) {
+                String version = TlsCheckerService.TLS_VERSIONS[i];
+                if (results.containsKey(version)) {
+                    continue;
+                }
+                VersionProfile profile = versionProfiles.get(version);
+                if (profile != null && profile.unavailableReason != null) {
+                    results.put(version, skipped(version, FailureType.PROTOCOL_DISABLED, profile.unavailableReason));
+                    skip("disabled");
+                } else if (rejection != null) {
+                    results.put(version, skipped(version, rejection.getFailureType(),
+                        "Not probed: server rejected " + rejection.getVersion() + " (" + rejection.getErrorMessage() + ")"));
+                    skip("rejected");
+                } else {
+                    return version;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 단계의 프로브 결과를 기록합니다.
+         *
+         * @param step {@link #next()}가 반환한 단계
+         * @param tlsInfo 프로브 결과 (탐색 핸드셰이크는 {@link ProbePlanner#resolveDiscovery}를 거친 결과)
+         */
+        public void record(String step, TlsCheckerService.TlsInfo tlsInfo) {
+            connections++;
+            if (DISCOVERY.equals(step)) {
+                discoveryPending = false;
+                recordDiscovery(tlsInfo);
+                return;
+            }
+            results.put(step, tlsInfo);
+            if (tlsInfo.isSupported()) {
+                supportedFound = true;
+            } else if (supportedFound && rejection == null && isVersionRejection(tlsInfo.getFailureType())) {
+                rejection = tlsInfo;
+            }
+        }
+
+        private void recordDiscovery(TlsCheckerService.TlsInfo tlsInfo) {
+            int negotiated = indexOf(tlsInfo.getVersion());
+            if (tlsInfo.isSupported() && negotiated >= 0) {
+                results.put(tlsInfo.getVersion(), tlsInfo);
+                supportedFound = true;
+                for (int i = negotiated + 1; i < TlsCheckerService.TLS_VERSIONS.length; i++) {
+                    String version = TlsCheckerService.TLS_VERSIONS[i];
+                    results.put(version, skipped(version, FailureType.PROTOCOL_VERSION,
+                        "Not probed: server negotiated " + tlsInfo.getVersion() + " when offered all versions"));
+                    skip("negotiated");
+                }
+            } else if (tlsInfo.getFailureType() != null && tlsInfo.getFailureType().isNetworkFailure()) {
+                // 서버에 연결하지 못했으므로 모든 버전을 같은 실패로 기록
+                hostFailure = tlsInfo.getFailureType();
+                for (String version : TlsCheckerService.TLS_VERSIONS) {
+                    results.put(version, skipped(version, hostFailure, tlsInfo.getErrorMessage()));
+                    skip("unreachable");
+                }
+            }
+            // 그 밖의 실패는 버전마다 확인
+        }
+
+        private void skip(String reason) {
+            skipped.merge(reason, 1, Integer::sum);
+        }
+
+        /**
+         * TLS_VERSIONS 순서의 결과를 반환합니다.
+         */
+        Map<String, TlsCheckerService.TlsInfo> getResults() {
+            Map<String, TlsCheckerService.TlsInfo> ordered = new LinkedHashMap<>();
+            for (String version : TlsCheckerService.TLS_VERSIONS) {
+                ordered.put(version, results.get(version));
+            }
+            return ordered;
+        }
+
+        // Getters
+        public boolean usesDiscovery() { return usesDiscovery; }
+        public int getConnections() { return connections; }
+    }
+
+    /**
+     * 버전 하나만 확인하는 프로브가 보고하는 클라이언트 제시 목록과 로컬 비활성화 여부
+     */
+    static class VersionProfile {
+        private final List<String> cipherSuites;
+        private final List<String> protocols;
+        /** 로컬 JVM에서 사용할 수 없는 버전의 핸드셰이크 오류 메시지 (사용할 수 있으면 null) */
+        private final String unavailableReason;
+
+        VersionProfile(SslContextRegistry.ProbeContext context) {
+            SSLEngine engine = context.createEngine(null, -1);
+            this.cipherSuites = Collections.unmodifiableList(Arrays.asList(engine.getEnabledCipherSuites()));
+            this.protocols = Collections.unmodifiableList(Arrays.asList(engine.getEnabledProtocols()));
+            String reason = null;
+            try {
+                // 비활성화된 프로토콜은 네트워크 전송 전에 핸드셰이크 시작 단계에서 거부됨
+                engine.beginHandshake();
+            } catch (SSLException e) {
+                if (FailureType.classify(e) == FailureType.PROTOCOL_DISABLED) {
+                    reason = e.getMessage();
+                }
+            }
+            this.unavailableReason = reason;
+        }
+
+        VersionProfile(List<String> cipherSuites, List<String> protocols, String unavailableReason) {
+            this.cipherSuites = cipherSuites;
+            this.protocols = protocols;
+            this.unavailableReason = unavailableReason;
+        }
+    }
+
+    /**
+     * 프로브 계획 통계
+     */
+    public static class Stats {
+        private final TlsCheckerProperties.Planner mode;
+        private final long hosts;
+        private final long connections;
+        private final long exhaustiveConnections;
+        private final long verifiedHosts;
+        private final long mismatchedHosts;
+        private final List<String> mismatchExamples;
+
+        Stats(TlsCheckerProperties.Planner mode, long hosts, long connections, long exhaustiveConnections,
+              long verifiedHosts, long mismatchedHosts, List<String> mismatchExamples) {
+            this.mode = mode;
+            this.hosts = hosts;
+            this.connections = connections;
+            this.exhaustiveConnections = exhaustiveConnections;
+            this.verifiedHosts = verifiedHosts;
+            this.mismatchedHosts = mismatchedHosts;
+            this.mismatchExamples = mismatchExamples;
+        }
+
+        // Getters
+        public TlsCheckerProperties.Planner getMode() { return mode; }
+        /** 적응형 계획으로 처리한 호스트 수 (VERIFY 방식에서는 재현한 호스트 수) */
+        public long getHosts() { return hosts; }
+        public long getConnections() { return connections; }
+        public long getExhaustiveConnections() { return exhaustiveConnections; }
+        public double getConnectionsPerHost() { return hosts == 0 ? 0.0 : (double) connections / hosts; }
+        public double getExhaustiveConnectionsPerHost() { return hosts == 0 ? 0.0 : (double) exhaustiveConnections / hosts; }
+        /** 모든 버전 확인에 비해 줄어든 연결 비율 (%) */
+        public double getSavedPercent() {
+            return exhaustiveConnections == 0 ? 0.0 : (exhaustiveConnections - connections) * 100.0 / exhaustiveConnections;
+        }
+        public long getVerifiedHosts() { return verifiedHosts; }
+        public long getMismatchedHosts() { return mismatchedHosts; }
+        /** 결과가 달랐던 호스트 예 (최대 10개) */
+        public List<String> getMismatchExamples() { return mismatchExamples; }
+    }
+}
@@ -0,0 +1,35 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+
+/**
+ * 프로브 하나에 적용되는 제한 시간
+ */
+public class ProbeTimeouts {
+
+    private final int connectMillis;
+    private final int handshakeMillis;
+    private final long totalMillis;
+
+    public ProbeTimeouts(int connectMillis, int handshakeMillis, long totalMillis) {
+        this.connectMillis = connectMillis;
+        this.handshakeMillis = handshakeMillis;
+        this.totalMillis = totalMillis;
+    }
+
+    /**
+     * 설정 값으로부터 제한 시간을 생성합니다.
+     */
+    public static ProbeTimeouts from(TlsCheckerProperties.Probe probe) {
+        return new ProbeTimeouts(probe.getConnectTimeoutMillis(), probe.getHandshakeTimeoutMillis(),
+            probe.getDeadlineMillis());
+    }
+
+    // Getters
+    /** TCP 연결 제한 시간 (밀리초) */
+    public int getConnectMillis() { return connectMillis; }
+    /** 핸드셰이크 응답 대기 제한 시간 (밀리초) */
+    public int getHandshakeMillis() { return handshakeMillis; }
+    /** 연결부터 핸드셰이크 완료까지 전체 제한 시간 (밀리초) */
+    public long getTotalMillis() { return totalMillis; }
+}
@@ -0,0 +1,156 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 도메인별 TLS 확인 결과를 TTL 동안 보관하는 LRU 캐시
+ *
+ * 지원되는 버전이 하나도 없는 결과는 더 짧은 TTL로 보관합니다.
+ * 결과는 {@link CompactResult}로 압축하여 보관하고, 조회할 때마다 새 TlsInfo 맵으로 펼쳐 돌려줍니다.
+ * 같은 키에 대한 동시 요청은 진행 중인 스캔 하나의 결과를 함께 받습니다.
+ */
+@Component
+public class ResultCache {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Map<String, CachedEntry> entries;
+    private final Map<String, CompletableFuture<Map<String, TlsCheckerService.TlsInfo>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public ResultCache(TlsCheckerProperties properties) {
+        TlsCheckerProperties.Cache cache = properties.getCache();
+        this.enabled = cache.isEnabled() && cache.getMaxEntries() > 0;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(cache.getTtlSeconds());
+        this.negativeTtlNanos = TimeUnit.SECONDS.toNanos(cache.getNegativeTtlSeconds());
+        int maxEntries = cache.getMaxEntries();
+        // 접근 순서로 정렬하여 가장 오래 사용되지 않은 항목부터 제거
+        this.entries = new LinkedHashMap<String, CachedEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 결과를 반환하거나, 없으면 스캔을 실행하여 결과를 캐시합니다.
+     * 같은 키의 스캔이 이미 진행 중이면 새로 시작하지 않고 그 결과를 기다립니다.
+     *
+     * @param key 캐시 키 (호스트:포트와 프로브 프로필)
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 스캔
+     * @param loader 스캔을 시작하는 함수
+     * @return TLS 지원 정보 맵
+     */
+    public CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> get(
+            String key, boolean refresh, Supplier<CompletableFuture<Map<String, TlsCheckerService.TlsInfo>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        if (!refresh) {
+            Map<String, TlsCheckerService.TlsInfo> cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> promise = new CompletableFuture<>();
+        CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            shared.increment();
+            return existing;
+        }
+
+        misses.increment();
+        CompletableFuture<Map<String, TlsCheckerService.TlsInfo>> scan;
+        try {
+            scan = loader.get();
+        } catch (RuntimeException e) {
+            scan = new CompletableFuture<>();
+            scan.completeExceptionally(e);
+        }
+        scan.whenComplete((results, error) -> {
+            if (results != null) {
+                store(key, results);
+            }
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(results);
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * 캐시된 항목을 모두 제거합니다.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * 캐시된 항목 수를 반환합니다.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Map<String, TlsCheckerService.TlsInfo> lookup(String key) {
+        CachedEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.results.toResults();
+    }
+
+    private void store(String key, Map<String, TlsCheckerService.TlsInfo> results) {
+        // 압축은 잠금 밖에서 수행
+        CompactResult compact = CompactResult.of(results);
+        long ttl = compact.hasSupportedVersion() ? ttlNanos : negativeTtlNanos;
+        if (ttl > 0) {
+            synchronized (this) {
+                entries.put(key, new CachedEntry(compact, System.nanoTime() + ttl));
+            }
+        }
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    /** 진행 중인 스캔을 함께 기다린 요청 수 */
+    public long getShared() { return shared.sum(); }
+
+    /**
+     * 캐시 항목
+     */
+    private static class CachedEntry {
+        private final CompactResult results;
+        private final long expiresAt;
+
+        CachedEntry(CompactResult results, long expiresAt) {
+            this.results = results;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
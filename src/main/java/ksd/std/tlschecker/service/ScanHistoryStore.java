@@ -0,0 +1,454 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 스캔 결과를 추가 전용 세그먼트 파일에 기록하고 호스트별로 조회하는 내장 이력 저장소
+ *
+ * 각 레코드는 같은 호스트의 이전 레코드 위치를 담고 있어, 메모리에는 호스트별 최신 레코드 위치만 보관합니다.
+ * 따라서 힙 사용량은 레코드 수와 관계없이 호스트 수에 비례하며, 과거 결과는 세그먼트를 거슬러 올라가며 찾습니다.
+ * 세그먼트는 크기나 사용 시간이 설정 값을 넘으면 교체되고, 보관 기간이 지나면 통째로 삭제됩니다.
+ * 시작할 때 세그먼트를 순서대로 읽어 색인을 다시 만들며, 마지막 세그먼트의 불완전한 레코드는 잘라냅니다.
+ * 조회는 레코드 하나를 읽는 동안 읽기 잠금을 잡으므로 보관 기간 정리가 읽고 있는 세그먼트를 닫지 않습니다.
+ */
+@Component
+public class ScanHistoryStore implements ScanListener, DisposableBean {
+
+    private static final long NO_RECORD = -1;
+    // 위치 = 세그먼트 번호(상위 24비트) + 세그먼트 내 오프셋(하위 40비트)
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final TlsCheckerProperties.Store storeProperties;
+    private final Map<String, Latest> index = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, HistorySegment> segments = new ConcurrentSkipListMap<>();
+    private final ScanRecordCodec codec = new ScanRecordCodec();
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder writeErrors = new LongAdder();
+    /** 세그먼트 읽기(읽기 잠금)와 세그먼트 삭제, 종료(쓰기 잠금) 사이의 잠금 */
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private final Path directory;
+    private long recovered;
+    private HistorySegment active;
+
+    public ScanHistoryStore(TlsCheckerProperties properties) {
+        this.storeProperties = properties.getStore();
+        this.directory = Paths.get(storeProperties.getDirectory());
+        if (storeProperties.isEnabled()) {
+            try {
+                open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open scan history store: " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * 저장소 사용 여부를 반환합니다.
+     */
+    public boolean isEnabled() {
+        return storeProperties.isEnabled();
+    }
+
+    @Override
+    public void onScan(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            append(domain, results, System.currentTimeMillis());
+        } catch (IOException e) {
+            writeErrors.increment();
+        }
+    }
+
+    /**
+     * 스캔 결과를 기록합니다.
+     *
+     * @param domain 도메인
+     * @param results TLS 버전별 결과
+     * @param timestamp 기록 시각 (epoch 밀리초)
+     * @throws IOException 기록에 실패한 경우
+     */
+    public synchronized void append(String domain, Map<String, TlsCheckerService.TlsInfo> results, long timestamp) throws IOException {
+        checkEnabled();
+        String key = key(domain);
+        Latest previous = index.get(key);
+        ByteBuffer record = codec.encode(timestamp, previous != null ? previous.pointer : NO_RECORD, key, results);
+
+        rollIfNeeded(timestamp, record.remaining());
+        long offset = active.append(record, timestamp);
+        if (storeProperties.isFsync()) {
+            active.force();
+        }
+        index.put(key, new Latest(pointer(active.getId(), offset), timestamp));
+        appended.increment();
+    }
+
+    /**
+     * 호스트의 최신 결과를 반환합니다.
+     *
+     * @param domain 도메인
+     * @return 최신 레코드 (없으면 null)
+     */
+    public HistoryRecord latest(String domain) throws IOException {
+        checkEnabled();
+        Latest latest = index.get(key(domain));
+        return latest != null ? readRecord(latest.pointer) : null;
+    }
+
+    /**
+     * 여러 호스트의 최신 결과를 반환합니다. 이력이 없는 호스트는 포함되지 않습니다.
+     *
+     * @param domains 도메인 목록
+     * @return 도메인별 최신 레코드 (입력 순서 유지)
+     */
+    public Map<String, HistoryRecord> latest(Collection<String> domains) throws IOException {
+        Map<String, HistoryRecord> records = new LinkedHashMap<>();
+        for (String domain : domains) {
+            HistoryRecord record = latest(domain);
+            if (record != null) {
+                records.put(domain, record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * 모든 호스트의 최신 결과를 차례로 전달합니다. 다른 색인을 저장된 이력으로 초기화할 때 사용합니다.
+     *
+     * @param action 레코드마다 실행할 동작
+     */
+    public void forEachLatest(Consumer<HistoryRecord> action) throws IOException {
+        checkEnabled();
+        for (Latest latest : index.values()) {
+            HistoryRecord record = readRecord(latest.pointer);
+            if (record != null) {
+                action.accept(record);
+            }
+        }
+    }
+
+    /**
+     * 지정한 시각 당시의 결과(그 시각 이전의 마지막 레코드)를 반환합니다.
+     *
+     * @param domain 도메인
+     * @param time 조회 시각
+     * @return 해당 시각의 레코드 (없으면 null)
+     */
+    public HistoryRecord asOf(String domain, Instant time) throws IOException {
+        checkEnabled();
+        Latest latest = index.get(key(domain));
+        long pointer = latest != null ? latest.pointer : NO_RECORD;
+        long millis = time.toEpochMilli();
+        while (pointer != NO_RECORD) {
+            ByteBuffer header = readHeader(pointer);
+            if (header == null) {
+                return null;
+            }
+            if (header.getLong(ScanRecordCodec.FRAME_BYTES) <= millis) {
+                return readRecord(pointer);
+            }
+            pointer = header.getLong(ScanRecordCodec.FRAME_BYTES + 8);
+        }
+        return null;
+    }
+
+    /**
+     * 호스트의 이력을 최신순으로 반환합니다.
+     *
+     * @param domain 도메인
+     * @param since 이 시각 이후의 레코드만 (null이면 전체)
+     * @param limit 최대 레코드 수
+     * @return 최신순 레코드 목록
+     */
+    public List<HistoryRecord> history(String domain, Instant since, int limit) throws IOException {
+        checkEnabled();
+        List<HistoryRecord> records = new ArrayList<>();
+        Latest latest = index.get(key(domain));
+        long pointer = latest != null ? latest.pointer : NO_RECORD;
+        long sinceMillis = since != null ? since.toEpochMilli() : Long.MIN_VALUE;
+        while (pointer != NO_RECORD && records.size() < limit) {
+            ByteBuffer header = readHeader(pointer);
+            if (header == null || header.getLong(ScanRecordCodec.FRAME_BYTES) < sinceMillis) {
+                break;
+            }
+            HistoryRecord record = readRecord(pointer);
+            if (record == null) {
+                break;
+            }
+            records.add(record);
+            pointer = header.getLong(ScanRecordCodec.FRAME_BYTES + 8);
+        }
+        return records;
+    }
+
+    /**
+     * 저장소 통계를 반환합니다.
+     */
+    public Stats getStats() {
+        long bytes = 0;
+        for (HistorySegment segment : segments.values()) {
+            bytes += segment.getSize();
+        }
+        return new Stats(segments.size(), bytes, index.size(), recovered, appended.sum(), writeErrors.sum());
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        segmentLock.writeLock().lock();
+        try {
+            for (HistorySegment segment : segments.values()) {
+                segment.force();
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 색인을 복구하고 마지막 세그먼트를 활성 세그먼트로 사용합니다.
+     */
+    private synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.log")) {
+            for (Path path : stream) {
+                if (HistorySegment.parseId(path.getFileName().toString()) >= 0) {
+                    files.add(path);
+                }
+            }
+        }
+        files.sort(Comparator.comparingInt(path -> HistorySegment.parseId(path.getFileName().toString())));
+
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            HistorySegment segment = HistorySegment.open(path, HistorySegment.parseId(path.getFileName().toString()));
+            recover(segment, i == files.size() - 1);
+            segments.put(segment.getId(), segment);
+        }
+
+        // 교체된 세그먼트는 읽기 전용으로 매핑하고 마지막 세그먼트에 이어서 기록
+        for (HistorySegment segment : segments.values()) {
+            if (segment != segments.lastEntry().getValue()) {
+                segment.seal();
+            }
+        }
+        active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        if (active == null) {
+            active = HistorySegment.create(directory, 1);
+            segments.put(active.getId(), active);
+        }
+        applyRetention(System.currentTimeMillis());
+    }
+
+    /**
+     * 세그먼트의 레코드를 읽어 색인에 반영합니다.
+     * 마지막 세그먼트에서 손상된 레코드를 만나면 그 위치부터 잘라냅니다.
+     */
+    private void recover(HistorySegment segment, boolean last) throws IOException {
+        ByteBuffer data = segment.mapAll();
+        int position = HistorySegment.FILE_HEADER_BYTES;
+        while (position + ScanRecordCodec.FRAME_BYTES <= data.limit()) {
+            int bodyLength = data.getInt(position);
+            if (bodyLength <= 0 || (long) position + ScanRecordCodec.FRAME_BYTES + bodyLength > data.limit()) {
+                break;
+            }
+            ByteBuffer record = data.duplicate();
+            record.position(position);
+            record.limit(position + ScanRecordCodec.FRAME_BYTES + bodyLength);
+            record = record.slice();
+            if (!ScanRecordCodec.isValid(record)) {
+                break;
+            }
+
+            long timestamp = record.getLong(ScanRecordCodec.FRAME_BYTES);
+            index.put(ScanRecordCodec.readDomain(record), new Latest(pointer(segment.getId(), position), timestamp));
+            segment.recordTimestamp(timestamp);
+            recovered++;
+            position += ScanRecordCodec.FRAME_BYTES + bodyLength;
+        }
+        if (last && position < segment.getSize()) {
+            segment.truncate(position);
+        }
+    }
+
+    /**
+     * 활성 세그먼트가 크기나 사용 시간 제한을 넘으면 새 세그먼트로 교체합니다.
+     */
+    private void rollIfNeeded(long now, int recordBytes) throws IOException {
+        boolean empty = active.getFirstTimestamp() < 0;
+        boolean full = active.getSize() + recordBytes > Math.min(storeProperties.getMaxSegmentBytes(), Integer.MAX_VALUE);
+        boolean old = now - active.getFirstTimestamp() > TimeUnit.HOURS.toMillis(storeProperties.getMaxSegmentAgeHours());
+        if (empty || !(full || old)) {
+            return;
+        }
+        active.seal();
+        active = HistorySegment.create(directory, active.getId() + 1);
+        segments.put(active.getId(), active);
+        applyRetention(now);
+    }
+
+    /**
+     * 보관 기간이 지난 세그먼트를 삭제하고, 삭제된 세그먼트를 가리키는 최신 위치를 색인에서 제거합니다.
+     */
+    private void applyRetention(long now) throws IOException {
+        long cutoff = now - TimeUnit.DAYS.toMillis(storeProperties.getRetentionDays());
+        int deletedUpTo = -1;
+        // 진행 중인 읽기가 끝난 뒤 삭제
+        segmentLock.writeLock().lock();
+        try {
+            for (HistorySegment segment : segments.values()) {
+                if (segment == active || segment.getLastTimestamp() >= cutoff) {
+                    break;
+                }
+                segments.remove(segment.getId());
+                segment.delete();
+                deletedUpTo = segment.getId();
+            }
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+        if (deletedUpTo >= 0) {
+            int removed = deletedUpTo;
+            index.values().removeIf(latest -> segmentId(latest.pointer) <= removed);
+        }
+    }
+
+    /**
+     * 레코드 앞부분(프레임, 시각, 이전 위치)만 읽습니다. 세그먼트가 삭제되었으면 null을 반환합니다.
+     */
+    private ByteBuffer readHeader(long pointer) throws IOException {
+        segmentLock.readLock().lock();
+        try {
+            HistorySegment segment = segments.get(segmentId(pointer));
+            if (segment == null) {
+                return null;
+            }
+            return segment.read(pointer & OFFSET_MASK, ScanRecordCodec.HEADER_BYTES);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 레코드 하나를 읽습니다. 세그먼트가 삭제되었으면 null을 반환합니다.
+     */
+    private HistoryRecord readRecord(long pointer) throws IOException {
+        segmentLock.readLock().lock();
+        try {
+            HistorySegment segment = segments.get(segmentId(pointer));
+            if (segment == null) {
+                return null;
+            }
+            long offset = pointer & OFFSET_MASK;
+            int bodyLength = segment.read(offset, ScanRecordCodec.FRAME_BYTES).getInt(0);
+            return ScanRecordCodec.decode(segment.read(offset, ScanRecordCodec.FRAME_BYTES + bodyLength));
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+    }
+
+    private void checkEnabled() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Scan history store is disabled (set tls-checker.store.enabled=true)");
+        }
+    }
+
+    private static String key(String domain) {
+        return domain.toLowerCase(Locale.ROOT);
+    }
+
+    private static long pointer(int segmentId, long offset) {
+        return ((long) segmentId << OFFSET_BITS) | offset;
+    }
+
+    private static int segmentId(long pointer) {
+        return (int) (pointer >>> OFFSET_BITS);
+    }
+
+    /**
+     * 호스트별 최신 레코드 위치
+     */
+    private static class Latest {
+        private final long pointer;
+        private final long timestamp;
+
+        Latest(long pointer, long timestamp) {
+            this.pointer = pointer;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * 저장된 스캔 결과 하나
+     */
+    public static class HistoryRecord {
+        private final String domain;
+        private final long timestamp;
+        private final Map<String, TlsCheckerService.TlsInfo> results;
+
+        HistoryRecord(String domain, long timestamp, Map<String, TlsCheckerService.TlsInfo> results) {
+            this.domain = domain;
+            this.timestamp = timestamp;
+            this.results = results;
+        }
+
+        // Getters
+        public String getDomain() { return domain; }
+        public Instant getTime() { return Instant.ofEpochMilli(timestamp); }
+        public Map<String, TlsCheckerService.TlsInfo> getResults() { return results; }
+    }
+
+    /**
+     * 저장소 통계
+     */
+    public static class Stats {
+        private final int segments;
+        private final long bytes;
+        private final int hosts;
+        private final long recovered;
+        private final long appended;
+        private final long writeErrors;
+
+        Stats(int segments, long bytes, int hosts, long recovered, long appended, long writeErrors) {
+            this.segments = segments;
+            this.bytes = bytes;
+            this.hosts = hosts;
+            this.recovered = recovered;
+            this.appended = appended;
+            this.writeErrors = writeErrors;
+        }
+
+        // Getters
+        public int getSegments() { return segments; }
+        public long getBytes() { return bytes; }
+        public int getHosts() { return hosts; }
+        /** 시작할 때 복구한 레코드 수 */
+        public long getRecovered() { return recovered; }
+        /** 시작 후 기록한 레코드 수 */
+        public long getAppended() { return appended; }
+        public long getWriteErrors() { return writeErrors; }
+    }
+}
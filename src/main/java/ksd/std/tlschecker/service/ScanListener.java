@@ -0,0 +1,20 @@
+package ksd.std.tlschecker.service;
+
+import java.util.Map;
+
+/**
+ * 새 스캔 결과를 전달받는 리스너
+ *
+ * 캐시에서 반환된 결과는 전달되지 않으며, 스캔을 마친 스레드(NIO 엔진에서는 Selector 스레드)에서 호출되므로
+ * 블로킹 작업 없이 빠르게 반환해야 합니다.
+ */
+public interface ScanListener {
+
+    /**
+     * 도메인 하나의 스캔이 끝났을 때 호출됩니다.
+     *
+     * @param domain 도메인
+     * @param results TLS 버전별 결과
+     */
+    void onScan(String domain, Map<String, TlsCheckerService.TlsInfo> results);
+}
@@ -0,0 +1,235 @@
+package ksd.std.tlschecker.service;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * 스캔 이력 레코드의 이진 형식
+ *
+ * <pre>
+ * int   본문 길이
+ * int   본문 CRC32
+ * 본문:
+ *   long  기록 시각 (epoch 밀리초)
+ *   long  같은 호스트의 이전 레코드 위치 (없으면 -1)
+ *   short 도메인 길이 + UTF-8 바이트
+ *   byte  버전 수 + 버전별 결과
+ * </pre>
+ *
+ * 이전 레코드 위치로 호스트별 이력을 역순으로 따라갈 수 있으므로 메모리에는 최신 위치만 보관하면 됩니다.
+ */
+final class ScanRecordCodec {
+
+    /** 프레임(길이, CRC) 크기 */
+    static final int FRAME_BYTES = 8;
+    /** 프레임 + 시각 + 이전 위치 */
+    static final int HEADER_BYTES = FRAME_BYTES + 16;
+
+    // DataOutput.writeUTF 제한(65535바이트)을 넘지 않도록 긴 문자열은 자름
+    private static final int MAX_STRING_LENGTH = 16 * 1024;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final ExposedByteArrayOutputStream buffer = new ExposedByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(buffer);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * 레코드를 프레임과 함께 인코딩합니다. 반환된 버퍼는 다음 호출 전까지만 유효합니다.
+     */
+    ByteBuffer encode(long timestamp, long previous, String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException {
+        buffer.reset();
+        out.writeLong(0); // 프레임 자리
+        out.writeLong(timestamp);
+        out.writeLong(previous);
+        byte[] domainBytes = domain.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(domainBytes.length);
+        out.write(domainBytes);
+        out.writeByte(results.size());
+        for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+            writeTlsInfo(tlsInfo);
+        }
+        out.flush();
+
+        byte[] bytes = buffer.array();
+        int bodyLength = buffer.size() - FRAME_BYTES;
+        crc.reset();
+        crc.update(bytes, FRAME_BYTES, bodyLength);
+        ByteBuffer record = ByteBuffer.wrap(bytes, 0, buffer.size());
+        record.putInt(0, bodyLength);
+        record.putInt(4, (int) crc.getValue());
+        return record;
+    }
+
+    /**
+     * 프레임의 본문 길이와 CRC가 올바른지 확인합니다.
+     *
+     * @param record 프레임부터 시작하는 버퍼 (위치 0이 프레임 시작)
+     */
+    static boolean isValid(ByteBuffer record) {
+        int bodyLength = record.getInt(0);
+        if (bodyLength < HEADER_BYTES - FRAME_BYTES + 2 || record.limit() < FRAME_BYTES + bodyLength) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer body = record.duplicate();
+        body.position(FRAME_BYTES);
+        body.limit(FRAME_BYTES + bodyLength);
+        crc.update(body);
+        return (int) crc.getValue() == record.getInt(4);
+    }
+
+    /**
+     * 프레임의 도메인을 읽습니다.
+     */
+    static String readDomain(ByteBuffer record) {
+        int length = record.getShort(HEADER_BYTES) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = record.duplicate();
+        slice.position(HEADER_BYTES + 2);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 프레임부터 시작하는 레코드 전체를 디코딩합니다.
+     */
+    static ScanHistoryStore.HistoryRecord decode(ByteBuffer record) throws IOException {
+        int bodyLength = record.getInt(0);
+        byte[] body = new byte[bodyLength];
+        ByteBuffer slice = record.duplicate();
+        slice.position(FRAME_BYTES);
+        slice.get(body);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        long timestamp = in.readLong();
+        in.readLong(); // 이전 위치
+        byte[] domainBytes = new byte[in.readUnsignedShort()];
+        in.readFully(domainBytes);
+        int versions = in.readUnsignedByte();
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        for (int i = 0; i < versions; i++) {
+            TlsCheckerService.TlsInfo tlsInfo = readTlsInfo(in);
+            results.put(tlsInfo.getVersion(), tlsInfo);
+        }
+        return new ScanHistoryStore.HistoryRecord(new String(domainBytes, StandardCharsets.UTF_8), timestamp, results);
+    }
+
+    private void writeTlsInfo(TlsCheckerService.TlsInfo tlsInfo) throws IOException {
+        out.writeUTF(tlsInfo.getVersion());
+        int flags = (tlsInfo.isSupported() ? 1 : 0)
+            | (tlsInfo.isServerCipherSuites() ? 2 : 0)
+            | (tlsInfo.getServerCipherPreference() != null ? 4 : 0)
+            | (Boolean.TRUE.equals(tlsInfo.getServerCipherPreference()) ? 8 : 0)
+            | (tlsInfo.getCertificateInfo() != null ? 16 : 0);
+        out.writeByte(flags);
+        writeOptional(tlsInfo.getAddress());
+        writeOptional(tlsInfo.getFailureType() != null ? tlsInfo.getFailureType().name() : null);
+        writeOptional(tlsInfo.getErrorMessage());
+        writeOptional(tlsInfo.getNegotiatedProtocol());
+        writeOptional(tlsInfo.getNegotiatedCipherSuite());
+        writeStrings(tlsInfo.getCipherSuites());
+        writeStrings(tlsInfo.getSupportedProtocols());
+
+        TlsCheckerService.CertificateInfo certInfo = tlsInfo.getCertificateInfo();
+        if (certInfo != null) {
+            writeOptional(certInfo.getSubject());
+            writeOptional(certInfo.getIssuer());
+            out.writeLong(certInfo.getValidFrom() != null ? certInfo.getValidFrom().getTime() : NO_DATE);
+            out.writeLong(certInfo.getValidTo() != null ? certInfo.getValidTo().getTime() : NO_DATE);
+            writeOptional(certInfo.getSignatureAlgorithm());
+            writeOptional(certInfo.getErrorMessage());
+        }
+
+        TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+        out.writeLong(timings.getDnsNanos());
+        out.writeLong(timings.getConnectNanos());
+        out.writeLong(timings.getHandshakeNanos());
+        out.writeLong(timings.getCertificateNanos());
+    }
+
+    private static TlsCheckerService.TlsInfo readTlsInfo(DataInputStream in) throws IOException {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(in.readUTF());
+        int flags = in.readUnsignedByte();
+        tlsInfo.setSupported((flags & 1) != 0);
+        tlsInfo.setServerCipherSuites((flags & 2) != 0);
+        if ((flags & 4) != 0) {
+            tlsInfo.setServerCipherPreference((flags & 8) != 0);
+        }
+        tlsInfo.setAddress(readOptional(in));
+        String failureType = readOptional(in);
+        if (failureType != null) {
+            tlsInfo.setFailureType(FailureType.valueOf(failureType));
+        }
+        tlsInfo.setErrorMessage(readOptional(in));
+        tlsInfo.setNegotiatedProtocol(readOptional(in));
+        tlsInfo.setNegotiatedCipherSuite(readOptional(in));
+        tlsInfo.setCipherSuites(readStrings(in));
+        tlsInfo.setSupportedProtocols(readStrings(in));
+
+        if ((flags & 16) != 0) {
+            TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+            certInfo.setSubject(readOptional(in));
+            certInfo.setIssuer(readOptional(in));
+            certInfo.setValidFrom(readDate(in));
+            certInfo.setValidTo(readDate(in));
+            certInfo.setSignatureAlgorithm(readOptional(in));
+            certInfo.setErrorMessage(readOptional(in));
+            tlsInfo.setCertificateInfo(certInfo);
+        }
+
+        TlsCheckerService.PhaseTimings timings = tlsInfo.getTimings();
+        timings.setDnsNanos(in.readLong());
+        timings.setConnectNanos(in.readLong());
+        timings.setHandshakeNanos(in.readLong());
+        timings.setCertificateNanos(in.readLong());
+        return tlsInfo;
+    }
+
+    private void writeOptional(String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value.length() > MAX_STRING_LENGTH ? value.substring(0, MAX_STRING_LENGTH) : value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void writeStrings(List<String> values) throws IOException {
+        out.writeShort(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return time == NO_DATE ? null : new Date(time);
+    }
+
+    /**
+     * 내부 배열을 복사 없이 사용할 수 있는 ByteArrayOutputStream
+     */
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        ExposedByteArrayOutputStream() {
+            super(4096);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
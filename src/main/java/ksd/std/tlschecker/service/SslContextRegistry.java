@@ -0,0 +1,233 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.DomainUtil;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.*;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TLS 버전과 프로브 프로필별로 미리 초기화한 SSLContext와 소켓 팩토리를 보관하는 레지스트리
+ *
+ * SSLContext, SSLSocketFactory는 스레드 안전하므로 동시에 실행되는 프로브가 공유합니다.
+ * 프로브마다 준비에 걸린 시간을 누적하여 재사용 효과를 측정할 수 있습니다.
+ */
+@Component
+public class SslContextRegistry {
+
+    private final boolean reuseContexts;
+    private final Map<String, ProbeContext> contexts = new ConcurrentHashMap<>();
+    private final LongAdder setupCount = new LongAdder();
+    private final LongAdder setupNanos = new LongAdder();
+    private final long initializationNanos;
+
+    public SslContextRegistry(TlsCheckerProperties properties) {
+        this.reuseContexts = properties.getProbe().isReuseContexts();
+
+        // 시작 시점에 설정된 프로필의 모든 버전을 미리 초기화 (다른 프로필은 처음 사용할 때 생성)
+        long start = System.nanoTime();
+        if (reuseContexts) {
+            ProbeProfile profile = properties.getProbe().getProfile();
+            for (String tlsVersion : TlsCheckerService.TLS_VERSIONS) {
+                try {
+                    contexts.put(key(tlsVersion, profile), build(tlsVersion, profile));
+                } catch (GeneralSecurityException e) {
+                    // JVM이 지원하지 않는 버전은 사용 시점에 오류로 보고
+                }
+            }
+        }
+        this.initializationNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * 프로브에 사용할 컨텍스트를 반환합니다.
+     * 재사용이 꺼져 있으면 호출마다 새로 생성합니다.
+     *
+     * @param tlsVersion TLS 버전
+     * @param profile 프로브 프로필
+     * @return 프로브 컨텍스트
+     * @throws GeneralSecurityException 컨텍스트를 생성할 수 없는 경우
+     */
+    public ProbeContext get(String tlsVersion, ProbeProfile profile) throws GeneralSecurityException {
+        long start = System.nanoTime();
+        try {
+            if (!reuseContexts) {
+                return build(tlsVersion, profile);
+            }
+            ProbeContext context = contexts.get(key(tlsVersion, profile));
+            if (context == null) {
+                context = build(tlsVersion, profile);
+                ProbeContext existing = contexts.putIfAbsent(key(tlsVersion, profile), context);
+                if (existing != null) {
+                    context = existing;
+                }
+            }
+            return context;
+        } finally {
+            setupCount.increment();
+            setupNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 공유하지 않는 새 컨텍스트를 생성합니다.
+     * 클라이언트 세션 캐시가 다른 프로브와 섞이지 않아야 하는 경우(세션 재개 측정 등)에 사용합니다.
+     *
+     * @param tlsVersion TLS 버전
+     * @param profile 프로브 프로필
+     * @return 새 프로브 컨텍스트
+     * @throws GeneralSecurityException 컨텍스트를 생성할 수 없는 경우
+     */
+    public ProbeContext create(String tlsVersion, ProbeProfile profile) throws GeneralSecurityException {
+        return build(tlsVersion, profile);
+    }
+
+    /**
+     * 프로브 준비 시간 통계를 반환합니다.
+     *
+     * @return 준비 시간 통계
+     */
+    public SetupStats getSetupStats() {
+        return new SetupStats(reuseContexts, setupCount.sum(), setupNanos.sum(), initializationNanos);
+    }
+
+    private static String key(String tlsVersion, ProbeProfile profile) {
+        return tlsVersion + "/" + profile;
+    }
+
+    /**
+     * 모든 인증서를 신뢰하는 SSL 컨텍스트와 프로필에 맞는 SSL 파라미터를 생성합니다.
+     */
+    private static ProbeContext build(String tlsVersion, ProbeProfile profile) throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance(tlsVersion);
+        sslContext.init(null, new TrustManager[]{new AcceptAllTrustManager()}, null);
+
+        SSLParameters parameters = profile == ProbeProfile.ALL_CIPHERS
+            ? sslContext.getSupportedSSLParameters()
+            : sslContext.getDefaultSSLParameters();
+        // 탐색 핸드셰이크용 컨텍스트는 모든 버전을 제시
+        parameters.setProtocols(ProbePlanner.DISCOVERY.equals(tlsVersion)
+            ? TlsCheckerService.TLS_VERSIONS.clone() : new String[]{tlsVersion});
+
+        return new ProbeContext(tlsVersion, profile, sslContext, parameters);
+    }
+
+    /**
+     * 프로브 프로필
+     */
+    public enum ProbeProfile {
+        /** JVM 기본 암호화 스위트 사용 */
+        DEFAULT,
+        /** JVM이 지원하는 모든 암호화 스위트 사용 */
+        ALL_CIPHERS
+    }
+
+    /**
+     * 미리 초기화된 SSL 컨텍스트, 소켓 팩토리 및 SSL 파라미터
+     */
+    public static class ProbeContext {
+        private final String tlsVersion;
+        private final ProbeProfile profile;
+        private final SSLContext sslContext;
+        private final SSLSocketFactory socketFactory;
+        private final String[] cipherSuites;
+        private final String[] protocols;
+
+        ProbeContext(String tlsVersion, ProbeProfile profile, SSLContext sslContext, SSLParameters parameters) {
+            this.tlsVersion = tlsVersion;
+            this.profile = profile;
+            this.sslContext = sslContext;
+            this.socketFactory = sslContext.getSocketFactory();
+            this.cipherSuites = parameters.getCipherSuites();
+            this.protocols = parameters.getProtocols();
+        }
+
+        /**
+         * 프로필이 적용된 클라이언트 SSLEngine을 생성합니다.
+         */
+        public SSLEngine createEngine(String host, int port) {
+            SSLEngine engine = sslContext.createSSLEngine(host, port);
+            engine.setUseClientMode(true);
+            engine.setSSLParameters(parametersFor(host));
+            return engine;
+        }
+
+        /**
+         * 연결 전 소켓에 프로필의 SSL 파라미터와 SNI를 적용합니다.
+         *
+         * @param socket 연결되지 않은 SSL 소켓
+         * @param host SNI로 보낼 호스트 이름 (IP 주소이면 SNI 생략)
+         */
+        public void configure(SSLSocket socket, String host) {
+            socket.setSSLParameters(parametersFor(host));
+        }
+
+        /**
+         * 프로브마다 새 SSLParameters를 만들어 공유 상태가 변경되지 않도록 합니다.
+         */
+        private SSLParameters parametersFor(String host) {
+            SSLParameters parameters = new SSLParameters(cipherSuites, protocols);
+            if (host != null && !DomainUtil.isIpLiteral(host)) {
+                parameters.setServerNames(Collections.<SNIServerName>singletonList(new SNIHostName(host)));
+            }
+            return parameters;
+        }
+
+        // Getters
+        public String getTlsVersion() { return tlsVersion; }
+        public ProbeProfile getProfile() { return profile; }
+        public SSLContext getSslContext() { return sslContext; }
+        public SSLSocketFactory getSocketFactory() { return socketFactory; }
+    }
+
+    /**
+     * 프로브 준비 시간 통계
+     */
+    public static class SetupStats {
+        private final boolean reuseContexts;
+        private final long probes;
+        private final long totalNanos;
+        private final long initializationNanos;
+
+        SetupStats(boolean reuseContexts, long probes, long totalNanos, long initializationNanos) {
+            this.reuseContexts = reuseContexts;
+            this.probes = probes;
+            this.totalNanos = totalNanos;
+            this.initializationNanos = initializationNanos;
+        }
+
+        // Getters
+        public boolean isReuseContexts() { return reuseContexts; }
+        public long getProbes() { return probes; }
+        public long getTotalNanos() { return totalNanos; }
+        public long getInitializationMillis() { return TimeUnit.NANOSECONDS.toMillis(initializationNanos); }
+        public double getAverageMicros() { return probes == 0 ? 0.0 : totalNanos / 1000.0 / probes; }
+    }
+
+    /**
+     * 모든 인증서를 신뢰하는 TrustManager
+     */
+    private static class AcceptAllTrustManager implements X509TrustManager {
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] certs, String authType) {
+            // 모든 클라이언트 인증서를 신뢰
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] certs, String authType) {
+            // 모든 서버 인증서를 신뢰
+        }
+    }
+}
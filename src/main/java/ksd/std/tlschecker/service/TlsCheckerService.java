@@ -1,126 +1,777 @@
 package ksd.std.tlschecker.service;
 
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.NamedThreadFactory;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.stereotype.Service;
 
 import javax.net.ssl.*;
-import java.security.cert.X509Certificate;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * TLS 버전과 지원 알고리즘을 확인하는 서비스
  */
 @Service
-public class TlsCheckerService {
+public class TlsCheckerService implements DisposableBean {
 
-    private static final int CONNECTION_TIMEOUT = 10000; // 10초
-    private static final String[] TLS_VERSIONS = {
+    static final String[] TLS_VERSIONS = {
         "TLSv1", "TLSv1.1", "TLSv1.2", "TLSv1.3"
     };
 
+    private final TlsCheckerProperties.Probe probeProperties;
+    private final ProbeTimeouts timeouts;
+    private final HostResolver hostResolver;
+    private final ResultCache resultCache;
+    private final ProbeMetrics probeMetrics;
+    private final SslContextRegistry sslContextRegistry;
+    private final NioHandshakeEngine nioHandshakeEngine;
+    private final ClientHelloProbe clientHelloProbe;
+    private final CipherSuiteEnumerator cipherSuiteEnumerator;
+    private final CertificateCache certificateCache;
+    private final ProbeGovernor probeGovernor;
+    private final ProbePlanner probePlanner;
+    private final List<ScanListener> scanListeners;
+    private final ExecutorService probeExecutor;
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+
+    public TlsCheckerService(TlsCheckerProperties properties, HostResolver hostResolver, ResultCache resultCache,
+                             ProbeMetrics probeMetrics, SslContextRegistry sslContextRegistry, NioHandshakeEngine nioHandshakeEngine,
+                             ClientHelloProbe clientHelloProbe, CipherSuiteEnumerator cipherSuiteEnumerator,
+                             CertificateCache certificateCache, ProbeGovernor probeGovernor, ProbePlanner probePlanner,
+                             List<ScanListener> scanListeners) {
+        this.probeProperties = properties.getProbe();
+        this.timeouts = ProbeTimeouts.from(probeProperties);
+        this.hostResolver = hostResolver;
+        this.resultCache = resultCache;
+        this.probeMetrics = probeMetrics;
+        this.sslContextRegistry = sslContextRegistry;
+        this.nioHandshakeEngine = nioHandshakeEngine;
+        this.clientHelloProbe = clientHelloProbe;
+        this.cipherSuiteEnumerator = cipherSuiteEnumerator;
+        this.certificateCache = certificateCache;
+        this.probeGovernor = probeGovernor;
+        this.probePlanner = probePlanner;
+        this.scanListeners = scanListeners;
+        // 큐가 가득 차면 호출 스레드에서 직접 실행하여 동시 실행 수를 제한
+        BlockingQueue<Runnable> probeQueue = new ArrayBlockingQueue<>(probeProperties.getQueueCapacity());
+        this.probeExecutor = new ThreadPoolExecutor(
+            probeProperties.getThreads(), probeProperties.getThreads(),
+            60L, TimeUnit.SECONDS,
+            probeQueue,
+            new NamedThreadFactory("tls-probe"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        probeMetrics.monitorQueue("tls-probe", probeQueue);
+        // 블로킹 소켓 프로브의 전체 제한 시간이 지나면 소켓을 닫아 중단
+        this.deadlineScheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("tls-deadline"));
+        this.deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 대상의 TLS 지원 정보를 확인합니다.
+     * 결과 캐시에 유효한 결과가 있으면 다시 스캔하지 않습니다.
+     *
+     * @param target 확인할 대상
+     * @return TLS 지원 정보 맵
+     */
+    public Map<String, TlsInfo> checkTlsSupport(ScanTarget target) {
+        return checkTlsSupport(target, false);
+    }
+
+    /**
+     * 대상의 TLS 지원 정보를 확인합니다.
+     *
+     * @param target 확인할 대상
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 스캔
+     * @return TLS 지원 정보 맵
+     */
+    public Map<String, TlsInfo> checkTlsSupport(ScanTarget target, boolean refresh) {
+        return resultCache.get(cacheKey(target), refresh,
+            () -> CompletableFuture.completedFuture(notifyListeners(target.getLabel(), scan(target)))).join();
+    }
+
+    /**
+     * 새 스캔 결과를 리스너에 전달합니다. 리스너 오류는 스캔 결과에 영향을 주지 않습니다.
+     */
+    private Map<String, TlsInfo> notifyListeners(String domain, Map<String, TlsInfo> results) {
+        for (ScanListener listener : scanListeners) {
+            try {
+                listener.onScan(domain, results);
+            } catch (RuntimeException e) {
+                // 무시
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 캐시를 거치지 않고 대상을 스캔합니다.
+     * 이름은 한 번만 해석하며 첫 번째 주소를 확인합니다.
+     */
+    private Map<String, TlsInfo> scan(ScanTarget target) {
+        if (target.getAddress() != null) {
+            return checkTlsSupport(target, target.getAddress());
+        }
+        long dnsStart = System.nanoTime();
+        InetAddress address;
+        try {
+            address = hostResolver.resolve(target.getHost()).get(0);
+        } catch (UnknownHostException e) {
+            return recordDns(failedAll(FailureType.DNS, e.getMessage()), dnsStart);
+        }
+        long dnsEnd = System.nanoTime();
+        return recordDns(checkTlsSupport(target, address), dnsStart, dnsEnd);
+    }
+
+    /**
+     * 대상 호스트의 모든 A/AAAA 주소에 대해 TLS 지원 정보를 확인합니다.
+     *
+     * @param target 확인할 대상
+     * @return 주소별 TLS 지원 정보 맵
+     * @throws UnknownHostException 이름을 해석할 수 없는 경우
+     */
+    public Map<InetAddress, Map<String, TlsInfo>> checkTlsSupportAllAddresses(ScanTarget target) throws UnknownHostException {
+        return checkTlsSupportAllAddresses(target, false);
+    }
+
+    /**
+     * 대상 호스트의 모든 A/AAAA 주소에 대해 TLS 지원 정보를 확인합니다.
+     * SNI에는 항상 호스트 이름을 사용하며, IP 주소 대상이나 고정 주소가 있으면 그 주소 하나만 확인합니다.
+     * 주소별 결과는 그 주소에 고정한 대상(host@address)의 결과로 캐시하고 리스너에 전달합니다.
+     *
+     * @param target 확인할 대상
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 스캔
+     * @return 주소별 TLS 지원 정보 맵
+     * @throws UnknownHostException 이름을 해석할 수 없는 경우
+     */
+    public Map<InetAddress, Map<String, TlsInfo>> checkTlsSupportAllAddresses(ScanTarget target, boolean refresh)
+            throws UnknownHostException {
+        Map<InetAddress, Map<String, TlsInfo>> results = new LinkedHashMap<>();
+        if (target.getAddress() != null) {
+            results.put(target.getAddress(), checkTlsSupport(target, refresh));
+            return results;
+        }
+        long dnsStart = System.nanoTime();
+        List<InetAddress> addresses = hostResolver.resolve(target.getHost());
+        long dnsEnd = System.nanoTime();
+        for (InetAddress address : addresses) {
+            ScanTarget pinned = target.withAddress(address);
+            results.put(address, resultCache.get(cacheKey(pinned), refresh, () -> CompletableFuture.completedFuture(
+                notifyListeners(pinned.getLabel(), recordDns(checkTlsSupport(pinned, address), dnsStart, dnsEnd)))).join());
+        }
+        return results;
+    }
+
+    /**
+     * 해석된 주소 하나에 대해 대상의 TLS 지원 정보를 확인합니다.
+     * 사전 TCP 연결 확인에 실패하면 버전별 프로브를 생략하고 모든 버전을 같은 실패 유형으로 기록합니다.
+     * 적응형 계획에서는 버전을 높은 순서로 하나씩 확인하며 앞선 응답으로 결과가 정해진 버전은 생략합니다.
+     *
+     * @param target 확인할 대상 (호스트는 SNI에 사용)
+     * @param address 연결할 주소
+     * @return TLS 지원 정보 맵
+     */
+    public Map<String, TlsInfo> checkTlsSupport(ScanTarget target, InetAddress address) {
+        if (isNioEngine()) {
+            return enumerateCipherSuites(target, address, probeAddressWithEngine(target, address).join());
+        }
+
+        ProbePlanner.Plan plan = probePlanner.isAdaptive() ? probePlanner.newPlan() : null;
+        // 탐색 핸드셰이크가 사전 연결 확인을 대신함
+        boolean preflight = probeProperties.isPreflight() && (plan == null || !plan.usesDiscovery());
+        if (preflight) {
+            try {
+                checkReachable(address, target.getPort());
+            } catch (IOException e) {
+                return tagAddress(failedUnreachable(e), address);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return tagAddress(failedAll(FailureType.OTHER, "Probe interrupted"), address);
+            }
+        }
+
+        Map<String, TlsInfo> results;
+        if (plan != null) {
+            results = executePlan(plan, target, address, preflight);
+        } else if (probeProperties.isConcurrent()) {
+            results = checkTlsSupportConcurrently(target, address);
+        } else {
+            results = new LinkedHashMap<>();
+            for (String tlsVersion : TLS_VERSIONS) {
+                TlsInfo tlsInfo = checkTlsVersionGoverned(target, address, tlsVersion);
+                // 지원 여부와 관계없이 모든 결과를 포함
+                results.put(tlsVersion, tlsInfo);
+            }
+        }
+        if (probePlanner.isVerify() && ProbePlanner.isComparable(results)) {
+            probePlanner.verify(target.getLabel(), results, probePlanner.usesDiscovery()
+                ? checkTlsVersionGoverned(target, address, ProbePlanner.DISCOVERY) : null);
+        }
+
+        return enumerateCipherSuites(target, address, tagAddress(results, address));
+    }
+
+    /**
+     * 계획이 정한 순서대로 한 번에 하나씩 프로브합니다.
+     *
+     * @param plan 호스트의 프로브 계획
+     * @param target 확인할 대상
+     * @param address 연결할 주소
+     * @param preflight 사전 연결 확인을 했으면 true
+     * @return TLS 지원 정보 맵
+     */
+    private Map<String, TlsInfo> executePlan(ProbePlanner.Plan plan, ScanTarget target, InetAddress address, boolean preflight) {
+        String step;
+        while ((step = plan.next()) != null) {
+            plan.record(step, checkTlsVersionGoverned(target, address, step));
+        }
+        return probePlanner.finish(plan, preflight);
+    }
+
+    /**
+     * 대상의 TLS 지원 정보를 비동기로 확인합니다.
+     * NIO 엔진에서는 스레드를 점유하지 않으며, 소켓 엔진에서는 주어진 실행기에서 블로킹 방식으로 확인합니다.
+     *
+     * @param target 확인할 대상
+     * @param blockingExecutor 소켓 엔진 사용 시 스캔을 실행할 실행기
+     * @return TLS 지원 정보 맵
+     */
+    public CompletableFuture<Map<String, TlsInfo>> checkTlsSupportAsync(ScanTarget target, Executor blockingExecutor) {
+        return checkTlsSupportAsync(target, false, blockingExecutor);
+    }
+
     /**
-     * 도메인의 TLS 지원 정보를 확인합니다.
+     * 대상의 TLS 지원 정보를 비동기로 확인합니다.
      *
-     * @param domain 확인할 도메인
+     * @param target 확인할 대상
+     * @param refresh true이면 캐시된 결과를 무시하고 다시 스캔
+     * @param blockingExecutor 소켓 엔진 사용 시 스캔을 실행할 실행기
      * @return TLS 지원 정보 맵
      */
-    public Map<String, TlsInfo> checkTlsSupport(String domain) {
+    public CompletableFuture<Map<String, TlsInfo>> checkTlsSupportAsync(ScanTarget target, boolean refresh, Executor blockingExecutor) {
+        return resultCache.get(cacheKey(target), refresh,
+            () -> scanAsync(target, blockingExecutor).thenApply(results -> notifyListeners(target.getLabel(), results)));
+    }
+
+    private CompletableFuture<Map<String, TlsInfo>> scanAsync(ScanTarget target, Executor blockingExecutor) {
+        if (isNioEngine()) {
+            if (target.getAddress() != null) {
+                return enumerateAsync(target, target.getAddress(), probeAddressWithEngine(target, target.getAddress()),
+                    blockingExecutor);
+            }
+            // 이름 해석은 블로킹이므로 호출한 스레드(입력 읽기, 요청 처리) 대신 실행기에서 수행
+            return CompletableFuture.supplyAsync(() -> resolveAndProbeWithEngine(target, blockingExecutor), blockingExecutor)
+                .thenCompose(results -> results);
+        }
+        return CompletableFuture.supplyAsync(() -> scan(target), blockingExecutor);
+    }
+
+    /**
+     * 이름을 해석한 뒤 첫 번째 주소로 NIO 엔진 프로브를 시작합니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> resolveAndProbeWithEngine(ScanTarget target, Executor blockingExecutor) {
+        long dnsStart = System.nanoTime();
+        InetAddress address;
+        try {
+            address = hostResolver.resolve(target.getHost()).get(0);
+        } catch (UnknownHostException e) {
+            return CompletableFuture.completedFuture(recordDns(failedAll(FailureType.DNS, e.getMessage()), dnsStart));
+        }
+        long dnsEnd = System.nanoTime();
+        return enumerateAsync(target, address,
+            probeAddressWithEngine(target, address).thenApply(r -> recordDns(r, dnsStart, dnsEnd)), blockingExecutor);
+    }
+
+    /**
+     * 설정에 따라 엔진 프로브 결과에 암호화 스위트 열거를 이어서 수행합니다.
+     * 열거는 블로킹 소켓을 사용하므로 주어진 실행기에서 실행합니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> enumerateAsync(ScanTarget target, InetAddress address,
+                                                                   CompletableFuture<Map<String, TlsInfo>> results,
+                                                                   Executor blockingExecutor) {
+        return probeProperties.isEnumerateCiphers()
+            ? results.thenApplyAsync(r -> enumerateCipherSuites(target, address, r), blockingExecutor)
+            : results;
+    }
+
+    /**
+     * 결과 캐시 키를 생성합니다. 대상 표기(포트, 고정 주소 포함)와 결과에 영향을 주는 프로브 설정을 포함합니다.
+     */
+    private String cacheKey(ScanTarget target) {
+        return target.getLabel() + "/" + probeProperties.getMode() + "/" + probeProperties.getProfile()
+            + (probeProperties.isEnumerateCiphers() ? "/ciphers" : "");
+    }
+
+    /**
+     * NIO 엔진으로 전체 핸드셰이크를 수행하는지 확인합니다.
+     * 빠른 프로브 방식은 항상 소켓으로 ClientHello만 교환합니다.
+     */
+    private boolean isNioEngine() {
+        return probeProperties.getMode() == TlsCheckerProperties.Mode.FULL
+            && probeProperties.getEngine() == TlsCheckerProperties.Engine.NIO;
+    }
+
+    /**
+     * NIO 엔진으로 사전 TCP 연결을 확인한 뒤 모든 TLS 버전의 핸드셰이크를 수행합니다.
+     * 적응형 계획에서는 계획이 정한 순서대로 하나씩 수행합니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> probeAddressWithEngine(ScanTarget target, InetAddress address) {
+        CompletableFuture<Map<String, TlsInfo>> results;
+        if (probePlanner.isAdaptive()) {
+            // FULL 방식만 엔진을 사용하므로 항상 탐색 핸드셰이크가 사전 연결 확인을 대신함
+            results = executePlanWithEngine(probePlanner.newPlan(), target, address);
+        } else if (probeProperties.isPreflight()) {
+            results = probeGovernor.acquireAsync(address).thenCompose(permit ->
+                nioHandshakeEngine.checkReachable(address, target.getPort(), timeouts).whenComplete((reachable, e) -> permit.release(reachable))
+            ).thenCompose(reachable ->
+                reachable.isSupported()
+                    ? collectEngineProbes(probeWithEngine(target, address))
+                    : CompletableFuture.completedFuture(failedAll(reachable.getFailureType(),
+                        "TCP pre-check failed: " + reachable.getErrorMessage())));
+        } else {
+            results = collectEngineProbes(probeWithEngine(target, address));
+        }
+        if (probePlanner.isVerify()) {
+            results = results.thenCompose(r -> verifyWithEngine(target, address, r));
+        }
+        return results.thenApply(r -> tagAddress(r, address));
+    }
+
+    /**
+     * 계획의 다음 단계를 NIO 엔진으로 수행하고, 결과를 기록한 뒤 그 다음 단계를 이어서 수행합니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> executePlanWithEngine(ProbePlanner.Plan plan, ScanTarget target,
+                                                                          InetAddress address) {
+        String step = plan.next();
+        if (step == null) {
+            return CompletableFuture.completedFuture(probePlanner.finish(plan, false));
+        }
+        return probeGovernor.acquireAsync(address).thenCompose(permit ->
+            probeWithEngine(target, address, step).whenComplete((tlsInfo, e) -> permit.release(tlsInfo))
+        ).thenCompose(tlsInfo -> {
+            plan.record(step, tlsInfo);
+            return executePlanWithEngine(plan, target, address);
+        });
+    }
+
+    /**
+     * 탐색 핸드셰이크를 수행하여 모든 버전을 확인한 결과를 적응형 계획과 비교합니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> verifyWithEngine(ScanTarget target, InetAddress address,
+                                                                     Map<String, TlsInfo> results) {
+        if (!ProbePlanner.isComparable(results)) {
+            return CompletableFuture.completedFuture(results);
+        }
+        return probeGovernor.acquireAsync(address).thenCompose(permit ->
+            probeWithEngine(target, address, ProbePlanner.DISCOVERY).whenComplete((tlsInfo, e) -> permit.release(tlsInfo))
+        ).thenApply(discovery -> {
+            probePlanner.verify(target.getLabel(), results, discovery);
+            return results;
+        });
+    }
+
+    /**
+     * NIO 엔진으로 모든 TLS 버전의 핸드셰이크를 시작합니다.
+     * 각 핸드셰이크는 동시 실행 제한기의 허가를 받은 뒤 시작합니다.
+     */
+    private Map<String, CompletableFuture<TlsInfo>> probeWithEngine(ScanTarget target, InetAddress address) {
+        Map<String, CompletableFuture<TlsInfo>> futures = new LinkedHashMap<>();
+        for (String tlsVersion : TLS_VERSIONS) {
+            futures.put(tlsVersion, probeGovernor.acquireAsync(address).thenCompose(permit ->
+                probeWithEngine(target, address, tlsVersion).whenComplete((tlsInfo, e) -> permit.release(tlsInfo))));
+        }
+        return futures;
+    }
+
+    private CompletableFuture<TlsInfo> probeWithEngine(ScanTarget target, InetAddress address, String tlsVersion) {
+        CompletableFuture<TlsInfo> future;
+        long start = probeMetrics.probeStarted();
+        try {
+            future = nioHandshakeEngine.probe(sslContextRegistry.get(tlsVersion, probeProperties.getProfile()),
+                target.getHost(), address, target.getPort(), timeouts);
+        } catch (Exception e) {
+            future = CompletableFuture.completedFuture(failedProbe(tlsVersion, FailureType.classify(e), e.getMessage()));
+        }
+        return future.thenApply(tlsInfo -> {
+            TlsInfo result = probePlanner.resolveDiscovery(tlsInfo);
+            probeMetrics.probeFinished(result, start);
+            return result;
+        });
+    }
+
+    /**
+     * 엔진 프로브 결과를 TLS_VERSIONS 순서의 맵으로 모읍니다.
+     */
+    private CompletableFuture<Map<String, TlsInfo>> collectEngineProbes(Map<String, CompletableFuture<TlsInfo>> futures) {
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                Map<String, TlsInfo> results = new LinkedHashMap<>();
+                for (Map.Entry<String, CompletableFuture<TlsInfo>> entry : futures.entrySet()) {
+                    results.put(entry.getKey(), entry.getValue().join());
+                }
+                return results;
+            });
+    }
+
+    /**
+     * 지원되는 버전마다 서버가 수락하는 암호화 스위트를 동시에 열거하여 결과에 반영합니다.
+     * 열거에 실패한 버전은 기존 결과를 그대로 유지합니다.
+     *
+     * @param target 대상
+     * @param address 연결할 주소
+     * @param results 버전별 확인 결과
+     * @return 암호화 스위트 목록이 반영된 결과
+     */
+    private Map<String, TlsInfo> enumerateCipherSuites(ScanTarget target, InetAddress address, Map<String, TlsInfo> results) {
+        if (!probeProperties.isEnumerateCiphers()) {
+            return results;
+        }
+
+        Map<TlsInfo, Future<CipherSuiteEnumerator.Enumeration>> futures = new LinkedHashMap<>();
+        for (TlsInfo tlsInfo : results.values()) {
+            if (tlsInfo.isSupported()) {
+                // 열거 중 핸드셰이크마다 동시 실행 제한기의 허가를 받음
+                futures.put(tlsInfo, probeExecutor.submit(() ->
+                    cipherSuiteEnumerator.enumerate(target.getHost(), address, target.getPort(), tlsInfo.getVersion(), timeouts)));
+            }
+        }
+
+        for (Map.Entry<TlsInfo, Future<CipherSuiteEnumerator.Enumeration>> entry : futures.entrySet()) {
+            try {
+                CipherSuiteEnumerator.Enumeration enumeration = entry.getValue().get();
+                if (!enumeration.getCipherSuites().isEmpty()) {
+                    TlsInfo tlsInfo = entry.getKey();
+                    tlsInfo.setCipherSuites(enumeration.getCipherSuites());
+                    tlsInfo.setServerCipherSuites(true);
+                    tlsInfo.setServerCipherPreference(enumeration.isServerPreference());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // 열거 실패 시 기존 목록 유지
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * 모든 TLS 버전을 동시에 확인합니다.
+     * 결과 순서는 TLS_VERSIONS 순서를 그대로 유지합니다.
+     *
+     * @param target 확인할 대상
+     * @param address 연결할 주소
+     * @return TLS 지원 정보 맵
+     */
+    private Map<String, TlsInfo> checkTlsSupportConcurrently(ScanTarget target, InetAddress address) {
+        Map<String, PendingProbe> probes = new LinkedHashMap<>();
         Map<String, TlsInfo> results = new LinkedHashMap<>();
-        
+
         for (String tlsVersion : TLS_VERSIONS) {
-            TlsInfo tlsInfo = checkTlsVersion(domain, tlsVersion);
-            // 지원 여부와 관계없이 모든 결과를 포함
-            results.put(tlsVersion, tlsInfo);
+            ProbeGovernor.Permit permit;
+            try {
+                permit = probeGovernor.acquire(address);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.put(tlsVersion, failedProbe(tlsVersion, FailureType.OTHER, "Probe interrupted"));
+                continue;
+            }
+            // 프로브마다 허가를 받아 제출한 시점부터 개별 제한 시간을 적용
+            PendingProbe probe = new PendingProbe(permit,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(probeProperties.getDeadlineMillis()));
+            probe.future = probeExecutor.submit(() ->
+                probe.start() ? checkTlsVersion(target, address, tlsVersion, permit) : null);
+            probes.put(tlsVersion, probe);
+        }
+
+        for (Map.Entry<String, PendingProbe> entry : probes.entrySet()) {
+            results.put(entry.getKey(), awaitProbe(entry.getKey(), entry.getValue()));
+        }
+
+        // TLS_VERSIONS 순서로 정렬
+        Map<String, TlsInfo> ordered = new LinkedHashMap<>();
+        for (String tlsVersion : TLS_VERSIONS) {
+            ordered.put(tlsVersion, results.get(tlsVersion));
+        }
+        return ordered;
+    }
+
+    /**
+     * 동시 실행 제한기의 허가를 받아 버전 하나를 확인합니다.
+     */
+    private TlsInfo checkTlsVersionGoverned(ScanTarget target, InetAddress address, String tlsVersion) {
+        try {
+            return checkTlsVersion(target, address, tlsVersion, probeGovernor.acquire(address));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedProbe(tlsVersion, FailureType.OTHER, "Probe interrupted");
+        }
+    }
+
+    /**
+     * 버전 하나를 확인한 뒤 결과와 함께 허가를 반납합니다.
+     */
+    private TlsInfo checkTlsVersion(ScanTarget target, InetAddress address, String tlsVersion, ProbeGovernor.Permit permit) {
+        TlsInfo tlsInfo = null;
+        try {
+            tlsInfo = checkTlsVersion(target.getHost(), address, target.getPort(), tlsVersion);
+            return tlsInfo;
+        } finally {
+            permit.release(tlsInfo);
+        }
+    }
+
+    /**
+     * 프로브 결과를 제한 시간 안에서 기다립니다.
+     * 제한 시간이 지나면 작업을 취소하며, 허가는 작업이 소켓을 닫은 뒤 반납합니다.
+     *
+     * @param tlsVersion TLS 버전
+     * @param probe 제출한 프로브
+     * @return TLS 정보
+     */
+    private TlsInfo awaitProbe(String tlsVersion, PendingProbe probe) {
+        try {
+            return probe.future.get(Math.max(0L, probe.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            probe.cancel();
+            return failedProbe(tlsVersion, FailureType.TIMEOUT,
+                "Probe deadline exceeded (" + probeProperties.getDeadlineMillis() + " ms)");
+        } catch (InterruptedException e) {
+            probe.cancel();
+            Thread.currentThread().interrupt();
+            return failedProbe(tlsVersion, FailureType.OTHER, "Probe interrupted");
+        } catch (ExecutionException e) {
+            return failedProbe(tlsVersion, FailureType.classify(e.getCause()), e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * TLS 없이 TCP 연결만 맺었다가 바로 닫아 호스트에 연결할 수 있는지 확인합니다.
+     *
+     * @param address 연결할 주소
+     * @param port 포트
+     * @throws IOException 연결이 거부되었거나 제한 시간 안에 연결하지 못한 경우
+     * @throws InterruptedException 동시 실행 제한기의 허가를 기다리는 동안 인터럽트된 경우
+     */
+    private void checkReachable(InetAddress address, int port) throws IOException, InterruptedException {
+        ProbeGovernor.Permit permit = probeGovernor.acquire(address);
+        FailureType failureType = null;
+        try (Socket socket = new Socket()) {
+            socket.setSoLinger(true, 0);
+            socket.connect(new InetSocketAddress(address, port), timeouts.getConnectMillis());
+        } catch (IOException e) {
+            failureType = FailureType.classify(e);
+            throw e;
+        } finally {
+            permit.release(failureType);
+        }
+    }
+
+    /**
+     * 사전 연결 확인에 실패한 호스트의 결과를 생성합니다.
+     */
+    private Map<String, TlsInfo> failedUnreachable(IOException e) {
+        return failedAll(FailureType.classify(e), "TCP pre-check failed: " + e.getMessage());
+    }
+
+    /**
+     * 모든 버전이 같은 이유로 실패한 결과를 생성합니다.
+     */
+    private Map<String, TlsInfo> failedAll(FailureType failureType, String errorMessage) {
+        probeMetrics.hostFailed(failureType);
+        Map<String, TlsInfo> results = new LinkedHashMap<>();
+        for (String tlsVersion : TLS_VERSIONS) {
+            results.put(tlsVersion, failedProbe(tlsVersion, failureType, errorMessage));
+        }
+        return results;
+    }
+
+    /**
+     * 이름 해석 소요 시간을 모든 버전의 결과에 기록합니다.
+     */
+    private Map<String, TlsInfo> recordDns(Map<String, TlsInfo> results, long dnsStart, long dnsEnd) {
+        probeMetrics.dnsResolved(dnsEnd - dnsStart);
+        for (TlsInfo tlsInfo : results.values()) {
+            tlsInfo.getTimings().setDnsNanos(dnsEnd - dnsStart);
+        }
+        return results;
+    }
+
+    private Map<String, TlsInfo> recordDns(Map<String, TlsInfo> results, long dnsStart) {
+        return recordDns(results, dnsStart, System.nanoTime());
+    }
+
+    /**
+     * 결과에 연결한 주소를 기록합니다.
+     */
+    private Map<String, TlsInfo> tagAddress(Map<String, TlsInfo> results, InetAddress address) {
+        for (TlsInfo tlsInfo : results.values()) {
+            tlsInfo.setAddress(address.getHostAddress());
         }
-        
         return results;
     }
 
+    /**
+     * 실패한 프로브의 TLS 정보를 생성합니다.
+     */
+    private TlsInfo failedProbe(String tlsVersion, FailureType failureType, String errorMessage) {
+        TlsInfo tlsInfo = new TlsInfo(tlsVersion);
+        tlsInfo.setSupported(false);
+        tlsInfo.setFailureType(failureType);
+        tlsInfo.setErrorMessage(errorMessage);
+        return tlsInfo;
+    }
+
+    @Override
+    public void destroy() {
+        probeExecutor.shutdownNow();
+        deadlineScheduler.shutdownNow();
+    }
+
     /**
      * 특정 TLS 버전에 대한 지원 여부와 알고리즘을 확인합니다.
      *
-     * @param domain 도메인
-     * @param tlsVersion TLS 버전
+     * @param domain 도메인 (SNI에 사용)
+     * @param address 연결할 주소
+     * @param port 포트
+     * @param tlsVersion TLS 버전 (모든 버전을 제시하려면 {@link ProbePlanner#DISCOVERY})
      * @return TLS 정보
      */
-    private TlsInfo checkTlsVersion(String domain, String tlsVersion) {
+    TlsInfo checkTlsVersion(String domain, InetAddress address, int port, String tlsVersion) {
+        long start = probeMetrics.probeStarted();
+        TlsInfo tlsInfo = null;
+        try {
+            // 탐색 핸드셰이크 결과는 협상된 버전의 결과로 바꿔서 기록
+            tlsInfo = probePlanner.resolveDiscovery(probeVersion(domain, address, port, tlsVersion));
+            return tlsInfo;
+        } finally {
+            probeMetrics.probeFinished(tlsInfo != null ? tlsInfo : failedProbe(tlsVersion, FailureType.OTHER, null), start);
+        }
+    }
+
+    /**
+     * 설정된 방식으로 버전 하나를 프로브합니다.
+     */
+    private TlsInfo probeVersion(String domain, InetAddress address, int port, String tlsVersion) {
+        if (probeProperties.getMode() == TlsCheckerProperties.Mode.FAST) {
+            return clientHelloProbe.probe(domain, address, port, tlsVersion, timeouts);
+        }
+
         TlsInfo tlsInfo = new TlsInfo(tlsVersion);
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> watchdog = null;
         
         try {
-            // SSL 컨텍스트 생성
-            SSLContext sslContext = SSLContext.getInstance(tlsVersion);
-            sslContext.init(null, new TrustManager[]{new AcceptAllTrustManager()}, null);
+            // 미리 초기화된 SSL 컨텍스트와 소켓 팩토리 조회
+            SslContextRegistry.ProbeContext probeContext = sslContextRegistry.get(tlsVersion, probeProperties.getProfile());
+            SSLSocketFactory factory = probeContext.getSocketFactory();
             
-            // SSL 소켓 팩토리 생성
-            SSLSocketFactory factory = sslContext.getSocketFactory();
-            
-            // 연결 시도
-            try (SSLSocket socket = (SSLSocket) factory.createSocket(domain, 443)) {
-                socket.setSoTimeout(CONNECTION_TIMEOUT);
+            // 연결 시도 (이미 해석된 주소로 연결하고 SNI에는 도메인 사용)
+            try (SSLSocket socket = (SSLSocket) factory.createSocket()) {
+                // 전체 제한 시간이 지나면 소켓을 닫아 진행 중인 연결 또는 핸드셰이크를 중단
+                watchdog = deadlineScheduler.schedule(() -> {
+                    expired.set(true);
+                    closeQuietly(socket);
+                }, timeouts.getTotalMillis(), TimeUnit.MILLISECONDS);
+
+                // TLS 버전, 프로필 및 SNI 설정
+                probeContext.configure(socket, domain);
                 
-                // TLS 버전 설정
-                socket.setEnabledProtocols(new String[]{tlsVersion});
+                long connectStart = System.nanoTime();
+                socket.connect(new InetSocketAddress(address, port), timeouts.getConnectMillis());
+                socket.setSoTimeout(timeouts.getHandshakeMillis());
+                long handshakeStart = System.nanoTime();
+                tlsInfo.getTimings().setConnectNanos(handshakeStart - connectStart);
                 
                 // 연결 시작
                 socket.startHandshake();
+                long certificateStart = System.nanoTime();
+                tlsInfo.getTimings().setHandshakeNanos(certificateStart - handshakeStart);
                 
                 // 연결 성공 시 정보 수집
+                SSLSession session = socket.getSession();
                 tlsInfo.setSupported(true);
                 tlsInfo.setCipherSuites(Arrays.asList(socket.getEnabledCipherSuites()));
                 tlsInfo.setSupportedProtocols(Arrays.asList(socket.getEnabledProtocols()));
+                tlsInfo.setNegotiatedProtocol(session.getProtocol());
+                tlsInfo.setNegotiatedCipherSuite(session.getCipherSuite());
                 
                 // 인증서 정보 수집
-                SSLSession session = socket.getSession();
-                tlsInfo.setCertificateInfo(extractCertificateInfo(session));
+                certificateCache.collect(session, tlsInfo);
+                tlsInfo.getTimings().setCertificateNanos(System.nanoTime() - certificateStart);
                 
+                // 공유 컨텍스트에서 다음 프로브가 세션을 재개하지 않도록 무효화
+                session.invalidate();
             }
         } catch (Exception e) {
             tlsInfo.setSupported(false);
-            tlsInfo.setErrorMessage(e.getMessage());
+            if (expired.get()) {
+                tlsInfo.setFailureType(FailureType.TIMEOUT);
+                tlsInfo.setErrorMessage("Probe deadline exceeded (" + timeouts.getTotalMillis() + " ms)");
+            } else {
+                tlsInfo.setFailureType(FailureType.classify(e));
+                tlsInfo.setErrorMessage(e.getMessage());
+            }
+        } finally {
+            if (watchdog != null) {
+                watchdog.cancel(false);
+            }
         }
         
         return tlsInfo;
     }
 
-    /**
-     * 인증서 정보를 추출합니다.
-     *
-     * @param session SSL 세션
-     * @return 인증서 정보
-     */
-    private CertificateInfo extractCertificateInfo(SSLSession session) {
-        CertificateInfo certInfo = new CertificateInfo();
-        
+    private static void closeQuietly(Socket socket) {
         try {
-            X509Certificate cert = (X509Certificate) session.getPeerCertificates()[0];
-            certInfo.setSubject(cert.getSubjectDN().toString());
-            certInfo.setIssuer(cert.getIssuerDN().toString());
-            certInfo.setValidFrom(cert.getNotBefore());
-            certInfo.setValidTo(cert.getNotAfter());
-            certInfo.setSignatureAlgorithm(cert.getSigAlgName());
-        } catch (Exception e) {
-            certInfo.setErrorMessage("인증서 정보를 가져올 수 없습니다: " + e.getMessage());
+            socket.close();
+        } catch (IOException ignored) {
+            // 종료 중 오류 무시
         }
-        
-        return certInfo;
     }
 
     /**
-     * 모든 인증서를 신뢰하는 TrustManager
+     * 허가를 받아 실행기에 제출한 프로브
+     *
+     * 허가는 작업을 시작한 쪽이 반납합니다. 작업이 시작되기 전에 취소되면 기다리던 쪽이 대신 반납하고,
+     * 이미 연결 중이면 작업이 끝나며 finally에서 반납하므로 소켓을 쥔 동안 허가가 돌아가지 않습니다.
      */
-    private static class AcceptAllTrustManager implements X509TrustManager {
-        @Override
-        public X509Certificate[] getAcceptedIssuers() {
-            return new X509Certificate[0];
+    private static class PendingProbe {
+        private final ProbeGovernor.Permit permit;
+        /** 제한 시간 (System.nanoTime 기준) */
+        private final long deadline;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private Future<TlsInfo> future;
+
+        PendingProbe(ProbeGovernor.Permit permit, long deadline) {
+            this.permit = permit;
+            this.deadline = deadline;
         }
 
-        @Override
-        public void checkClientTrusted(X509Certificate[] certs, String authType) {
-            // 모든 클라이언트 인증서를 신뢰
+        /**
+         * 작업 시작을 표시합니다.
+         *
+         * @return 작업을 실행해야 하면 true, 이미 취소되었으면 false
+         */
+        boolean start() {
+            return started.compareAndSet(false, true);
         }
 
-        @Override
-        public void checkServerTrusted(X509Certificate[] certs, String authType) {
-            // 모든 서버 인증서를 신뢰
+        /**
+         * 작업을 취소하고, 작업이 아직 시작되지 않았으면 허가를 반납합니다.
+         */
+        void cancel() {
+            future.cancel(true);
+            if (started.compareAndSet(false, true)) {
+                permit.release((FailureType) null);
+            }
         }
     }
 
@@ -129,11 +780,20 @@ public class TlsCheckerService {
      */
     public static class TlsInfo {
         private final String version;
+        private String address;
         private boolean supported;
         private List<String> cipherSuites;
+        private boolean serverCipherSuites;
+        private Boolean serverCipherPreference;
         private List<String> supportedProtocols;
+        private String negotiatedProtocol;
+        private String negotiatedCipherSuite;
         private CertificateInfo certificateInfo;
+        private List<CertificateInfo> certificateChain = Collections.emptyList();
+        private List<String> chainProblems = Collections.emptyList();
+        private FailureType failureType;
         private String errorMessage;
+        private final PhaseTimings timings = new PhaseTimings();
 
         public TlsInfo(String version) {
             this.version = version;
@@ -144,22 +804,74 @@ public class TlsCheckerService {
 
         // Getters and Setters
         public String getVersion() { return version; }
+        /** 연결한 IP 주소 */
+        public String getAddress() { return address; }
+        public void setAddress(String address) { this.address = address; }
         public boolean isSupported() { return supported; }
         public void setSupported(boolean supported) { this.supported = supported; }
         public List<String> getCipherSuites() { return cipherSuites; }
         public void setCipherSuites(List<String> cipherSuites) { this.cipherSuites = cipherSuites; }
+        /** 암호화 스위트 목록이 서버 열거 결과인지 여부 (false이면 클라이언트 제시 목록) */
+        public boolean isServerCipherSuites() { return serverCipherSuites; }
+        public void setServerCipherSuites(boolean serverCipherSuites) { this.serverCipherSuites = serverCipherSuites; }
+        /** 서버가 자신의 선호 순서를 따르는지 여부 (열거하지 않았으면 null) */
+        public Boolean getServerCipherPreference() { return serverCipherPreference; }
+        public void setServerCipherPreference(Boolean serverCipherPreference) { this.serverCipherPreference = serverCipherPreference; }
         public List<String> getSupportedProtocols() { return supportedProtocols; }
         public void setSupportedProtocols(List<String> supportedProtocols) { this.supportedProtocols = supportedProtocols; }
+        public String getNegotiatedProtocol() { return negotiatedProtocol; }
+        public void setNegotiatedProtocol(String negotiatedProtocol) { this.negotiatedProtocol = negotiatedProtocol; }
+        public String getNegotiatedCipherSuite() { return negotiatedCipherSuite; }
+        public void setNegotiatedCipherSuite(String negotiatedCipherSuite) { this.negotiatedCipherSuite = negotiatedCipherSuite; }
         public CertificateInfo getCertificateInfo() { return certificateInfo; }
         public void setCertificateInfo(CertificateInfo certificateInfo) { this.certificateInfo = certificateInfo; }
+        /** 서버가 보낸 인증서 체인 (서버 인증서부터, 여러 결과가 같은 인스턴스를 공유) */
+        public List<CertificateInfo> getCertificateChain() { return certificateChain; }
+        public void setCertificateChain(List<CertificateInfo> certificateChain) {
+            this.certificateChain = certificateChain;
+            this.certificateInfo = certificateChain.isEmpty() ? null : certificateChain.get(0);
+        }
+        /** 체인 순서, 누락된 중간 인증서 등 체인의 문제 */
+        public List<String> getChainProblems() { return chainProblems; }
+        public void setChainProblems(List<String> chainProblems) { this.chainProblems = chainProblems; }
+        /** 실패 유형 (지원되면 null) */
+        public FailureType getFailureType() { return failureType; }
+        public void setFailureType(FailureType failureType) { this.failureType = failureType; }
         public String getErrorMessage() { return errorMessage; }
         public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+        /** 단계별 소요 시간 */
+        public PhaseTimings getTimings() { return timings; }
+    }
+
+    /**
+     * 프로브 단계별 소요 시간 (나노초, 측정하지 않은 단계는 -1)
+     */
+    public static class PhaseTimings {
+        private long dnsNanos = -1;
+        private long connectNanos = -1;
+        private long handshakeNanos = -1;
+        private long certificateNanos = -1;
+
+        // Getters and Setters
+        /** 이름 해석 (캐시 적중 시 0에 가까움) */
+        public long getDnsNanos() { return dnsNanos; }
+        public void setDnsNanos(long dnsNanos) { this.dnsNanos = dnsNanos; }
+        /** TCP 연결 */
+        public long getConnectNanos() { return connectNanos; }
+        public void setConnectNanos(long connectNanos) { this.connectNanos = connectNanos; }
+        /** TLS 핸드셰이크 (빠른 프로브에서는 ClientHello 전송부터 ServerHello 수신까지) */
+        public long getHandshakeNanos() { return handshakeNanos; }
+        public void setHandshakeNanos(long handshakeNanos) { this.handshakeNanos = handshakeNanos; }
+        /** 인증서 정보 추출 */
+        public long getCertificateNanos() { return certificateNanos; }
+        public void setCertificateNanos(long certificateNanos) { this.certificateNanos = certificateNanos; }
     }
 
     /**
      * 인증서 정보를 담는 클래스
      */
     public static class CertificateInfo {
+        private String fingerprint;
         private String subject;
         private String issuer;
         private Date validFrom;
@@ -168,6 +880,9 @@ public class TlsCheckerService {
         private String errorMessage;
 
         // Getters and Setters
+        /** SHA-256 지문 (16진수) */
+        public String getFingerprint() { return fingerprint; }
+        public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
         public String getSubject() { return subject; }
         public void setSubject(String subject) { this.subject = subject; }
         public String getIssuer() { return issuer; }
@@ -1,15 +1,32 @@
 package ksd.std.tlschecker.util;
 
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.service.BatchScanService;
+import ksd.std.tlschecker.service.CertificateCache;
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.FailureType;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.ProbeMetrics;
+import ksd.std.tlschecker.service.ProbePlanner;
+import ksd.std.tlschecker.service.SslContextRegistry;
 import ksd.std.tlschecker.service.TlsCheckerService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.text.SimpleDateFormat;
+import java.io.PrintStream;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Java 표준 라이브러리를 사용한 콘솔 출력 유틸리티 클래스
  * 완벽한 ASCII 테이블 출력을 제공합니다.
+ *
+ * 보고서 하나를 스레드별로 재사용하는 버퍼에 모두 만든 뒤 한 번에 출력하므로,
+ * 여러 스캔이 동시에 끝나도 출력이 섞이지 않습니다.
  */
 @Component
 public class ConsoleOutputUtil {
@@ -21,15 +38,59 @@ public class ConsoleOutputUtil {
     private static final String GREEN = "\033[32m";
     private static final String YELLOW = "\033[33m";
     private static final String BLUE = "\033[34m";
-    private static final String MAGENTA = "\033[35m";
-    private static final String CYAN = "\033[36m";
     private static final String WHITE = "\033[37m";
     private static final String BRIGHT_GREEN = "\033[92m";
     private static final String BRIGHT_BLUE = "\033[94m";
     private static final String BRIGHT_CYAN = "\033[96m";
 
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
     private static final int TABLE_WIDTH = 80;
+    private static final int INNER_WIDTH = TABLE_WIDTH - 2;
+    private static final int MAX_VALUE_LENGTH = 50;
+
+    // 버퍼가 이보다 커지면 재사용하지 않고 버림
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private static final char[] SPACES = new char[TABLE_WIDTH];
+    static {
+        java.util.Arrays.fill(SPACES, ' ');
+    }
+
+    private final PrintStream sink;
+    private final boolean color;
+
+    @Autowired
+    public ConsoleOutputUtil(TlsCheckerProperties properties) {
+        this(null, useColor(properties.getOutput().getColor()));
+    }
+
+    /**
+     * @param sink 출력 대상 (null이면 출력 시점의 System.out)
+     * @param color ANSI 색상 사용 여부
+     */
+    public ConsoleOutputUtil(PrintStream sink, boolean color) {
+        this.sink = sink;
+        this.color = color;
+    }
+
+    /**
+     * 색상 설정에 따라 ANSI 색상 사용 여부를 결정합니다.
+     * AUTO는 콘솔(TTY)에 연결되어 있고 NO_COLOR 환경 변수가 없을 때만 색상을 사용합니다.
+     */
+    private static boolean useColor(TlsCheckerProperties.ColorMode mode) {
+        switch (mode) {
+            case ALWAYS:
+                return true;
+            case NEVER:
+                return false;
+            default:
+                return System.console() != null && System.getenv("NO_COLOR") == null;
+        }
+    }
 
     /**
      * TLS 체크 결과를 콘솔에 출력합니다.
@@ -38,276 +99,902 @@ public class ConsoleOutputUtil {
      * @param results TLS 체크 결과
      */
     public void printTlsResults(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
-        System.out.println();
-        printHeader(domain);
-        System.out.println();
+        StringBuilder out = buffer();
+        out.append('\n');
+        appendHeader(out, domain);
+        out.append('\n');
 
         if (results.isEmpty()) {
-            printNoTlsSupport();
+            appendNoTlsSupport(out);
+            write(out);
             return;
         }
 
         // TLS 버전별 결과를 테이블로 출력
         for (Map.Entry<String, TlsCheckerService.TlsInfo> entry : results.entrySet()) {
-            String version = entry.getKey();
-            TlsCheckerService.TlsInfo tlsInfo = entry.getValue();
-            
-            printTlsVersionTable(version, tlsInfo);
-            System.out.println();
+            appendTlsVersionTable(out, entry.getKey(), entry.getValue());
+            out.append('\n');
         }
 
-        printSummaryTable(results);
+        appendSummaryTable(out, results);
+        write(out);
     }
 
     /**
-     * 헤더를 출력합니다.
+     * 헤더를 추가합니다.
      */
-    private void printHeader(String domain) {
-        String title = "TLS Support Status: " + domain;
-        int padding = (TABLE_WIDTH - title.length()) / 2;
-        
-        printHorizontalLine('=');
-        printCenteredLine(title, '=');
-        printHorizontalLine('=');
+    private void appendHeader(StringBuilder out, String domain) {
+        horizontalLine(out, '=');
+        int row = beginCentered(out);
+        out.append("TLS Support Status: ").append(domain);
+        endCentered(out, row);
+        horizontalLine(out, '=');
     }
 
     /**
-     * TLS 버전 정보를 테이블로 출력합니다.
+     * TLS 버전 정보 테이블을 추가합니다.
      */
-    private void printTlsVersionTable(String version, TlsCheckerService.TlsInfo tlsInfo) {
-        String header = "TLS Version: " + version;
-        printHorizontalLine('-');
-        printCenteredLine(header, '-');
-        printHorizontalLine('-');
-        
+    private void appendTlsVersionTable(StringBuilder out, String version, TlsCheckerService.TlsInfo tlsInfo) {
+        horizontalLine(out, '-');
+        int header = beginCentered(out);
+        out.append("TLS Version: ").append(version);
+        endCentered(out, header);
+        horizontalLine(out, '-');
+
         // 지원 여부
-        String supportStatus = tlsInfo.isSupported() ? 
-            BOLD + BRIGHT_GREEN + "SUPPORTED" + RESET : 
-            BOLD + RED + "NOT SUPPORTED" + RESET;
-        printTableRow("Status", supportStatus);
-        
+        if (tlsInfo.isSupported()) {
+            row(out, "Status", BOLD + BRIGHT_GREEN, "SUPPORTED");
+        } else {
+            row(out, "Status", BOLD + RED, "NOT SUPPORTED");
+        }
+
+        if (!tlsInfo.isSupported() && tlsInfo.getFailureType() != null) {
+            row(out, "Failure Type", BOLD + YELLOW, tlsInfo.getFailureType().name());
+        }
         if (!tlsInfo.isSupported() && tlsInfo.getErrorMessage() != null) {
-            printTableRow("Error", BOLD + YELLOW + truncateString(tlsInfo.getErrorMessage(), 50) + RESET);
+            int row = beginRow(out, "Error");
+            style(out, BOLD + YELLOW);
+            appendTruncated(out, tlsInfo.getErrorMessage(), MAX_VALUE_LENGTH);
+            style(out, RESET);
+            endRow(out, row);
+        }
+
+        // 단계별 소요 시간
+        if (hasTimings(tlsInfo.getTimings())) {
+            int row = beginRow(out, "Timings");
+            appendTimings(out, tlsInfo.getTimings());
+            endRow(out, row);
+        }
+
+        // 협상된 프로토콜과 암호화 스위트
+        if (tlsInfo.isSupported() && tlsInfo.getNegotiatedProtocol() != null) {
+            row(out, "Negotiated Protocol", "", tlsInfo.getNegotiatedProtocol());
+        }
+        if (tlsInfo.isSupported() && tlsInfo.getNegotiatedCipherSuite() != null) {
+            int row = beginRow(out, "Negotiated Cipher");
+            appendCipherSuite(out, tlsInfo.getNegotiatedCipherSuite());
+            endRow(out, row);
         }
-        
+
         // 암호화 스위트 정보
         if (tlsInfo.isSupported() && !tlsInfo.getCipherSuites().isEmpty()) {
             List<String> cipherSuites = tlsInfo.getCipherSuites();
             int maxDisplay = Math.min(cipherSuites.size(), 8); // 최대 8개만 표시
-            
-            printTableRow("Cipher Suites", BOLD + BLUE + "(" + cipherSuites.size() + " total)" + RESET);
-            
+
+            int row;
+            if (tlsInfo.isServerCipherSuites()) {
+                row = beginRow(out, "Server Cipher Suites");
+                style(out, BOLD + BLUE);
+                out.append('(').append(cipherSuites.size()).append(" accepted, ")
+                    .append(Boolean.TRUE.equals(tlsInfo.getServerCipherPreference()) ? "server order" : "client order")
+                    .append(')');
+            } else {
+                row = beginRow(out, "Client Cipher Suites");
+                style(out, BOLD + BLUE);
+                out.append('(').append(cipherSuites.size()).append(" offered)");
+            }
+            style(out, RESET);
+            endRow(out, row);
+
             for (int i = 0; i < maxDisplay; i++) {
-                String cipher = formatCipherSuite(cipherSuites.get(i));
-                printTableRow("", "  • " + truncateString(cipher, 50));
+                int suiteRow = beginRow(out, "");
+                out.append("  • ");
+                appendCipherSuite(out, cipherSuites.get(i));
+                endRow(out, suiteRow);
             }
-            
+
             if (cipherSuites.size() > 8) {
-                printTableRow("", "  ... (total " + cipherSuites.size() + " suites)");
+                int moreRow = beginRow(out, "");
+                out.append("  ... (total ").append(cipherSuites.size()).append(" suites)");
+                endRow(out, moreRow);
             }
         }
-        
+
         // 인증서 정보
         if (tlsInfo.isSupported() && tlsInfo.getCertificateInfo() != null) {
-            TlsCheckerService.CertificateInfo certInfo = tlsInfo.getCertificateInfo();
-            
-            if (certInfo.getErrorMessage() != null) {
-                printTableRow("Certificate Error", BOLD + RED + truncateString(certInfo.getErrorMessage(), 50) + RESET);
-            } else {
-                if (certInfo.getSubject() != null) {
-                    printTableRow("Certificate Subject", truncateString(certInfo.getSubject(), 50));
-                }
-                if (certInfo.getIssuer() != null) {
-                    printTableRow("Certificate Issuer", truncateString(certInfo.getIssuer(), 50));
-                }
-                if (certInfo.getValidFrom() != null && certInfo.getValidTo() != null) {
-                    String validPeriod = DATE_FORMAT.format(certInfo.getValidFrom()) + " ~ " + 
-                                       DATE_FORMAT.format(certInfo.getValidTo());
-                    printTableRow("Valid Period", truncateString(validPeriod, 50));
-                }
-                if (certInfo.getSignatureAlgorithm() != null) {
-                    printTableRow("Signature Algorithm", truncateString(certInfo.getSignatureAlgorithm(), 50));
+            appendCertificateInfo(out, tlsInfo.getCertificateInfo());
+            appendChain(out, tlsInfo);
+        }
+
+        horizontalLine(out, '-');
+    }
+
+    /**
+     * 인증서 정보 행을 추가합니다.
+     */
+    private void appendCertificateInfo(StringBuilder out, TlsCheckerService.CertificateInfo certInfo) {
+        if (certInfo.getErrorMessage() != null) {
+            int row = beginRow(out, "Certificate Error");
+            style(out, BOLD + RED);
+            appendTruncated(out, certInfo.getErrorMessage(), MAX_VALUE_LENGTH);
+            style(out, RESET);
+            endRow(out, row);
+            return;
+        }
+
+        if (certInfo.getSubject() != null) {
+            truncatedRow(out, "Certificate Subject", certInfo.getSubject());
+        }
+        if (certInfo.getIssuer() != null) {
+            truncatedRow(out, "Certificate Issuer", certInfo.getIssuer());
+        }
+        if (certInfo.getValidFrom() != null && certInfo.getValidTo() != null) {
+            int row = beginRow(out, "Valid Period");
+            appendDate(out, certInfo.getValidFrom());
+            out.append(" ~ ");
+            appendDate(out, certInfo.getValidTo());
+            endRow(out, row);
+        }
+        if (certInfo.getSignatureAlgorithm() != null) {
+            truncatedRow(out, "Signature Algorithm", certInfo.getSignatureAlgorithm());
+        }
+    }
+
+    /**
+     * 인증서 체인 길이와 체인의 문제를 추가합니다.
+     */
+    private void appendChain(StringBuilder out, TlsCheckerService.TlsInfo tlsInfo) {
+        List<TlsCheckerService.CertificateInfo> chain = tlsInfo.getCertificateChain();
+        if (chain.size() > 1) {
+            int row = beginRow(out, "Certificate Chain");
+            out.append(chain.size()).append(" certificates");
+            endRow(out, row);
+            for (int i = 1; i < chain.size(); i++) {
+                if (chain.get(i).getSubject() != null) {
+                    int subjectRow = out.length();
+                    out.append("|   #").append(i + 1).append(" : ");
+                    appendTruncated(out, chain.get(i).getSubject(), MAX_VALUE_LENGTH);
+                    endRow(out, subjectRow);
                 }
             }
         }
-        
-        printHorizontalLine('-');
+        for (String problem : tlsInfo.getChainProblems()) {
+            int row = beginRow(out, "Chain Problem");
+            style(out, BOLD + RED);
+            appendTruncated(out, problem, MAX_VALUE_LENGTH);
+            style(out, RESET);
+            endRow(out, row);
+        }
     }
 
     /**
-     * 암호화 스위트를 포맷팅합니다.
+     * 암호화 스위트를 강도에 따른 색상과 함께 추가합니다.
      */
-    private String formatCipherSuite(String cipherSuite) {
+    private void appendCipherSuite(StringBuilder out, String cipherSuite) {
         // 주요 암호화 스위트에 색상 적용
         if (cipherSuite.contains("AES_256")) {
-            return BRIGHT_GREEN + cipherSuite + RESET;
+            style(out, BRIGHT_GREEN);
         } else if (cipherSuite.contains("AES_128")) {
-            return GREEN + cipherSuite + RESET;
+            style(out, GREEN);
         } else if (cipherSuite.contains("3DES")) {
-            return YELLOW + cipherSuite + RESET;
+            style(out, YELLOW);
         } else if (cipherSuite.contains("RC4")) {
-            return RED + cipherSuite + RESET;
+            style(out, RED);
         } else {
-            return WHITE + cipherSuite + RESET;
+            style(out, WHITE);
         }
+        appendTruncated(out, cipherSuite, MAX_VALUE_LENGTH);
+        style(out, RESET);
     }
 
     /**
-     * TLS가 지원되지 않을 때의 메시지를 출력합니다.
+     * TLS가 지원되지 않을 때의 메시지를 추가합니다.
      */
-    private void printNoTlsSupport() {
-        printHorizontalLine('-');
-        printCenteredLine(BOLD + RED + "NO TLS SUPPORT" + RESET, '-');
-        printHorizontalLine('-');
-        printCenteredLine("No supported TLS versions found for this domain.", '|');
-        printCenteredLine("Please check the domain name or network connection.", '|');
-        printHorizontalLine('-');
+    private void appendNoTlsSupport(StringBuilder out) {
+        horizontalLine(out, '-');
+        centered(out, BOLD + RED, "NO TLS SUPPORT");
+        horizontalLine(out, '-');
+        centered(out, "", "No supported TLS versions found for this domain.");
+        centered(out, "", "Please check the domain name or network connection.");
+        horizontalLine(out, '-');
     }
 
     /**
-     * 요약 정보를 테이블로 출력합니다.
+     * 요약 정보 테이블을 추가합니다.
      */
-    private void printSummaryTable(Map<String, TlsCheckerService.TlsInfo> results) {
-        printHorizontalLine('-');
-        printCenteredLine(BOLD + BRIGHT_CYAN + "SUMMARY" + RESET, '-');
-        printHorizontalLine('-');
-        
+    private void appendSummaryTable(StringBuilder out, Map<String, TlsCheckerService.TlsInfo> results) {
+        horizontalLine(out, '-');
+        centered(out, BOLD + BRIGHT_CYAN, "SUMMARY");
+        horizontalLine(out, '-');
+
         // 지원되는 TLS 버전 수 계산
         int supportedCount = 0;
-        StringBuilder supportedVersions = new StringBuilder();
-        
-        for (Map.Entry<String, TlsCheckerService.TlsInfo> entry : results.entrySet()) {
-            if (entry.getValue().isSupported()) {
+        for (TlsCheckerService.TlsInfo tlsInfo : results.values()) {
+            if (tlsInfo.isSupported()) {
                 supportedCount++;
-                if (supportedVersions.length() > 0) {
-                    supportedVersions.append(", ");
-                }
-                supportedVersions.append(entry.getKey());
             }
         }
-        
-        printTableRow("Supported TLS Versions", supportedCount + "/4");
+
+        int countRow = beginRow(out, "Supported TLS Versions");
+        out.append(supportedCount).append("/4");
+        endRow(out, countRow);
         if (supportedCount > 0) {
-            printTableRow("Supported Versions", supportedVersions.toString());
+            int versionsRow = beginRow(out, "Supported Versions");
+            boolean first = true;
+            for (Map.Entry<String, TlsCheckerService.TlsInfo> entry : results.entrySet()) {
+                if (entry.getValue().isSupported()) {
+                    if (!first) {
+                        out.append(", ");
+                    }
+                    out.append(entry.getKey());
+                    first = false;
+                }
+            }
+            endRow(out, versionsRow);
         }
-        
+
         // 보안 권장사항
-        printTableRow("", "");
-        printTableRow(BOLD + YELLOW + "Security Recommendations" + RESET, "");
-        
-        if (results.containsKey("TLSv1.3") && results.get("TLSv1.3").isSupported()) {
-            printTableRow("TLS 1.3", BOLD + GREEN + "SUPPORTED - Latest Security Standard" + RESET);
+        row(out, "", "", "");
+        int recommendations = out.length();
+        out.append("| ");
+        style(out, BOLD + YELLOW);
+        out.append("Security Recommendations");
+        style(out, RESET);
+        out.append(" : ");
+        endRow(out, recommendations);
+
+        if (isSupported(results, "TLSv1.3")) {
+            row(out, "TLS 1.3", BOLD + GREEN, "SUPPORTED - Latest Security Standard");
+        } else {
+            row(out, "TLS 1.3", BOLD + RED, "NOT SUPPORTED - Security Upgrade Recommended");
+        }
+
+        if (isSupported(results, "TLSv1.2")) {
+            row(out, "TLS 1.2", BOLD + GREEN, "SUPPORTED - Secure Version");
         } else {
-            printTableRow("TLS 1.3", BOLD + RED + "NOT SUPPORTED - Security Upgrade Recommended" + RESET);
+            row(out, "TLS 1.2", BOLD + RED, "NOT SUPPORTED - Security Risk");
+        }
+
+        if (isSupported(results, "TLSv1") || isSupported(results, "TLSv1.1")) {
+            row(out, "Legacy TLS", BOLD + YELLOW, "WARNING - Potential Security Vulnerabilities");
         }
-        
-        if (results.containsKey("TLSv1.2") && results.get("TLSv1.2").isSupported()) {
-            printTableRow("TLS 1.2", BOLD + GREEN + "SUPPORTED - Secure Version" + RESET);
+
+        horizontalLine(out, '-');
+        out.append('\n');
+    }
+
+    private static boolean isSupported(Map<String, TlsCheckerService.TlsInfo> results, String version) {
+        TlsCheckerService.TlsInfo tlsInfo = results.get(version);
+        return tlsInfo != null && tlsInfo.isSupported();
+    }
+
+    /**
+     * 배치 스캔 요약 정보를 출력합니다.
+     *
+     * @param summary 배치 스캔 요약
+     * @param setupStats 프로브 준비 시간 통계
+     * @param certificateCache 인증서 캐시 (적중률 표시)
+     * @param plannerStats 프로브 계획 통계 (모든 버전 확인 대비 연결 수)
+     */
+    public void printBatchSummary(BatchScanService.BatchSummary summary, SslContextRegistry.SetupStats setupStats,
+                                  CertificateCache certificateCache, ProbePlanner.Stats plannerStats) {
+        StringBuilder out = buffer();
+        horizontalLine(out, '-');
+        centered(out, BOLD + BRIGHT_CYAN, "BATCH SUMMARY");
+        horizontalLine(out, '-');
+        numberRow(out, "Scanned Domains", summary.getScanned());
+        numberRow(out, "Domains With TLS", summary.getWithTls());
+        numberRow(out, "Invalid Targets", summary.getInvalid());
+        numberRow(out, "Failed Scans", summary.getFailed());
+
+        int elapsed = beginRow(out, "Elapsed Time");
+        out.append(summary.getElapsedMillis()).append(" ms");
+        endRow(out, elapsed);
+
+        int reuse = beginRow(out, "SSLContext Reuse");
+        if (setupStats.isReuseContexts()) {
+            out.append("ON (startup init ").append(setupStats.getInitializationMillis()).append(" ms)");
         } else {
-            printTableRow("TLS 1.2", BOLD + RED + "NOT SUPPORTED - Security Risk" + RESET);
+            out.append("OFF");
+        }
+        endRow(out, reuse);
+
+        int setup = beginRow(out, "Avg Probe Setup");
+        appendFixed(out, setupStats.getAverageMicros(), 1);
+        out.append(" us (").append(setupStats.getProbes()).append(" probes)");
+        endRow(out, setup);
+
+        long lookups = certificateCache.getHits() + certificateCache.getMisses();
+        int certificates = beginRow(out, "Certificate Cache");
+        out.append(certificateCache.size()).append(" certs, ");
+        appendFixed(out, lookups == 0 ? 0.0 : certificateCache.getHits() * 100.0 / lookups, 1);
+        out.append("% hits (").append(lookups).append(" lookups)");
+        endRow(out, certificates);
+
+        appendPlannerStats(out, plannerStats);
+
+        horizontalLine(out, '-');
+        out.append('\n');
+        write(out);
+    }
+
+    /**
+     * 프로브 계획 방식과 호스트당 연결 수를 추가합니다.
+     * VERIFY 방식에서는 적응형 계획을 재현한 연결 수와 결과가 달랐던 호스트를 표시합니다.
+     */
+    private void appendPlannerStats(StringBuilder out, ProbePlanner.Stats stats) {
+        int planner = beginRow(out, "Probe Planner");
+        out.append(stats.getMode().name());
+        if (stats.getHosts() > 0) {
+            out.append(stats.getMode() == TlsCheckerProperties.Planner.VERIFY ? ", adaptive " : ", ");
+            appendFixed(out, stats.getConnectionsPerHost(), 1);
+            out.append(" conn/host vs ");
+            appendFixed(out, stats.getExhaustiveConnectionsPerHost(), 1);
+            out.append(stats.getSavedPercent() > 0 ? " exhaustive (-" : " exhaustive (+");
+            appendFixed(out, Math.abs(stats.getSavedPercent()), 1);
+            out.append("%)");
+        }
+        endRow(out, planner);
+
+        if (stats.getMode() == TlsCheckerProperties.Planner.VERIFY) {
+            int verified = beginRow(out, "Planner Check");
+            style(out, stats.getMismatchedHosts() == 0 ? BOLD + GREEN : BOLD + RED);
+            out.append(stats.getMismatchedHosts()).append(" of ").append(stats.getVerifiedHosts())
+                .append(" hosts differ");
+            style(out, RESET);
+            endRow(out, verified);
+            for (String example : stats.getMismatchExamples()) {
+                truncatedRow(out, "  Mismatch", example);
+            }
+        }
+    }
+
+    /**
+     * 프로브 측정 값 요약을 출력합니다.
+     *
+     * @param summary 측정 값 요약
+     */
+    public void printProbeMetrics(ProbeMetrics.Summary summary) {
+        StringBuilder out = buffer();
+        horizontalLine(out, '-');
+        centered(out, BOLD + BRIGHT_CYAN, "PROBE METRICS");
+        horizontalLine(out, '-');
+        for (ProbeMetrics.TimerStats timer : summary.getTimers()) {
+            int row = beginRow(out, timer.getLabel());
+            appendTimerStats(out, timer);
+            endRow(out, row);
+        }
+        if (!summary.getPhases().isEmpty()) {
+            horizontalLine(out, '-');
+            for (ProbeMetrics.TimerStats phase : summary.getPhases()) {
+                int row = beginRow(out, "Phase ", phase.getLabel());
+                appendTimerStats(out, phase);
+                endRow(out, row);
+            }
+        }
+        if (!summary.getFailures().isEmpty()) {
+            horizontalLine(out, '-');
+            for (Map.Entry<String, Long> failure : summary.getFailures().entrySet()) {
+                int row = beginRow(out, "Failures ", failure.getKey());
+                out.append(failure.getValue().longValue());
+                endRow(out, row);
+            }
+        }
+        if (!summary.getThrottled().isEmpty()) {
+            horizontalLine(out, '-');
+            for (Map.Entry<String, Long> throttled : summary.getThrottled().entrySet()) {
+                int row = beginRow(out, "Throttled ", throttled.getKey());
+                out.append(throttled.getValue().longValue());
+                endRow(out, row);
+            }
+        }
+        if (!summary.getSkipped().isEmpty()) {
+            horizontalLine(out, '-');
+            for (Map.Entry<String, Long> skipped : summary.getSkipped().entrySet()) {
+                int row = beginRow(out, "Skipped ", skipped.getKey());
+                out.append(skipped.getValue().longValue());
+                endRow(out, row);
+            }
+        }
+        horizontalLine(out, '-');
+        out.append('\n');
+        write(out);
+    }
+
+    /**
+     * 모니터 모드의 상태 변경 이벤트를 한 줄로 출력합니다.
+     *
+     * @param event 변경 이벤트
+     */
+    public void printMonitorEvent(MonitorService.ChangeEvent event) {
+        StringBuilder out = buffer();
+        DATE_FORMAT.formatTo(event.getTime(), out);
+        out.append("  ");
+        switch (event.getType()) {
+            case CERTIFICATE_EXPIRING:
+            case UNREACHABLE:
+                style(out, BOLD + RED);
+                break;
+            case CERTIFICATE_CHANGED:
+                style(out, BOLD + YELLOW);
+                break;
+            case REACHABLE:
+                style(out, BOLD + GREEN);
+                break;
+            default:
+                style(out, BOLD + BRIGHT_BLUE);
+        }
+        out.append('[').append(event.getType().name()).append(']');
+        style(out, RESET);
+        out.append(' ').append(event.getDomain());
+        if (event.getDetail() != null) {
+            out.append(" - ").append(event.getDetail());
+        }
+        out.append('\n');
+        write(out);
+    }
+
+    /**
+     * 인증서 만료 색인 항목을 한 줄로 출력합니다. (만료일, 남은 일수, 도메인, 발급자)
+     * 만료되었거나 14일 이내면 빨간색, 30일 이내면 노란색으로 표시합니다.
+     *
+     * @param entry 색인 항목
+     */
+    public void printCertificateEntry(CertificateExpiryIndex.Entry entry) {
+        StringBuilder out = buffer();
+        appendDate(out, entry.getValidTo());
+        out.append("  ");
+        long daysLeft = entry.getDaysLeft();
+        style(out, daysLeft < 14 ? BOLD + RED : daysLeft < 30 ? BOLD + YELLOW : GREEN);
+        int start = out.length();
+        out.append(daysLeft).append('d');
+        appendSpaces(out, 6 - (out.length() - start));
+        style(out, RESET);
+        out.append(' ').append(entry.getDomain());
+        if (entry.getIssuer() != null) {
+            out.append(" - ").append(entry.getIssuer());
+        }
+        out.append('\n');
+        write(out);
+    }
+
+    /**
+     * 핸드셰이크 성능 측정 결과를 출력합니다.
+     * 세션 재개가 모두 성공하면 초록색, 일부만 성공하면 노란색, 전혀 되지 않으면 빨간색으로 표시합니다.
+     *
+     * @param report 측정 결과
+     */
+    public void printHandshakeBenchmark(HandshakeBenchmark.Report report) {
+        StringBuilder out = buffer();
+        out.append('\n');
+        horizontalLine(out, '=');
+        int title = beginCentered(out);
+        out.append("Handshake Benchmark: ").append(report.getDomain());
+        endCentered(out, title);
+        horizontalLine(out, '=');
+        int target = beginRow(out, "Target");
+        out.append(report.getAddress()).append(':').append(report.getPort());
+        endRow(out, target);
+        int handshakes = beginRow(out, "Handshakes");
+        out.append(report.getHandshakes()).append(" full + ").append(report.getHandshakes())
+            .append(" resumed per version, concurrency ").append(report.getConcurrency());
+        endRow(out, handshakes);
+
+        for (HandshakeBenchmark.VersionReport version : report.getVersions()) {
+            horizontalLine(out, '-');
+            int header = beginCentered(out);
+            out.append("TLS Version: ").append(version.getVersion());
+            endCentered(out, header);
+            horizontalLine(out, '-');
+            if (!version.isSupported()) {
+                row(out, "Status", BOLD + RED, "NOT SUPPORTED");
+                if (version.getErrorMessage() != null) {
+                    truncatedRow(out, "Error", version.getErrorMessage());
+                }
+                continue;
+            }
+            row(out, "Cipher Suite", "", version.getNegotiatedCipherSuite());
+            appendBenchmarkPhase(out, "Full", version.getFull());
+            appendBenchmarkPhase(out, "Resumed", version.getResumed());
+
+            HandshakeBenchmark.Phase resumed = version.getResumed();
+            int resumption = beginRow(out, "Resumption");
+            if (resumed.getSucceeded() > 0 && resumed.getResumed() == resumed.getSucceeded()) {
+                style(out, BOLD + GREEN);
+                out.append("WORKING");
+            } else if (resumed.getResumed() > 0) {
+                style(out, BOLD + YELLOW);
+                out.append("PARTIAL");
+            } else {
+                style(out, BOLD + RED);
+                out.append("NOT WORKING");
+            }
+            style(out, RESET);
+            out.append(" (").append(resumed.getResumed()).append('/').append(resumed.getSucceeded()).append(" resumed");
+            if (!Double.isNaN(version.getResumptionSpeedup())) {
+                out.append(", ");
+                appendFixed(out, version.getResumptionSpeedup(), 1);
+                out.append("x p50");
+            }
+            out.append(')');
+            endRow(out, resumption);
+
+            int bytes = beginRow(out, "Server Bytes");
+            out.append("full ");
+            appendFixed(out, version.getFull().getMeanServerBytes(), 0);
+            out.append(", resumed ");
+            appendFixed(out, resumed.getMeanServerBytes(), 0);
+            out.append(" (avg)");
+            endRow(out, bytes);
+        }
+        horizontalLine(out, '=');
+        write(out);
+    }
+
+    /**
+     * 전체 또는 세션 재개 핸드셰이크의 처리량, 백분위수, 실패를 추가합니다.
+     */
+    private void appendBenchmarkPhase(StringBuilder out, String label, HandshakeBenchmark.Phase phase) {
+        int summary = beginRow(out, label);
+        out.append(phase.getSucceeded()).append('/').append(phase.getAttempted()).append(" ok, ");
+        appendFixed(out, phase.getThroughput(), 1);
+        out.append("/s, TCP ");
+        appendFixed(out, phase.getMeanConnectMillis(), 2);
+        out.append("ms");
+        endRow(out, summary);
+        if (phase.getSucceeded() > 0) {
+            int latency = beginRow(out, label, " Latency");
+            out.append("mean=");
+            appendFixed(out, phase.getMeanMillis(), 2);
+            out.append("ms p50=");
+            appendFixed(out, phase.getPercentileMillis(0.5), 2);
+            out.append("ms p90=");
+            appendFixed(out, phase.getPercentileMillis(0.9), 2);
+            out.append("ms p99=");
+            appendFixed(out, phase.getPercentileMillis(0.99), 2);
+            out.append("ms max=");
+            appendFixed(out, phase.getMaxMillis(), 2);
+            out.append("ms");
+            endRow(out, latency);
+        }
+        for (Map.Entry<FailureType, Integer> failure : phase.getFailures().entrySet()) {
+            int row = beginRow(out, label + " Failures ", failure.getKey().name());
+            out.append(failure.getValue().intValue());
+            String error = phase.getErrors().get(failure.getKey());
+            if (error != null) {
+                out.append(" - ");
+                appendTruncated(out, error, MAX_VALUE_LENGTH);
+            }
+            endRow(out, row);
+        }
+    }
+
+    /**
+     * 측정된 단계가 있는지 확인합니다.
+     */
+    private static boolean hasTimings(TlsCheckerService.PhaseTimings timings) {
+        return timings.getDnsNanos() >= 0 || timings.getConnectNanos() >= 0
+            || timings.getHandshakeNanos() >= 0 || timings.getCertificateNanos() >= 0;
+    }
+
+    /**
+     * 측정된 단계별 소요 시간을 한 줄로 추가합니다.
+     */
+    private static void appendTimings(StringBuilder out, TlsCheckerService.PhaseTimings timings) {
+        int start = out.length();
+        appendPhase(out, start, "DNS", timings.getDnsNanos());
+        appendPhase(out, start, "TCP", timings.getConnectNanos());
+        appendPhase(out, start, "TLS", timings.getHandshakeNanos());
+        appendPhase(out, start, "Cert", timings.getCertificateNanos());
+    }
+
+    private static void appendPhase(StringBuilder out, int start, String label, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        if (out.length() > start) {
+            out.append("  ");
+        }
+        out.append(label).append(' ');
+        appendFixed(out, nanos / 1_000_000.0, 2);
+        out.append("ms");
+    }
+
+    private static void appendTimerStats(StringBuilder out, ProbeMetrics.TimerStats timer) {
+        out.append("n=").append(timer.getCount()).append(" mean=");
+        appendFixed(out, timer.getMeanMillis(), 1);
+        out.append("ms");
+        for (Map.Entry<Double, Double> percentile : timer.getPercentileMillis().entrySet()) {
+            out.append(" p");
+            appendFixed(out, percentile.getKey() * 100, 0);
+            out.append('=');
+            appendFixed(out, percentile.getValue(), 1);
+            out.append("ms");
+        }
+    }
+
+    /**
+     * 사용법을 출력합니다.
+     */
+    public void printUsage() {
+        StringBuilder out = buffer();
+        horizontalLine(out, '-');
+        centered(out, BOLD + BRIGHT_BLUE, "TLS Checker Usage");
+        horizontalLine(out, '-');
+        centered(out, "", "Enter a domain to check TLS support status.");
+        centered(out, "", "");
+        centered(out, BOLD + GREEN, "Examples:");
+        centered(out, "", "  java -jar tls-checker.jar google.com");
+        centered(out, "", "  java -jar tls-checker.jar github.com");
+        centered(out, "", "  java -jar tls-checker.jar mail.example.com:993");
+        centered(out, "", "  java -jar tls-checker.jar [2001:db8::1]:8443");
+        centered(out, "", "  java -jar tls-checker.jar batch domains.txt");
+        centered(out, "", "  java -jar tls-checker.jar monitor domains.txt");
+        centered(out, "", "  java -jar tls-checker.jar expiring 30 domains.txt");
+        centered(out, "", "  java -jar tls-checker.jar bench example.com");
+        centered(out, "", "  java -jar tls-checker.jar server --server.port=8080");
+        centered(out, "", "");
+        centered(out, BOLD + YELLOW, "Notes:");
+        centered(out, "", "  • Targets: host, host:port, IPv4, [IPv6]:port, host@ip (pinned address)");
+        centered(out, "", "  • Connects to port 443 (HTTPS) unless a port is given");
+        centered(out, "", "  • Timeouts: connect 5s, handshake 10s, total 15s");
+        centered(out, "", "  • Results are cached; type 'refresh <domain>' to re-check");
+        horizontalLine(out, '-');
+        write(out);
+    }
+
+    // ---------------------------------------------------------------------
+    // 테이블 구성 요소
+    // ---------------------------------------------------------------------
+
+    /**
+     * 현재 스레드의 출력 버퍼를 비워서 반환합니다.
+     */
+    private static StringBuilder buffer() {
+        StringBuilder out = BUFFER.get();
+        if (out.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            out = new StringBuilder(INITIAL_BUFFER_SIZE);
+            BUFFER.set(out);
+        }
+        out.setLength(0);
+        return out;
+    }
+
+    /**
+     * 완성된 보고서를 한 번에 출력합니다.
+     * PrintStream의 쓰기는 내부적으로 동기화되므로 다른 스레드의 출력과 섞이지 않습니다.
+     */
+    private void write(StringBuilder out) {
+        PrintStream target = sink != null ? sink : System.out;
+        target.append(out);
+        target.flush();
+    }
+
+    /**
+     * 색상 사용 시에만 ANSI 코드를 추가합니다.
+     */
+    private void style(StringBuilder out, String code) {
+        if (color && !code.isEmpty()) {
+            out.append(code);
+        }
+    }
+
+    /**
+     * 수평선을 추가합니다.
+     */
+    private static void horizontalLine(StringBuilder out, char character) {
+        out.append('+');
+        for (int i = 0; i < INNER_WIDTH; i++) {
+            out.append(character);
         }
-        
-        boolean hasOldVersions = (results.containsKey("TLSv1") && results.get("TLSv1").isSupported()) ||
-                                (results.containsKey("TLSv1.1") && results.get("TLSv1.1").isSupported());
-        if (hasOldVersions) {
-            printTableRow("Legacy TLS", BOLD + YELLOW + "WARNING - Potential Security Vulnerabilities" + RESET);
+        out.append("+\n");
+    }
+
+    /**
+     * 중앙 정렬된 라인을 추가합니다.
+     */
+    private void centered(StringBuilder out, String style, String text) {
+        int row = beginCentered(out);
+        style(out, style);
+        out.append(text);
+        if (!style.isEmpty()) {
+            style(out, RESET);
         }
-        
-        printHorizontalLine('-');
-        System.out.println();
+        endCentered(out, row);
+    }
+
+    private static int beginCentered(StringBuilder out) {
+        int row = out.length();
+        out.append('|');
+        return row;
+    }
+
+    /**
+     * 중앙 정렬 라인을 마칩니다. 추가된 텍스트 앞뒤에 공백을 채웁니다.
+     */
+    private static void endCentered(StringBuilder out, int row) {
+        int textStart = row + 1;
+        int textLength = displayLength(out, textStart, out.length());
+        int left = Math.max(0, (INNER_WIDTH - textLength) / 2);
+        int right = Math.max(0, INNER_WIDTH - textLength - left);
+        out.insert(textStart, SPACES, 0, left);
+        appendSpaces(out, right);
+        out.append("|\n");
     }
 
     /**
-     * 수평선을 출력합니다.
+     * 값이 하나인 테이블 행을 추가합니다.
      */
-    private void printHorizontalLine(char character) {
-        System.out.println("+" + repeatString(String.valueOf(character), TABLE_WIDTH - 2) + "+");
+    private void row(StringBuilder out, String label, String style, String value) {
+        int row = beginRow(out, label);
+        style(out, style);
+        out.append(value);
+        if (!style.isEmpty()) {
+            style(out, RESET);
+        }
+        endRow(out, row);
+    }
+
+    private void truncatedRow(StringBuilder out, String label, String value) {
+        int row = beginRow(out, label);
+        appendTruncated(out, value, MAX_VALUE_LENGTH);
+        endRow(out, row);
+    }
+
+    private static void numberRow(StringBuilder out, String label, long value) {
+        int row = beginRow(out, label);
+        out.append(value);
+        endRow(out, row);
     }
 
     /**
-     * 중앙 정렬된 라인을 출력합니다.
+     * 행의 레이블 부분을 추가하고 행 시작 위치를 반환합니다. 값은 호출한 쪽에서 이어서 추가합니다.
      */
-    private void printCenteredLine(String text, char borderChar) {
-        int textLength = getDisplayLength(text);
-        int padding = (TABLE_WIDTH - 2 - textLength) / 2;
-        String leftPadding = repeatString(" ", padding);
-        String rightPadding = repeatString(" ", TABLE_WIDTH - 2 - textLength - padding);
-        System.out.println("|" + leftPadding + text + rightPadding + "|");
+    private static int beginRow(StringBuilder out, String label) {
+        int row = out.length();
+        out.append("| ").append(label).append(" : ");
+        return row;
+    }
+
+    private static int beginRow(StringBuilder out, String labelPrefix, String label) {
+        int row = out.length();
+        out.append("| ").append(labelPrefix).append(label).append(" : ");
+        return row;
     }
 
     /**
-     * 테이블 행을 출력합니다.
+     * 행을 마칩니다. 한 줄에 들어가면 공백을 채우고, 넘치면 값을 다음 줄로 내립니다.
      */
-    private void printTableRow(String label, String value) {
-        int labelLength = getDisplayLength(label);
-        int valueLength = getDisplayLength(value);
+    private static void endRow(StringBuilder out, int row) {
+        int separator = indexOfSeparator(out, row);
+        int labelLength = displayLength(out, row + 2, separator);
+        int valueLength = displayLength(out, separator + 3, out.length());
         int totalLength = labelLength + valueLength + 3; // " : " 포함
-        
-        if (totalLength <= TABLE_WIDTH - 2) {
+
+        if (totalLength <= INNER_WIDTH - 2) {
             // 한 줄에 표시
-            String padding = repeatString(" ", TABLE_WIDTH - 2 - totalLength);
-            System.out.println("| " + label + " : " + value + padding + " |");
+            appendSpaces(out, INNER_WIDTH - 2 - totalLength);
+            out.append(" |\n");
         } else {
-            // 두 줄에 표시
-            System.out.println("| " + label + " : " + repeatString(" ", TABLE_WIDTH - 4 - labelLength) + " |");
-            String valuePadding = repeatString(" ", TABLE_WIDTH - 2 - valueLength);
-            System.out.println("|   " + value + valuePadding + " |");
+            // 두 줄에 표시: "| 레이블 :" 다음 줄에 "|   값"
+            int lineBreak = separator + 2;
+            out.insert(lineBreak, "\n|  ");
+            out.insert(lineBreak, " |");
+            out.insert(lineBreak, SPACES, 0, Math.max(0, INNER_WIDTH - 4 - labelLength));
+            appendSpaces(out, INNER_WIDTH - 4 - valueLength);
+            out.append(" |\n");
         }
     }
 
     /**
-     * ANSI 색상 코드를 제외한 실제 표시 길이를 계산합니다.
+     * 행에서 레이블과 값을 구분하는 " : "의 위치를 찾습니다.
      */
-    private int getDisplayLength(String text) {
-        if (text == null) return 0;
-        return text.replaceAll("\033\\[[0-9;]*m", "").length();
+    private static int indexOfSeparator(StringBuilder out, int row) {
+        int index = out.indexOf(" : ", row + 2);
+        return index >= 0 ? index : out.length();
+    }
+
+    private static void appendSpaces(StringBuilder out, int count) {
+        if (count > 0) {
+            out.append(SPACES, 0, Math.min(count, SPACES.length));
+        }
     }
 
     /**
-     * 문자열을 지정된 횟수만큼 반복합니다.
+     * 문자열을 최대 길이까지만 추가하고, 잘린 경우 "..."을 붙입니다.
      */
-    private String repeatString(String str, int count) {
-        if (count <= 0) return "";
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < count; i++) {
-            sb.append(str);
+    private static void appendTruncated(StringBuilder out, String value, int maxLength) {
+        if (value.length() <= maxLength) {
+            out.append(value);
+        } else {
+            out.append(value, 0, maxLength).append("...");
         }
-        return sb.toString();
+    }
+
+    private static void appendDate(StringBuilder out, Date date) {
+        DATE_FORMAT.formatTo(date.toInstant(), out);
     }
 
     /**
-     * 문자열을 지정된 길이로 자릅니다.
+     * 소수점 이하 자릿수를 고정하여 숫자를 추가합니다. (String.format 대체)
      */
-    private String truncateString(String str, int maxLength) {
-        if (str == null) return "";
-        if (getDisplayLength(str) <= maxLength) return str;
-        
-        // ANSI 코드를 고려하여 자르기
-        String cleanStr = str.replaceAll("\033\\[[0-9;]*m", "");
-        if (cleanStr.length() <= maxLength) return str;
-        
-        String truncated = cleanStr.substring(0, maxLength - 3) + "...";
-        // 원본 문자열에서 색상 코드를 유지하면서 자르기
-        return str.substring(0, Math.min(str.length(), maxLength)) + "...";
+    static void appendFixed(StringBuilder out, double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        long scale = 1;
+        for (int i = 0; i < decimals; i++) {
+            scale *= 10;
+        }
+        long scaled = Math.round(value * scale);
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 1 && fraction < digit; digit /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
     }
 
     /**
-     * 사용법을 출력합니다.
+     * ANSI 색상 코드(ESC [ ... m)를 제외한 실제 표시 길이를 계산합니다.
      */
-    public void printUsage() {
-        printHorizontalLine('-');
-        printCenteredLine(BOLD + BRIGHT_BLUE + "TLS Checker Usage" + RESET, '-');
-        printHorizontalLine('-');
-        printCenteredLine("Enter a domain to check TLS support status.", '|');
-        printCenteredLine("", '|');
-        printCenteredLine(BOLD + GREEN + "Examples:" + RESET, '|');
-        printCenteredLine("  java -jar tls-checker.jar google.com", '|');
-        printCenteredLine("  java -jar tls-checker.jar github.com", '|');
-        printCenteredLine("", '|');
-        printCenteredLine(BOLD + YELLOW + "Notes:" + RESET, '|');
-        printCenteredLine("  • Enter domain name only (without https://)", '|');
-        printCenteredLine("  • Connects to port 443 (HTTPS)", '|');
-        printCenteredLine("  • Connection timeout: 10 seconds", '|');
-        printHorizontalLine('-');
-    }
-}
\ No newline at end of file
+    static int displayLength(CharSequence text, int start, int end) {
+        int length = 0;
+        int i = start;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (c == '\033' && i + 1 < end && text.charAt(i + 1) == '[') {
+                // 종료 문자 'm'까지 건너뜀
+                int j = i + 2;
+                while (j < end && text.charAt(j) != 'm') {
+                    j++;
+                }
+                i = j + 1;
+            } else {
+                length++;
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * ANSI 색상 코드를 제거한 문자열을 반환합니다.
+     */
+    public static String stripAnsi(CharSequence text) {
+        StringBuilder plain = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\033' && i + 1 < text.length() && text.charAt(i + 1) == '[') {
+                int j = i + 2;
+                while (j < text.length() && text.charAt(j) != 'm') {
+                    j++;
+                }
+                i = j + 1;
+            } else {
+                plain.append(c);
+                i++;
+            }
+        }
+        return plain.toString();
+    }
+}
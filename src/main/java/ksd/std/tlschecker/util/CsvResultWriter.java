@@ -0,0 +1,171 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 호스트 하나의 결과를 CSV 한 행으로 출력하는 클래스 (RFC 4180)
+ *
+ * 버전별 지원 여부는 열로 펼치고, 협상 정보와 인증서는 지원되는 가장 높은 버전의 결과를 사용합니다.
+ * 지원되는 버전이 없으면 가장 높은 버전의 실패 원인을 기록합니다.
+ */
+public class CsvResultWriter extends StreamingResultWriter {
+
+    private static final String[] VERSIONS = {"TLSv1", "TLSv1.1", "TLSv1.2", "TLSv1.3"};
+    private static final String HEADER = "domain,address,TLSv1,TLSv1.1,TLSv1.2,TLSv1.3,"
+        + "negotiated_protocol,negotiated_cipher_suite,failure_type,error,"
+        + "cert_subject,cert_issuer,cert_valid_from,cert_valid_to,cert_signature_algorithm,cert_sha256,"
+        + "chain_length,chain_problems,"
+        + "dns_ms,connect_ms,handshake_ms\n";
+
+    // 한 행을 모아서 한 번에 기록 (write가 동기화되어 있으므로 공유 가능)
+    private final StringBuilder row = new StringBuilder(512);
+
+    public CsvResultWriter(Writer out, boolean flushEachRecord) throws IOException {
+        super(out, flushEachRecord);
+        out.write(HEADER);
+    }
+
+    @Override
+    protected void writeRecord(String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException {
+        // 지원되는 가장 높은 버전, 없으면 가장 높은 버전의 결과를 대표로 사용
+        TlsCheckerService.TlsInfo best = null;
+        String address = null;
+        for (String version : VERSIONS) {
+            TlsCheckerService.TlsInfo tlsInfo = results.get(version);
+            if (tlsInfo == null) {
+                continue;
+            }
+            if (address == null) {
+                address = tlsInfo.getAddress();
+            }
+            if (tlsInfo.isSupported() || best == null || !best.isSupported()) {
+                best = tlsInfo;
+            }
+        }
+
+        row.setLength(0);
+        appendField(domain);
+        appendField(address);
+        for (String version : VERSIONS) {
+            TlsCheckerService.TlsInfo tlsInfo = results.get(version);
+            row.append(tlsInfo != null && tlsInfo.isSupported()).append(',');
+        }
+
+        boolean supported = best != null && best.isSupported();
+        appendField(supported ? best.getNegotiatedProtocol() : null);
+        appendField(supported ? best.getNegotiatedCipherSuite() : null);
+        appendField(!supported && best != null && best.getFailureType() != null ? best.getFailureType().name() : null);
+        appendField(!supported && best != null ? best.getErrorMessage() : null);
+
+        TlsCheckerService.CertificateInfo certInfo = supported ? best.getCertificateInfo() : null;
+        appendField(certInfo != null ? certInfo.getSubject() : null);
+        appendField(certInfo != null ? certInfo.getIssuer() : null);
+        appendDate(certInfo != null ? certInfo.getValidFrom() : null);
+        appendDate(certInfo != null ? certInfo.getValidTo() : null);
+        appendField(certInfo != null ? certInfo.getSignatureAlgorithm() : null);
+        appendField(certInfo != null ? certInfo.getFingerprint() : null);
+        if (supported && !best.getCertificateChain().isEmpty()) {
+            row.append(best.getCertificateChain().size());
+        }
+        row.append(',');
+        appendField(supported && !best.getChainProblems().isEmpty() ? String.join("; ", best.getChainProblems()) : null);
+
+        TlsCheckerService.PhaseTimings timings = best != null ? best.getTimings() : null;
+        appendMillis(timings != null ? timings.getDnsNanos() : -1);
+        appendMillis(timings != null ? timings.getConnectNanos() : -1);
+        appendMillis(timings != null ? timings.getHandshakeNanos() : -1);
+        endRow();
+    }
+
+    @Override
+    protected void writeErrorRecord(String target, String message) throws IOException {
+        row.setLength(0);
+        appendField(target);
+        appendField(null);
+        for (int i = 0; i < VERSIONS.length; i++) {
+            row.append("false,");
+        }
+        for (int i = 0; i < 3; i++) {
+            appendField(null);
+        }
+        appendField(message);
+        for (int i = 0; i < 11; i++) {
+            appendField(null);
+        }
+        endRow();
+    }
+
+    /**
+     * 이벤트는 결과 행과 열 구성이 달라 같은 CSV에 섞을 수 없습니다.
+     */
+    @Override
+    protected void writeEventRecord(MonitorService.ChangeEvent event) {
+        throw new UnsupportedOperationException("CSV output does not support monitor events");
+    }
+
+    @Override
+    protected void writeCertificateRecord(CertificateExpiryIndex.Entry entry) {
+        throw new UnsupportedOperationException("CSV output does not support certificate index entries");
+    }
+
+    @Override
+    protected void writeBenchmarkRecord(HandshakeBenchmark.Report report) {
+        throw new UnsupportedOperationException("CSV output does not support benchmark reports");
+    }
+
+    /**
+     * 필드를 추가합니다. 구분자, 따옴표, 줄바꿈이 있으면 따옴표로 감쌉니다.
+     */
+    private void appendField(String value) {
+        if (value != null) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (quote) {
+                row.append('"');
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') {
+                        row.append('"');
+                    }
+                    row.append(c);
+                }
+                row.append('"');
+            } else {
+                row.append(value);
+            }
+        }
+        row.append(',');
+    }
+
+    private void appendDate(Date date) {
+        if (date != null) {
+            DateTimeFormatter.ISO_INSTANT.formatTo(date.toInstant(), row);
+        }
+        row.append(',');
+    }
+
+    private void appendMillis(long nanos) {
+        if (nanos >= 0) {
+            ConsoleOutputUtil.appendFixed(row, nanos / 1_000_000.0, 2);
+        }
+        row.append(',');
+    }
+
+    private void endRow() throws IOException {
+        // 마지막 구분자를 줄바꿈으로 교체
+        row.setCharAt(row.length() - 1, '\n');
+        out.append(row);
+    }
+}
@@ -0,0 +1,75 @@
+package ksd.std.tlschecker.util;
+
+/**
+ * 도메인 정규화 및 유효성 검사 유틸리티 클래스
+ */
+public final class DomainUtil {
+
+    private DomainUtil() {
+    }
+
+    /**
+     * 도메인을 정규화합니다.
+     * 스킴, 경로는 제거하고 기본 포트(443)가 아닌 포트와 고정 주소는 남깁니다. (형식은 {@link ScanTarget} 참고)
+     *
+     * @param domain 원본 도메인
+     * @return 정규화된 대상 표기
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static String normalizeDomain(String domain) {
+        return ScanTarget.parse(domain).getLabel();
+    }
+
+    /**
+     * 도메인 유효성을 검사합니다.
+     * 레이블은 1~63자의 영문자, 숫자, 하이픈이며 하이픈으로 시작하거나 끝날 수 없고 전체 길이는 253자 이하입니다.
+     *
+     * @param domain 검사할 도메인
+     * @return 유효한 도메인인지 여부
+     */
+    public static boolean isValidDomain(String domain) {
+        if (domain == null || domain.isEmpty() || domain.length() > 253) {
+            return false;
+        }
+
+        int labelLength = 0;
+        char previous = '.';
+        for (int i = 0; i < domain.length(); i++) {
+            char c = domain.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0 || previous == '-') {
+                    return false;
+                }
+                labelLength = 0;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || (c == '-' && labelLength > 0)) {
+                if (++labelLength > 63) {
+                    return false;
+                }
+            } else {
+                return false;
+            }
+            previous = c;
+        }
+        return labelLength > 0 && previous != '-';
+    }
+
+    /**
+     * IP 주소 표기인지 확인합니다. SNI에는 IP 주소를 넣을 수 없습니다.
+     *
+     * @param host 호스트
+     * @return IPv4/IPv6 주소 표기이면 true
+     */
+    public static boolean isIpLiteral(String host) {
+        if (host.indexOf(':') >= 0) {
+            return true;
+        }
+        for (int i = 0; i < host.length(); i++) {
+            char c = host.charAt(i);
+            if (c != '.' && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,230 @@
+package ksd.std.tlschecker.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.FailureType;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 호스트 하나의 결과를 JSON 객체 한 줄로 출력하는 JSON Lines 출력 클래스
+ *
+ * 레코드 형식은 HTTP API의 스트림 응답과 같습니다. ({"domain", "results"} 또는 {"domain", "error"})
+ * 모니터 모드의 변경 이벤트는 {"time", "domain", "event", "detail"} 형식으로 기록합니다.
+ * Jackson 스트리밍 API로 직접 기록하므로 객체 트리를 만들지 않으며, 값이 없는 필드는 생략합니다.
+ */
+public class JsonLinesResultWriter extends StreamingResultWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+        .setRootValueSeparator(null)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final JsonGenerator generator;
+
+    public JsonLinesResultWriter(Writer out, boolean flushEachRecord) throws IOException {
+        super(out, flushEachRecord);
+        this.generator = JSON_FACTORY.createGenerator(out);
+    }
+
+    @Override
+    protected void writeRecord(String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("domain", domain);
+        generator.writeObjectFieldStart("results");
+        for (Map.Entry<String, TlsCheckerService.TlsInfo> entry : results.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            writeTlsInfo(entry.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void writeErrorRecord(String target, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("domain", target);
+        writeOptional("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void writeEventRecord(MonitorService.ChangeEvent event) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("time", DateTimeFormatter.ISO_INSTANT.format(event.getTime()));
+        generator.writeStringField("domain", event.getDomain());
+        generator.writeStringField("event", event.getType().name());
+        writeOptional("detail", event.getDetail());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void writeCertificateRecord(CertificateExpiryIndex.Entry entry) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("domain", entry.getDomain());
+        writeDate("validTo", entry.getValidTo());
+        generator.writeNumberField("daysLeft", entry.getDaysLeft());
+        writeOptional("subject", entry.getSubject());
+        writeOptional("issuer", entry.getIssuer());
+        writeOptional("signatureAlgorithm", entry.getSignatureAlgorithm());
+        writeDate("scannedAt", entry.getScannedAt());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void writeBenchmarkRecord(HandshakeBenchmark.Report report) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("domain", report.getDomain());
+        generator.writeStringField("address", report.getAddress());
+        generator.writeNumberField("port", report.getPort());
+        generator.writeNumberField("concurrency", report.getConcurrency());
+        generator.writeObjectFieldStart("results");
+        for (HandshakeBenchmark.VersionReport version : report.getVersions()) {
+            generator.writeObjectFieldStart(version.getVersion());
+            generator.writeBooleanField("supported", version.isSupported());
+            if (version.getFailureType() != null) {
+                generator.writeStringField("failureType", version.getFailureType().name());
+            }
+            writeOptional("errorMessage", version.getErrorMessage());
+            writeOptional("negotiatedProtocol", version.getNegotiatedProtocol());
+            writeOptional("negotiatedCipherSuite", version.getNegotiatedCipherSuite());
+            if (version.isSupported()) {
+                writeBenchmarkPhase("full", version.getFull());
+                writeBenchmarkPhase("resumed", version.getResumed());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeBenchmarkPhase(String name, HandshakeBenchmark.Phase phase) throws IOException {
+        generator.writeObjectFieldStart(name);
+        generator.writeNumberField("attempted", phase.getAttempted());
+        generator.writeNumberField("succeeded", phase.getSucceeded());
+        generator.writeNumberField("resumed", phase.getResumed());
+        generator.writeNumberField("elapsedMillis", phase.getElapsedMillis());
+        generator.writeNumberField("handshakesPerSecond", phase.getThroughput());
+        if (phase.getSucceeded() > 0) {
+            generator.writeNumberField("meanMillis", phase.getMeanMillis());
+            generator.writeNumberField("p50Millis", phase.getPercentileMillis(0.5));
+            generator.writeNumberField("p90Millis", phase.getPercentileMillis(0.9));
+            generator.writeNumberField("p99Millis", phase.getPercentileMillis(0.99));
+            generator.writeNumberField("maxMillis", phase.getMaxMillis());
+            generator.writeNumberField("meanConnectMillis", phase.getMeanConnectMillis());
+            generator.writeNumberField("meanServerBytes", phase.getMeanServerBytes());
+        }
+        if (!phase.getFailures().isEmpty()) {
+            generator.writeObjectFieldStart("failures");
+            for (Map.Entry<FailureType, Integer> failure : phase.getFailures().entrySet()) {
+                generator.writeNumberField(failure.getKey().name(), failure.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeTlsInfo(TlsCheckerService.TlsInfo tlsInfo) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("version", tlsInfo.getVersion());
+        writeOptional("address", tlsInfo.getAddress());
+        generator.writeBooleanField("supported", tlsInfo.isSupported());
+        if (tlsInfo.getFailureType() != null) {
+            generator.writeStringField("failureType", tlsInfo.getFailureType().name());
+        }
+        writeOptional("errorMessage", tlsInfo.getErrorMessage());
+        writeOptional("negotiatedProtocol", tlsInfo.getNegotiatedProtocol());
+        writeOptional("negotiatedCipherSuite", tlsInfo.getNegotiatedCipherSuite());
+        if (tlsInfo.isSupported()) {
+            writeStrings("cipherSuites", tlsInfo.getCipherSuites());
+            generator.writeBooleanField("serverCipherSuites", tlsInfo.isServerCipherSuites());
+            if (tlsInfo.getServerCipherPreference() != null) {
+                generator.writeBooleanField("serverCipherPreference", tlsInfo.getServerCipherPreference());
+            }
+            writeStrings("supportedProtocols", tlsInfo.getSupportedProtocols());
+        }
+        if (tlsInfo.getCertificateInfo() != null) {
+            generator.writeFieldName("certificateInfo");
+            writeCertificateInfo(tlsInfo.getCertificateInfo());
+        }
+        if (!tlsInfo.getCertificateChain().isEmpty()) {
+            generator.writeArrayFieldStart("certificateChain");
+            for (TlsCheckerService.CertificateInfo certInfo : tlsInfo.getCertificateChain()) {
+                writeCertificateInfo(certInfo);
+            }
+            generator.writeEndArray();
+        }
+        if (!tlsInfo.getChainProblems().isEmpty()) {
+            writeStrings("chainProblems", tlsInfo.getChainProblems());
+        }
+        writeTimings(tlsInfo.getTimings());
+        generator.writeEndObject();
+    }
+
+    private void writeCertificateInfo(TlsCheckerService.CertificateInfo certInfo) throws IOException {
+        generator.writeStartObject();
+        writeOptional("fingerprint", certInfo.getFingerprint());
+        writeOptional("subject", certInfo.getSubject());
+        writeOptional("issuer", certInfo.getIssuer());
+        writeDate("validFrom", certInfo.getValidFrom());
+        writeDate("validTo", certInfo.getValidTo());
+        writeOptional("signatureAlgorithm", certInfo.getSignatureAlgorithm());
+        writeOptional("errorMessage", certInfo.getErrorMessage());
+        generator.writeEndObject();
+    }
+
+    private void writeTimings(TlsCheckerService.PhaseTimings timings) throws IOException {
+        generator.writeObjectFieldStart("timings");
+        writeNanos("dnsNanos", timings.getDnsNanos());
+        writeNanos("connectNanos", timings.getConnectNanos());
+        writeNanos("handshakeNanos", timings.getHandshakeNanos());
+        writeNanos("certificateNanos", timings.getCertificateNanos());
+        generator.writeEndObject();
+    }
+
+    private void writeOptional(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private void writeStrings(String name, List<String> values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeDate(String name, Date date) throws IOException {
+        if (date != null) {
+            generator.writeStringField(name, DateTimeFormatter.ISO_INSTANT.format(date.toInstant()));
+        }
+    }
+
+    private void writeNanos(String name, long nanos) throws IOException {
+        if (nanos >= 0) {
+            generator.writeNumberField(name, nanos);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        // 생성기 버퍼를 먼저 비운 뒤 출력 대상을 비움
+        generator.flush();
+        super.flush();
+    }
+}
@@ -0,0 +1,25 @@
+package ksd.std.tlschecker.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이름 접두사가 붙은 데몬 스레드를 생성하는 ThreadFactory
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger sequence = new AtomicInteger(1);
+
+    public NamedThreadFactory(String prefix) {
+        this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + "-" + sequence.getAndIncrement());
+        // 스캔 도중에도 JVM 종료를 막지 않도록 데몬 스레드로 생성
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,64 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 스캔 결과를 호스트 단위로 출력하는 인터페이스
+ *
+ * 구현체는 여러 스캔 스레드에서 동시에 호출되어도 레코드가 섞이지 않아야 합니다.
+ */
+public interface ResultWriter extends Flushable, Closeable {
+
+    /**
+     * 호스트 하나의 결과를 출력합니다.
+     *
+     * @param domain 도메인 (모든 주소 확인 모드에서는 "도메인 (주소)")
+     * @param results TLS 버전별 결과
+     * @throws IOException 출력에 실패한 경우
+     */
+    void write(String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException;
+
+    /**
+     * 스캔하지 못한 대상을 출력합니다.
+     *
+     * @param target 입력 대상
+     * @param message 오류 메시지
+     * @throws IOException 출력에 실패한 경우
+     */
+    void writeError(String target, String message) throws IOException;
+
+    /**
+     * 모니터 모드의 상태 변경 이벤트를 출력합니다.
+     *
+     * @param event 변경 이벤트
+     * @throws IOException 출력에 실패한 경우
+     * @throws UnsupportedOperationException 이벤트를 표현할 수 없는 형식인 경우
+     */
+    void writeEvent(MonitorService.ChangeEvent event) throws IOException;
+
+    /**
+     * 인증서 만료 색인의 항목 하나를 출력합니다.
+     *
+     * @param entry 색인 항목
+     * @throws IOException 출력에 실패한 경우
+     * @throws UnsupportedOperationException 항목을 표현할 수 없는 형식인 경우
+     */
+    void writeCertificate(CertificateExpiryIndex.Entry entry) throws IOException;
+
+    /**
+     * 핸드셰이크 성능 측정 결과를 출력합니다.
+     *
+     * @param report 측정 결과
+     * @throws IOException 출력에 실패한 경우
+     * @throws UnsupportedOperationException 결과를 표현할 수 없는 형식인 경우
+     */
+    void writeBenchmark(HandshakeBenchmark.Report report) throws IOException;
+}
@@ -0,0 +1,57 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 설정된 출력 형식에 맞는 결과 출력 객체를 생성하는 클래스
+ */
+@Component
+public class ResultWriterFactory {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TlsCheckerProperties.OutputFormat format;
+    private final ConsoleOutputUtil consoleOutputUtil;
+
+    public ResultWriterFactory(TlsCheckerProperties properties, ConsoleOutputUtil consoleOutputUtil) {
+        this.format = properties.getOutput().getFormat();
+        this.consoleOutputUtil = consoleOutputUtil;
+    }
+
+    /**
+     * 설정된 출력 형식을 반환합니다.
+     */
+    public TlsCheckerProperties.OutputFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * 결과 출력 객체를 생성합니다.
+     *
+     * @param stream 출력 스트림 (테이블 형식은 콘솔 출력 설정을 따름)
+     * @param flushEachRecord true이면 레코드마다 버퍼를 비움 (대화형 출력용)
+     * @return 결과 출력 객체
+     * @throws IOException 헤더를 기록할 수 없는 경우
+     */
+    public ResultWriter create(OutputStream stream, boolean flushEachRecord) throws IOException {
+        switch (format) {
+            case JSONL:
+                return new JsonLinesResultWriter(bufferedWriter(stream), flushEachRecord);
+            case CSV:
+                return new CsvResultWriter(bufferedWriter(stream), flushEachRecord);
+            default:
+                return new TableResultWriter(consoleOutputUtil);
+        }
+    }
+
+    private static BufferedWriter bufferedWriter(OutputStream stream) {
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,110 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레코드를 버퍼에 이어 쓰는 결과 출력 클래스의 공통 부분
+ *
+ * 레코드는 동기화된 상태로 하나씩 기록되며, 전체 문서를 메모리에 만들지 않습니다.
+ * 대량 스캔 중에도 결과를 따라 읽을 수 있도록 최소 1초에 한 번은 버퍼를 비웁니다.
+ */
+abstract class StreamingResultWriter implements ResultWriter {
+
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    protected final Writer out;
+    private final boolean flushEachRecord;
+    private long lastFlush = System.nanoTime();
+
+    /**
+     * @param out 출력 대상 (버퍼링된 Writer 권장)
+     * @param flushEachRecord true이면 레코드마다 버퍼를 비움 (대화형 출력용)
+     */
+    StreamingResultWriter(Writer out, boolean flushEachRecord) {
+        this.out = out;
+        this.flushEachRecord = flushEachRecord;
+    }
+
+    @Override
+    public final synchronized void write(String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException {
+        writeRecord(domain, results);
+        afterRecord();
+    }
+
+    @Override
+    public final synchronized void writeError(String target, String message) throws IOException {
+        writeErrorRecord(target, message);
+        afterRecord();
+    }
+
+    @Override
+    public final synchronized void writeEvent(MonitorService.ChangeEvent event) throws IOException {
+        writeEventRecord(event);
+        afterRecord();
+    }
+
+    @Override
+    public final synchronized void writeCertificate(CertificateExpiryIndex.Entry entry) throws IOException {
+        writeCertificateRecord(entry);
+        afterRecord();
+    }
+
+    @Override
+    public final synchronized void writeBenchmark(HandshakeBenchmark.Report report) throws IOException {
+        writeBenchmarkRecord(report);
+        afterRecord();
+    }
+
+    /**
+     * 호스트 하나의 결과 레코드를 기록합니다.
+     */
+    protected abstract void writeRecord(String domain, Map<String, TlsCheckerService.TlsInfo> results) throws IOException;
+
+    /**
+     * 스캔하지 못한 대상의 레코드를 기록합니다.
+     */
+    protected abstract void writeErrorRecord(String target, String message) throws IOException;
+
+    /**
+     * 상태 변경 이벤트 레코드를 기록합니다.
+     */
+    protected abstract void writeEventRecord(MonitorService.ChangeEvent event) throws IOException;
+
+    /**
+     * 인증서 만료 색인 항목 레코드를 기록합니다.
+     */
+    protected abstract void writeCertificateRecord(CertificateExpiryIndex.Entry entry) throws IOException;
+
+    /**
+     * 핸드셰이크 성능 측정 결과 레코드를 기록합니다.
+     */
+    protected abstract void writeBenchmarkRecord(HandshakeBenchmark.Report report) throws IOException;
+
+    private void afterRecord() throws IOException {
+        if (flushEachRecord || System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        out.flush();
+        lastFlush = System.nanoTime();
+    }
+
+    /**
+     * 남은 버퍼를 비웁니다. 표준 출력일 수 있으므로 출력 대상은 닫지 않습니다.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
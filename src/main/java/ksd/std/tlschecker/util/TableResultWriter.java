@@ -0,0 +1,55 @@
+package ksd.std.tlschecker.util;
+
+import ksd.std.tlschecker.service.CertificateExpiryIndex;
+import ksd.std.tlschecker.service.HandshakeBenchmark;
+import ksd.std.tlschecker.service.MonitorService;
+import ksd.std.tlschecker.service.TlsCheckerService;
+
+import java.util.Map;
+
+/**
+ * 기존 콘솔 테이블 형식으로 결과를 출력하는 클래스
+ */
+public class TableResultWriter implements ResultWriter {
+
+    private final ConsoleOutputUtil consoleOutputUtil;
+
+    public TableResultWriter(ConsoleOutputUtil consoleOutputUtil) {
+        this.consoleOutputUtil = consoleOutputUtil;
+    }
+
+    @Override
+    public void write(String domain, Map<String, TlsCheckerService.TlsInfo> results) {
+        consoleOutputUtil.printTlsResults(domain, results);
+    }
+
+    @Override
+    public void writeError(String target, String message) {
+        System.err.println("Skipped " + target + ": " + message);
+    }
+
+    @Override
+    public void writeEvent(MonitorService.ChangeEvent event) {
+        consoleOutputUtil.printMonitorEvent(event);
+    }
+
+    @Override
+    public void writeCertificate(CertificateExpiryIndex.Entry entry) {
+        consoleOutputUtil.printCertificateEntry(entry);
+    }
+
+    @Override
+    public void writeBenchmark(HandshakeBenchmark.Report report) {
+        consoleOutputUtil.printHandshakeBenchmark(report);
+    }
+
+    @Override
+    public void flush() {
+        // 보고서마다 바로 출력됨
+    }
+
+    @Override
+    public void close() {
+        // 표준 출력은 닫지 않음
+    }
+}
@@ -0,0 +1,161 @@
+package ksd.std.tlschecker.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 한 줄에 하나씩 적힌 스캔 대상 목록을 읽는 클래스
+ *
+ * 입력을 고정 크기 버퍼로 읽고 줄을 버퍼 위에서 바로 해석하므로 줄마다 문자열을 만들지 않으며,
+ * 대상 하나마다 결과로 남는 객체(호스트 이름, {@link ScanTarget})만 생성합니다.
+ * 빈 줄과 '#'으로 시작하는 줄은 건너뛰고, 파일 앞의 BOM은 무시합니다.
+ * 입력은 호출한 쪽에서 닫으며, 스레드 안전하지 않습니다.
+ */
+public final class TargetReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    /** 버퍼보다 긴 줄의 오류 메시지에 남길 길이 */
+    private static final int PREVIEW_LENGTH = 80;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final ScanTarget.Parser parser = new ScanTarget.Parser();
+    private int position;
+    private int limit;
+    private boolean eof;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+    /** 버퍼보다 긴 줄의 앞부분 (그렇지 않으면 null) */
+    private String overflow;
+
+    public TargetReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 대상을 읽습니다.
+     * 잘못된 줄에서 예외가 발생해도 다음 호출은 그 다음 줄부터 계속 읽습니다.
+     *
+     * @return 스캔 대상 (입력 끝이면 null)
+     * @throws IOException 입력을 읽을 수 없는 경우
+     * @throws IllegalArgumentException 현재 줄의 형식이 잘못된 경우 ({@link #line()}으로 내용 확인)
+     */
+    public ScanTarget next() throws IOException {
+        while (readLine()) {
+            while (lineStart < lineEnd && buffer[lineStart] <= ' ') {
+                lineStart++;
+            }
+            while (lineEnd > lineStart && buffer[lineEnd - 1] <= ' ') {
+                lineEnd--;
+            }
+            if (overflow != null) {
+                if (overflow.trim().startsWith("#")) {
+                    continue;
+                }
+                throw new IllegalArgumentException("Line " + lineNumber + " is too long");
+            }
+            if (lineStart == lineEnd || buffer[lineStart] == '#') {
+                continue;
+            }
+            return parser.parse(buffer, lineStart, lineEnd);
+        }
+        return null;
+    }
+
+    /**
+     * 마지막으로 읽은 줄의 내용을 반환합니다. 호출할 때 문자열을 생성하므로 오류 보고에만 사용합니다.
+     *
+     * @return 앞뒤 공백을 제거한 줄 내용
+     */
+    public String line() {
+        return overflow != null ? overflow + "..." : new String(buffer, lineStart, lineEnd - lineStart);
+    }
+
+    /**
+     * 마지막으로 읽은 줄의 번호를 반환합니다.
+     *
+     * @return 1부터 시작하는 줄 번호
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 다음 줄의 위치를 찾아 lineStart, lineEnd에 기록합니다. 줄바꿈 문자는 포함하지 않습니다.
+     *
+     * @return 줄이 있으면 true, 입력 끝이면 false
+     */
+    private boolean readLine() throws IOException {
+        overflow = null;
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                if (buffer[scan] == '\n') {
+                    setLine(position, scan);
+                    position = scan + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (position == limit) {
+                    return false;
+                }
+                setLine(position, limit);
+                position = limit;
+                return true;
+            }
+            if (position == 0 && limit == buffer.length) {
+                // 버퍼보다 긴 줄은 앞부분만 남기고 줄 끝까지 버림
+                overflow = new String(buffer, 0, PREVIEW_LENGTH);
+                setLine(0, 0);
+                skipLine();
+                return true;
+            }
+            // 남은 내용을 버퍼 앞으로 옮기고 이어서 읽음
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            scan -= position;
+            limit -= position;
+            position = 0;
+            fill();
+        }
+    }
+
+    private void setLine(int start, int end) {
+        if (lineNumber++ == 0 && start < end && buffer[start] == '\uFEFF') {
+            start++;
+        }
+        lineStart = start;
+        lineEnd = end;
+    }
+
+    /**
+     * 다음 줄바꿈 문자 다음까지 입력을 버립니다.
+     */
+    private void skipLine() throws IOException {
+        while (true) {
+            position = 0;
+            limit = 0;
+            fill();
+            for (int i = 0; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    position = i + 1;
+                    return;
+                }
+            }
+            if (eof) {
+                position = limit;
+                return;
+            }
+        }
+    }
+
+    private void fill() throws IOException {
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+}
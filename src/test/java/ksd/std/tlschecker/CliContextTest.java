@@ -0,0 +1,136 @@
+package ksd.std.tlschecker;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CliContextTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bindsSameSettingsAsSpring() throws Exception {
+        write("application.properties",
+            "tls-checker.probe.threads=4",
+            "tls-checker.probe.connect-timeout-millis=1500",
+            "tls-checker.governor.host-rate=2.5",
+            "tls-checker.bench.versions=TLSv1.2, TLSv1.3",
+            "tls-checker.output.format=jsonl",
+            "spring.profiles.active=ci");
+        write("config/application.properties",
+            "tls-checker.probe.threads=6",
+            "tls-checker.monitor.jitter=0.25");
+        write("application-ci.properties",
+            "tls-checker.probe.profile=all-ciphers",
+            "tls-checker.governor.host-rate=5");
+        Map<String, String> environment = new HashMap<>();
+        environment.put("TLS_CHECKER_NIO_CALLBACK_THREADS", "3");
+        environment.put("TLSCHECKER_GOVERNOR_HOSTBURST", "7");
+        environment.put("TLS_CHECKER_PROBE_CONNECT_TIMEOUT_MILLIS", "2500");
+        environment.put("TLS_CHECKER_STORE_DIRECTORY", "/var/lib/tls");
+        environment.put("PATH", "/usr/bin");
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("tls-checker.store.directory", "/srv/tls");
+        systemProperties.setProperty("tls-checker.dns.all-addresses", "true");
+        String[] args = {
+            "--tls-checker.probe.mode=fast",
+            "--tls-checker.dns.all-addresses=false",
+            "--spring.config.location=optional:classpath:/,optional:classpath:/config/,"
+                + "optional:file:" + directory + "/,optional:file:" + directory + "/config/",
+            "example.com"
+        };
+
+        TlsCheckerProperties cli = CliContext.bindProperties(args, environment, systemProperties, directory);
+        TlsCheckerProperties spring = bindWithSpring(args, environment, systemProperties);
+
+        assertThat(cli).usingRecursiveComparison().isEqualTo(spring);
+        // 우선순위: 설정 파일 < 프로필 설정 파일 < 환경 변수 < 시스템 속성 < 명령행 인수
+        assertThat(cli.getProbe().getThreads()).isEqualTo(6);
+        assertThat(cli.getGovernor().getHostRate()).isEqualTo(5);
+        assertThat(cli.getProbe().getConnectTimeoutMillis()).isEqualTo(2500);
+        assertThat(cli.getNio().getCallbackThreads()).isEqualTo(3);
+        assertThat(cli.getGovernor().getHostBurst()).isEqualTo(7);
+        assertThat(cli.getStore().getDirectory()).isEqualTo("/srv/tls");
+        assertThat(cli.getDns().isAllAddresses()).isFalse();
+        assertThat(cli.getBench().getVersions()).containsExactly("TLSv1.2", "TLSv1.3");
+    }
+
+    @Test
+    void activeProfileFromEnvironment() throws Exception {
+        write("application-prod.properties", "tls-checker.probe.threads=32");
+        Map<String, String> environment = Collections.singletonMap("SPRING_PROFILES_ACTIVE", "prod");
+
+        TlsCheckerProperties cli = CliContext.bindProperties(new String[0], environment, new Properties(), directory);
+
+        assertThat(cli.getProbe().getThreads()).isEqualTo(32);
+    }
+
+    @Test
+    void mapsEnvironmentNamesToProperties() {
+        assertThat(CliContext.environmentName("TLS_CHECKER_NIO_CALLBACK_THREADS")).isEqualTo("tls-checker.nio.callbackthreads");
+        assertThat(CliContext.environmentName("TLSCHECKER_GOVERNOR_IPV4PREFIX")).isEqualTo("tls-checker.governor.ipv4prefix");
+        assertThat(CliContext.environmentName("TLS_CHECKER_FAST_START")).isEqualTo("tls-checker.faststart");
+        assertThat(CliContext.environmentName("TLS_CHECKER_NO_SUCH_SETTING")).isNull();
+        assertThat(CliContext.environmentName("TLS_CHECKER_PROBE")).isNull();
+        assertThat(CliContext.environmentName("JAVA_HOME")).isNull();
+    }
+
+    @Test
+    void rejectsUnknownPropertyInConfigFile() throws Exception {
+        write("application.properties", "tls-checker.probe.thread=4");
+
+        assertThatThrownBy(() -> CliContext.bindProperties(new String[0], Collections.<String, String>emptyMap(),
+            new Properties(), directory))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown property: tls-checker.probe.thread");
+    }
+
+    private TlsCheckerProperties bindWithSpring(String[] args, Map<String, String> environment, Properties systemProperties) {
+        StandardEnvironment springEnvironment = new StandardEnvironment();
+        springEnvironment.getPropertySources().replace(StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME,
+            new PropertiesPropertySource(StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME, systemProperties));
+        springEnvironment.getPropertySources().replace(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+            new SystemEnvironmentPropertySource(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                new HashMap<String, Object>(environment)));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(PropertiesConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .environment(springEnvironment)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args)) {
+            return context.getBean(TlsCheckerProperties.class);
+        }
+    }
+
+    private void write(String name, String... lines) throws Exception {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(TlsCheckerProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
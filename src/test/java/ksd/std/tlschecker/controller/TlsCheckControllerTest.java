@@ -0,0 +1,57 @@
+package ksd.std.tlschecker.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.service.ProbeMetrics;
+import ksd.std.tlschecker.service.TlsCheckerService;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TlsCheckControllerTest {
+
+    private final TlsCheckerService tlsCheckerService = mock(TlsCheckerService.class);
+    private final TlsCheckController controller = new TlsCheckController(tlsCheckerService,
+        new TlsCheckerProperties(), new ProbeMetrics(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void destroy() {
+        controller.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectedScanFailsOnlyItsDomain() {
+        // 캐시를 사용하지 않을 때와 같이 제출 실패가 호출한 스레드로 바로 던져지는 경우
+        when(tlsCheckerService.checkTlsSupportAsync(any(ScanTarget.class), anyBoolean(), any(Executor.class))).thenAnswer(invocation -> {
+            ScanTarget target = invocation.getArgument(0);
+            if (target.getHost().startsWith("busy")) {
+                throw new RejectedExecutionException("queue full");
+            }
+            return CompletableFuture.completedFuture(Collections.<String, TlsCheckerService.TlsInfo>emptyMap());
+        });
+
+        DeferredResult<List<TlsCheckController.ScanResult>> deferred =
+            controller.checkBatch(Arrays.asList("ok.example.com", "busy.example.com", "also-ok.example.com"), false);
+
+        List<TlsCheckController.ScanResult> results = (List<TlsCheckController.ScanResult>) deferred.getResult();
+        assertThat(results).extracting(TlsCheckController.ScanResult::getDomain)
+            .containsExactly("ok.example.com", "busy.example.com", "also-ok.example.com");
+        assertThat(results).extracting(TlsCheckController.ScanResult::getError)
+            .containsExactly(null, "Server is busy. Try again later.", null);
+    }
+}
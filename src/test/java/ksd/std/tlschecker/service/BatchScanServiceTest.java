@@ -0,0 +1,64 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchScanServiceTest {
+
+    @Test
+    void scansEveryTargetWhileQueueIsFull() throws Exception {
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        properties.getBatch().setWorkers(2);
+        properties.getBatch().setQueueCapacity(1);
+        TlsCheckerService tlsCheckerService = mock(TlsCheckerService.class);
+        // 블로킹 엔진과 같이 전달받은 실행기에서 스캔하므로 작업 스레드와 큐가 항상 가득 참
+        when(tlsCheckerService.checkTlsSupportAsync(any(ScanTarget.class), any(Executor.class))).thenAnswer(invocation -> {
+            String version = "TLSv1.3";
+            return CompletableFuture.supplyAsync(() -> {
+                TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+                tlsInfo.setSupported(true);
+                return Collections.singletonMap(version, tlsInfo);
+            }, invocation.getArgument(1, Executor.class));
+        });
+        StringBuilder input = new StringBuilder();
+        int targets = 2000;
+        for (int i = 0; i < targets; i++) {
+            input.append("host").append(i).append(".example.com\n");
+        }
+        List<String> results = new CopyOnWriteArrayList<>();
+        List<Exception> errors = new CopyOnWriteArrayList<>();
+
+        BatchScanService.BatchSummary summary = new BatchScanService(tlsCheckerService, properties)
+            .scan(new StringReader(input.toString()), new BatchScanService.ScanResultHandler() {
+                @Override
+                public void onResult(String domain, Map<String, TlsCheckerService.TlsInfo> domainResults) {
+                    results.add(domain);
+                }
+
+                @Override
+                public void onError(String target, Exception e) {
+                    errors.add(e);
+                }
+            });
+
+        assertThat(errors).isEmpty();
+        assertThat(results).hasSize(targets);
+        assertThat(summary.getScanned()).isEqualTo(targets);
+        assertThat(summary.getWithTls()).isEqualTo(targets);
+        assertThat(summary.getFailed()).isZero();
+    }
+}
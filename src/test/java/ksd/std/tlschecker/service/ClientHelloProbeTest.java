@@ -0,0 +1,191 @@
+package ksd.std.tlschecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientHelloProbeTest {
+
+    /** RFC 8448 3절 (Simple 1-RTT Handshake)의 ServerHello 메시지 */
+    private static final String RFC8448_SERVER_HELLO =
+        "020000560303a6af06a4121860dc5e6e60249cd34c95930c8ac5cb1434dac155772ed3e2692800130100002e00330024001d0020"
+            + "c9828876112095fe66762bdbf7c672e156d6cc253b833df1dd69b1b04e751f0f002b00020304";
+
+    private static final String HELLO_RETRY_REQUEST_RANDOM =
+        "cf21ad74e59a6111be1d8c021e65b891c2a211167abb8c5e079e09e2c8a8339c";
+
+    @Test
+    void readsTls12ServerHello() throws Exception {
+        ClientHelloProbe.ServerHello serverHello = read(record(22, serverHello(0x0303, random(1), 0xC02F, "")));
+
+        assertThat(serverHello.getVersion()).isEqualTo(0x0303);
+        assertThat(serverHello.getCipherSuite()).isEqualTo(0xC02F);
+        assertThat(serverHello.isHelloRetryRequest()).isFalse();
+    }
+
+    @Test
+    void readsTls13VersionFromSupportedVersions() throws Exception {
+        ClientHelloProbe.ServerHello serverHello = read(record(22, hex(RFC8448_SERVER_HELLO)));
+
+        assertThat(serverHello.getVersion()).isEqualTo(0x0304);
+        assertThat(serverHello.getCipherSuite()).isEqualTo(0x1301);
+        assertThat(serverHello.isHelloRetryRequest()).isFalse();
+    }
+
+    @Test
+    void detectsHelloRetryRequest() throws Exception {
+        // key_share(선택 그룹만) + supported_versions
+        byte[] body = serverHello(0x0303, hex(HELLO_RETRY_REQUEST_RANDOM), 0x1302, "00330002001d" + "002b00020304");
+        ClientHelloProbe.ServerHello serverHello = read(record(22, body));
+
+        assertThat(serverHello.getVersion()).isEqualTo(0x0304);
+        assertThat(serverHello.getCipherSuite()).isEqualTo(0x1302);
+        assertThat(serverHello.isHelloRetryRequest()).isTrue();
+    }
+
+    @Test
+    void reportsAlert() {
+        assertThatThrownBy(() -> read(record(21, new byte[] {2, 70})))
+            .isInstanceOfSatisfying(ClientHelloProbe.AlertException.class, e -> {
+                assertThat(e.getLevel()).isEqualTo(2);
+                assertThat(e.getDescription()).isEqualTo(70);
+                assertThat(e.getMessage()).startsWith("Received fatal alert");
+            });
+    }
+
+    @Test
+    void skipsWarningAlertBeforeServerHello() throws Exception {
+        // unrecognized_name(112) 경고 뒤에 ServerHello
+        byte[] input = concat(
+            record(21, new byte[] {1, 112}),
+            record(22, hex(RFC8448_SERVER_HELLO)));
+
+        assertThat(read(input).getVersion()).isEqualTo(0x0304);
+    }
+
+    @Test
+    void reportsFatalAlertAfterWarning() {
+        byte[] input = concat(record(21, new byte[] {1, 112}), record(21, new byte[] {2, 40}));
+
+        assertThatThrownBy(() -> read(input))
+            .isInstanceOfSatisfying(ClientHelloProbe.AlertException.class, e -> {
+                assertThat(e.getLevel()).isEqualTo(2);
+                assertThat(e.getDescription()).isEqualTo(40);
+            });
+    }
+
+    @Test
+    void joinsFragmentedRecords() throws Exception {
+        byte[] message = hex(RFC8448_SERVER_HELLO);
+        // 핸드셰이크 헤더 자체도 두 레코드에 걸치도록 나눔
+        byte[] input = concat(
+            record(22, Arrays.copyOfRange(message, 0, 2)),
+            record(22, Arrays.copyOfRange(message, 2, 40)),
+            record(22, new byte[0]),
+            record(22, Arrays.copyOfRange(message, 40, message.length)));
+
+        assertThat(read(input).getVersion()).isEqualTo(0x0304);
+    }
+
+    @Test
+    void ignoresMessagesAfterServerHello() throws Exception {
+        byte[] certificate = hex("0b000003000000");
+        byte[] input = record(22, concat(serverHello(0x0303, random(2), 0x009C, ""), certificate));
+
+        assertThat(read(input).getCipherSuite()).isEqualTo(0x009C);
+    }
+
+    @Test
+    void rejectsOtherFirstMessageBeforeItsBody() {
+        // 본문이 오기 전에 헤더만으로 실패해야 함
+        assertThatThrownBy(() -> read(record(22, hex("0b00ffff"))))
+            .isInstanceOf(SSLException.class)
+            .hasMessage("Unexpected handshake message: 11");
+    }
+
+    @Test
+    void rejectsOversizedServerHello() {
+        assertThatThrownBy(() -> read(record(22, hex("02ffffff"))))
+            .isInstanceOf(SSLException.class)
+            .hasMessageStartingWith("ServerHello too long");
+    }
+
+    @Test
+    void rejectsOversizedRecord() {
+        assertThatThrownBy(() -> read(hex("160303ffff")))
+            .isInstanceOf(SSLException.class)
+            .hasMessageStartingWith("Record too long");
+    }
+
+    @Test
+    void rejectsUnexpectedRecordType() {
+        assertThatThrownBy(() -> read(record(23, new byte[] {1, 2, 3})))
+            .isInstanceOf(SSLException.class)
+            .hasMessage("Unexpected record type: 23");
+    }
+
+    @Test
+    void reportsClosedConnection() {
+        assertThatThrownBy(() -> read(new byte[0]))
+            .isInstanceOf(SSLException.class)
+            .hasMessage("Remote host terminated the handshake");
+    }
+
+    private static ClientHelloProbe.ServerHello read(byte[] input) throws IOException {
+        return ClientHelloProbe.readServerHello(new DataInputStream(new ByteArrayInputStream(input)));
+    }
+
+    /**
+     * 세션 ID 없이 ServerHello 메시지(핸드셰이크 헤더 포함)를 만듭니다.
+     */
+    private static byte[] serverHello(int version, byte[] random, int cipherSuite, String extensionsHex) throws IOException {
+        byte[] extensions = hex(extensionsHex);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeShort(version);
+        out.write(random);
+        out.writeByte(0);
+        out.writeShort(cipherSuite);
+        out.writeByte(0);
+        if (extensions.length > 0) {
+            out.writeShort(extensions.length);
+            out.write(extensions);
+        }
+        return concat(new byte[] {2, 0, (byte) (body.size() >> 8), (byte) body.size()}, body.toByteArray());
+    }
+
+    private static byte[] record(int contentType, byte[] fragment) {
+        return concat(new byte[] {(byte) contentType, 3, 3, (byte) (fragment.length >> 8), (byte) fragment.length}, fragment);
+    }
+
+    private static byte[] random(int seed) {
+        byte[] random = new byte[32];
+        Arrays.fill(random, (byte) seed);
+        return random;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            bytes.write(part, 0, part.length);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] hex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,67 @@
+package ksd.std.tlschecker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import ksd.std.tlschecker.util.ScanTarget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MonitorServiceTest {
+
+    private final TlsCheckerService tlsCheckerService = mock(TlsCheckerService.class);
+    private final MonitorService monitorService = new MonitorService(tlsCheckerService,
+        new ProbeMetrics(new SimpleMeterRegistry()), new TlsCheckerProperties());
+
+    @AfterEach
+    void destroy() {
+        monitorService.destroy();
+    }
+
+    @Test
+    void invalidTargetSchedulesNothing() {
+        assertThatThrownBy(() -> monitorService.start(Arrays.asList("example.com", "exa mple.com"), event -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(monitorService.getHostCount()).isZero();
+        verify(tlsCheckerService, never()).checkTlsSupportAsync(any(ScanTarget.class), anyBoolean(), any(Executor.class));
+        // 실행 상태가 되지 않았으므로 다시 시작할 수 있음
+        stubScan(new AtomicReference<>());
+        monitorService.start(Collections.singletonList("example.com"), event -> { });
+        assertThat(monitorService.getHostCount()).isEqualTo(1);
+    }
+
+    @Test
+    void startsScanFromSchedulerThread() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        stubScan(thread);
+
+        monitorService.start(Collections.singletonList("example.com"), event -> { });
+
+        verify(tlsCheckerService, timeout(5000)).checkTlsSupportAsync(any(ScanTarget.class), anyBoolean(), any(Executor.class));
+        // 스캔 실행기를 거치지 않고 예약 스레드에서 바로 시작
+        assertThat(thread.get()).startsWith("tls-monitor-").doesNotStartWith("tls-monitor-scan");
+    }
+
+    private void stubScan(AtomicReference<String> thread) {
+        when(tlsCheckerService.checkTlsSupportAsync(any(ScanTarget.class), anyBoolean(), any(Executor.class))).thenAnswer(invocation -> {
+            thread.compareAndSet(null, Thread.currentThread().getName());
+            return CompletableFuture.completedFuture(Collections.<String, TlsCheckerService.TlsInfo>emptyMap());
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NioHandshakeEngineTest {
+
+    private static final ProbeTimeouts TIMEOUTS = new ProbeTimeouts(5000, 5000, 10000);
+
+    private final TlsCheckerProperties properties = new TlsCheckerProperties();
+    private final NioHandshakeEngine engine = new NioHandshakeEngine(properties, new CertificateCache(properties));
+    private ServerSocket server;
+
+    @BeforeEach
+    void listen() throws Exception {
+        server = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        engine.destroy();
+        server.close();
+    }
+
+    @Test
+    void failsHandshakesRegisteredAfterDestroy() throws Exception {
+        assertThat(check().get(5, TimeUnit.SECONDS).isSupported()).isTrue();
+
+        engine.destroy();
+        awaitSelectorThreads();
+        TlsCheckerService.TlsInfo tlsInfo = check().get(5, TimeUnit.SECONDS);
+
+        assertThat(tlsInfo.isSupported()).isFalse();
+        assertThat(tlsInfo.getFailureType()).isEqualTo(FailureType.OTHER);
+        assertThat(tlsInfo.getErrorMessage()).isEqualTo("Handshake engine stopped");
+    }
+
+    @Test
+    void completesEveryHandshakeRacingWithDestroy() throws Exception {
+        check().get(5, TimeUnit.SECONDS);
+        List<CompletableFuture<TlsCheckerService.TlsInfo>> futures = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                futures.add(check());
+                if (i == 50) {
+                    started.countDown();
+                }
+            }
+        });
+        submitter.start();
+        started.await();
+
+        engine.destroy();
+        submitter.join();
+
+        // 등록 대기 중이던 핸드셰이크를 포함하여 모두 완료되어야 함
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+        assertThat(futures).hasSize(500);
+    }
+
+    /**
+     * Selector 루프가 모두 종료될 때까지 기다립니다.
+     */
+    private static void awaitSelectorThreads() throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("tls-selector")) {
+                thread.join(5000);
+            }
+        }
+    }
+
+    private CompletableFuture<TlsCheckerService.TlsInfo> check() {
+        return engine.checkReachable(server.getInetAddress(), server.getLocalPort(), TIMEOUTS);
+    }
+}
@@ -0,0 +1,270 @@
+package ksd.std.tlschecker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProbeGovernorTest {
+
+    /** 테스트가 직접 진행하는 시계 (나노초) */
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final TlsCheckerProperties properties = new TlsCheckerProperties();
+    private ProbeGovernor governor;
+    /** 대기열 확인용 주소의 마지막 옥텟 */
+    private int recheckHost;
+
+    ProbeGovernorTest() {
+        // 기본은 제한 없음, 테스트마다 확인할 제한만 설정
+        TlsCheckerProperties.Governor limits = properties.getGovernor();
+        limits.setMaxInFlight(1000);
+        limits.setHostMaxConcurrency(1000);
+        limits.setHostRate(0);
+        limits.setSubnetRate(0);
+    }
+
+    @AfterEach
+    void destroy() {
+        if (governor != null) {
+            governor.destroy();
+        }
+    }
+
+    @Test
+    void hostTokenBucketAllowsBurstThenRate() throws Exception {
+        properties.getGovernor().setHostRate(2);
+        properties.getGovernor().setHostBurst(2);
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        assertThat(governor.acquireAsync(host)).isDone();
+        assertThat(governor.acquireAsync(host)).isDone();
+        CompletableFuture<ProbeGovernor.Permit> third = governor.acquireAsync(host);
+        assertThat(third).isNotDone();
+        assertThat(governor.getWaiting()).isEqualTo(1);
+
+        // 초당 2개이므로 0.5초 뒤에 토큰 하나가 채워짐
+        advance(499);
+        recheck(governor);
+        assertThat(third).isNotDone();
+        advance(1);
+        recheck(governor);
+        assertThat(third).isDone();
+        assertThat(governor.getWaiting()).isZero();
+    }
+
+    @Test
+    void hostConcurrencyWaitsForRelease() throws Exception {
+        properties.getGovernor().setHostMaxConcurrency(2);
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        ProbeGovernor.Permit first = governor.acquireAsync(host).join();
+        governor.acquireAsync(host).join();
+        CompletableFuture<ProbeGovernor.Permit> third = governor.acquireAsync(host);
+        // 다른 주소는 영향을 받지 않음
+        assertThat(governor.acquireAsync(address("192.0.2.2"))).isDone();
+        assertThat(third).isNotDone();
+
+        first.release((FailureType) null);
+        assertThat(third).isDone();
+        // 여러 번 반납해도 한 번만 반영
+        first.release((FailureType) null);
+        assertThat(governor.getInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void globalLimitAppliesAcrossHosts() throws Exception {
+        properties.getGovernor().setMaxInFlight(2);
+        ProbeGovernor governor = governor();
+
+        ProbeGovernor.Permit first = governor.acquire(address("192.0.2.1"));
+        governor.acquire(address("198.51.100.1"));
+        CompletableFuture<ProbeGovernor.Permit> third = governor.acquireAsync(address("203.0.113.1"));
+        assertThat(third).isNotDone();
+
+        first.release((FailureType) null);
+        assertThat(third).isDone();
+    }
+
+    @Test
+    void ipv4SubnetSharesOneBucket() throws Exception {
+        properties.getGovernor().setSubnetRate(1);
+        properties.getGovernor().setSubnetBurst(2);
+        ProbeGovernor governor = governor();
+
+        assertThat(governor.acquireAsync(address("192.0.2.1"))).isDone();
+        assertThat(governor.acquireAsync(address("192.0.2.200"))).isDone();
+        CompletableFuture<ProbeGovernor.Permit> sameSubnet = governor.acquireAsync(address("192.0.2.7"));
+        assertThat(sameSubnet).isNotDone();
+        assertThat(governor.acquireAsync(address("192.0.3.1"))).isDone();
+
+        advance(1000);
+        recheck(governor);
+        assertThat(sameSubnet).isDone();
+    }
+
+    @Test
+    void ipv6SubnetUsesSixtyFourBitPrefix() throws Exception {
+        properties.getGovernor().setSubnetRate(1);
+        properties.getGovernor().setSubnetBurst(1);
+        ProbeGovernor governor = governor();
+
+        assertThat(governor.acquireAsync(address("2001:db8::1"))).isDone();
+        assertThat(governor.acquireAsync(address("2001:db8::ffff:2"))).isNotDone();
+        assertThat(governor.acquireAsync(address("2001:db8:0:1::1"))).isDone();
+    }
+
+    @Test
+    void subnetPrefixIsConfigurable() throws Exception {
+        properties.getGovernor().setSubnetRate(1);
+        properties.getGovernor().setSubnetBurst(1);
+        properties.getGovernor().setIpv4Prefix(32);
+        ProbeGovernor governor = governor();
+
+        assertThat(governor.acquireAsync(address("192.0.2.1"))).isDone();
+        assertThat(governor.acquireAsync(address("192.0.2.2"))).isDone();
+        assertThat(governor.acquireAsync(address("192.0.2.1"))).isNotDone();
+    }
+
+    @Test
+    void timeoutHalvesConcurrencyOncePerGeneration() throws Exception {
+        properties.getGovernor().setHostMaxConcurrency(8);
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        // 같은 세대에 허가된 연결이 함께 실패해도 한 번만 낮춤
+        ProbeGovernor.Permit first = governor.acquire(host);
+        ProbeGovernor.Permit second = governor.acquire(host);
+        first.release(FailureType.TIMEOUT);
+        second.release(FailureType.RESET);
+        assertThat(governor.getBackedOffHosts()).isEqualTo(1);
+
+        List<ProbeGovernor.Permit> permits = acquireAvailable(governor, host, 8);
+        assertThat(permits).hasSize(4);
+
+        // 낮춘 뒤에 허가된 연결이 다시 실패하면 한 번 더 낮춤
+        for (ProbeGovernor.Permit permit : permits) {
+            permit.release(FailureType.TIMEOUT);
+        }
+        assertThat(acquireAvailable(governor, host, 8)).hasSize(2);
+    }
+
+    @Test
+    void otherFailuresDoNotBackOff() throws Exception {
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        governor.acquire(host).release(FailureType.REFUSED);
+        governor.acquire(host).release(FailureType.HANDSHAKE_FAILURE);
+
+        assertThat(governor.getBackedOffHosts()).isZero();
+    }
+
+    @Test
+    void backOffSlowsHostRateAndRecoversAdditively() throws Exception {
+        properties.getGovernor().setHostRate(10);
+        properties.getGovernor().setHostBurst(1);
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        governor.acquire(host).release(FailureType.TIMEOUT);
+        advance(1000);
+        governor.acquire(host).release((FailureType) null);
+
+        // 배율 0.55이면 초당 5.5개, 토큰 하나에 약 182ms
+        CompletableFuture<ProbeGovernor.Permit> next = governor.acquireAsync(host);
+        advance(100);
+        recheck(governor);
+        assertThat(next).isNotDone();
+        advance(90);
+        recheck(governor);
+        assertThat(next).isDone();
+
+        // 정상 응답마다 0.05씩 되돌려 원래 속도로 복구 (부동소수점 오차로 한 번 더 필요할 수 있음)
+        int successes = 2;
+        next.join().release((FailureType) null);
+        while (governor.getBackedOffHosts() > 0 && successes < 20) {
+            advance(1000);
+            governor.acquire(host).release((FailureType) null);
+            successes++;
+        }
+        assertThat(governor.getBackedOffHosts()).isZero();
+        assertThat(successes).isBetween(10, 11);
+    }
+
+    @Test
+    void cancelledWaiterReturnsItsPermit() throws Exception {
+        properties.getGovernor().setHostMaxConcurrency(1);
+        ProbeGovernor governor = governor();
+        InetAddress host = address("192.0.2.1");
+
+        ProbeGovernor.Permit first = governor.acquire(host);
+        CompletableFuture<ProbeGovernor.Permit> cancelled = governor.acquireAsync(host);
+        cancelled.cancel(false);
+        first.release((FailureType) null);
+
+        assertThat(governor.getInFlight()).isZero();
+        assertThat(governor.getWaiting()).isZero();
+        assertThat(governor.acquireAsync(host)).isDone();
+    }
+
+    @Test
+    void disabledGovernorNeverWaits() throws Exception {
+        properties.getGovernor().setEnabled(false);
+        properties.getGovernor().setMaxInFlight(1);
+        ProbeGovernor governor = governor();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(governor.acquireAsync(address("192.0.2.1"))).isDone();
+        }
+        assertThat(governor.getInFlight()).isZero();
+    }
+
+    private ProbeGovernor governor() {
+        governor = new ProbeGovernor(properties, new ProbeMetrics(new SimpleMeterRegistry()), now::get);
+        return governor;
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * 제한이 없는 다른 주소의 허가를 받았다가 반납하여 대기 중인 요청을 다시 확인하게 합니다.
+     */
+    private void recheck(ProbeGovernor governor) throws Exception {
+        ProbeGovernor.Permit permit = governor.acquireAsync(address("203.0.113." + ++recheckHost)).getNow(null);
+        assertThat(permit).as("recheck permit").isNotNull();
+        permit.release((FailureType) null);
+    }
+
+    /**
+     * 기다리지 않고 받을 수 있는 허가를 최대 개수까지 받습니다.
+     */
+    private static List<ProbeGovernor.Permit> acquireAvailable(ProbeGovernor governor, InetAddress host, int max) {
+        List<ProbeGovernor.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < max; i++) {
+            CompletableFuture<ProbeGovernor.Permit> future = governor.acquireAsync(host);
+            if (!future.isDone()) {
+                future.cancel(false);
+                break;
+            }
+            permits.add(future.join());
+        }
+        return permits;
+    }
+
+    private static InetAddress address(String literal) throws Exception {
+        return InetAddress.getByName(literal);
+    }
+}
@@ -0,0 +1,204 @@
+package ksd.std.tlschecker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProbePlannerTest {
+
+    private static final Map<String, ProbePlanner.VersionProfile> ALL_ENABLED = Collections.emptyMap();
+
+    @Test
+    void discoverySkipsHigherVersionsAndRejectionSkipsLowerOnes() {
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(true, ALL_ENABLED);
+
+        assertThat(plan.next()).isEqualTo(ProbePlanner.DISCOVERY);
+        // resolveDiscovery를 거친 결과는 협상된 버전 이름을 가짐
+        plan.record(ProbePlanner.DISCOVERY, supported("TLSv1.2"));
+        assertThat(plan.next()).isEqualTo("TLSv1.1");
+        plan.record("TLSv1.1", failed("TLSv1.1", FailureType.PROTOCOL_VERSION));
+        assertThat(plan.next()).isNull();
+
+        Map<String, TlsCheckerService.TlsInfo> results = plan.getResults();
+        assertThat(results.keySet()).containsExactly(TlsCheckerService.TLS_VERSIONS);
+        assertThat(results.get("TLSv1.3").isSupported()).isFalse();
+        assertThat(results.get("TLSv1.3").getFailureType()).isEqualTo(FailureType.PROTOCOL_VERSION);
+        assertThat(results.get("TLSv1.3").getErrorMessage()).contains("negotiated TLSv1.2");
+        assertThat(results.get("TLSv1.2").isSupported()).isTrue();
+        assertThat(results.get("TLSv1").getFailureType()).isEqualTo(FailureType.PROTOCOL_VERSION);
+        assertThat(results.get("TLSv1").getErrorMessage()).startsWith("Not probed: server rejected TLSv1.1");
+        assertThat(plan.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void discoveryNetworkFailureFailsEveryVersion() {
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(true, ALL_ENABLED);
+
+        plan.record(plan.next(), failed(ProbePlanner.DISCOVERY, FailureType.REFUSED));
+
+        assertThat(plan.next()).isNull();
+        assertThat(plan.getResults().values()).allSatisfy(tlsInfo -> {
+            assertThat(tlsInfo.isSupported()).isFalse();
+            assertThat(tlsInfo.getFailureType()).isEqualTo(FailureType.REFUSED);
+        });
+        assertThat(plan.getConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void discoveryHandshakeFailureProbesEachVersion() {
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(true, ALL_ENABLED);
+
+        plan.record(plan.next(), failed(ProbePlanner.DISCOVERY, FailureType.HANDSHAKE_FAILURE));
+
+        // 지원되는 버전이 나오기 전의 거부는 낮은 버전을 생략하지 않음
+        assertThat(plan.next()).isEqualTo("TLSv1.3");
+        plan.record("TLSv1.3", failed("TLSv1.3", FailureType.HANDSHAKE_FAILURE));
+        assertThat(plan.next()).isEqualTo("TLSv1.2");
+        plan.record("TLSv1.2", failed("TLSv1.2", FailureType.PROTOCOL_VERSION));
+        assertThat(plan.next()).isEqualTo("TLSv1.1");
+        plan.record("TLSv1.1", supported("TLSv1.1"));
+        assertThat(plan.next()).isEqualTo("TLSv1");
+        plan.record("TLSv1", supported("TLSv1"));
+        assertThat(plan.next()).isNull();
+        assertThat(plan.getConnections()).isEqualTo(5);
+    }
+
+    @Test
+    void transientFailureDoesNotSkipLowerVersions() {
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(false, ALL_ENABLED);
+
+        assertThat(plan.next()).isEqualTo("TLSv1.3");
+        plan.record("TLSv1.3", supported("TLSv1.3"));
+        plan.record(plan.next(), failed("TLSv1.2", FailureType.TIMEOUT));
+        plan.record(plan.next(), failed("TLSv1.1", FailureType.RESET));
+        assertThat(plan.next()).isEqualTo("TLSv1");
+        plan.record("TLSv1", failed("TLSv1", FailureType.HANDSHAKE_FAILURE));
+        assertThat(plan.next()).isNull();
+        assertThat(plan.getConnections()).isEqualTo(4);
+    }
+
+    @Test
+    void firstRejectionBelowSupportedVersionIsPropagated() {
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(false, ALL_ENABLED);
+
+        plan.record(plan.next(), supported("TLSv1.3"));
+        plan.record(plan.next(), failed("TLSv1.2", FailureType.HANDSHAKE_FAILURE));
+        assertThat(plan.next()).isNull();
+
+        Map<String, TlsCheckerService.TlsInfo> results = plan.getResults();
+        for (String version : new String[] {"TLSv1.1", "TLSv1"}) {
+            assertThat(results.get(version).getFailureType()).isEqualTo(FailureType.HANDSHAKE_FAILURE);
+            assertThat(results.get(version).getErrorMessage())
+                .isEqualTo("Not probed: server rejected TLSv1.2 (handshake_failure)");
+        }
+        assertThat(plan.getConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void locallyDisabledVersionsAreNotProbed() {
+        Map<String, ProbePlanner.VersionProfile> profiles = new HashMap<>();
+        profiles.put("TLSv1", disabled());
+        profiles.put("TLSv1.1", disabled());
+        ProbePlanner.Plan plan = new ProbePlanner.Plan(true, profiles);
+
+        plan.record(plan.next(), failed(ProbePlanner.DISCOVERY, FailureType.HANDSHAKE_FAILURE));
+        plan.record(plan.next(), failed("TLSv1.3", FailureType.PROTOCOL_VERSION));
+        plan.record(plan.next(), failed("TLSv1.2", FailureType.PROTOCOL_VERSION));
+        assertThat(plan.next()).isNull();
+
+        Map<String, TlsCheckerService.TlsInfo> results = plan.getResults();
+        assertThat(results.get("TLSv1").getFailureType()).isEqualTo(FailureType.PROTOCOL_DISABLED);
+        assertThat(results.get("TLSv1.1").getErrorMessage()).isEqualTo("No appropriate protocol");
+        assertThat(plan.getConnections()).isEqualTo(3);
+    }
+
+    @Test
+    void finishCountsConnectionsAndSkippedProbes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProbePlanner planner = planner(TlsCheckerProperties.Planner.ADAPTIVE, registry);
+
+        ProbePlanner.Plan plan = planner.newPlan();
+        assertThat(plan.usesDiscovery()).isFalse();
+        plan.record(plan.next(), supported("TLSv1.3"));
+        plan.record(plan.next(), failed("TLSv1.2", FailureType.PROTOCOL_VERSION));
+        assertThat(plan.next()).isNull();
+        planner.finish(plan, true);
+
+        ProbePlanner.Stats stats = planner.getStats();
+        assertThat(stats.getHosts()).isEqualTo(1);
+        // 사전 연결 확인 1 + 프로브 2, 모든 버전 확인은 1 + 4
+        assertThat(stats.getConnections()).isEqualTo(3);
+        assertThat(stats.getExhaustiveConnections()).isEqualTo(5);
+        assertThat(registry.counter(ProbeMetrics.PROBES_SKIPPED, "reason", "rejected").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void verifyReportsHostsWhereSkippingChangesTheResult() {
+        ProbePlanner planner = planner(TlsCheckerProperties.Planner.VERIFY, new SimpleMeterRegistry());
+
+        // 연속된 범위의 버전만 지원하면 결과가 같음
+        planner.verify("contiguous.example", results(true, true, false, false), null);
+        // TLSv1.1을 거부하고 TLSv1을 지원하는 서버는 적응형 계획이 TLSv1을 놓침
+        planner.verify("gap.example", results(true, true, false, true), null);
+        // 연결 실패가 섞이면 비교하지 않음
+        Map<String, TlsCheckerService.TlsInfo> unreachable = results(true, false, false, false);
+        unreachable.put("TLSv1.2", failed("TLSv1.2", FailureType.TIMEOUT));
+        planner.verify("timeout.example", unreachable, null);
+
+        ProbePlanner.Stats stats = planner.getStats();
+        assertThat(stats.getVerifiedHosts()).isEqualTo(2);
+        assertThat(stats.getMismatchedHosts()).isEqualTo(1);
+        assertThat(stats.getMismatchExamples()).containsExactly("gap.example: TLSv1 supported");
+    }
+
+    /**
+     * 탐색 핸드셰이크 없이(FAST 방식) 동작하는 계획기를 만듭니다.
+     */
+    private static ProbePlanner planner(TlsCheckerProperties.Planner mode, SimpleMeterRegistry registry) {
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        properties.getProbe().setMode(TlsCheckerProperties.Mode.FAST);
+        properties.getProbe().setPlanner(mode);
+        properties.getProbe().setReuseContexts(false);
+        return new ProbePlanner(properties, new SslContextRegistry(properties), new ProbeMetrics(registry));
+    }
+
+    /**
+     * TLSv1.3부터 TLSv1 순서의 지원 여부로 결과를 만듭니다. 지원하지 않는 버전은 protocol_version으로 거부된 것으로 봅니다.
+     */
+    private static Map<String, TlsCheckerService.TlsInfo> results(boolean tls13, boolean tls12, boolean tls11, boolean tls10) {
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        boolean[] supported = {tls10, tls11, tls12, tls13};
+        for (int i = 0; i < TlsCheckerService.TLS_VERSIONS.length; i++) {
+            String version = TlsCheckerService.TLS_VERSIONS[i];
+            results.put(version, supported[i] ? supported(version) : failed(version, FailureType.PROTOCOL_VERSION));
+        }
+        return results;
+    }
+
+    private static TlsCheckerService.TlsInfo supported(String version) {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+        tlsInfo.setSupported(true);
+        tlsInfo.setNegotiatedProtocol(version);
+        return tlsInfo;
+    }
+
+    private static TlsCheckerService.TlsInfo failed(String version, FailureType failureType) {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo(version);
+        tlsInfo.setSupported(false);
+        tlsInfo.setFailureType(failureType);
+        tlsInfo.setErrorMessage(failureType.name().toLowerCase());
+        return tlsInfo;
+    }
+
+    private static ProbePlanner.VersionProfile disabled() {
+        return new ProbePlanner.VersionProfile(Collections.<String>emptyList(), Collections.<String>emptyList(),
+            "No appropriate protocol");
+    }
+}
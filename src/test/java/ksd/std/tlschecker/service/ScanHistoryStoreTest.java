@@ -0,0 +1,109 @@
+package ksd.std.tlschecker.service;
+
+import ksd.std.tlschecker.config.TlsCheckerProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanHistoryStoreTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    private ScanHistoryStore store;
+
+    @AfterEach
+    void close() throws Exception {
+        if (store != null) {
+            store.destroy();
+        }
+    }
+
+    @Test
+    void keepsHistoryNewestFirst() throws Exception {
+        store = new ScanHistoryStore(properties(64 * 1024));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            store.append("Example.com", results(i % 2 == 0), now + i);
+        }
+
+        List<ScanHistoryStore.HistoryRecord> history = store.history("example.com", null, 10);
+        assertThat(history).hasSize(5);
+        assertThat(history.get(0).getTime().toEpochMilli()).isEqualTo(now + 4);
+        assertThat(history.get(4).getTime().toEpochMilli()).isEqualTo(now);
+        assertThat(store.latest("example.com").getResults().get("TLSv1.2").isSupported()).isTrue();
+    }
+
+    @Test
+    void readsWhileRetentionDeletesSegments() throws Exception {
+        // 레코드 몇 개마다 세그먼트를 교체하고, 기록 시각을 하루씩 늘려 오래된 세그먼트가 계속 삭제되도록 함
+        store = new ScanHistoryStore(properties(2048));
+        long start = System.currentTimeMillis() - 400 * DAY;
+        store.append("example.com", results(true), start);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch readers = new CountDownLatch(4);
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        for (ScanHistoryStore.HistoryRecord record : store.history("example.com", null, 1000)) {
+                            assertThat(record.getDomain()).isEqualTo("example.com");
+                        }
+                        store.latest("example.com");
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    readers.countDown();
+                }
+            });
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        for (int i = 1; i <= 400; i++) {
+            store.append("example.com", results(i % 2 == 0), start + i * DAY);
+        }
+        running.set(false);
+        assertThat(readers.await(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(failure.get()).isNull();
+        // 보관 기간(30일)이 지난 레코드는 남지 않음
+        List<ScanHistoryStore.HistoryRecord> history = store.history("example.com", null, 1000);
+        assertThat(history).isNotEmpty().allMatch(record -> record.getTime().toEpochMilli() >= start + 400 * DAY - 31 * DAY);
+    }
+
+    private TlsCheckerProperties properties(long maxSegmentBytes) {
+        TlsCheckerProperties properties = new TlsCheckerProperties();
+        properties.getStore().setEnabled(true);
+        properties.getStore().setDirectory(directory.toString());
+        properties.getStore().setMaxSegmentBytes(maxSegmentBytes);
+        properties.getStore().setRetentionDays(30);
+        return properties;
+    }
+
+    private static Map<String, TlsCheckerService.TlsInfo> results(boolean supported) {
+        TlsCheckerService.TlsInfo tlsInfo = new TlsCheckerService.TlsInfo("TLSv1.2");
+        tlsInfo.setSupported(supported);
+        if (!supported) {
+            tlsInfo.setFailureType(FailureType.HANDSHAKE_FAILURE);
+            tlsInfo.setErrorMessage("Received fatal alert: handshake_failure");
+        }
+        return Collections.singletonMap("TLSv1.2", tlsInfo);
+    }
+}
@@ -0,0 +1,141 @@
+package ksd.std.tlschecker.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScanRecordCodecTest {
+
+    private final ScanRecordCodec codec = new ScanRecordCodec();
+
+    @ParameterizedTest
+    @EnumSource(FailureType.class)
+    void roundTripsFailure(FailureType failureType) throws Exception {
+        TlsCheckerService.TlsInfo failed = new TlsCheckerService.TlsInfo("TLSv1");
+        failed.setFailureType(failureType);
+        failed.setErrorMessage(failureType.name().toLowerCase() + " while probing");
+        failed.setAddress("192.0.2.1");
+        failed.getTimings().setConnectNanos(12_345);
+
+        TlsCheckerService.TlsInfo decoded = roundTrip(Collections.singletonMap("TLSv1", failed)).get("TLSv1");
+
+        assertThat(decoded.isSupported()).isFalse();
+        assertThat(decoded.getFailureType()).isEqualTo(failureType);
+        assertThat(decoded.getErrorMessage()).isEqualTo(failed.getErrorMessage());
+        assertThat(decoded.getAddress()).isEqualTo("192.0.2.1");
+        assertThat(decoded.getCertificateInfo()).isNull();
+        assertThat(decoded.getTimings().getConnectNanos()).isEqualTo(12_345);
+        assertThat(decoded.getTimings().getHandshakeNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    void roundTripsSupportedVersion() throws Exception {
+        TlsCheckerService.CertificateInfo certInfo = new TlsCheckerService.CertificateInfo();
+        certInfo.setSubject("CN=example.com");
+        certInfo.setIssuer("CN=Example CA");
+        certInfo.setValidFrom(new Date(1_700_000_000_000L));
+        certInfo.setSignatureAlgorithm("SHA256withRSA");
+
+        TlsCheckerService.TlsInfo supported = new TlsCheckerService.TlsInfo("TLSv1.3");
+        supported.setSupported(true);
+        supported.setServerCipherSuites(true);
+        supported.setServerCipherPreference(false);
+        supported.setNegotiatedProtocol("TLSv1.3");
+        supported.setNegotiatedCipherSuite("TLS_AES_128_GCM_SHA256");
+        supported.setCipherSuites(Arrays.asList("TLS_AES_128_GCM_SHA256", "TLS_AES_256_GCM_SHA384"));
+        supported.setSupportedProtocols(Collections.singletonList("TLSv1.3"));
+        supported.setCertificateInfo(certInfo);
+        supported.getTimings().setDnsNanos(1);
+        supported.getTimings().setConnectNanos(2);
+        supported.getTimings().setHandshakeNanos(3);
+        supported.getTimings().setCertificateNanos(4);
+
+        TlsCheckerService.TlsInfo unsupported = new TlsCheckerService.TlsInfo("TLSv1.2");
+        unsupported.setFailureType(FailureType.PROTOCOL_VERSION);
+
+        Map<String, TlsCheckerService.TlsInfo> results = new LinkedHashMap<>();
+        results.put("TLSv1.3", supported);
+        results.put("TLSv1.2", unsupported);
+        Map<String, TlsCheckerService.TlsInfo> decoded = roundTrip(results);
+
+        assertThat(decoded.keySet()).containsExactly("TLSv1.3", "TLSv1.2");
+        TlsCheckerService.TlsInfo tlsInfo = decoded.get("TLSv1.3");
+        assertThat(tlsInfo.isSupported()).isTrue();
+        assertThat(tlsInfo.isServerCipherSuites()).isTrue();
+        assertThat(tlsInfo.getServerCipherPreference()).isFalse();
+        assertThat(tlsInfo.getFailureType()).isNull();
+        assertThat(tlsInfo.getNegotiatedProtocol()).isEqualTo("TLSv1.3");
+        assertThat(tlsInfo.getNegotiatedCipherSuite()).isEqualTo("TLS_AES_128_GCM_SHA256");
+        assertThat(tlsInfo.getCipherSuites()).containsExactly("TLS_AES_128_GCM_SHA256", "TLS_AES_256_GCM_SHA384");
+        assertThat(tlsInfo.getSupportedProtocols()).containsExactly("TLSv1.3");
+        assertThat(tlsInfo.getCertificateInfo().getSubject()).isEqualTo("CN=example.com");
+        assertThat(tlsInfo.getCertificateInfo().getIssuer()).isEqualTo("CN=Example CA");
+        assertThat(tlsInfo.getCertificateInfo().getValidFrom()).isEqualTo(new Date(1_700_000_000_000L));
+        assertThat(tlsInfo.getCertificateInfo().getValidTo()).isNull();
+        assertThat(tlsInfo.getCertificateInfo().getSignatureAlgorithm()).isEqualTo("SHA256withRSA");
+        assertThat(tlsInfo.getTimings().getDnsNanos()).isEqualTo(1);
+        assertThat(tlsInfo.getTimings().getCertificateNanos()).isEqualTo(4);
+        assertThat(decoded.get("TLSv1.2").getServerCipherPreference()).isNull();
+        assertThat(decoded.get("TLSv1.2").getFailureType()).isEqualTo(FailureType.PROTOCOL_VERSION);
+    }
+
+    @Test
+    void keepsTimestampDomainAndFrame() throws Exception {
+        ByteBuffer record = copy(codec.encode(42L, 7L, "bücher.example", Collections.emptyMap()));
+
+        assertThat(ScanRecordCodec.isValid(record)).isTrue();
+        assertThat(ScanRecordCodec.readDomain(record)).isEqualTo("bücher.example");
+        assertThat(record.getLong(ScanRecordCodec.FRAME_BYTES + 8)).isEqualTo(7L);
+        ScanHistoryStore.HistoryRecord decoded = ScanRecordCodec.decode(record);
+        assertThat(decoded.getDomain()).isEqualTo("bücher.example");
+        assertThat(decoded.getTime().toEpochMilli()).isEqualTo(42L);
+        assertThat(decoded.getResults()).isEmpty();
+    }
+
+    @Test
+    void truncatesLongMessages() throws Exception {
+        char[] message = new char[70_000];
+        Arrays.fill(message, '가');
+        TlsCheckerService.TlsInfo failed = new TlsCheckerService.TlsInfo("TLSv1.1");
+        failed.setErrorMessage(new String(message));
+
+        assertThat(roundTrip(Collections.singletonMap("TLSv1.1", failed)).get("TLSv1.1").getErrorMessage())
+            .hasSize(16 * 1024);
+    }
+
+    @Test
+    void detectsCorruption() throws Exception {
+        ByteBuffer record = copy(codec.encode(1L, -1L, "example.com", Collections.emptyMap()));
+        record.put(record.limit() - 1, (byte) (record.get(record.limit() - 1) ^ 1));
+        assertThat(ScanRecordCodec.isValid(record)).isFalse();
+
+        ByteBuffer truncated = copy(codec.encode(1L, -1L, "example.com", Collections.emptyMap()));
+        truncated.limit(truncated.limit() - 1);
+        assertThat(ScanRecordCodec.isValid(truncated)).isFalse();
+    }
+
+    private Map<String, TlsCheckerService.TlsInfo> roundTrip(Map<String, TlsCheckerService.TlsInfo> results) throws Exception {
+        ByteBuffer record = copy(codec.encode(System.currentTimeMillis(), -1L, "example.com", results));
+        assertThat(ScanRecordCodec.isValid(record)).isTrue();
+        return ScanRecordCodec.decode(record).getResults();
+    }
+
+    /**
+     * 인코딩 결과는 다음 호출 전까지만 유효하므로 복사합니다.
+     */
+    private static ByteBuffer copy(ByteBuffer record) {
+        ByteBuffer copy = ByteBuffer.allocate(record.remaining());
+        copy.put(record.duplicate());
+        copy.flip();
+        return copy;
+    }
+}
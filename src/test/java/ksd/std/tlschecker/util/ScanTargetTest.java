@@ -0,0 +1,163 @@
+package ksd.std.tlschecker.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScanTargetTest {
+
+    /**
+     * 입력, 정규화된 표기, 호스트, 포트, 연결 주소(없으면 빈 값), 고정 주소 여부
+     */
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+        // 도메인 이름
+        "example.com                              | example.com                        | example.com          | 443  |                 | false",
+        "EXAMPLE.com.                             | example.com                        | example.com          | 443  |                 | false",
+        "  a-b.example.com  \t                    | a-b.example.com                    | a-b.example.com      | 443  |                 | false",
+        "localhost:443                            | localhost                          | localhost            | 443  |                 | false",
+        "mail.example.com:993                     | mail.example.com:993               | mail.example.com     | 993  |                 | false",
+        "host:65535                               | host:65535                         | host                 | 65535|                 | false",
+        "1.example                                | 1.example                          | 1.example            | 443  |                 | false",
+        // 스킴, 경로, 쿼리, 조각
+        "https://www.Example.co.kr:8443/path?q=1  | www.example.co.kr:8443             | www.example.co.kr    | 8443 |                 | false",
+        "HTTP://example.com                       | example.com                        | example.com          | 443  |                 | false",
+        "ldaps://dc1.corp                         | dc1.corp:636                       | dc1.corp             | 636  |                 | false",
+        "imaps://mail.x:1993                      | mail.x:1993                        | mail.x               | 1993 |                 | false",
+        "pop3s://mail.x                           | mail.x:995                         | mail.x               | 995  |                 | false",
+        "smtps://mail.x                           | mail.x:465                         | mail.x               | 465  |                 | false",
+        "example.com#frag                         | example.com                        | example.com          | 443  |                 | false",
+        "a.b?x                                    | a.b                                | a.b                  | 443  |                 | false",
+        // 국제화 도메인 이름
+        "bücher.de                                | xn--bcher-kva.de                   | xn--bcher-kva.de     | 443  |                 | false",
+        "BÜCHER.de:8443                           | xn--bcher-kva.de:8443              | xn--bcher-kva.de     | 8443 |                 | false",
+        "例え.テスト                                | xn--r8jz45g.xn--zckzah             | xn--r8jz45g.xn--zckzah | 443 |                | false",
+        // IPv4
+        "127.0.0.1                                | 127.0.0.1                          | 127.0.0.1            | 443  | 127.0.0.1       | false",
+        "192.0.2.1:8443                           | 192.0.2.1:8443                     | 192.0.2.1            | 8443 | 192.0.2.1       | false",
+        "0.0.0.0                                  | 0.0.0.0                            | 0.0.0.0              | 443  | 0.0.0.0         | false",
+        // IPv6: 생략 표기, 대소문자, 앞자리 0, 가장 긴 0 그룹 (RFC 5952)
+        "::1                                      | [::1]                              | ::1                  | 443  | ::1             | false",
+        "[::1]                                    | [::1]                              | ::1                  | 443  | ::1             | false",
+        "::                                       | [::]                               | ::                   | 443  | ::              | false",
+        "1::                                      | [1::]                              | 1::                  | 443  | 1::             | false",
+        "[2001:DB8:0:0:0:0:0:1]:993               | [2001:db8::1]:993                  | 2001:db8::1          | 993  | 2001:db8::1     | false",
+        "2001:db8::0:1                            | [2001:db8::1]                      | 2001:db8::1          | 443  | 2001:db8::1     | false",
+        "2001:0db8:0000:0000:0001:0000:0000:0001  | [2001:db8::1:0:0:1]                | 2001:db8::1:0:0:1    | 443  | 2001:db8::1:0:0:1 | false",
+        "2001:db8:0:1:1:1:1:1                     | [2001:db8:0:1:1:1:1:1]             | 2001:db8:0:1:1:1:1:1 | 443  | 2001:db8:0:1:1:1:1:1 | false",
+        "1:0:0:2:0:0:0:3                          | [1:0:0:2::3]                       | 1:0:0:2::3           | 443  | 1:0:0:2::3      | false",
+        "1:0:0:2:0:0:3:4                          | [1::2:0:0:3:4]                     | 1::2:0:0:3:4         | 443  | 1::2:0:0:3:4    | false",
+        "https://[fe80::AbCd]:8443/x              | [fe80::abcd]:8443                  | fe80::abcd           | 8443 | fe80::abcd      | false",
+        // IPv4 포함 IPv6
+        "[::ffff:1.2.3.4]                         | [::ffff:1.2.3.4]                   | ::ffff:1.2.3.4       | 443  | 1.2.3.4         | false",
+        "::ffff:c000:0201                         | [::ffff:192.0.2.1]                 | ::ffff:192.0.2.1     | 443  | 192.0.2.1       | false",
+        "64:ff9b::192.0.2.1                       | [64:ff9b::c000:201]                | 64:ff9b::c000:201    | 443  | 64:ff9b::c000:201 | false",
+        "::1.2.3.4                                | [::102:304]                        | ::102:304            | 443  | ::102:304       | false",
+        // 고정 주소
+        "example.com@192.0.2.1                    | example.com@192.0.2.1              | example.com          | 443  | 192.0.2.1       | true",
+        "example.com:8443@[2001:db8::2]/x         | example.com:8443@[2001:db8::2]     | example.com          | 8443 | 2001:db8::2     | true",
+        "example.com@2001:DB8:0::2                | example.com@[2001:db8::2]          | example.com          | 443  | 2001:db8::2     | true",
+        "https://bücher.de@[::ffff:10.0.0.1]      | xn--bcher-kva.de@[::ffff:10.0.0.1] | xn--bcher-kva.de     | 443  | 10.0.0.1        | true",
+    })
+    void parsesTarget(String input, String label, String host, int port, String address, boolean pinned) throws Exception {
+        ScanTarget target = ScanTarget.parse(input);
+
+        assertThat(target.getLabel()).isEqualTo(label);
+        assertThat(target.getHost()).isEqualTo(host);
+        assertThat(target.getPort()).isEqualTo(port);
+        assertThat(target.getAddress()).isEqualTo(address != null ? InetAddress.getByName(address) : null);
+        assertThat(target.isPinned()).isEqualTo(pinned);
+        assertThat(target.isIpLiteral()).isEqualTo(address != null && !pinned);
+        assertThat(target.getSniName()).isEqualTo(target.isIpLiteral() ? null : host);
+
+        // 정규화된 표기는 다시 해석해도 같은 대상
+        ScanTarget reparsed = ScanTarget.parse(label);
+        assertThat(reparsed.getLabel()).isEqualTo(label);
+        assertThat(reparsed.getAddress()).isEqualTo(target.getAddress());
+        assertThat(reparsed).isEqualTo(target).hasSameHashCodeAs(target);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+        "-bad.com                  | Invalid host",
+        "bad-.com                  | Invalid host",
+        "a..b                      | Invalid host",
+        "a_b.com                   | Invalid host",
+        "user@host.com             | Invalid pinned address",
+        "1.2.3                     | Invalid IPv4 address",
+        "01.2.3.4                  | Invalid IPv4 address",
+        "256.1.1.1                 | Invalid IPv4 address",
+        "host:0                    | Invalid port",
+        "host:65536                | Invalid port",
+        "host:                     | Invalid port",
+        "host:12a                  | Invalid port",
+        "ftp://x                   | Unsupported scheme",
+        "[::1                      | Invalid IPv6 address",
+        "1:2:3:4:5:6:7:8:9         | Invalid IPv6 address",
+        "1::2::3                   | Invalid IPv6 address",
+        "fe80::1%eth0              | Invalid IPv6 address",
+        "::ffff:1.2.3.256          | Invalid IPv6 address",
+        "example.com@999.1.1.1     | Invalid pinned address",
+        "1.2.3.4@5.6.7.8           | IP address targets cannot be pinned",
+    })
+    void rejectsInvalidTarget(String input, String reason) {
+        assertThatThrownBy(() -> ScanTarget.parse(input))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage(reason + ": " + input);
+    }
+
+    @Test
+    void rejectsEmptyTarget() {
+        assertThatThrownBy(() -> ScanTarget.parse("   ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ScanTarget.parse(null)).hasMessage("Target is empty.");
+    }
+
+    @Test
+    void enforcesLabelLengths() {
+        String label63 = repeat('a', 63);
+        assertThat(ScanTarget.parse(label63 + ".com").getHost()).isEqualTo(label63 + ".com");
+        assertThatThrownBy(() -> ScanTarget.parse(label63 + "a.com")).isInstanceOf(IllegalArgumentException.class);
+
+        // 253자 (마지막 점 제외) 까지 허용
+        String name253 = repeat('a', 63) + "." + repeat('b', 63) + "." + repeat('c', 63) + "." + repeat('d', 61);
+        assertThat(ScanTarget.parse(name253 + ".").getHost()).hasSize(253);
+        assertThatThrownBy(() -> ScanTarget.parse(name253 + "d")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parsesCharArrayRange() {
+        char[] line = "  skip|https://Example.com:8443/|skip".toCharArray();
+        ScanTarget.Parser parser = new ScanTarget.Parser();
+
+        assertThat(parser.parse(line, 7, 31).getLabel()).isEqualTo("example.com:8443");
+        // 같은 파서를 다시 사용해도 이전 상태가 남지 않음
+        assertThat(parser.parse("[::1]:8443").getLabel()).isEqualTo("[::1]:8443");
+        assertThat(parser.parse("192.0.2.1").getAddress()).isNotNull();
+        assertThat(parser.parse("example.com").getAddress()).isNull();
+    }
+
+    @Test
+    void pinsToResolvedAddress() throws Exception {
+        ScanTarget target = ScanTarget.parse("example.com:8443");
+
+        ScanTarget v4 = target.withAddress(InetAddress.getByName("192.0.2.1"));
+        assertThat(v4.getLabel()).isEqualTo("example.com:8443@192.0.2.1");
+        assertThat(v4.getSniName()).isEqualTo("example.com");
+
+        ScanTarget v6 = v4.withAddress(InetAddress.getByName("2001:db8:0:0:0:0:0:2"));
+        assertThat(v6.getLabel()).isEqualTo("example.com:8443@[2001:db8::2]");
+        assertThat(v6.withAddress(v6.getAddress())).isSameAs(v6);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}